@@ -0,0 +1,67 @@
+package com.pimpedpixel.games.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.pimpedpixel.games.DesignResolution;
+import com.pimpedpixel.games.simulation.HeadlessTmxMapLoader;
+
+import java.io.File;
+
+/**
+ * Loads the real bridgefall maps for benchmarks, without a Gdx backend.
+ * The assets folder comes from the bridge2far.assets system property (set by the jmh task).
+ */
+final class BenchmarkMaps {
+
+    static final String ASSETS_PROPERTY = "bridge2far.assets";
+    static final String GROUND_LAYER = "ground";
+
+    // Harry's collider from assets/characters.json
+    static final float HARRY_OFFSET_X = 24f * DesignResolution.ASSET_SCALE;
+    static final float HARRY_WIDTH = 30f;
+    static final float HARRY_HEIGHT = 64f;
+
+    private BenchmarkMaps() {
+    }
+
+    static TiledMap load(int levelNumber) {
+        File assets = new File(System.getProperty(ASSETS_PROPERTY, "../assets"));
+        File tmx = new File(assets, "rooms/tiles/bridgefall_" + levelNumber + ".tmx");
+        if (!tmx.exists()) {
+            throw new GdxRuntimeException("Map not found: " + tmx.getAbsolutePath()
+                + " (set -D" + ASSETS_PROPERTY + " to the assets folder)");
+        }
+        return new HeadlessTmxMapLoader().load(new FileHandle(tmx));
+    }
+
+    /**
+     * Width of the ground layer in world pixels (scaled like the game does).
+     */
+    static float worldWidth(TiledMap map) {
+        TiledMapTileLayer ground = (TiledMapTileLayer) map.getLayers().get(GROUND_LAYER);
+        return ground.getWidth() * ground.getTileWidth() * DesignResolution.ASSET_SCALE;
+    }
+
+    /**
+     * Spawn positions on a grid starting above the scenario row, left to right, then upwards.
+     * Large counts do not fit in one room, so those characters end up stacked on each other
+     * and on top of the room's ceiling wall. That is the stress case, not a bug.
+     *
+     * @return x0, y0, x1, y1, ...
+     */
+    static float[] spawnGrid(TiledMap map, int count) {
+        float spacingX = HARRY_WIDTH + 10f;
+        float spacingY = HARRY_HEIGHT + 6f;
+        float startY = 6 * 64f + 8f;
+        int columns = Math.max(1, (int) ((worldWidth(map) - HARRY_OFFSET_X - HARRY_WIDTH) / spacingX));
+
+        float[] positions = new float[count * 2];
+        for (int i = 0; i < count; i++) {
+            positions[i * 2] = (i % columns) * spacingX;
+            positions[i * 2 + 1] = startY + (i / columns) * spacingY;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,83 @@
+package com.pimpedpixel.games.benchmarks;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+import com.pimpedpixel.games.systems.characters.CharacterMovementSystem;
+import com.pimpedpixel.games.systems.characters.HarryFactory;
+import com.pimpedpixel.games.systems.characters.JbumpMapInitializationSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one logic tick of CharacterMovementSystem on a real bridgefall map.
+ * Every character walks right for a second, then left for a second, so each tick does the
+ * horizontal slide plus the ground contact that a normal frame does.
+ *
+ * The score is per tick; divide by {@code characters} for the per-entity cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CharacterMovementBenchmark {
+
+    private static final float TICK = 1f / 60f;
+    private static final int SETTLE_TICKS = 240;
+    private static final int TICKS_PER_DIRECTION = 60;
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int level;
+
+    @Param({"1", "100", "10000"})
+    public int characters;
+
+    private World artemisWorld;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TiledMap map = BenchmarkMaps.load(level);
+        com.dongbat.jbump.World<Object> jbumpWorld = new com.dongbat.jbump.World<>();
+
+        CharacterMovementSystem movementSystem = new CharacterMovementSystem(jbumpWorld);
+        movementSystem.setInput(() -> (tick / TICKS_PER_DIRECTION) % 2 == 0 ? CharacterInput.RIGHT : CharacterInput.LEFT);
+
+        artemisWorld = new World(new WorldConfigurationBuilder()
+            .with(new JbumpMapInitializationSystem(map, jbumpWorld, BenchmarkMaps.GROUND_LAYER), movementSystem)
+            .build());
+
+        HarryFactory harryFactory = new HarryFactory(artemisWorld, jbumpWorld,
+            BenchmarkMaps.HARRY_OFFSET_X, BenchmarkMaps.HARRY_WIDTH, BenchmarkMaps.HARRY_HEIGHT);
+        harryFactory.setCreateAnimations(false);
+        float[] positions = BenchmarkMaps.spawnGrid(map, characters);
+        for (int i = 0; i < characters; i++) {
+            harryFactory.createHarry(positions[i * 2], positions[i * 2 + 1]);
+        }
+
+        // Let everyone land first, we want the steady state and not the initial fall
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            step();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        artemisWorld.dispose();
+    }
+
+    @Benchmark
+    public void tick() {
+        step();
+    }
+
+    private void step() {
+        artemisWorld.setDelta(TICK);
+        artemisWorld.process();
+        tick++;
+    }
+}
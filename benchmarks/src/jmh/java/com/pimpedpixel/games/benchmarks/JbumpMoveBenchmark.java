@@ -0,0 +1,91 @@
+package com.pimpedpixel.games.benchmarks;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.Rect;
+import com.dongbat.jbump.Response;
+import com.dongbat.jbump.World;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+import com.pimpedpixel.games.systems.characters.CollisionFilters;
+import com.pimpedpixel.games.systems.characters.JbumpMapInitializationSystem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw jbump {@code World.move} throughput against the collision geometry that
+ * JbumpMapInitializationSystem builds from a real bridgefall map.
+ * Each invocation moves one character-sized item one tick's worth (walk plus gravity) with
+ * Harry's collider data and the filter CharacterMovementSystem uses, cycling through all items.
+ * {@link #moveAll(Blackhole)} moves every item once, like one tick of the movement system.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JbumpMoveBenchmark {
+
+    private static final float STEP_X = 2f;
+    private static final float STEP_Y = -10f;
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int level;
+
+    @Param({"1", "100", "10000"})
+    public int characters;
+
+    private World<Object> jbumpWorld;
+    private Item<Object>[] items;
+    private int cursor;
+    private float direction = 1f;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        TiledMap map = BenchmarkMaps.load(level);
+        jbumpWorld = new World<>();
+        new JbumpMapInitializationSystem(map, jbumpWorld, BenchmarkMaps.GROUND_LAYER)
+            .reinitializeWithNewMap(map, BenchmarkMaps.GROUND_LAYER);
+
+        float[] positions = BenchmarkMaps.spawnGrid(map, characters);
+        items = new Item[characters];
+        for (int i = 0; i < characters; i++) {
+            items[i] = new Item<>(ColliderData.harry(i));
+            jbumpWorld.add(items[i], positions[i * 2] + BenchmarkMaps.HARRY_OFFSET_X, positions[i * 2 + 1],
+                BenchmarkMaps.HARRY_WIDTH, BenchmarkMaps.HARRY_HEIGHT);
+        }
+
+        // Drop everything onto the floor so moves hit the ground like a walking character does
+        for (int i = 0; i < 240 * characters; i++) {
+            move();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Response.Result move() {
+        Item<Object> item = items[cursor];
+        Rect rect = jbumpWorld.getRect(item);
+        Response.Result result = jbumpWorld.move(item, rect.x + STEP_X * direction, rect.y + STEP_Y, CollisionFilters.MOVE);
+
+        if (++cursor == items.length) {
+            cursor = 0;
+            direction = -direction;
+        }
+        return result;
+    }
+
+    /**
+     * One tick's worth of moves for every character.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void moveAll(Blackhole blackhole) {
+        for (int i = 0; i < items.length; i++) {
+            blackhole.consume(move());
+        }
+    }
+}
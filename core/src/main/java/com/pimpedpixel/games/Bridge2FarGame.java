@@ -3,9 +3,13 @@ package com.pimpedpixel.games;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
+import com.pimpedpixel.games.assets.AssetLoadingImpl;
+import com.pimpedpixel.games.assets.LevelAssets;
 import com.pimpedpixel.games.gameprogress.GameProgress;
 import com.pimpedpixel.games.screens.Bridge2FarGameplayScreen;
+import com.pimpedpixel.games.screens.Bridge2FarLoadingScreen;
 import com.pimpedpixel.games.screens.Bridge2FarMenuScreen;
+import com.pimpedpixel.games.systems.characters.AnimationRegistry;
 
 /**
  * Main LibGDX Game that manages screens (menu and gameplay) and shares
@@ -34,13 +38,31 @@ public class Bridge2FarGame extends Game {
         return gameInfo;
     }
 
+    /**
+     * Transition from the current screen to the loading screen, which moves on to
+     * gameplay once the assets and the starting level are loaded.
+     */
+    public void startGameplay(GameProgress resumeProgress) {
+        AssetLoadingImpl assetLoading = new AssetLoadingImpl(assetManager, gameInfo);
+        if (resumeProgress != null) {
+            assetLoading.setStartLevelNumber(resumeProgress.getLevel());
+        }
+        assetLoading.start();
+
+        Screen previous = getScreen();
+        setScreen(new Bridge2FarLoadingScreen(this, assetLoading, resumeProgress));
+        if (previous != null) {
+            previous.dispose();
+        }
+    }
+
     /**
      * Transition from the current screen to the gameplay screen, disposing
      * of the previous screen once the switch is complete.
      */
-    public void startGameplay(GameProgress resumeProgress) {
+    public void showGameplay(GameProgress resumeProgress, LevelAssets levelAssets) {
         Screen previous = getScreen();
-        Bridge2FarGameplayScreen gameplayScreen = new Bridge2FarGameplayScreen(this, resumeProgress);
+        Bridge2FarGameplayScreen gameplayScreen = new Bridge2FarGameplayScreen(this, resumeProgress, levelAssets);
         setScreen(gameplayScreen);
         if (previous != null) {
             previous.dispose();
@@ -65,6 +87,7 @@ public class Bridge2FarGame extends Game {
         if (current != null) {
             current.dispose();
         }
+        AnimationRegistry.getInstance().clear();
         if (assetManager != null) {
             assetManager.dispose();
         }
@@ -0,0 +1,94 @@
+package com.pimpedpixel.games;
+
+import com.pimpedpixel.games.config.CharacterConfig;
+import com.pimpedpixel.games.config.DebugConfig;
+import com.pimpedpixel.games.gameplay.ScenarioState;
+
+/**
+ * The state one game world used to read from JVM-wide singletons: scenario progress,
+ * character and debug configuration and the asset scales.
+ *
+ * Registered on the Artemis world ({@code WorldConfiguration.register(context)}) and
+ * injected into systems with {@code @Wire(failOnNull = false)}. Systems in a world without
+ * a registered context fall back to {@link #shared()}, which reads the old singletons, so
+ * the game and existing tests behave as before while headless worlds can each get their own
+ * {@link #isolated()} context and run side by side.
+ */
+public class GameContext {
+
+    private static final GameContext SHARED = new GameContext();
+
+    private final boolean shared;
+    private final ScenarioState scenarioState;
+    private final CharacterConfig characterConfig;
+    private final DebugConfig debugConfig;
+    private final float assetScale;
+    private final float characterScale;
+
+    public GameContext(ScenarioState scenarioState, CharacterConfig characterConfig, DebugConfig debugConfig,
+                       float assetScale, float characterScale) {
+        this.shared = false;
+        this.scenarioState = scenarioState;
+        this.characterConfig = characterConfig;
+        this.debugConfig = debugConfig;
+        this.assetScale = assetScale;
+        this.characterScale = characterScale;
+    }
+
+    private GameContext() {
+        this.shared = true;
+        this.scenarioState = null;
+        this.characterConfig = null;
+        this.debugConfig = null;
+        this.assetScale = 0f;
+        this.characterScale = 0f;
+    }
+
+    /**
+     * Compatibility shim: every getter reads the current singleton or DesignResolution static,
+     * so resetting a singleton is still seen.
+     */
+    public static GameContext shared() {
+        return SHARED;
+    }
+
+    /**
+     * A context that shares nothing with other worlds: fresh scenario state, empty character
+     * config (callers use their defaults), default debug flags and the current design scales.
+     */
+    public static GameContext isolated() {
+        return new GameContext(new ScenarioState(), new CharacterConfig(), new DebugConfig(),
+            DesignResolution.ASSET_SCALE, DesignResolution.CHARACTER_SCALE);
+    }
+
+    /**
+     * The given context, or the shared one when a world has none registered.
+     */
+    public static GameContext orShared(GameContext context) {
+        return context != null ? context : SHARED;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public ScenarioState getScenarioState() {
+        return shared ? ScenarioState.getInstance() : scenarioState;
+    }
+
+    public CharacterConfig getCharacterConfig() {
+        return shared ? CharacterConfig.getInstance() : characterConfig;
+    }
+
+    public DebugConfig getDebugConfig() {
+        return shared ? DebugConfig.getInstance() : debugConfig;
+    }
+
+    public float getAssetScale() {
+        return shared ? DesignResolution.ASSET_SCALE : assetScale;
+    }
+
+    public float getCharacterScale() {
+        return shared ? DesignResolution.CHARACTER_SCALE : characterScale;
+    }
+}
@@ -1,7 +1,21 @@
 package com.pimpedpixel.games.assets;
 
 public interface AssetLoading {
+
+    /**
+     * Told how far loading got, from the thread that drives it via {@link #ready()}.
+     */
+    interface ProgressListener {
+        void onProgress(float progress);
+
+        void onLoaded();
+    }
+
     void start();
 
     boolean ready();
+
+    float getProgress();
+
+    void setProgressListener(ProgressListener listener);
 }
@@ -11,42 +11,67 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.pimpedpixel.games.GameInfo;
 import com.pimpedpixel.games.assets.DebugConfigAssetLoader.DebugConfigParameter;
 import com.pimpedpixel.games.assets.LevelContainerAssetLoader.LevelContainerParameter;
 import com.pimpedpixel.games.assets.CharacterConfigAssetLoader.CharacterConfigParameter;
+import com.pimpedpixel.games.gameplay.Level;
 import com.pimpedpixel.games.gameplay.LevelLoader;
 import com.pimpedpixel.games.config.DebugConfig;
 import com.pimpedpixel.games.config.CharacterConfig;
+import com.pimpedpixel.games.systems.characters.CharacterAtlas;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
+/**
+ * Queues the assets the game needs before gameplay starts, and drives loading from a screen.
+ *
+ * Level maps are not part of this: once the level info is in, only the starting level and the
+ * one after it are queued through {@link LevelAssets}, the rest is streamed in while playing.
+ */
 public class AssetLoadingImpl implements AssetLoading {
+    private static final String LEVEL_INFO_PATH = "gameplay/levelInfo.json";
+
     private final AssetManager assetManager;
     private final GameInfo gameInfo;
+    private final LevelAssets levelAssets;
+    private ProgressListener progressListener;
+    // Level number to start on, or -1 for the first level of the pack
+    private int startLevelNumber = -1;
+    private boolean levelsQueued;
+    private boolean loaded;
 
     public AssetLoadingImpl(AssetManager assetManager, GameInfo gameInfo) {
         this.assetManager = assetManager;
         this.gameInfo = gameInfo;
+        this.levelAssets = new LevelAssets(assetManager, gameInfo);
+    }
+
+    public LevelAssets getLevelAssets() {
+        return levelAssets;
+    }
+
+    public void setStartLevelNumber(int startLevelNumber) {
+        this.startLevelNumber = startLevelNumber;
     }
 
+    @Override
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Queue everything; nothing is loaded until {@link #ready()} is called.
+     */
     @Override
     public void start() {
         initDefaultFont();
         initC64Font();
-        initTmxTiles();
         initSoundFx();
         initBackgroundMusic();
         initBloodAnimation();
+        initCharacterAtlas();
         initLevelData();
         initDebugConfig();
         initCharacterConfig();
-
-        assetManager.finishLoading();
     }
 
     private void initC64Font() {
@@ -99,43 +124,6 @@ public class AssetLoadingImpl implements AssetLoading {
         }
     }
 
-    private void initTmxTiles() {
-        final List<String> lines = getTmxFileList();
-        System.out.println("DEBUG: Found " + lines.size() + " TMX files in files.txt:");
-        for (String line : lines) {
-            System.out.println("  - " + line);
-        }
-        
-        for (final String line : lines){
-            final String expectedPath = gameInfo.getTmxFile(line).path();
-            System.out.println("DEBUG: Checking TMX file: " + expectedPath);
-            System.out.println("DEBUG: File exists: " + gameInfo.getTmxFile(line).exists());
-            
-            if (gameInfo.getTmxFile(line).exists()) {
-                final String tileMapFileName = gameInfo.getTmxFile(line).path();
-                assetManager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
-                assetManager.load(tileMapFileName, TiledMap.class);
-                System.out.println("DEBUG: Loaded TMX asset: " + tileMapFileName);
-            } else {
-                System.out.println("TMX file not found: " + expectedPath);
-            }
-        }
-    }
-
-    private List<String> getTmxFileList(){
-        FileHandle fileList = gameInfo.getTileMapFileList(); // note: typo is preserved: "geMusicFiles"
-
-        if (!fileList.exists()) {
-            Gdx.app.debug("AssetLoading", "Tmx map list file not found: " + fileList.path());
-            return new ArrayList<>();
-        }
-
-        String content = fileList.readString("UTF-8");
-        String[] lines = content.split("\\r?\\n");
-
-        return Arrays.asList(lines);
-    }
-
     private void initDefaultFont() {
         final String fontFile = "font/c64";
         // Check if font file exists
@@ -193,9 +181,21 @@ public class AssetLoadingImpl implements AssetLoading {
         }
     }
 
+    // Packed by core:packCharacters; without it the animation factories fall back to the single PNGs
+    private void initCharacterAtlas() {
+        final FileHandle characterAtlasFile = Gdx.files.internal(CharacterAtlas.PATH);
+
+        if (characterAtlasFile.exists()) {
+            Gdx.app.log(this.getClass().getSimpleName(), "Loading character atlas: " + characterAtlasFile.path());
+            assetManager.load(CharacterAtlas.PATH, TextureAtlas.class);
+        } else {
+            System.out.println("Character atlas not found, loading character frames one by one: " + characterAtlasFile.path());
+        }
+    }
+
     // Preload level config JSON via AssetManager so GWT cache-busting paths are handled.
     private void initLevelData() {
-        final String levelInfoPath = "gameplay/levelInfo.json";
+        final String levelInfoPath = LEVEL_INFO_PATH;
         assetManager.setLoader(LevelLoader.LevelContainer.class,
             new LevelContainerAssetLoader(new InternalFileHandleResolver()));
         assetManager.load(levelInfoPath, LevelLoader.LevelContainer.class, new LevelContainerParameter());
@@ -218,8 +218,65 @@ public class AssetLoadingImpl implements AssetLoading {
         Gdx.app.log(this.getClass().getSimpleName(), "Preloading character config: " + characterConfigPath);
     }
 
+    /**
+     * Load for a bit; call once per frame. When the level info is in, the maps of the starting
+     * level and the next one are queued as well, so loading is only done once they are loaded.
+     *
+     * @return true once everything is loaded
+     */
     @Override
     public boolean ready() {
-        return assetManager.update();
+        if (loaded) {
+            return true;
+        }
+        boolean done = assetManager.update();
+        if (done && !levelsQueued) {
+            levelsQueued = true;
+            done = !queueStartLevels();
+        }
+        if (progressListener != null) {
+            progressListener.onProgress(getProgress());
+        }
+        if (done) {
+            loaded = true;
+            if (progressListener != null) {
+                progressListener.onLoaded();
+            }
+        }
+        return done;
+    }
+
+    @Override
+    public float getProgress() {
+        // The level maps are queued last, keep the bar from reaching the end before them
+        return levelsQueued ? assetManager.getProgress() : assetManager.getProgress() * 0.9f;
+    }
+
+    /**
+     * @return whether anything was queued
+     */
+    private boolean queueStartLevels() {
+        LevelLoader.LevelContainer levelContainer = assetManager.get(LEVEL_INFO_PATH, LevelLoader.LevelContainer.class);
+        if (levelContainer == null || levelContainer.getLevels() == null || levelContainer.getLevels().length == 0) {
+            return false;
+        }
+        Level[] levels = levelContainer.getLevels();
+        int startIndex = 0;
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != null && levels[i].getLevelNumber() == startLevelNumber) {
+                startIndex = i;
+                break;
+            }
+        }
+        int nextIndex = (startIndex + 1) % levels.length;
+
+        boolean queued = false;
+        for (int index : new int[]{startIndex, nextIndex}) {
+            int levelNumber = levels[index].getLevelNumber();
+            if (!levelAssets.isLoaded(levelNumber) && levelAssets.require(levelNumber)) {
+                queued = true;
+            }
+        }
+        return queued;
     }
 }
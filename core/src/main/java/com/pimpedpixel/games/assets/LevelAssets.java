@@ -0,0 +1,235 @@
+package com.pimpedpixel.games.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.pimpedpixel.games.GameInfo;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+
+/**
+ * The level-scoped asset group: the "bridgefall_X" maps and, through the AssetManager's
+ * dependencies, their tilesets.
+ *
+ * Nothing is queued up front. The game asks for the level it is on and the one after it, any other
+ * level is loaded when it is needed, and maps of levels that were left are unloaded again, which
+ * also releases tileset textures no other map uses.
+ *
+ * A level whose compiled {@link LevelPack} is listed in the pack manifest is loaded from the pack
+ * (see {@link LevelPackMapLoader}), any other level from its TMX. The pack is kept alongside the
+ * map, and so is the map's {@link ScenarioOverlay}: the AssetManager hands out the same TiledMap
+ * for as long as it is loaded, so its pristine cells are snapshotted once and every scenario is
+ * applied through that one overlay.
+ */
+public class LevelAssets {
+
+    private final AssetManager assetManager;
+    private final GameInfo gameInfo;
+    // Paths queued through this group that may not show up as loaded yet
+    private final ObjectSet<String> queued = new ObjectSet<>();
+    private final LevelPackLoader packLoader = new LevelPackLoader();
+    // Packs read so far by level number; null values remember levels without a usable pack
+    private final IntMap<LevelPack> packs = new IntMap<>();
+    // Source hash per map name of the compiled packs, read on first use
+    private ObjectMap<String, Long> manifest;
+    // One overlay per loaded map, created before anything touched its cells
+    private final ObjectMap<TiledMap, ScenarioOverlay> overlays = new ObjectMap<>();
+
+    public LevelAssets(AssetManager assetManager, GameInfo gameInfo) {
+        this.assetManager = assetManager;
+        this.gameInfo = gameInfo;
+        InternalFileHandleResolver resolver = new InternalFileHandleResolver();
+        assetManager.setLoader(TiledMap.class, new TmxMapLoader(resolver));
+        assetManager.setLoader(TiledMap.class, LevelPackLoader.PACK_EXTENSION, new LevelPackMapLoader(resolver));
+    }
+
+    /**
+     * The asset path of a level's map: its pack if it has a usable one, else its TMX.
+     */
+    public String pathOf(int levelNumber) {
+        return getPack(levelNumber) != null ? packFile(levelNumber).path() : tmxFile(levelNumber).path();
+    }
+
+    /**
+     * Queue a level's map unless it is loaded or queued already. The AssetManager picks it up
+     * on its next update.
+     *
+     * @return false if the level has neither a pack nor a TMX
+     */
+    public boolean require(int levelNumber) {
+        LevelPack pack = getPack(levelNumber);
+        FileHandle file = pack != null ? packFile(levelNumber) : tmxFile(levelNumber);
+        if (pack == null && !file.exists()) {
+            Gdx.app.error("LevelAssets", "TMX file not found: " + file.path());
+            return false;
+        }
+        String path = file.path();
+        if (!assetManager.contains(path)) {
+            if (pack != null) {
+                // The pack is read already, the loader only needs its tileset textures
+                LevelPackMapLoader.Parameters parameters = new LevelPackMapLoader.Parameters();
+                parameters.pack = pack;
+                assetManager.load(path, TiledMap.class, parameters);
+            } else {
+                assetManager.load(path, TiledMap.class);
+            }
+            Gdx.app.log("LevelAssets", "Queued level map: " + path);
+        }
+        queued.add(path);
+        return true;
+    }
+
+    public boolean isLoaded(int levelNumber) {
+        return assetManager.isLoaded(pathOf(levelNumber), TiledMap.class);
+    }
+
+    /**
+     * Whether a level's map is loaded or on its way.
+     */
+    public boolean isRequired(int levelNumber) {
+        return assetManager.contains(pathOf(levelNumber));
+    }
+
+    /**
+     * A level's map, loaded right now if nobody asked for it before.
+     *
+     * @return the map, or null if the level has neither a pack nor a TMX
+     */
+    public TiledMap get(int levelNumber) {
+        if (!require(levelNumber)) {
+            return null;
+        }
+        String path = pathOf(levelNumber);
+        if (!assetManager.isLoaded(path, TiledMap.class)) {
+            Gdx.app.log("LevelAssets", "Level map was not preloaded, loading it now: " + path);
+            assetManager.finishLoadingAsset(path);
+        }
+        return assetManager.get(path, TiledMap.class);
+    }
+
+    /**
+     * The compiled pack of a level, read on first use if the manifest lists it.
+     *
+     * @return the pack, or null if the level has none (or not the one the manifest lists, or one
+     *         of another format version)
+     */
+    public LevelPack getPack(int levelNumber) {
+        if (!packs.containsKey(levelNumber)) {
+            if (manifest == null) {
+                manifest = packLoader.readManifest(Gdx.files.internal(LevelPackLoader.MANIFEST));
+            }
+            packs.put(levelNumber, packLoader.load(packFile(levelNumber), manifest.get(mapName(levelNumber))));
+        }
+        return packs.get(levelNumber);
+    }
+
+    /**
+     * The scenario overlay of a map handed out by {@link #get}, created the first time it is asked
+     * for. Only the caller's thread creates overlays; a worker is given one that already exists.
+     *
+     * @return the overlay, or null if the map has no ground layer
+     */
+    public ScenarioOverlay overlayOf(TiledMap map) {
+        if (map == null) {
+            return null;
+        }
+        ScenarioOverlay overlay = overlays.get(map);
+        if (overlay == null) {
+            overlay = ScenarioOverlay.forGroundLayer(map);
+            if (overlay != null) {
+                overlays.put(map, overlay);
+            }
+        }
+        return overlay;
+    }
+
+    /**
+     * Put the pristine cells back into every map that stays loaded. The maps outlive this group
+     * (the AssetManager is the game's), so the next session must find them as they were loaded.
+     * Call once nothing applies scenarios any more, e.g. when the gameplay screen is disposed.
+     */
+    public void restoreMaps() {
+        for (ScenarioOverlay overlay : overlays.values()) {
+            overlay.reset();
+        }
+        overlays.clear();
+    }
+
+    /**
+     * Unload every level map (and pack) except the given levels'.
+     *
+     * @return number of maps unloaded
+     */
+    public int retainOnly(int... levelNumbers) {
+        ObjectSet<String> keep = new ObjectSet<>();
+        IntMap<LevelPack> keptPacks = new IntMap<>();
+        for (int levelNumber : levelNumbers) {
+            keep.add(pathOf(levelNumber));
+            if (packs.containsKey(levelNumber)) {
+                keptPacks.put(levelNumber, packs.get(levelNumber));
+            }
+        }
+        packs.clear();
+        packs.putAll(keptPacks);
+
+        // Maps loaded earlier in the session are found through the AssetManager itself
+        Array<String> maps = new Array<>();
+        for (String name : assetManager.getAssetNames()) {
+            if (assetManager.getAssetType(name) == TiledMap.class) {
+                maps.add(name);
+            }
+        }
+        for (String path : queued) {
+            if (!maps.contains(path, false) && assetManager.contains(path)) {
+                maps.add(path);
+            }
+        }
+
+        int unloaded = 0;
+        for (String path : maps) {
+            if (keep.contains(path)) {
+                continue;
+            }
+            // Drop every reference, a loaded map can have been asked for more than once.
+            // A map still in the queue or loading right now only needs a single unload.
+            if (assetManager.isLoaded(path, TiledMap.class)) {
+                overlays.remove(assetManager.get(path, TiledMap.class));
+            }
+            int references = assetManager.isLoaded(path) ? assetManager.getReferenceCount(path) : 1;
+            for (int i = 0; i < references; i++) {
+                assetManager.unload(path);
+            }
+            queued.remove(path);
+            unloaded++;
+            Gdx.app.log("LevelAssets", "Unloaded level map: " + path);
+        }
+        return unloaded;
+    }
+
+    /**
+     * Keep the AssetManager loading; call once per frame while a level is on its way.
+     *
+     * @return true when everything queued is loaded
+     */
+    public boolean update() {
+        return assetManager.update();
+    }
+
+    private FileHandle tmxFile(int levelNumber) {
+        return gameInfo.getTmxFile(mapName(levelNumber));
+    }
+
+    private FileHandle packFile(int levelNumber) {
+        return Gdx.files.internal(LevelPackLoader.packPath(mapName(levelNumber)));
+    }
+
+    private static String mapName(int levelNumber) {
+        return "bridgefall_" + levelNumber;
+    }
+}
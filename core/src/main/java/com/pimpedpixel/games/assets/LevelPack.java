@@ -0,0 +1,542 @@
+package com.pimpedpixel.games.assets;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One level compiled ahead of time from its TMX and levelInfo.json by {@code core:compileLevels}
+ * (see {@code tools.LevelPackCompiler}): everything the game needs of the map, so the TMX is not
+ * parsed at runtime (see {@link LevelPackMapLoader}).
+ *
+ * <ul>
+ *   <li>the tilesets, as image path and grid, and every layer in map order: tile layers as packed
+ *       gids with Tiled's flip flags, object layers as named bounds (a reward's bounds are its
+ *       pickup box, so point rewards come with their size)</li>
+ *   <li>per scenario, the ground cells the scenario changes as {@code (cell index, gid)} pairs, gid 0
+ *       for a hole, and the merged ground colliders with the scenario applied</li>
+ * </ul>
+ *
+ * The binary form is one sequential read: a header with {@link #FORMAT_VERSION} and the
+ * {@link #sourceHash} of the sources, then fixed-width big-endian ints. The build writes the same
+ * hash into the pack manifest, see {@link LevelPackLoader}.
+ *
+ * Rows are libGDX rows (bottom-up), cell indices {@code column + row * columns}.
+ */
+public class LevelPack {
+
+    public static final int MAGIC = 0x42324C50; // "B2LP"
+    public static final int FORMAT_VERSION = 3;
+
+    // Tiled's gid flags, the same bits the TMX uses
+    public static final int FLIP_HORIZONTALLY = 0x80000000;
+    public static final int FLIP_VERTICALLY = 0x40000000;
+    public static final int FLIP_DIAGONALLY = 0x20000000;
+    public static final int GID_MASK = 0x0FFFFFFF;
+
+    public static final String REWARD_OBJECT = "reward";
+
+    private static final int PROPERTY_STRING = 0;
+    private static final int PROPERTY_BOOLEAN = 1;
+    private static final int PROPERTY_INT = 2;
+    private static final int PROPERTY_FLOAT = 3;
+
+    /**
+     * A tileset image cut into a grid, as Tiled describes it. The image path is relative to the
+     * assets root.
+     */
+    public static class TileSet {
+        public final String name;
+        public final int firstGid;
+        public final String imagePath;
+        public final int tileWidth;
+        public final int tileHeight;
+        public final int columns;
+        public final int tileCount;
+        public final int margin;
+        public final int spacing;
+
+        public TileSet(String name, int firstGid, String imagePath, int tileWidth, int tileHeight,
+                       int columns, int tileCount, int margin, int spacing) {
+            this.name = name;
+            this.firstGid = firstGid;
+            this.imagePath = imagePath;
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+            this.columns = columns;
+            this.tileCount = tileCount;
+            this.margin = margin;
+            this.spacing = spacing;
+        }
+    }
+
+    /**
+     * A tile layer (cells set) or an object layer (objects set), in map order.
+     */
+    public static class Layer {
+        public final String name;
+        public final boolean visible;
+        public final float opacity;
+        public final ObjectMap<String, Object> properties;
+        public final int width;
+        public final int height;
+        // Tile layers: gid with flip flags per cell index, 0 for an empty cell
+        public final int[] cells;
+        // Object layers: name and x, y, width, height of every object
+        public final String[] objectNames;
+        public final float[] objectBounds;
+
+        public Layer(String name, boolean visible, float opacity, ObjectMap<String, Object> properties,
+                     int width, int height, int[] cells, String[] objectNames, float[] objectBounds) {
+            this.name = name;
+            this.visible = visible;
+            this.opacity = opacity;
+            this.properties = properties;
+            this.width = width;
+            this.height = height;
+            this.cells = cells;
+            this.objectNames = objectNames;
+            this.objectBounds = objectBounds;
+        }
+
+        public static Layer tiles(String name, boolean visible, float opacity, ObjectMap<String, Object> properties,
+                                  int width, int height, int[] cells) {
+            return new Layer(name, visible, opacity, properties, width, height, cells, null, null);
+        }
+
+        public static Layer objects(String name, boolean visible, float opacity, ObjectMap<String, Object> properties,
+                                    String[] objectNames, float[] objectBounds) {
+            return new Layer(name, visible, opacity, properties, 0, 0, null, objectNames, objectBounds);
+        }
+
+        public boolean isTileLayer() {
+            return cells != null;
+        }
+    }
+
+    private final long sourceHash;
+    private final int levelNumber;
+    private final int columns;
+    private final int rows;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final ObjectMap<String, Object> mapProperties;
+    private final Array<TileSet> tileSets;
+    private final Array<Layer> layers;
+    // Per scenario: cell index and gid of every ground cell the scenario changes
+    private final int[][] scenarioDiffs;
+    // Per scenario: column, row, columns, rows of every merged ground collider
+    private final int[][] scenarioColliders;
+
+    public LevelPack(long sourceHash, int levelNumber, int columns, int rows, int tileWidth, int tileHeight,
+                     ObjectMap<String, Object> mapProperties, Array<TileSet> tileSets, Array<Layer> layers,
+                     int[][] scenarioDiffs, int[][] scenarioColliders) {
+        this.sourceHash = sourceHash;
+        this.levelNumber = levelNumber;
+        this.columns = columns;
+        this.rows = rows;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.mapProperties = mapProperties;
+        this.tileSets = tileSets;
+        this.layers = layers;
+        this.scenarioDiffs = scenarioDiffs;
+        this.scenarioColliders = scenarioColliders;
+    }
+
+    /**
+     * FNV-1a over the pack format version, the TMX and levelInfo.json, the way the compiler
+     * stamps it into the pack and the manifest.
+     */
+    public static long sourceHash(byte[] tmx, byte[] levelInfo) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ FORMAT_VERSION) * 0x100000001b3L;
+        for (byte b : tmx) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        for (byte b : levelInfo) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * A cell's tile with its flips as the gid flags Tiled writes, 0 for an empty cell. Expects
+     * cells as HeadlessTmxMapLoader reads them, which keeps the flags as they are in the TMX.
+     */
+    public static int gidOf(TiledMapTileLayer.Cell cell) {
+        if (cell == null || cell.getTile() == null) {
+            return 0;
+        }
+        int gid = cell.getTile().getId() & GID_MASK;
+        if (cell.getFlipHorizontally()) {
+            gid |= FLIP_HORIZONTALLY;
+        }
+        if (cell.getFlipVertically()) {
+            gid |= FLIP_VERTICALLY;
+        }
+        if (cell.getRotation() == TiledMapTileLayer.Cell.ROTATE_90) {
+            gid |= FLIP_DIAGONALLY;
+        }
+        return gid;
+    }
+
+    /**
+     * A cell for a tile and the flags of its gid, flipped and rotated the way TmxMapLoader does it.
+     */
+    public static TiledMapTileLayer.Cell cellOf(TiledMapTile tile, int gid) {
+        boolean flipHorizontally = (gid & FLIP_HORIZONTALLY) != 0;
+        boolean flipVertically = (gid & FLIP_VERTICALLY) != 0;
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        cell.setTile(tile);
+        if ((gid & FLIP_DIAGONALLY) != 0) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    public long getSourceHash() {
+        return sourceHash;
+    }
+
+    public int getLevelNumber() {
+        return levelNumber;
+    }
+
+    /**
+     * Width of the ground layer in cells.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Height of the ground layer in cells.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    public ObjectMap<String, Object> getMapProperties() {
+        return mapProperties;
+    }
+
+    public Array<TileSet> getTileSets() {
+        return tileSets;
+    }
+
+    public Array<Layer> getLayers() {
+        return layers;
+    }
+
+    public int getScenarioCount() {
+        return scenarioColliders.length;
+    }
+
+    /**
+     * Pickup boxes of the reward objects, in map pixels.
+     */
+    public Array<Rectangle> getRewardBounds() {
+        Array<Rectangle> rewards = new Array<>();
+        for (Layer layer : layers) {
+            if (layer.isTileLayer()) {
+                continue;
+            }
+            for (int i = 0; i < layer.objectNames.length; i++) {
+                if (REWARD_OBJECT.equals(layer.objectNames[i])) {
+                    rewards.add(new Rectangle(layer.objectBounds[i * 4], layer.objectBounds[i * 4 + 1],
+                        layer.objectBounds[i * 4 + 2], layer.objectBounds[i * 4 + 3]));
+                }
+            }
+        }
+        return rewards;
+    }
+
+    /**
+     * Ground cells of every scenario as {@code (cell index, gid)} pairs, ready for
+     * {@code ScenarioOverlay.applyDiff}.
+     */
+    public int[][] getScenarioDiffs() {
+        return scenarioDiffs;
+    }
+
+    /**
+     * Merged ground colliders with the scenario applied, ready for
+     * {@code JbumpMapInitializationSystem.reinitializeWithColliders}. The index is clamped to the
+     * available scenarios, like the level loading does.
+     */
+    public List<ColliderData> getColliders(int scenario) {
+        int[] rects = scenarioColliders[clamp(scenario)];
+        List<ColliderData> colliders = new ArrayList<>(rects.length / 4);
+        for (int i = 0; i < rects.length; i += 4) {
+            colliders.add(new ColliderData(ColliderData.Kind.TILE, rects[i], rects[i + 1], rects[i + 2], rects[i + 3]));
+        }
+        return colliders;
+    }
+
+    private int clamp(int scenario) {
+        return Math.max(0, Math.min(scenario, scenarioColliders.length - 1));
+    }
+
+    public byte[] toBytes() {
+        ByteArray out = new ByteArray(4096);
+        writeInt(out, MAGIC);
+        writeInt(out, FORMAT_VERSION);
+        writeInt(out, (int) (sourceHash >>> 32));
+        writeInt(out, (int) sourceHash);
+        writeInt(out, levelNumber);
+        writeInt(out, columns);
+        writeInt(out, rows);
+        writeInt(out, tileWidth);
+        writeInt(out, tileHeight);
+        writeProperties(out, mapProperties);
+
+        writeInt(out, tileSets.size);
+        for (TileSet tileSet : tileSets) {
+            writeString(out, tileSet.name);
+            writeString(out, tileSet.imagePath);
+            writeInts(out, new int[]{tileSet.firstGid, tileSet.tileWidth, tileSet.tileHeight, tileSet.columns,
+                tileSet.tileCount, tileSet.margin, tileSet.spacing});
+        }
+
+        writeInt(out, layers.size);
+        for (Layer layer : layers) {
+            writeInt(out, layer.isTileLayer() ? 1 : 0);
+            writeString(out, layer.name);
+            writeInt(out, layer.visible ? 1 : 0);
+            writeInt(out, Float.floatToIntBits(layer.opacity));
+            writeProperties(out, layer.properties);
+            if (layer.isTileLayer()) {
+                writeInt(out, layer.width);
+                writeInt(out, layer.height);
+                writeInts(out, layer.cells);
+            } else {
+                writeInt(out, layer.objectNames.length);
+                for (int i = 0; i < layer.objectNames.length; i++) {
+                    writeString(out, layer.objectNames[i]);
+                    for (int b = 0; b < 4; b++) {
+                        writeInt(out, Float.floatToIntBits(layer.objectBounds[i * 4 + b]));
+                    }
+                }
+            }
+        }
+
+        writeInt(out, scenarioColliders.length);
+        for (int i = 0; i < scenarioColliders.length; i++) {
+            writeInt(out, scenarioDiffs[i].length);
+            writeInts(out, scenarioDiffs[i]);
+            writeInt(out, scenarioColliders[i].length);
+            writeInts(out, scenarioColliders[i]);
+        }
+        return out.toArray();
+    }
+
+    /**
+     * Read a pack written by {@link #toBytes()}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a pack, or one of another format version
+     */
+    public static LevelPack fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < 8 || readInt(bytes, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a level pack");
+        }
+        int version = readInt(bytes, 4);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported level pack version " + version + ", expected " + FORMAT_VERSION);
+        }
+        try {
+            int[] position = {8};
+            long sourceHash = ((long) next(bytes, position) << 32) | (next(bytes, position) & 0xFFFFFFFFL);
+            int levelNumber = next(bytes, position);
+            int columns = next(bytes, position);
+            int rows = next(bytes, position);
+            int tileWidth = next(bytes, position);
+            int tileHeight = next(bytes, position);
+            ObjectMap<String, Object> mapProperties = nextProperties(bytes, position);
+
+            int tileSetCount = next(bytes, position);
+            Array<TileSet> tileSets = new Array<>(tileSetCount);
+            for (int i = 0; i < tileSetCount; i++) {
+                String name = nextString(bytes, position);
+                String imagePath = nextString(bytes, position);
+                int[] grid = nextInts(bytes, position, 7);
+                tileSets.add(new TileSet(name, grid[0], imagePath, grid[1], grid[2], grid[3], grid[4], grid[5], grid[6]));
+            }
+
+            int layerCount = next(bytes, position);
+            Array<Layer> layers = new Array<>(layerCount);
+            for (int i = 0; i < layerCount; i++) {
+                boolean tileLayer = next(bytes, position) == 1;
+                String name = nextString(bytes, position);
+                boolean visible = next(bytes, position) == 1;
+                float opacity = Float.intBitsToFloat(next(bytes, position));
+                ObjectMap<String, Object> properties = nextProperties(bytes, position);
+                if (tileLayer) {
+                    int width = next(bytes, position);
+                    int height = next(bytes, position);
+                    layers.add(Layer.tiles(name, visible, opacity, properties, width, height,
+                        nextInts(bytes, position, width * height)));
+                } else {
+                    int objectCount = next(bytes, position);
+                    String[] objectNames = new String[objectCount];
+                    float[] objectBounds = new float[objectCount * 4];
+                    for (int o = 0; o < objectCount; o++) {
+                        objectNames[o] = nextString(bytes, position);
+                        for (int b = 0; b < 4; b++) {
+                            objectBounds[o * 4 + b] = Float.intBitsToFloat(next(bytes, position));
+                        }
+                    }
+                    layers.add(Layer.objects(name, visible, opacity, properties, objectNames, objectBounds));
+                }
+            }
+
+            int scenarioCount = next(bytes, position);
+            int[][] scenarioDiffs = new int[scenarioCount][];
+            int[][] scenarioColliders = new int[scenarioCount][];
+            for (int i = 0; i < scenarioCount; i++) {
+                scenarioDiffs[i] = nextInts(bytes, position, next(bytes, position));
+                scenarioColliders[i] = nextInts(bytes, position, next(bytes, position));
+            }
+            return new LevelPack(sourceHash, levelNumber, columns, rows, tileWidth, tileHeight, mapProperties,
+                tileSets, layers, scenarioDiffs, scenarioColliders);
+        } catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Truncated level pack");
+        }
+    }
+
+    private static void writeInt(ByteArray out, int value) {
+        out.add((byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value);
+    }
+
+    private static void writeInts(ByteArray out, int[] values) {
+        for (int value : values) {
+            writeInt(out, value);
+        }
+    }
+
+    private static void writeString(ByteArray out, String value) {
+        if (value == null) {
+            writeInt(out, -1);
+            return;
+        }
+        writeInt(out, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.add((byte) (c >>> 8), (byte) c);
+        }
+    }
+
+    /**
+     * Tiled's property types; anything else is kept as its string.
+     */
+    private static void writeProperties(ByteArray out, ObjectMap<String, Object> properties) {
+        writeInt(out, properties.size);
+        for (ObjectMap.Entry<String, Object> property : properties) {
+            writeString(out, property.key);
+            Object value = property.value;
+            if (value instanceof Boolean) {
+                writeInt(out, PROPERTY_BOOLEAN);
+                writeInt(out, (Boolean) value ? 1 : 0);
+            } else if (value instanceof Integer) {
+                writeInt(out, PROPERTY_INT);
+                writeInt(out, (Integer) value);
+            } else if (value instanceof Float) {
+                writeInt(out, PROPERTY_FLOAT);
+                writeInt(out, Float.floatToIntBits((Float) value));
+            } else {
+                writeInt(out, PROPERTY_STRING);
+                writeString(out, String.valueOf(value));
+            }
+        }
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+            | (bytes[offset + 2] & 0xFF) << 8 | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static int next(byte[] bytes, int[] position) {
+        int value = readInt(bytes, position[0]);
+        position[0] += 4;
+        return value;
+    }
+
+    private static int[] nextInts(byte[] bytes, int[] position, int count) {
+        if (count < 0 || position[0] + count * 4L > bytes.length) {
+            throw new IllegalArgumentException("Truncated level pack");
+        }
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = next(bytes, position);
+        }
+        return values;
+    }
+
+    private static String nextString(byte[] bytes, int[] position) {
+        int length = next(bytes, position);
+        if (length < 0) {
+            return null;
+        }
+        if (position[0] + length * 2L > bytes.length) {
+            throw new IllegalArgumentException("Truncated level pack");
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ((bytes[position[0]] & 0xFF) << 8 | (bytes[position[0] + 1] & 0xFF));
+            position[0] += 2;
+        }
+        return new String(chars);
+    }
+
+    private static ObjectMap<String, Object> nextProperties(byte[] bytes, int[] position) {
+        int count = next(bytes, position);
+        ObjectMap<String, Object> properties = new ObjectMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = nextString(bytes, position);
+            int type = next(bytes, position);
+            switch (type) {
+                case PROPERTY_BOOLEAN:
+                    properties.put(key, next(bytes, position) == 1);
+                    break;
+                case PROPERTY_INT:
+                    properties.put(key, next(bytes, position));
+                    break;
+                case PROPERTY_FLOAT:
+                    properties.put(key, Float.intBitsToFloat(next(bytes, position)));
+                    break;
+                default:
+                    properties.put(key, nextString(bytes, position));
+                    break;
+            }
+        }
+        return properties;
+    }
+}
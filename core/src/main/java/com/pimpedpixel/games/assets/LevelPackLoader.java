@@ -0,0 +1,91 @@
+package com.pimpedpixel.games.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Reads compiled level packs (rooms/packs/bridgefall_X.lvl): one read of the whole file, decoded
+ * from memory. Packs are optional, so a missing, stale or broken pack is reported and skipped
+ * and the caller loads the TMX as before.
+ *
+ * The compiler writes the source hash of every pack into rooms/packs/manifest.json as well. The
+ * sources are hashed at build time only: a pack is used when its header carries the hash the
+ * manifest lists for it, so a pack left over from another build is not picked up.
+ */
+public class LevelPackLoader {
+
+    public static final String PACK_DIRECTORY = "rooms/packs/";
+    public static final String PACK_EXTENSION = ".lvl";
+    public static final String MANIFEST = PACK_DIRECTORY + "manifest.json";
+
+    public static String packPath(String mapName) {
+        return PACK_DIRECTORY + mapName + PACK_EXTENSION;
+    }
+
+    /**
+     * Source hash per map name, as the compiler wrote them.
+     *
+     * @return the hashes, empty if there is no manifest (the levels were not compiled)
+     */
+    public ObjectMap<String, Long> readManifest(FileHandle file) {
+        ObjectMap<String, Long> hashes = new ObjectMap<>();
+        if (file == null || !file.exists()) {
+            return hashes;
+        }
+        try {
+            for (JsonValue entry = new JsonReader().parse(file).child; entry != null; entry = entry.next) {
+                hashes.put(entry.name, entry.asLong());
+            }
+        } catch (Exception e) {
+            log("Ignoring level pack manifest " + file.path() + ": " + e.getMessage());
+            hashes.clear();
+        }
+        return hashes;
+    }
+
+    /**
+     * @return the pack, or null if there is none that this build can read
+     */
+    public LevelPack load(FileHandle file) {
+        if (file == null || !file.exists()) {
+            return null;
+        }
+        try {
+            return LevelPack.fromBytes(file.readBytes());
+        } catch (Exception e) {
+            // Most likely compiled by an older build; run core:compileLevels again
+            log("Ignoring level pack " + file.path() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Load a pack the manifest lists.
+     *
+     * @param expectedHash the pack's source hash from the manifest, null if it has none
+     * @return the pack, or null if there is none that this build can read or it does not carry the
+     *         manifest's hash
+     */
+    public LevelPack load(FileHandle file, Long expectedHash) {
+        if (expectedHash == null) {
+            return null;
+        }
+        LevelPack pack = load(file);
+        if (pack != null && pack.getSourceHash() != expectedHash) {
+            log("Ignoring level pack " + file.path() + ": not the one in " + MANIFEST + ", run core:compileLevels");
+            return null;
+        }
+        return pack;
+    }
+
+    private static void log(String message) {
+        if (Gdx.app != null) {
+            Gdx.app.error("LevelPackLoader", message);
+        } else {
+            System.err.println("LevelPackLoader: " + message);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.pimpedpixel.games.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+
+/**
+ * Loads a TiledMap from a compiled {@link LevelPack} instead of its TMX: the tileset images are
+ * the only dependencies, everything else is in the pack. Registered for the ".lvl" suffix by
+ * {@link LevelAssets}, so maps from packs go through the AssetManager like TMX maps do.
+ *
+ * The map looks like the one TmxMapLoader makes of the TMX (same layers, tile ids, flips and
+ * properties); the pack's scenario diffs are put in its properties for {@link ScenarioOverlay}.
+ */
+public class LevelPackMapLoader extends AsynchronousAssetLoader<TiledMap, LevelPackMapLoader.Parameters> {
+
+    public static class Parameters extends AssetLoaderParameters<TiledMap> {
+        /** The pack if the caller has read it already, otherwise the file is read */
+        public LevelPack pack;
+    }
+
+    private LevelPack pack;
+
+    public LevelPackMapLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        pack = parameter != null && parameter.pack != null ? parameter.pack : LevelPack.fromBytes(file.readBytes());
+
+        // Same texture settings as TmxMapLoader's defaults, so a TMX and a pack share the texture
+        TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
+        textureParameter.genMipMaps = false;
+        textureParameter.minFilter = Texture.TextureFilter.Nearest;
+        textureParameter.magFilter = Texture.TextureFilter.Nearest;
+
+        Array<AssetDescriptor> dependencies = new Array<>();
+        for (LevelPack.TileSet tileSet : pack.getTileSets()) {
+            dependencies.add(new AssetDescriptor<>(resolve(tileSet.imagePath), Texture.class, textureParameter));
+        }
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        // Nothing to parse, the pack was decoded along with the dependencies
+    }
+
+    @Override
+    public TiledMap loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        ObjectMap<String, Texture> textures = new ObjectMap<>();
+        for (LevelPack.TileSet tileSet : pack.getTileSets()) {
+            textures.put(tileSet.imagePath, manager.get(resolve(tileSet.imagePath).path(), Texture.class));
+        }
+        TiledMap map = buildMap(pack, textures);
+        pack = null;
+        return map;
+    }
+
+    /**
+     * The map of a pack. Tiles of a tileset whose texture is not given, and gids outside every
+     * tileset, get tiles without a region, like HeadlessTmxMapLoader makes them.
+     */
+    public static TiledMap buildMap(LevelPack pack, ObjectMap<String, Texture> textures) {
+        TiledMap map = new TiledMap();
+        MapProperties properties = map.getProperties();
+        for (ObjectMap.Entry<String, Object> property : pack.getMapProperties()) {
+            properties.put(property.key, property.value);
+        }
+        properties.put(ScenarioOverlay.SCENARIO_DIFFS_PROPERTY, pack.getScenarioDiffs());
+
+        IntMap<TiledMapTile> tiles = new IntMap<>();
+        for (LevelPack.TileSet tileSet : pack.getTileSets()) {
+            TiledMapTileSet set = new TiledMapTileSet();
+            set.setName(tileSet.name);
+            set.getProperties().put("firstgid", tileSet.firstGid);
+            Texture texture = textures.get(tileSet.imagePath);
+            for (int id = 0; id < tileSet.tileCount; id++) {
+                TextureRegion region = null;
+                if (texture != null) {
+                    int x = tileSet.margin + (id % tileSet.columns) * (tileSet.tileWidth + tileSet.spacing);
+                    int y = tileSet.margin + (id / tileSet.columns) * (tileSet.tileHeight + tileSet.spacing);
+                    region = new TextureRegion(texture, x, y, tileSet.tileWidth, tileSet.tileHeight);
+                }
+                StaticTiledMapTile tile = new StaticTiledMapTile(region);
+                tile.setId(tileSet.firstGid + id);
+                set.putTile(tile.getId(), tile);
+                tiles.put(tile.getId(), tile);
+            }
+            map.getTileSets().addTileSet(set);
+        }
+
+        TiledMapTileSet untextured = null;
+        for (LevelPack.Layer packLayer : pack.getLayers()) {
+            MapLayer layer;
+            if (packLayer.isTileLayer()) {
+                TiledMapTileLayer tileLayer = new TiledMapTileLayer(packLayer.width, packLayer.height,
+                    pack.getTileWidth(), pack.getTileHeight());
+                for (int index = 0; index < packLayer.cells.length; index++) {
+                    int gid = packLayer.cells[index];
+                    if (gid == 0) {
+                        continue;
+                    }
+                    int id = gid & LevelPack.GID_MASK;
+                    TiledMapTile tile = tiles.get(id);
+                    if (tile == null) {
+                        if (untextured == null) {
+                            untextured = new TiledMapTileSet();
+                            untextured.setName("untextured");
+                            map.getTileSets().addTileSet(untextured);
+                        }
+                        tile = new StaticTiledMapTile((TextureRegion) null);
+                        tile.setId(id);
+                        untextured.putTile(id, tile);
+                        tiles.put(id, tile);
+                    }
+                    tileLayer.setCell(index % packLayer.width, index / packLayer.width, LevelPack.cellOf(tile, gid));
+                }
+                layer = tileLayer;
+            } else {
+                layer = new MapLayer();
+                for (int i = 0; i < packLayer.objectNames.length; i++) {
+                    float x = packLayer.objectBounds[i * 4];
+                    float y = packLayer.objectBounds[i * 4 + 1];
+                    float width = packLayer.objectBounds[i * 4 + 2];
+                    float height = packLayer.objectBounds[i * 4 + 3];
+                    RectangleMapObject object = new RectangleMapObject(x, y, width, height);
+                    object.setName(packLayer.objectNames[i]);
+                    object.getProperties().put("x", x);
+                    object.getProperties().put("y", y);
+                    object.getProperties().put("width", width);
+                    object.getProperties().put("height", height);
+                    layer.getObjects().add(object);
+                }
+            }
+            layer.setName(packLayer.name);
+            layer.setVisible(packLayer.visible);
+            layer.setOpacity(packLayer.opacity);
+            for (ObjectMap.Entry<String, Object> property : packLayer.properties) {
+                layer.getProperties().put(property.key, property.value);
+            }
+            map.getLayers().add(layer);
+        }
+        return map;
+    }
+}
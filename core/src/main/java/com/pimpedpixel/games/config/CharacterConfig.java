@@ -18,8 +18,8 @@ public class CharacterConfig {
     // Map to store character data by name
     private final Map<String, CharacterData> characterMap;
     
-    // Private constructor to prevent instantiation
-    private CharacterConfig() {
+    // Public for per-world configs (GameContext); empty until loadCharacters is called
+    public CharacterConfig() {
         this.characterMap = new HashMap<>();
     }
     
@@ -67,13 +67,7 @@ public class CharacterConfig {
                 }
             }
 
-            // Clear existing data and populate map
-            characterMap.clear();
-            if (characters != null) {
-                for (CharacterData character : characters) {
-                    characterMap.put(character.getName().toLowerCase(), character);
-                }
-            }
+            setCharacters(characters);
             
             System.out.println("CharacterConfig loaded successfully with " + characterMap.size() + " characters:");
             for (String name : characterMap.keySet()) {
@@ -88,6 +82,21 @@ public class CharacterConfig {
         }
     }
     
+    /**
+     * Replace the characters with already parsed ones, e.g. read by tools that run without a
+     * Gdx backend.
+     *
+     * @param characters The characters from characters.json, or null for none
+     */
+    public void setCharacters(CharacterData[] characters) {
+        characterMap.clear();
+        if (characters != null) {
+            for (CharacterData character : characters) {
+                characterMap.put(character.getName().toLowerCase(), character);
+            }
+        }
+    }
+    
     /**
      * Reload the character configuration from file.
      * Useful for applying changes without restarting the application.
@@ -17,12 +17,16 @@ public class DebugConfig {
     // Debug configuration properties (matching debugconfig.json)
     private boolean boundingboxes;
     private boolean hidegroundlayer;
+    private boolean profiler;
+    private boolean recordinput;
     
-    // Private constructor to prevent instantiation
-    private DebugConfig() {
+    // Public for per-world configs; every flag starts off
+    public DebugConfig() {
         // Initialize with default values
         this.boundingboxes = false;
         this.hidegroundlayer = false;
+        this.profiler = false;
+        this.recordinput = false;
     }
     
     /**
@@ -59,9 +63,13 @@ public class DebugConfig {
             if (configData != null) {
                 this.boundingboxes = configData.isBoundingboxes();
                 this.hidegroundlayer = configData.isHidegroundlayer();
+                this.profiler = configData.isProfiler();
+                this.recordinput = configData.isRecordinput();
                 System.out.println("DebugConfig loaded successfully:");
                 System.out.println("  boundingboxes: " + this.boundingboxes);
                 System.out.println("  hidegroundlayer: " + this.hidegroundlayer);
+                System.out.println("  profiler: " + this.profiler);
+                System.out.println("  recordinput: " + this.recordinput);
             } else {
                 System.err.println("Debug config file not found: " + filePath + ", using default values");
             }
@@ -117,12 +125,50 @@ public class DebugConfig {
         this.hidegroundlayer = hidegroundlayer;
     }
     
+    /**
+     * Get whether the per-system profiler overlay should be drawn.
+     *
+     * @return true if the profiler overlay should be shown, false otherwise
+     */
+    public boolean isProfiler() {
+        return profiler;
+    }
+    
+    /**
+     * Set whether the per-system profiler overlay should be drawn.
+     *
+     * @param profiler true to show the profiler overlay, false to hide it
+     */
+    public void setProfiler(boolean profiler) {
+        this.profiler = profiler;
+    }
+    
+    /**
+     * Get whether the player's input should be saved for replay when the gameplay screen is left.
+     *
+     * @return true if the input recording should be saved, false otherwise
+     */
+    public boolean isRecordinput() {
+        return recordinput;
+    }
+    
+    /**
+     * Set whether the player's input should be saved for replay when the gameplay screen is left.
+     *
+     * @param recordinput true to save the input recording, false to discard it
+     */
+    public void setRecordinput(boolean recordinput) {
+        this.recordinput = recordinput;
+    }
+    
     /**
      * Helper class to match the JSON structure in debugconfig.json.
      */
     public static class DebugConfigData {
         private boolean boundingboxes;
         private boolean hidegroundlayer;
+        private boolean profiler;
+        private boolean recordinput;
         
         // Getters and setters for JSON parsing
         public boolean isBoundingboxes() {
@@ -140,5 +186,21 @@ public class DebugConfig {
         public void setHidegroundlayer(boolean hidegroundlayer) {
             this.hidegroundlayer = hidegroundlayer;
         }
+        
+        public boolean isProfiler() {
+            return profiler;
+        }
+        
+        public void setProfiler(boolean profiler) {
+            this.profiler = profiler;
+        }
+        
+        public boolean isRecordinput() {
+            return recordinput;
+        }
+        
+        public void setRecordinput(boolean recordinput) {
+            this.recordinput = recordinput;
+        }
     }
 }
@@ -49,6 +49,8 @@ public class LevelLoader {
         private int dyingDuration;
         private int diedDuration;
         private int timerDecrementAmount;
+        private int tickRate;
+        private int maxCatchUpSteps;
 
         // Getters and setters
         public int getMoveSpeed() {
@@ -122,5 +124,21 @@ public class LevelLoader {
         public void setTimerDecrementAmount(int timerDecrementAmount) {
             this.timerDecrementAmount = timerDecrementAmount;
         }
+
+        public int getTickRate() {
+            return tickRate;
+        }
+
+        public void setTickRate(int tickRate) {
+            this.tickRate = tickRate;
+        }
+
+        public int getMaxCatchUpSteps() {
+            return maxCatchUpSteps;
+        }
+
+        public void setMaxCatchUpSteps(int maxCatchUpSteps) {
+            this.maxCatchUpSteps = maxCatchUpSteps;
+        }
     }
 }
@@ -0,0 +1,290 @@
+package com.pimpedpixel.games.gameplay;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.pimpedpixel.games.assets.LevelPack;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.List;
+
+/**
+ * Applies scenarios to a tile layer as per-cell overrides on top of the layer as it was loaded.
+ *
+ * The TiledMap comes from the AssetManager and is shared, so the overlay keeps the pristine
+ * cells and only ever swaps cell references: a HOLE clears the cell, SOLID puts the pristine
+ * tile back (or a fill tile where the TMX has none) and FATAL keeps the pristine cell.
+ * Switching scenarios only touches the cells whose state differs, and switching back
+ * restores the original tiles without reloading the TMX.
+ *
+ * Both the scenario's groundLayer and baseLayer are applied.
+ *
+ * A map loaded from a level pack carries the pack's compiled scenario diffs (see
+ * {@link #SCENARIO_DIFFS_PROPERTY}); {@link #apply(int, Scenario)} then sets the listed cells
+ * instead of working the scenario out again.
+ */
+public class ScenarioOverlay {
+
+    public static final String GROUND_LAYER = "ground";
+    // Map property with the int[][] scenario diffs of a level pack, see LevelPackMapLoader
+    public static final String SCENARIO_DIFFS_PROPERTY = "scenarioDiffs";
+
+    // Cell state of a cell no scenario overrides
+    private static final int PRISTINE = -1;
+
+    private final TiledMapTileLayer layer;
+    private final TiledMapTileLayer.Cell[][] pristine;
+    private final int[][] applied;
+    private final IntArray overriddenRows = new IntArray();
+    private TiledMapTileLayer.Cell fillCell;
+
+    private int[][] compiledDiffs;
+    private TiledMapTileSets tileSets;
+    // Cells the applied diff overrides, by cell index
+    private final IntArray overriddenCells = new IntArray();
+    // One cell per gid a diff puts in, so applying the same diff again changes nothing
+    private final IntMap<TiledMapTileLayer.Cell> diffCells = new IntMap<>();
+
+    public ScenarioOverlay(TiledMapTileLayer layer) {
+        this.layer = layer;
+        int width = layer.getWidth();
+        int height = layer.getHeight();
+        pristine = new TiledMapTileLayer.Cell[width][height];
+        applied = new int[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                pristine[x][y] = layer.getCell(x, y);
+                applied[x][y] = PRISTINE;
+            }
+        }
+    }
+
+    /**
+     * Overlay for the map's ground layer, or null if the map has none.
+     */
+    public static ScenarioOverlay forGroundLayer(TiledMap tileMap) {
+        if (tileMap == null || !(tileMap.getLayers().get(GROUND_LAYER) instanceof TiledMapTileLayer)) {
+            System.out.println("Ground layer not found in tilemap, no scenario overlay");
+            return null;
+        }
+        ScenarioOverlay overlay = new ScenarioOverlay((TiledMapTileLayer) tileMap.getLayers().get(GROUND_LAYER));
+        Object diffs = tileMap.getProperties().get(SCENARIO_DIFFS_PROPERTY);
+        if (diffs instanceof int[][] && ((int[][]) diffs).length > 0) {
+            overlay.compiledDiffs = (int[][]) diffs;
+            overlay.tileSets = tileMap.getTileSets();
+        }
+        return overlay;
+    }
+
+    public TiledMapTileLayer getLayer() {
+        return layer;
+    }
+
+    /**
+     * Apply the scenario's ground and base layers, replacing whatever scenario was applied before.
+     * Rows the previous scenario overrode and this one does not are restored.
+     *
+     * @return changed columns per libGDX row, only for cells whose tile actually changed
+     */
+    public IntMap<IntArray> apply(Scenario scenario) {
+        IntMap<IntArray> changes = new IntMap<>();
+        restoreDiffCells(null, changes);
+        CollisionLayer ground = scenario != null ? scenario.getGroundLayer() : null;
+        CollisionLayer base = scenario != null ? scenario.getBaseLayer() : null;
+        int groundRow = rowOf(ground);
+        int baseRow = rowOf(base);
+
+        // Restore rows that are no longer overridden
+        for (int i = 0; i < overriddenRows.size; i++) {
+            int row = overriddenRows.get(i);
+            if (row != groundRow && row != baseRow) {
+                applyRow(row, null, changes);
+            }
+        }
+
+        overriddenRows.clear();
+        if (baseRow >= 0) {
+            applyRow(baseRow, base.getCellStates(), changes);
+            overriddenRows.add(baseRow);
+        }
+        if (groundRow >= 0) {
+            applyRow(groundRow, ground.getCellStates(), changes);
+            if (groundRow != baseRow) {
+                overriddenRows.add(groundRow);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Apply a scenario of the level by index: from the map's compiled diff when it came from a
+     * level pack, the index clamped to the compiled scenarios, otherwise {@link #apply(Scenario)}.
+     *
+     * @return changed columns per libGDX row
+     */
+    public IntMap<IntArray> apply(int scenarioIndex, Scenario scenario) {
+        if (compiledDiffs == null) {
+            return apply(scenario);
+        }
+        return applyDiff(compiledDiffs[Math.max(0, Math.min(scenarioIndex, compiledDiffs.length - 1))]);
+    }
+
+    /**
+     * Set the cells of a compiled scenario diff, {@code (cell index, gid)} pairs with gid 0 for a
+     * hole, and put every other cell back to its pristine tile.
+     *
+     * @return changed columns per libGDX row
+     */
+    public IntMap<IntArray> applyDiff(int[] diff) {
+        IntMap<IntArray> changes = new IntMap<>();
+        // Rows a scenario overrode go back first
+        for (int i = 0; i < overriddenRows.size; i++) {
+            applyRow(overriddenRows.get(i), null, changes);
+        }
+        overriddenRows.clear();
+
+        restoreDiffCells(diff, changes);
+        for (int i = 0; i + 1 < diff.length; i += 2) {
+            int index = diff[i];
+            setCell(index % layer.getWidth(), index / layer.getWidth(), diffCell(diff[i + 1]), changes);
+            overriddenCells.add(index);
+        }
+        return changes;
+    }
+
+    /**
+     * Put every overridden cell back to its pristine tile.
+     *
+     * @return changed columns per libGDX row
+     */
+    public IntMap<IntArray> reset() {
+        return apply(null);
+    }
+
+    public TiledMapTileLayer.Cell getPristineCell(int x, int y) {
+        return pristine[x][y];
+    }
+
+    /**
+     * libGDX row (bottom-up) of a scenario layer's Tiled row, or -1 if it has nothing to apply.
+     */
+    private int rowOf(CollisionLayer collisionLayer) {
+        if (collisionLayer == null || collisionLayer.getCellStates() == null || collisionLayer.getCellStates().isEmpty()) {
+            return -1;
+        }
+        // Tiled counts rows from the top, libGDX from the bottom
+        int row = layer.getHeight() - 1 - collisionLayer.getMatchingRow();
+        if (row < 0 || row >= layer.getHeight()) {
+            System.out.println("ERROR: Row " + row + " is out of bounds!");
+            return -1;
+        }
+        return row;
+    }
+
+    private void applyRow(int row, List<Integer> cellStates, IntMap<IntArray> changes) {
+        for (int x = 0; x < layer.getWidth(); x++) {
+            int state = cellStates != null && x < cellStates.size() ? cellStates.get(x) : PRISTINE;
+            if (applied[x][row] == state) {
+                continue;
+            }
+            applied[x][row] = state;
+
+            setCell(x, row, resolve(x, row, state), changes);
+        }
+    }
+
+    private void setCell(int x, int y, TiledMapTileLayer.Cell cell, IntMap<IntArray> changes) {
+        if (cell == layer.getCell(x, y)) {
+            return;
+        }
+        layer.setCell(x, y, cell);
+        IntArray columns = changes.get(y);
+        if (columns == null) {
+            columns = new IntArray();
+            changes.put(y, columns);
+        }
+        if (!columns.contains(x)) {
+            columns.add(x);
+        }
+    }
+
+    /**
+     * Put the cells of the applied diff back, except those the next diff sets anyway.
+     */
+    private void restoreDiffCells(int[] nextDiff, IntMap<IntArray> changes) {
+        for (int i = 0; i < overriddenCells.size; i++) {
+            int index = overriddenCells.get(i);
+            if (!listsCell(nextDiff, index)) {
+                int x = index % layer.getWidth();
+                int y = index / layer.getWidth();
+                setCell(x, y, pristine[x][y], changes);
+            }
+        }
+        overriddenCells.clear();
+    }
+
+    private static boolean listsCell(int[] diff, int index) {
+        if (diff != null) {
+            for (int i = 0; i < diff.length; i += 2) {
+                if (diff[i] == index) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private TiledMapTileLayer.Cell diffCell(int gid) {
+        if (gid == 0) {
+            return null;
+        }
+        TiledMapTileLayer.Cell cell = diffCells.get(gid);
+        if (cell == null) {
+            TiledMapTile tile = tileSets != null ? tileSets.getTile(gid & LevelPack.GID_MASK) : null;
+            if (tile == null) {
+                System.out.println("ERROR: Scenario diff uses tile " + (gid & LevelPack.GID_MASK) + " the map does not have");
+                return null;
+            }
+            cell = LevelPack.cellOf(tile, gid);
+            diffCells.put(gid, cell);
+        }
+        return cell;
+    }
+
+    private TiledMapTileLayer.Cell resolve(int x, int y, int state) {
+        if (state == PRISTINE) {
+            return pristine[x][y];
+        }
+        switch (CollisionType.fromValue(state)) {
+            case HOLE:
+                return null;
+            case SOLID:
+                return pristine[x][y] != null ? pristine[x][y] : fillCell();
+            case FATAL:
+            default:
+                return pristine[x][y];
+        }
+    }
+
+    /**
+     * Cell used where a scenario says SOLID but the TMX has no tile: the first tile of the layer.
+     */
+    private TiledMapTileLayer.Cell fillCell() {
+        if (fillCell == null) {
+            outer:
+            for (int x = 0; x < pristine.length; x++) {
+                for (int y = 0; y < pristine[x].length; y++) {
+                    TiledMapTileLayer.Cell candidate = pristine[x][y];
+                    if (candidate != null && candidate.getTile() != null) {
+                        fillCell = new TiledMapTileLayer.Cell();
+                        fillCell.setTile(candidate.getTile());
+                        break outer;
+                    }
+                }
+            }
+        }
+        return fillCell;
+    }
+}
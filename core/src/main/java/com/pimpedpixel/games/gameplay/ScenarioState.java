@@ -14,6 +14,8 @@ public class ScenarioState {
     private int currentScenarioIndex = 0;
     private boolean treasureFoundThisScenario = false;
     private boolean playedDeathGruntThisLevel = false;
+    // Seed of the world's RandomSystem, needed to reproduce this run
+    private long randomSeed = 0L;
     
     // Scenario tracking per level
     private Map<Integer, LevelScenarioData> levelScenarioDataMap = new HashMap<>();
@@ -23,8 +25,8 @@ public class ScenarioState {
     private int totalScenariosCompleted = 0;
     private int totalDeaths = 0;
     
-    // Private constructor for singleton
-    private ScenarioState() {
+    // Public so every world can own its state; getInstance() remains the game-wide one
+    public ScenarioState() {
         // Initialize with default values
     }
     
@@ -195,6 +197,20 @@ public class ScenarioState {
         this.currentScenarioIndex = scenarioIndex;
     }
     
+    /**
+     * Get the seed the current world's randomness was derived from
+     */
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+    
+    /**
+     * Set the seed the current world's randomness was derived from
+     */
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+    
     /**
      * Check if treasure was found in current scenario
      */
@@ -307,6 +323,7 @@ public class ScenarioState {
         System.out.println("Total Levels Unlocked: " + totalLevelsUnlocked);
         System.out.println("Total Scenarios Completed: " + totalScenariosCompleted);
         System.out.println("Total Deaths: " + totalDeaths);
+        System.out.println("Random Seed: " + randomSeed);
         
         for (Map.Entry<Integer, LevelScenarioData> entry : levelScenarioDataMap.entrySet()) {
             System.out.println("\nLevel " + entry.getKey() + ":");
@@ -0,0 +1,265 @@
+package com.pimpedpixel.games.navigation;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Graph of the tiles Harry can stand on, connected by the moves that get him from one to another.
+ * Built once per scenario by {@link NavGraphBuilder}; all pairs are solved at build time, so travel
+ * times, reachability and the next hop of a shortest path are table lookups.
+ *
+ * Nodes are tile cells (column, libGDX row) whose top Harry can stand on. Travel times are in
+ * seconds of game time. The graph is immutable and can be shared between threads.
+ */
+public class NavGraph {
+
+    public enum MoveType {
+        WALK,
+        FALL,
+        JUMP,
+        ZEBRA_JUMP
+    }
+
+    private final int columns;
+    private final int rows;
+    private final float tileWidth;
+    private final float tileHeight;
+    private final SolidGrid grid;
+    private final long signature;
+
+    private final int[] nodeOfCell;
+    private final int[] nodeColumn;
+    private final int[] nodeRow;
+
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final MoveType[] edgeType;
+    private final float[] edgeCost;
+
+    private final float[] travelTime;
+    private final int[] nextHop;
+
+    private final float[] rewardTime;
+    private final int[] rewardGoal;
+
+    NavGraph(int columns, int rows, float tileWidth, float tileHeight, boolean[] solid, long signature,
+             int[] nodeOfCell, int[] nodeColumn, int[] nodeRow,
+             int[] edgeStart, int[] edgeTarget, MoveType[] edgeType, float[] edgeCost,
+             float[] travelTime, int[] nextHop, float[] rewardTime, int[] rewardGoal) {
+        this.columns = columns;
+        this.rows = rows;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.grid = new SolidGrid(columns, rows, tileWidth, tileHeight, solid);
+        this.signature = signature;
+        this.nodeOfCell = nodeOfCell;
+        this.nodeColumn = nodeColumn;
+        this.nodeRow = nodeRow;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeType = edgeType;
+        this.edgeCost = edgeCost;
+        this.travelTime = travelTime;
+        this.nextHop = nextHop;
+        this.rewardTime = rewardTime;
+        this.rewardGoal = rewardGoal;
+    }
+
+    public int getNodeCount() {
+        return nodeColumn.length;
+    }
+
+    /**
+     * Hash of the solid cells the graph was built from, to tell whether the geometry changed.
+     */
+    public long getSignature() {
+        return signature;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * The solid cells the graph was built from.
+     */
+    public SolidGrid getGrid() {
+        return grid;
+    }
+
+    public boolean isSolid(int column, int row) {
+        return grid.isSolid(column, row);
+    }
+
+    /**
+     * The node of a cell, or -1 when Harry cannot stand on it.
+     */
+    public int nodeOfCell(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        return nodeOfCell[column + row * columns];
+    }
+
+    /**
+     * The node under a point: the first standable cell at or below it in its column, so an airborne
+     * Harry maps to where he would land falling straight down.
+     *
+     * @param x    world x, usually the centre of Harry's collider
+     * @param feet world y of his feet
+     * @return the node, or -1 when there is nothing to land on
+     */
+    public int nodeAt(float x, float feet) {
+        int column = (int) Math.floor(x / tileWidth);
+        if (column < 0 || column >= columns) {
+            return -1;
+        }
+        int row = Math.min(rows - 1, Math.round(feet / tileHeight) - 1);
+        for (; row >= 0; row--) {
+            int node = nodeOfCell[column + row * columns];
+            if (node >= 0) {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    public int getColumn(int node) {
+        return nodeColumn[node];
+    }
+
+    public int getRow(int node) {
+        return nodeRow[node];
+    }
+
+    /**
+     * World x of the centre of the node's cell.
+     */
+    public float getX(int node) {
+        return (nodeColumn[node] + 0.5f) * tileWidth;
+    }
+
+    /**
+     * World y of the top of the node's cell, where Harry's feet are when he stands on it.
+     */
+    public float getY(int node) {
+        return (nodeRow[node] + 1) * tileHeight;
+    }
+
+    public int getEdgeCount(int node) {
+        return edgeStart[node + 1] - edgeStart[node];
+    }
+
+    public int getEdgeTarget(int node, int edge) {
+        return edgeTarget[edgeStart[node] + edge];
+    }
+
+    public MoveType getEdgeType(int node, int edge) {
+        return edgeType[edgeStart[node] + edge];
+    }
+
+    public float getEdgeCost(int node, int edge) {
+        return edgeCost[edgeStart[node] + edge];
+    }
+
+    /**
+     * Shortest travel time between two nodes, or {@code Float.POSITIVE_INFINITY} when there is no way.
+     */
+    public float getTravelTime(int from, int to) {
+        if (from < 0 || to < 0) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return travelTime[from * getNodeCount() + to];
+    }
+
+    public boolean isReachable(int from, int to) {
+        return getTravelTime(from, to) != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * The node to move to next on a shortest path, or -1 when {@code to} is unreachable
+     * (or already reached).
+     */
+    public int getNextHop(int from, int to) {
+        if (from < 0 || to < 0 || from == to) {
+            return -1;
+        }
+        return nextHop[from * getNodeCount() + to];
+    }
+
+    /**
+     * The move to make for the first hop of a shortest path, or null when there is none.
+     */
+    public MoveType getNextMove(int from, int to) {
+        int hop = getNextHop(from, to);
+        if (hop < 0) {
+            return null;
+        }
+        for (int e = edgeStart[from]; e < edgeStart[from + 1]; e++) {
+            if (edgeTarget[e] == hop) {
+                return edgeType[e];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fill {@code out} with the nodes of a shortest path, both ends included.
+     *
+     * @return false (and an empty {@code out}) when there is no path
+     */
+    public boolean findPath(int from, int to, IntArray out) {
+        out.clear();
+        if (!isReachable(from, to)) {
+            return false;
+        }
+        out.add(from);
+        int node = from;
+        while (node != to) {
+            node = nextHop[node * getNodeCount() + to];
+            out.add(node);
+        }
+        return true;
+    }
+
+    public boolean hasReward() {
+        for (int goal : rewardGoal) {
+            if (goal >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Travel time from a node to the closest node the reward can be picked up from.
+     */
+    public float getRewardTime(int from) {
+        return from >= 0 ? rewardTime[from] : Float.POSITIVE_INFINITY;
+    }
+
+    public boolean isRewardReachable(int from) {
+        return getRewardTime(from) != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * The node the reward is picked up from on the shortest way from {@code from}, or -1.
+     */
+    public int getRewardGoal(int from) {
+        return from >= 0 ? rewardGoal[from] : -1;
+    }
+
+    public boolean findPathToReward(int from, IntArray out) {
+        return findPath(from, getRewardGoal(from), out);
+    }
+
+    /**
+     * See {@link SolidGrid#slideLimit}.
+     */
+    public float slideLimit(float startX, float targetX, float y, float width, float height) {
+        return grid.slideLimit(startX, targetX, y, width, height);
+    }
+}
@@ -0,0 +1,481 @@
+package com.pimpedpixel.games.navigation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.Rect;
+import com.dongbat.jbump.World;
+import com.pimpedpixel.games.systems.characters.CharacterMovementSystem;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+import com.pimpedpixel.games.systems.characters.CollisionQueries;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds a {@link NavGraph} from the solid cells of the collision grid and the movement constants.
+ *
+ * Every pair of standable cells is tried in order of preference: walking to a neighbour, walking
+ * off a ledge, a normal jump and a jump off the zebra's back. A move is checked by flying Harry's
+ * collider along it on the tile grid with the same integration as {@link CharacterMovementSystem},
+ * steering towards the target and sliding along walls. Like in jbump he sticks under a ceiling until
+ * gravity turns him around, and a move that bumps his head on the lethal row fails. Zebra jumps
+ * assume the zebra can be brought under Harry; the graph does not track where it is.
+ */
+public class NavGraphBuilder {
+
+    private static final float TICK = 1f / 60f;
+    private static final int MAX_TICKS = 600;
+    private static final float INFINITY = Float.POSITIVE_INFINITY;
+
+    private float tileWidth = 64f;
+    private float tileHeight = 64f;
+    private float moveSpeed = 120f;
+    private float jumpSpeed = 260f;
+    private float gravity = -600f;
+    private float zebraJumpMultiplier = CharacterMovementSystem.ZEBRA_JUMP_MULTIPLIER;
+    private float zebraHeight = 64f;
+    private float zebraWait = 3f;
+    private float harryWidth = 30f;
+    private float harryHeight = 64f;
+    private float minStandY = CharacterMovementSystem.DEATH_Y;
+    private boolean hasReward;
+    private float rewardX, rewardY, rewardWidth, rewardHeight;
+
+    // Grid of the graph being built
+    private int columns;
+    private int rows;
+    private boolean[] solid;
+
+    /**
+     * Size of a tile in world units, after the asset scale.
+     */
+    public NavGraphBuilder tileSize(float width, float height) {
+        this.tileWidth = width;
+        this.tileHeight = height;
+        return this;
+    }
+
+    public NavGraphBuilder physics(float moveSpeed, float jumpSpeed, float gravity) {
+        this.moveSpeed = moveSpeed;
+        this.jumpSpeed = jumpSpeed;
+        this.gravity = gravity;
+        return this;
+    }
+
+    public NavGraphBuilder harrySize(float width, float height) {
+        this.harryWidth = width;
+        this.harryHeight = height;
+        return this;
+    }
+
+    public NavGraphBuilder zebraHeight(float zebraHeight) {
+        this.zebraHeight = zebraHeight;
+        return this;
+    }
+
+    /**
+     * Seconds added to every zebra jump for getting the zebra into place, so paths only use one
+     * when nothing else is about as quick. Defaults to one zebra patrol interval.
+     */
+    public NavGraphBuilder zebraWait(float zebraWait) {
+        this.zebraWait = zebraWait;
+        return this;
+    }
+
+    /**
+     * Harry dies landing below this height, so cells whose top is lower are not nodes.
+     */
+    public NavGraphBuilder minStandY(float minStandY) {
+        this.minStandY = minStandY;
+        return this;
+    }
+
+    /**
+     * Where the reward is, in world units. Without one the reward queries return no path.
+     */
+    public NavGraphBuilder reward(float x, float y, float width, float height) {
+        this.hasReward = true;
+        this.rewardX = x;
+        this.rewardY = y;
+        this.rewardWidth = width;
+        this.rewardHeight = height;
+        return this;
+    }
+
+    public NavGraphBuilder noReward() {
+        this.hasReward = false;
+        return this;
+    }
+
+    /**
+     * The solid cells of the static map colliders in a jbump world, indexed
+     * {@code [column][libGDX row]}.
+     */
+    public static boolean[][] rasterize(World<Object> jbumpWorld, int columns, int rows,
+                                        float tileWidth, float tileHeight) {
+        boolean[][] solid = new boolean[columns][rows];
+        for (Item<Object> item : jbumpWorld.getItems()) {
+            Object userData = item.userData;
+            int column, row, width, height;
+            if (userData instanceof ColliderData) {
+                ColliderData data = (ColliderData) userData;
+                if (!data.isTile()) continue;
+                column = data.column;
+                row = data.row;
+                width = data.columns;
+                height = data.rows;
+            } else if (CollisionQueries.MAP_COLLISION.equals(userData)) {
+                Rect rect = jbumpWorld.getRect(item);
+                column = Math.round(rect.x / tileWidth);
+                row = Math.round(rect.y / tileHeight);
+                width = Math.max(1, Math.round(rect.w / tileWidth));
+                height = Math.max(1, Math.round(rect.h / tileHeight));
+            } else {
+                continue;
+            }
+            fill(solid, column, row, width, height);
+        }
+        return solid;
+    }
+
+    /**
+     * The solid cells of a list of map colliders, like {@link #rasterize(World, int, int, float, float)}
+     * once they are added to a jbump world. Touches no world, so it can run on any thread.
+     */
+    public static boolean[][] rasterize(List<ColliderData> colliders, int columns, int rows) {
+        boolean[][] solid = new boolean[columns][rows];
+        for (ColliderData data : colliders) {
+            if (data.isTile()) {
+                fill(solid, data.column, data.row, data.columns, data.rows);
+            }
+        }
+        return solid;
+    }
+
+    private static void fill(boolean[][] solid, int column, int row, int width, int height) {
+        int columns = solid.length;
+        int rows = columns > 0 ? solid[0].length : 0;
+        for (int x = Math.max(0, column); x < Math.min(columns, column + width); x++) {
+            for (int y = Math.max(0, row); y < Math.min(rows, row + height); y++) {
+                solid[x][y] = true;
+            }
+        }
+    }
+
+    /**
+     * Build the graph for a grid of solid cells indexed {@code [column][libGDX row]}.
+     */
+    public NavGraph build(boolean[][] grid) {
+        columns = grid.length;
+        rows = columns > 0 ? grid[0].length : 0;
+        solid = new boolean[columns * rows];
+        for (int x = 0; x < columns; x++) {
+            for (int y = 0; y < rows; y++) {
+                solid[x + y * columns] = grid[x][y];
+            }
+        }
+
+        // Nodes
+        int[] nodeOfCell = new int[columns * rows];
+        Arrays.fill(nodeOfCell, -1);
+        int count = 0;
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                if (isStandable(x, y)) {
+                    nodeOfCell[x + y * columns] = count++;
+                }
+            }
+        }
+        int[] nodeColumn = new int[count];
+        int[] nodeRow = new int[count];
+        for (int cell = 0; cell < nodeOfCell.length; cell++) {
+            int node = nodeOfCell[cell];
+            if (node >= 0) {
+                nodeColumn[node] = cell % columns;
+                nodeRow[node] = cell / columns;
+            }
+        }
+
+        // Edges, cheapest kind of move per pair
+        int[] edgeStart = new int[count + 1];
+        Array<NavGraph.MoveType> types = new Array<>();
+        IntArray targets = new IntArray();
+        FloatArray costs = new FloatArray();
+        float[] travelTime = new float[count * count];
+        int[] nextHop = new int[count * count];
+        Arrays.fill(travelTime, INFINITY);
+        Arrays.fill(nextHop, -1);
+
+        for (int from = 0; from < count; from++) {
+            edgeStart[from] = targets.size;
+            travelTime[from * count + from] = 0f;
+            for (int to = 0; to < count; to++) {
+                if (from == to) continue;
+                int fromColumn = nodeColumn[from], fromRow = nodeRow[from];
+                int toColumn = nodeColumn[to], toRow = nodeRow[to];
+
+                NavGraph.MoveType type = null;
+                float cost = -1f;
+                if (fromRow == toRow && Math.abs(toColumn - fromColumn) == 1) {
+                    type = NavGraph.MoveType.WALK;
+                    cost = tileWidth / moveSpeed;
+                } else {
+                    if (toRow < fromRow && toColumn != fromColumn) {
+                        cost = simulateMove(fromColumn, fromRow, toColumn, toRow, 0f, 0f);
+                        type = NavGraph.MoveType.FALL;
+                    }
+                    if (cost < 0f) {
+                        cost = simulateMove(fromColumn, fromRow, toColumn, toRow, jumpSpeed, 0f);
+                        type = NavGraph.MoveType.JUMP;
+                    }
+                    if (cost < 0f) {
+                        cost = simulateMove(fromColumn, fromRow, toColumn, toRow,
+                            jumpSpeed * zebraJumpMultiplier, zebraHeight);
+                        if (cost >= 0f) {
+                            cost += zebraWait;
+                        }
+                        type = NavGraph.MoveType.ZEBRA_JUMP;
+                    }
+                }
+                if (cost >= 0f) {
+                    targets.add(to);
+                    types.add(type);
+                    costs.add(cost);
+                    travelTime[from * count + to] = cost;
+                    nextHop[from * count + to] = to;
+                }
+            }
+        }
+        edgeStart[count] = targets.size;
+
+        // All pairs (Floyd-Warshall); the grids are small enough to make every query a lookup
+        for (int k = 0; k < count; k++) {
+            for (int i = 0; i < count; i++) {
+                float viaK = travelTime[i * count + k];
+                if (viaK == INFINITY) continue;
+                for (int j = 0; j < count; j++) {
+                    float candidate = viaK + travelTime[k * count + j];
+                    if (candidate < travelTime[i * count + j]) {
+                        travelTime[i * count + j] = candidate;
+                        nextHop[i * count + j] = nextHop[i * count + k];
+                    }
+                }
+            }
+        }
+
+        // Closest node the reward can be picked up from
+        float[] rewardTime = new float[count];
+        int[] rewardGoal = new int[count];
+        Arrays.fill(rewardTime, INFINITY);
+        Arrays.fill(rewardGoal, -1);
+        if (hasReward) {
+            for (int goal = 0; goal < count; goal++) {
+                if (!reachesReward(nodeColumn[goal], nodeRow[goal])) continue;
+                for (int from = 0; from < count; from++) {
+                    float time = travelTime[from * count + goal];
+                    if (time < rewardTime[from]) {
+                        rewardTime[from] = time;
+                        rewardGoal[from] = goal;
+                    }
+                }
+            }
+        }
+
+        int[] edgeTarget = targets.toArray();
+        NavGraph.MoveType[] edgeType = new NavGraph.MoveType[types.size];
+        for (int i = 0; i < types.size; i++) {
+            edgeType[i] = types.get(i);
+        }
+        return new NavGraph(columns, rows, tileWidth, tileHeight, solid, signature(grid),
+            nodeOfCell, nodeColumn, nodeRow, edgeStart, edgeTarget, edgeType, costs.toArray(),
+            travelTime, nextHop, rewardTime, rewardGoal);
+    }
+
+    /**
+     * FNV-1a hash of the grid, to tell whether a cached graph still matches the geometry.
+     */
+    public static long signature(boolean[][] grid) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ grid.length) * 0x100000001b3L;
+        for (boolean[] column : grid) {
+            hash = (hash ^ column.length) * 0x100000001b3L;
+            for (boolean cell : column) {
+                hash = (hash ^ (cell ? 1 : 0)) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private boolean isStandable(int column, int row) {
+        if (!solid[column + row * columns] || (row + 1) * tileHeight < minStandY) {
+            return false;
+        }
+        int headroom = (int) Math.ceil(harryHeight / tileHeight);
+        for (int y = row + 1; y <= row + headroom; y++) {
+            if (y >= rows || solid[column + y * columns]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Standing on the cell, or jumping straight up from it, Harry's collider touches the reward.
+     */
+    private boolean reachesReward(int column, int row) {
+        float left = column * tileWidth - harryWidth / 2f;
+        float right = (column + 1) * tileWidth + harryWidth / 2f;
+        float bottom = (row + 1) * tileHeight;
+        float top = bottom + harryHeight + jumpSpeed * jumpSpeed / (2f * -gravity);
+        return left < rewardX + rewardWidth && right > rewardX
+            && bottom < rewardY + rewardHeight && top > rewardY;
+    }
+
+    /**
+     * Fly Harry from one cell to another on the tile grid.
+     *
+     * @param jumpSpeed initial upward speed, 0 for walking off a ledge
+     * @param lift      height above the start cell's top the move starts at (the zebra's back)
+     * @return seconds the move takes, or -1 when he does not land on the target cell
+     */
+    private float simulateMove(int fromColumn, int fromRow, int toColumn, int toRow, float jumpSpeed, float lift) {
+        float y = (fromRow + 1) * tileHeight + lift;
+
+        // Out of reach whatever the geometry: too high, or too far for the time in the air
+        float peak = jumpSpeed * jumpSpeed / (2f * -gravity);
+        if ((toRow + 1) * tileHeight - y >= peak) {
+            return -1f;
+        }
+        float airTime = (jumpSpeed + (float) Math.sqrt(jumpSpeed * jumpSpeed - 2f * gravity * y)) / -gravity;
+        if ((Math.abs(toColumn - fromColumn) - 1) * tileWidth > moveSpeed * airTime) {
+            return -1f;
+        }
+
+        float dir = Math.signum(toColumn - fromColumn);
+        float x, targetX, walk;
+        if (dir == 0f) {
+            x = targetX = (fromColumn + 0.5f) * tileWidth;
+            walk = 0f;
+        } else {
+            float edge = dir > 0f ? (fromColumn + 1) * tileWidth : fromColumn * tileWidth;
+            // Walking off needs the whole collider past the edge; a jump can start half over it
+            x = jumpSpeed == 0f ? edge + dir * harryWidth / 2f : edge;
+            if (boxBlocked(x, y)) {
+                x = edge - dir * harryWidth / 2f;
+            }
+            targetX = dir > 0f ? toColumn * tileWidth + harryWidth / 2f : (toColumn + 1) * tileWidth - harryWidth / 2f;
+            if ((targetX - x) * dir < 0f) {
+                targetX = x;
+            }
+            walk = Math.abs(x - (fromColumn + 0.5f) * tileWidth) / moveSpeed;
+        }
+        if (boxBlocked(x, y)) {
+            return -1f;
+        }
+
+        float vy = jumpSpeed;
+        for (int tick = 1; tick <= MAX_TICKS; tick++) {
+            if (x != targetX) {
+                float nextX = dir > 0f ? Math.min(targetX, x + moveSpeed * TICK) : Math.max(targetX, x - moveSpeed * TICK);
+                if (!boxBlocked(nextX, y)) {
+                    x = nextX;
+                }
+            }
+
+            vy += gravity * TICK;
+            float nextY = y + vy * TICK;
+            if (vy > 0f) {
+                if (!boxBlocked(x, nextY)) {
+                    y = nextY;
+                } else if (hitsLethalRow(x, nextY)) {
+                    return -1f;
+                }
+                continue;
+            }
+
+            int landingRow = landingRow(x, y, nextY);
+            if (landingRow >= 0) {
+                if ((landingRow + 1) * tileHeight < minStandY || landingRow != toRow) {
+                    return -1f;
+                }
+                return coversColumn(x, toColumn) && solid[toColumn + toRow * columns]
+                    ? walk + tick * TICK
+                    : -1f;
+            }
+            y = nextY;
+            if (y < 0f) {
+                return -1f;
+            }
+        }
+        return -1f;
+    }
+
+    /**
+     * Highest row whose top the collider's bottom crosses moving down from y to nextY, or -1.
+     */
+    private int landingRow(float x, float y, float nextY) {
+        int highest = Math.min(rows - 1, (int) Math.floor(y / tileHeight) - 1);
+        int lowest = Math.max(0, (int) Math.floor(nextY / tileHeight));
+        int firstColumn = firstColumn(x);
+        int lastColumn = lastColumn(x);
+        for (int row = highest; row >= lowest; row--) {
+            for (int column = Math.max(0, firstColumn); column <= Math.min(columns - 1, lastColumn); column++) {
+                if (solid[column + row * columns]) {
+                    return row;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The collider with its bottom centre at (x, y) overlaps a solid cell or leaves the map.
+     */
+    private boolean boxBlocked(float x, float y) {
+        int firstColumn = firstColumn(x);
+        int lastColumn = lastColumn(x);
+        int firstRow = (int) Math.floor(y / tileHeight);
+        int lastRow = (int) Math.ceil((y + harryHeight) / tileHeight) - 1;
+        if (firstColumn < 0 || lastColumn >= columns || lastRow >= rows) {
+            return true;
+        }
+        for (int row = Math.max(0, firstRow); row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (solid[column + row * columns]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The collider moved up to y would enter a solid cell of the lethal head row.
+     */
+    private boolean hitsLethalRow(float x, float y) {
+        int row = CharacterMovementSystem.LETHAL_HEAD_ROW;
+        if (row >= rows || (int) Math.ceil((y + harryHeight) / tileHeight) - 1 != row) {
+            return false;
+        }
+        for (int column = Math.max(0, firstColumn(x)); column <= Math.min(columns - 1, lastColumn(x)); column++) {
+            if (solid[column + row * columns]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean coversColumn(float x, int column) {
+        return column >= firstColumn(x) && column <= lastColumn(x);
+    }
+
+    private int firstColumn(float x) {
+        return (int) Math.floor((x - harryWidth / 2f) / tileWidth);
+    }
+
+    private int lastColumn(float x) {
+        return (int) Math.ceil((x + harryWidth / 2f) / tileWidth) - 1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.pimpedpixel.games.navigation;
+
+/**
+ * The solid cells of the static map colliders, indexed by column and libGDX row.
+ *
+ * Cheap to get (see {@link NavGraphBuilder#rasterize}), so it can be kept in step with the geometry
+ * while the {@link NavGraph} built from it is only made when it is needed. Immutable.
+ */
+public class SolidGrid {
+
+    private final int columns;
+    private final int rows;
+    private final float tileWidth;
+    private final float tileHeight;
+    private final boolean[] solid;
+
+    SolidGrid(int columns, int rows, float tileWidth, float tileHeight, boolean[] solid) {
+        this.columns = columns;
+        this.rows = rows;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.solid = solid;
+    }
+
+    /**
+     * A grid of solid cells indexed {@code [column][libGDX row]}, tiles sized in world units.
+     */
+    public static SolidGrid of(boolean[][] grid, float tileWidth, float tileHeight) {
+        int columns = grid.length;
+        int rows = columns > 0 ? grid[0].length : 0;
+        boolean[] solid = new boolean[columns * rows];
+        for (int x = 0; x < columns; x++) {
+            for (int y = 0; y < rows; y++) {
+                solid[x + y * columns] = grid[x][y];
+            }
+        }
+        return new SolidGrid(columns, rows, tileWidth, tileHeight, solid);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public boolean isSolid(int column, int row) {
+        return column >= 0 && column < columns && row >= 0 && row < rows && solid[column + row * columns];
+    }
+
+    /**
+     * How far a box can slide horizontally from {@code startX} towards {@code targetX} before it
+     * overlaps a solid cell or leaves the map. Touching a cell does not count, like
+     * {@code CollisionQueries.horizontalSweepBlocked}.
+     *
+     * @return the reachable x closest to {@code targetX}; {@code startX} when blocked right away
+     */
+    public float slideLimit(float startX, float targetX, float y, float width, float height) {
+        int rowFrom = Math.max(0, (int) Math.floor(y / tileHeight));
+        int rowTo = Math.min(rows - 1, (int) Math.ceil((y + height) / tileHeight) - 1);
+
+        if (targetX > startX) {
+            float limit = Math.min(targetX, columns * tileWidth - width);
+            for (int column = Math.max(0, (int) Math.floor((startX + width) / tileWidth));
+                 column < columns && column * tileWidth < limit + width; column++) {
+                if (columnBlocked(column, rowFrom, rowTo)) {
+                    limit = Math.min(limit, column * tileWidth - width);
+                    break;
+                }
+            }
+            return Math.max(startX, limit);
+        }
+        if (targetX < startX) {
+            float limit = Math.max(targetX, 0f);
+            for (int column = Math.min(columns - 1, (int) Math.ceil(startX / tileWidth) - 1);
+                 column >= 0 && (column + 1) * tileWidth > limit; column--) {
+                if (columnBlocked(column, rowFrom, rowTo)) {
+                    limit = Math.max(limit, (column + 1) * tileWidth);
+                    break;
+                }
+            }
+            return Math.min(startX, limit);
+        }
+        return startX;
+    }
+
+    private boolean columnBlocked(int column, int rowFrom, int rowTo) {
+        for (int row = rowFrom; row <= rowTo; row++) {
+            if (solid[column + row * columns]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
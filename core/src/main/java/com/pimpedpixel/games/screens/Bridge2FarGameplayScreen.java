@@ -10,29 +10,38 @@ import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.pimpedpixel.games.Bridge2FarGame;
 import com.pimpedpixel.games.DesignResolution;
-import com.pimpedpixel.games.GameInfo;
-import com.pimpedpixel.games.assets.AssetLoadingImpl;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.assets.LevelAssets;
 import com.pimpedpixel.games.config.CharacterConfig;
 import com.pimpedpixel.games.config.DebugConfig;
 import com.pimpedpixel.games.gameplay.*;
 import com.pimpedpixel.games.gameprogress.GameProgress;
 import com.pimpedpixel.games.gameprogress.PasswordCodec;
+import com.pimpedpixel.games.simulation.InputRecording;
+import com.pimpedpixel.games.simulation.RecordingCharacterInput;
+import com.pimpedpixel.games.systems.FixedTimestep;
+import com.pimpedpixel.games.systems.ProfilingInvocationStrategy;
+import com.pimpedpixel.games.systems.RenderPasses;
+import com.pimpedpixel.games.systems.SystemProfiler;
 import com.pimpedpixel.games.systems.characters.*;
+import com.pimpedpixel.games.systems.debug.ProfilerOverlayRenderSystem;
 import com.pimpedpixel.games.systems.debug.ZebraDebugSystem;
 import com.pimpedpixel.games.systems.gameplay.*;
 import com.pimpedpixel.games.systems.hud.TimerSystem;
@@ -40,23 +49,26 @@ import com.pimpedpixel.games.systems.playfield.MapBackgroundRenderSystem;
 import com.pimpedpixel.games.systems.playfield.MapForegroundRenderSystem;
 
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Set;
 
 import static com.pimpedpixel.games.DesignResolution.ASSET_SCALE;
 
 public class Bridge2FarGameplayScreen implements Screen {
 
+    // One file per attempt of the last session, attempt-1.replay onwards
+    private static final String REPLAY_DIR = "replays/last";
+
     private final Bridge2FarGame game;
     private final AssetManager assetManager;
-    private final GameInfo gameInfo;
     private final GameProgress resumeProgress;
+    private final LevelAssets levelAssets;
     private int startingLevelIndex = 0;
 
     private Stage stage;
     private World artemisWorld;
     private OrthographicCamera camera;
     private SpriteBatch spriteBatch;
+    private RenderPasses renderPasses;
     private OrthogonalTiledMapRenderer mapRenderer;
     private Viewport viewport;
     private LevelLoader.LevelContainer levelContainer;
@@ -75,6 +87,16 @@ public class Bridge2FarGameplayScreen implements Screen {
     private float harryWidth = 20f;
     private float harryHeight = 64f;
 
+    // Logic runs at a fixed tick rate, rendering interpolates between ticks
+    private FixedTimestep timestep;
+    private SystemProfiler systemProfiler;
+    // The game runs a single world, so its context is backed by the game-wide singletons
+    private GameContext gameContext;
+    private final GdxCharacterInput characterInput = new GdxCharacterInput();
+    private RecordingCharacterInput recordingInput;
+    // All gameplay randomness derives from this; recorded so a run can be replayed
+    private final long randomSeed = TimeUtils.millis();
+
     private InputMultiplexer inputMultiplexer;
     private InputAdapter gameplayInputProcessor;
     private boolean showingPasswordPopup;
@@ -83,11 +105,11 @@ public class Bridge2FarGameplayScreen implements Screen {
     private GlyphLayout glyphLayout = new GlyphLayout();
     private ShapeRenderer overlayRenderer;
 
-    public Bridge2FarGameplayScreen(Bridge2FarGame game, GameProgress resumeProgress) {
+    public Bridge2FarGameplayScreen(Bridge2FarGame game, GameProgress resumeProgress, LevelAssets levelAssets) {
         this.game = game;
         this.assetManager = game.getAssetManager();
-        this.gameInfo = game.getGameInfo();
         this.resumeProgress = resumeProgress;
+        this.levelAssets = levelAssets;
         initializeGameWorld();
     }
 
@@ -102,10 +124,9 @@ public class Bridge2FarGameplayScreen implements Screen {
     }
 
     private void initializeGameWorld() {
-        // --- Assets ---
-        AssetLoadingImpl assetLoading = new AssetLoadingImpl(assetManager, gameInfo);
-        assetLoading.start();
-        assetLoading.ready();
+        // --- Assets (loaded by Bridge2FarLoadingScreen) ---
+        gameContext = new GameContext(ScenarioState.getInstance(), CharacterConfig.getInstance(),
+            DebugConfig.getInstance(), ASSET_SCALE, DesignResolution.CHARACTER_SCALE);
 
         // --- Level Loading ---
         try {
@@ -126,6 +147,8 @@ public class Bridge2FarGameplayScreen implements Screen {
         camera = new OrthographicCamera(DesignResolution.getWidth(), DesignResolution.getHeight());
         viewport = new FitViewport(DesignResolution.getWidth(), DesignResolution.getHeight(), camera);
         viewport.setScreenSize(DesignResolution.getWidth(), DesignResolution.getHeight());
+        // Passes share the batch and update the camera once per frame
+        renderPasses = new RenderPasses(spriteBatch, camera);
 
         stage = new Stage(viewport, spriteBatch);
         overlayRenderer = new ShapeRenderer();
@@ -153,16 +176,18 @@ public class Bridge2FarGameplayScreen implements Screen {
             return; // Exit on failure
         }
 
-        // Modify the tilemap based on scenario data before creating systems
-        if (currentScenario != null) {
-            modifyTileMapBasedOnScenario(tileMap, currentScenario);
+        // Apply the scenario through the map's overlay before creating systems. LevelAssets keeps
+        // one per loaded map, so the pristine tiles stay restorable even if the map was used before
+        final ScenarioOverlay scenarioOverlay = levelAssets.overlayOf(tileMap);
+        if (scenarioOverlay != null) {
+            scenarioOverlay.apply(0, currentScenario);
         }
 
         mapRenderer = new OrthogonalTiledMapRenderer(tileMap, ASSET_SCALE, spriteBatch);
 
         // --- Character config (ensure dimensions/offsets are set before systems use them) ---
-        CharacterConfig.CharacterData harryData = CharacterConfig.getInstance().getCharacterByName("harry");
-        CharacterConfig.CharacterData zebraData = CharacterConfig.getInstance().getCharacterByName("zebra");
+        CharacterConfig.CharacterData harryData = gameContext.getCharacterConfig().getCharacterByName("harry");
+        CharacterConfig.CharacterData zebraData = gameContext.getCharacterConfig().getCharacterByName("zebra");
         if (harryData != null) {
             this.harryOffsetX = harryData.getScaledHorizontalOffset(ASSET_SCALE);
             this.harryWidth = harryData.getWidth();
@@ -182,27 +207,38 @@ public class Bridge2FarGameplayScreen implements Screen {
         // 1. Background layers
         systemSet.add(new MapBackgroundRenderSystem(
             mapRenderer,
-            camera,
+            renderPasses,
             "platform"
         ));
 
+        // Remember where everything was before this tick moves it (for render interpolation)
+        systemSet.add(new TransformHistorySystem());
+        systemSet.add(new RandomSystem(randomSeed));
+
         // 2. Jbump World Initialization (MUST run first to populate collision geometry)
         // Use the single jbumpWorld instance
         systemSet.add(new JbumpMapInitializationSystem(tileMap, jbumpWorld, "ground"));
+        // Push colliders of everything moved last tick (tweens, respawns) before anything collides
+        systemSet.add(new ColliderSyncSystem(jbumpWorld));
 
         // 3. Character movement & rendering
         // Use the single jbumpWorld instance
         LevelLoader.SystemDefaults systemDefaults = levelContainer != null ? levelContainer.getSystemdefaults() : null;
+        timestep = systemDefaults != null
+            ? new FixedTimestep(systemDefaults.getTickRate(), systemDefaults.getMaxCatchUpSteps())
+            : new FixedTimestep();
         systemSet.add(new CharacterMovementSystem(jbumpWorld, systemDefaults));
-        systemSet.add(new JbumpActionSyncSystem(jbumpWorld)); // Sync jbump colliders for action-based movement (zebras)
         systemSet.add(new HarryDeathSequenceSystem(jbumpWorld));
         systemSet.add(new HarryDeathSystem(jbumpWorld));
-        systemSet.add(new ActionSystem());
+        systemSet.add(new TweenSystem());
+        systemSet.add(new NavGraphSystem(jbumpWorld, "objects", harryWidth, harryHeight,
+            zebraData != null ? zebraData.getHeight() : 40f)); // Walk/jump graph of the scenario, built on demand or by the prefetcher
         systemSet.add(new ZebraStateSystem(jbumpWorld));
         systemSet.add(new RewardCollisionSystem(jbumpWorld, tileMap, "objects", harryOffsetX, harryWidth, harryHeight, ASSET_SCALE)); // Check reward collisions
-        systemSet.add(new LevelProgressionSystem(levelContainer, jbumpWorld, harryOffsetX, harryWidth, harryHeight)); // Handle level progression when treasure found
-        systemSet.add(new BloodRenderSystem(spriteBatch, camera)); // Draw blood first (behind characters)
-        systemSet.add(new CharacterRenderSystem(spriteBatch, camera));
+        systemSet.add(new LevelProgressionSystem(levelContainer, jbumpWorld)); // Handle level progression when treasure found
+        systemSet.add(new BloodRenderSystem(renderPasses)); // Draw blood first (behind characters)
+        systemSet.add(new CharacterRenderSystem(renderPasses));
+        systemSet.add(new AnimationReleaseSystem()); // Return shared animations when characters go away
 
         // Debug system for zebra movement (disabled by default)
         ZebraDebugSystem zebraDebugSystem = new ZebraDebugSystem(jbumpWorld);
@@ -213,13 +249,13 @@ public class Bridge2FarGameplayScreen implements Screen {
         // 4. Foreground layers
         systemSet.add(new MapForegroundRenderSystem(
             mapRenderer,
-            camera,
+            renderPasses,
             "beams", "bridge", "rewards"
         ));
-        if(DebugConfig.getInstance().isHidegroundlayer()){
+        if(gameContext.getDebugConfig().isHidegroundlayer()){
             systemSet.add(new CollisionDebugRenderSystem(tileMap, "ground"));
         }
-        if(DebugConfig.getInstance().isBoundingboxes()){
+        if(gameContext.getDebugConfig().isBoundingboxes()){
             systemSet.add(new JbumpDebugRenderSystem(jbumpWorld, new ShapeRenderer(), camera));
         }
         systemSet.add(new HarryJumpSoundSystem());
@@ -233,20 +269,36 @@ public class Bridge2FarGameplayScreen implements Screen {
 
         // 6. Gameplay Systems
         systemSet.add(new HarryLevelStartSystem(levelContainer));
-        systemSet.add(new LevelLoadingSystem(jbumpWorld, levelContainer, harryOffsetX, harryWidth, harryHeight));
+        systemSet.add(new LevelLoadingSystem(jbumpWorld, levelContainer));
         systemSet.add(new StateHistorySystem());
 
+        // Per-system timings are always collected, the overlay is a debug option
+        systemProfiler = new SystemProfiler();
+        renderPasses.setProfiler(systemProfiler);
+        if (gameContext.getDebugConfig().isProfiler()) {
+            systemSet.add(new ProfilerOverlayRenderSystem(systemProfiler, renderPasses,
+                assetManager.get("font/c64.fnt", BitmapFont.class)));
+        }
+
         // Convert Set to array for WorldConfigurationBuilder
         BaseSystem[] baseSystems = systemSet.toArray(new BaseSystem[0]);
 
         WorldConfiguration config = new WorldConfigurationBuilder()
             .with(baseSystems)
             .build();
+        config.register(gameContext);
+        // Render systems run once per frame, everything else in fixed ticks
+        config.setInvocationStrategy(new ProfilingInvocationStrategy(timestep, systemProfiler));
 
         artemisWorld = new World(config);
 
         // Set up system dependencies after world creation
-        setupSystemDependencies();
+        setupSystemDependencies(tileMap);
+
+        // Character frames come from the packed atlas when it was built and preloaded
+        CharacterAtlas.install(assetManager.isLoaded(CharacterAtlas.PATH, TextureAtlas.class)
+            ? assetManager.get(CharacterAtlas.PATH, TextureAtlas.class)
+            : null);
 
         // Initialize Harry factory using CharacterConfig (use preloaded values)
         if (harryData != null) {
@@ -311,10 +363,11 @@ public class Bridge2FarGameplayScreen implements Screen {
         zebraFactory.createZebra(zebraX, zebraY);
 
         // Initialize ScenarioState for the game
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = gameContext.getScenarioState();
         scenarioState.initializeLevel(startingLevelIndex);
         scenarioState.setCurrentScenarioIndex(0);
         scenarioState.resetTreasureFoundFlag();
+        scenarioState.setRandomSeed(randomSeed);
         if (resumeProgress != null) {
             scenarioState.seedAttemptCount(startingLevelIndex, 0, resumeProgress.getAttempts());
         }
@@ -332,212 +385,12 @@ public class Bridge2FarGameplayScreen implements Screen {
     }
 
     /**
-     * Loads the "bridgefall_X" TMX via AssetManager where X is the level number.
+     * Loads the "bridgefall_X" TMX where X is the level number. The loading screen preloaded it,
+     * unless the level info and the progress disagree about which level comes first.
      */
     private TiledMap loadBridgeFallMap(int levelNumber) {
-        final String mapName = "bridgefall_" + levelNumber;
-        final String path = gameInfo.getTmxFile(mapName).path();
-
-        System.out.println("DEBUG: Trying to load level " + levelNumber + " with map name: " + mapName);
-        System.out.println("DEBUG: Expected path: " + path);
-        System.out.println("DEBUG: File exists: " + gameInfo.getTmxFile(mapName).exists());
-        System.out.println("DEBUG: AssetManager contains path: " + assetManager.contains(path));
-
-        if (!assetManager.contains(path)) {
-            Gdx.app.error("BridgeFallGame", "AssetManager does not contain TMX: " + path);
-
-            // List all loaded assets for debugging
-            System.out.println("DEBUG: Available TMX assets in AssetManager:");
-            for (String assetName : assetManager.getAssetNames()) {
-                if (assetName.contains("bridgefall")) {
-                    System.out.println("  - " + assetName);
-                }
-            }
-
-            return null;
-        }
-
-        assetManager.finishLoadingAsset(path);
-        return assetManager.get(path, TiledMap.class);
-    }
-
-    /**
-     * Modifies the tilemap based on scenario data.
-     * For HOLE cells (0), removes the tile. For SOLID cells (1), keeps the tile.
-     */
-    private void modifyTileMapBasedOnScenario(TiledMap tileMap, Scenario scenario) {
-        CollisionLayer groundLayer = scenario.getGroundLayer();
-        if (groundLayer == null) {
-            System.out.println("No groundLayer defined in scenario, skipping tilemap modification");
-            return;
-        }
-
-        int matchingRow = groundLayer.getMatchingRow();
-        List<Integer> cellStates = groundLayer.getCellStates();
-
-        if (cellStates == null || cellStates.isEmpty()) {
-            System.out.println("No cellStates defined in groundLayer, skipping tilemap modification");
-            return;
-        }
-
-        // Get the ground layer from the tilemap
-        TiledMapTileLayer groundTileLayer = (TiledMapTileLayer) tileMap.getLayers().get("ground");
-        if (groundTileLayer == null) {
-            System.out.println("Ground layer not found in tilemap, skipping modification");
-
-            // Debug: List all available layers
-            System.out.println("Available layers in tilemap:");
-            for (int i = 0; i < tileMap.getLayers().getCount(); i++) {
-                MapLayer layer = tileMap.getLayers().get(i);
-                System.out.println("  Layer " + i + ": " + layer.getName() + " (type: " + layer.getClass().getSimpleName() + ")");
-
-                // Try to find ground layer by different names
-                if (layer.getName().toLowerCase().contains("ground")) {
-                    System.out.println("    -> This layer might be the ground layer!");
-                    if (layer instanceof TiledMapTileLayer) {
-                        groundTileLayer = (TiledMapTileLayer) layer;
-                        System.out.println("    -> Using this layer as ground layer");
-                    }
-                }
-            }
-
-            if (groundTileLayer == null) {
-                return;
-            }
-        }
-
-        System.out.println("Modifying tilemap ground layer based on scenario data:");
-        System.out.println("Ground layer dimensions: " + groundTileLayer.getWidth() + "x" + groundTileLayer.getHeight());
-        System.out.println("Matching row: " + matchingRow);
-        System.out.println("Cell states count: " + cellStates.size());
-        System.out.println("Cell states: " + cellStates);
-
-        // Debug: Check if the matching row is within bounds
-        if (matchingRow >= groundTileLayer.getHeight()) {
-            System.out.println("ERROR: Matching row " + matchingRow + " is out of bounds! Ground layer height is " + groundTileLayer.getHeight());
-            return;
-        }
-
-        // Debug: Check a few cells in the Tiled row to see if they exist
-        // First calculate the actual row for debugging
-        int debugRow = groundTileLayer.getHeight() - 1 - matchingRow;
-        System.out.println("Checking cells in Tiled row " + matchingRow + " (LibGDX row " + debugRow + ":");
-        for (int x = 0; x < Math.min(5, groundTileLayer.getWidth()); x++) {
-            TiledMapTileLayer.Cell cell = groundTileLayer.getCell(x, debugRow);
-            System.out.println("  Cell (" + x + ", " + debugRow + "): " + (cell == null ? "null" : "exists"));
-        }
-
-        // Debug: Try to find which rows actually have cells (using LibGDX coordinates)
-        System.out.println("Scanning for non-null cells in ground layer (LibGDX coordinates):");
-        boolean foundCells = false;
-        for (int y = 0; y < Math.min(10, groundTileLayer.getHeight()); y++) {
-            for (int x = 0; x < Math.min(5, groundTileLayer.getWidth()); x++) {
-                TiledMapTileLayer.Cell cell = groundTileLayer.getCell(x, y);
-                if (cell != null) {
-                    int tiledY = groundTileLayer.getHeight() - 1 - y;
-                    System.out.println("  Found cell at LibGDX (" + x + ", " + y + ") = Tiled (" + x + ", " + tiledY + ")");
-                    foundCells = true;
-                }
-            }
-        }
-
-        if (!foundCells) {
-            System.out.println("  No cells found in the first 10 LibGDX rows!");
-        }
-
-        // Determine the actual row to use (handle Tiled vs LibGDX coordinate system differences)
-        // Tiled: Y=0 at top, Y increases downward
-        // LibGDX: Y=0 at bottom, Y increases upward
-        // So we need to invert the row number
-        int actualRow = groundTileLayer.getHeight() - 1 - matchingRow;
-
-        System.out.println("Tiled row " + matchingRow + " maps to LibGDX row " + actualRow);
-
-        // Safety check for the inverted row
-        if (actualRow < 0 || actualRow >= groundTileLayer.getHeight()) {
-            System.out.println("ERROR: Inverted row " + actualRow + " is out of bounds! Ground layer height is " + groundTileLayer.getHeight());
-            return;
-        }
-
-        // Debug: Print initial state of the row before modification
-        System.out.println("Initial state of row " + actualRow + " before modification:");
-        int initialHoleCount = 0;
-        int initialSolidCount = 0;
-        for (int x = 0; x < Math.min(10, groundTileLayer.getWidth()); x++) {
-            TiledMapTileLayer.Cell initialCell = groundTileLayer.getCell(x, actualRow);
-            if (initialCell == null) {
-                initialHoleCount++;
-                System.out.println("  Cell (" + x + ", " + actualRow + "): null (HOLE)");
-            } else {
-                initialSolidCount++;
-                System.out.println("  Cell (" + x + ", " + actualRow + "): tile present (SOLID/FATAL)");
-            }
-        }
-        System.out.println("Initial state: " + initialHoleCount + " holes, " + initialSolidCount + " solids");
-
-        // Modify the tiles based on cell states
-        int changesMade = 0;
-        for (int x = 0; x < cellStates.size(); x++) {
-            if (x >= groundTileLayer.getWidth()) {
-                System.out.println("Cell state index " + x + " exceeds ground layer width " + groundTileLayer.getWidth());
-                break;
-            }
-
-            int cellState = cellStates.get(x);
-            CollisionType collisionType = CollisionType.fromValue(cellState);
-
-            // Only modify cells in the matching row
-            TiledMapTileLayer.Cell cell = groundTileLayer.getCell(x, actualRow);
-
-            boolean cellChanged = false;
-            if (cell != null) {
-                if (collisionType == CollisionType.HOLE) {
-                    // Remove the tile for HOLE
-                    groundTileLayer.setCell(x, actualRow, null);
-                    System.out.println("Removed tile at (" + x + ", " + actualRow + ") - HOLE");
-                    cellChanged = true;
-                    changesMade++;
-                } else if (collisionType == CollisionType.SOLID) {
-                    // Keep the tile for SOLID (do nothing, it's already there)
-                    System.out.println("Kept tile at (" + x + ", " + actualRow + ") - SOLID");
-                } else if (collisionType == CollisionType.FATAL) {
-                    // For FATAL, we could add special handling if needed
-                    // For now, treat it like SOLID
-                    System.out.println("Kept tile at (" + x + ", " + actualRow + ") - FATAL (treated as SOLID)");
-                }
-            } else {
-                // Cell is null, but we might need to add a tile for SOLID or FATAL
-                if (collisionType == CollisionType.SOLID || collisionType == CollisionType.FATAL) {
-                    // We need to add a tile here, but we don't have a reference to the tile
-                    // This is a problem - we can't create new tiles without knowing what tile to use
-                    System.out.println("Cell at (" + x + ", " + actualRow + ") is null but should be " + collisionType + " - cannot add tile without tile reference");
-                } else {
-                    System.out.println("Cell at (" + x + ", " + actualRow + ") is null - no action needed for HOLE");
-                }
-            }
-        }
-
-        // Debug: Print the final state of the modified row
-        System.out.println("Final state of modified row " + actualRow + " (" + changesMade + " changes made):");
-        int finalHoleCount = 0;
-        int finalSolidCount = 0;
-        for (int x = 0; x < Math.min(10, groundTileLayer.getWidth()); x++) {
-            TiledMapTileLayer.Cell finalCell = groundTileLayer.getCell(x, actualRow);
-            if (finalCell == null) {
-                finalHoleCount++;
-                System.out.println("  Cell (" + x + ", " + actualRow + "): null (HOLE)");
-            } else {
-                finalSolidCount++;
-                System.out.println("  Cell (" + x + ", " + actualRow + "): tile present (SOLID/FATAL)");
-            }
-        }
-        System.out.println("Final state: " + finalHoleCount + " holes, " + finalSolidCount + " solids");
-
-        // Summary of changes
-        System.out.println("Tilemap modification completed. " + changesMade + " cells were modified.");
-        if (changesMade == 0) {
-            System.out.println("WARNING: No cells were modified! This might indicate an issue with the layer or cell states.");
-        }
+        System.out.println("DEBUG: Trying to load level " + levelNumber + " from " + levelAssets.pathOf(levelNumber));
+        return levelAssets.get(levelNumber);
     }
 
     private void setupInputProcessing() {
@@ -584,7 +437,7 @@ public class Bridge2FarGameplayScreen implements Screen {
     /**
      * Set up system dependencies after world creation.
      */
-    private void setupSystemDependencies() {
+    private void setupSystemDependencies(TiledMap tileMap) {
         // Get the systems
         HarryLevelStartSystem levelStartSystem = artemisWorld.getSystem(HarryLevelStartSystem.class);
         TimerSystem timerSystem = artemisWorld.getSystem(TimerSystem.class);
@@ -611,9 +464,6 @@ public class Bridge2FarGameplayScreen implements Screen {
                 deathSystem.setLevelContainer(levelContainer);
                 deathSystem.setCurrentLevelIndex(startingLevelIndex);
 
-                // Configure character data from CharacterConfig
-                deathSystem.setCharacterDataFromConfig(ASSET_SCALE);
-
                 // Set up blood factory for creating blood animations when Harry dies
                 BloodFactory bloodFactory = new BloodFactory(artemisWorld, assetManager);
                 deathSystem.setBloodFactory(bloodFactory);
@@ -623,7 +473,7 @@ public class Bridge2FarGameplayScreen implements Screen {
             if (levelLoadingSystem != null) {
                 levelLoadingSystem.setLevelStartSystem(levelStartSystem);
                 levelLoadingSystem.setDeathSystem(deathSystem);
-                levelLoadingSystem.setAssetManager(assetManager); // Set asset manager for tilemap loading
+                levelLoadingSystem.setLevelAssets(levelAssets); // Level maps are loaded and unloaded through this
                 levelLoadingSystem.setArtemisWorld(artemisWorld); // Set Artemis world for system management
 
                 // Get JbumpMapInitializationSystem for level loading
@@ -632,6 +482,12 @@ public class Bridge2FarGameplayScreen implements Screen {
                     levelLoadingSystem.setJbumpMapInitSystem(jbumpMapInitSystem);
                 }
                 levelLoadingSystem.setTimerSystem(timerSystem);
+
+                // The startup map already has scenario 0 applied
+                levelLoadingSystem.setLoadedMap(tileMap, startingLevelIndex, 0);
+                if (deathSystem != null) {
+                    deathSystem.setLevelLoadingSystem(levelLoadingSystem);
+                }
             }
 
             // Set up level progression system
@@ -648,6 +504,20 @@ public class Bridge2FarGameplayScreen implements Screen {
             // Configure character render system from CharacterConfig
             if (renderSystem != null) {
                 renderSystem.configureFromCharacterConfig();
+                renderSystem.setTimestep(timestep);
+                renderSystem.setMapRenderer(mapRenderer);
+            }
+            if (bloodRenderSystem != null) {
+                bloodRenderSystem.setTimestep(timestep);
+            }
+
+            CharacterMovementSystem movementSystem = artemisWorld.getSystem(CharacterMovementSystem.class);
+            if (movementSystem != null) {
+                // Always recorded (a few bytes per second); saved on hide when "recordinput" is set.
+                // Every level, scenario and attempt starts its own recording with its own header
+                recordingInput = new RecordingCharacterInput(characterInput, null);
+                recordingInput.followAttempts(gameContext.getScenarioState());
+                movementSystem.setInput(recordingInput);
             }
 
             Gdx.app.log("Bridge2FarGame", "Set up system dependencies successfully");
@@ -664,7 +534,7 @@ public class Bridge2FarGameplayScreen implements Screen {
     }
 
     private GameProgress captureCurrentProgress() {
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = gameContext.getScenarioState();
         int levelIndex = Math.max(0, scenarioState.getCurrentLevelIndex());
         int levelNumber = levelIndex + 1;
         if (levelContainer != null && levelIndex < levelContainer.getLevels().length) {
@@ -700,25 +570,30 @@ public class Bridge2FarGameplayScreen implements Screen {
         overlayRenderer.end();
         Gdx.gl.glDisable(GL20.GL_BLEND);
 
-        spriteBatch.setProjectionMatrix(stage.getCamera().combined);
-        spriteBatch.begin();
+        SpriteBatch batch = renderPasses.begin(RenderPasses.Pass.POPUP, stage.getCamera().combined);
         String line1 = "Use " + resumePassword + " to resume";
         String line2 = "Good luck next time!";
         glyphLayout.setText(passwordFont, line1);
         float centerY = DesignResolution.getHeight() / 2f;
         float line1X = (DesignResolution.getWidth() - glyphLayout.width) / 2f;
         float line1Y = centerY + glyphLayout.height;
-        passwordFont.draw(spriteBatch, line1, line1X, line1Y);
+        passwordFont.draw(batch, line1, line1X, line1Y);
 
         glyphLayout.setText(passwordFont, line2);
         float line2X = (DesignResolution.getWidth() - glyphLayout.width) / 2f;
         float line2Y = centerY - glyphLayout.height;
-        passwordFont.draw(spriteBatch, line2, line2X, line2Y);
-        spriteBatch.end();
+        passwordFont.draw(batch, line2, line2X, line2Y);
     }
 
 
 
+    /**
+     * Rolling per-system timings of this screen's world.
+     */
+    public SystemProfiler getSystemProfiler() {
+        return systemProfiler;
+    }
+
     @Override
     public void render(float delta) {
         if (artemisWorld == null || stage == null) {
@@ -729,17 +604,21 @@ public class Bridge2FarGameplayScreen implements Screen {
         Gdx.gl.glClearColor(0, 1, 1, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        camera.update();
+        renderPasses.beginFrame();
 
         float worldDelta = showingPasswordPopup ? 0f : delta;
+        characterInput.pollFrame();
         artemisWorld.setDelta(worldDelta);
         artemisWorld.process();
         stage.act(showingPasswordPopup ? 0f : delta);
+        renderPasses.begin(RenderPasses.Pass.HUD);
         stage.draw();
+        renderPasses.countExternalBatch();
 
         if (showingPasswordPopup) {
             drawPasswordPopup();
         }
+        renderPasses.endFrame();
     }
 
     @Override
@@ -755,8 +634,36 @@ public class Bridge2FarGameplayScreen implements Screen {
     public void resume() {
     }
 
+    /**
+     * Write the input of every attempt of this session so each can be replayed headless with
+     * SimulationWorld.
+     */
+    private void saveInputRecordings() {
+        if (recordingInput == null || recordingInput.getRecordings().isEmpty()) {
+            return;
+        }
+        Array<InputRecording> recordings = recordingInput.getRecordings();
+        try {
+            FileHandle dir = Gdx.files.local(REPLAY_DIR);
+            dir.deleteDirectory(); // Attempts of an earlier session
+            for (int i = 0; i < recordings.size; i++) {
+                dir.child("attempt-" + (i + 1) + ".replay").writeBytes(recordings.get(i).toBytes(), false);
+            }
+            Gdx.app.log("Bridge2FarGameplayScreen", "Saved " + recordings.size + " attempts of input to " + REPLAY_DIR);
+        } catch (Exception e) {
+            // No local storage (e.g. the browser build): the log lines below still carry the runs
+            Gdx.app.error("Bridge2FarGameplayScreen", "Could not write " + REPLAY_DIR + ": " + e.getMessage());
+        }
+        for (int i = 0; i < recordings.size; i++) {
+            Gdx.app.log("Bridge2FarGameplayScreen", "Input recording " + (i + 1) + ": " + recordings.get(i).encode());
+        }
+    }
+
     @Override
     public void hide() {
+        if (gameContext.getDebugConfig().isRecordinput()) {
+            saveInputRecordings();
+        }
         if (inputMultiplexer != null && Gdx.input.getInputProcessor() == inputMultiplexer) {
             Gdx.input.setInputProcessor(null);
         }
@@ -764,7 +671,9 @@ public class Bridge2FarGameplayScreen implements Screen {
 
     @Override
     public void dispose() {
+        // Disposing the world waits for the prefetcher, after that nothing touches the maps
         artemisWorld.dispose();
+        levelAssets.restoreMaps();
         spriteBatch.dispose();
         if (overlayRenderer != null) {
             overlayRenderer.dispose();
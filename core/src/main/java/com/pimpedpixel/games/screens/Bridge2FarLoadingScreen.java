@@ -0,0 +1,143 @@
+package com.pimpedpixel.games.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.pimpedpixel.games.Bridge2FarGame;
+import com.pimpedpixel.games.DesignResolution;
+import com.pimpedpixel.games.assets.AssetLoading;
+import com.pimpedpixel.games.assets.AssetLoadingImpl;
+import com.pimpedpixel.games.gameprogress.GameProgress;
+
+/**
+ * Shown between the menu and gameplay while the assets load. Loading is driven a bit every
+ * frame, so the window stays responsive and the bar follows the real progress.
+ * Switches to the gameplay screen once the starting level is loaded.
+ */
+public class Bridge2FarLoadingScreen implements Screen, AssetLoading.ProgressListener {
+
+    private final Bridge2FarGame game;
+    private final AssetLoadingImpl assetLoading;
+    private final GameProgress resumeProgress;
+
+    private SpriteBatch spriteBatch;
+    private BitmapFont font;
+    private final GlyphLayout glyphLayout = new GlyphLayout();
+    private ShapeRenderer shapeRenderer;
+    private OrthographicCamera camera;
+    private Viewport viewport;
+    private float progress;
+    private boolean loaded;
+
+    public Bridge2FarLoadingScreen(Bridge2FarGame game, AssetLoadingImpl assetLoading, GameProgress resumeProgress) {
+        this.game = game;
+        this.assetLoading = assetLoading;
+        this.resumeProgress = resumeProgress;
+    }
+
+    @Override
+    public void show() {
+        spriteBatch = new SpriteBatch();
+        // Loaded directly, the AssetManager's copy is what this screen is waiting for
+        font = new BitmapFont(Gdx.files.internal("font/c64.fnt"));
+        font.getData().setScale(DesignResolution.getFontScale() * 0.5f);
+        shapeRenderer = new ShapeRenderer();
+
+        camera = new OrthographicCamera(DesignResolution.getWidth(), DesignResolution.getHeight());
+        viewport = new FitViewport(DesignResolution.getWidth(), DesignResolution.getHeight(), camera);
+        viewport.setScreenSize(DesignResolution.getWidth(), DesignResolution.getHeight());
+        viewport.apply(true);
+        camera.position.set(DesignResolution.getWidth() / 2f, DesignResolution.getHeight() / 2f, 0f);
+        camera.update();
+
+        assetLoading.setProgressListener(this);
+    }
+
+    @Override
+    public void onProgress(float progress) {
+        this.progress = progress;
+    }
+
+    @Override
+    public void onLoaded() {
+        loaded = true;
+    }
+
+    @Override
+    public void render(float delta) {
+        assetLoading.ready();
+
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        camera.update();
+        drawProgressBar();
+
+        spriteBatch.setProjectionMatrix(camera.combined);
+        spriteBatch.begin();
+        String text = "Loading... " + (int) (progress * 100f) + "%";
+        glyphLayout.setText(font, text);
+        font.draw(spriteBatch, text, (DesignResolution.getWidth() - glyphLayout.width) / 2f,
+            DesignResolution.getHeight() / 2f + glyphLayout.height + 40f);
+        spriteBatch.end();
+
+        if (loaded) {
+            // Disposes this screen, so nothing may follow
+            game.showGameplay(resumeProgress, assetLoading.getLevelAssets());
+        }
+    }
+
+    private void drawProgressBar() {
+        float barWidth = DesignResolution.getWidth() * 0.6f;
+        float barHeight = 24f * DesignResolution.getFontScale();
+        float barX = (DesignResolution.getWidth() - barWidth) / 2f;
+        float barY = DesignResolution.getHeight() / 2f - barHeight / 2f;
+
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(1f, 1f, 1f, 1f);
+        shapeRenderer.rect(barX, barY, barWidth * progress, barHeight);
+        shapeRenderer.end();
+
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+        shapeRenderer.rect(barX, barY, barWidth, barHeight);
+        shapeRenderer.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void dispose() {
+        if (spriteBatch != null) {
+            spriteBatch.dispose();
+        }
+        if (font != null) {
+            font.dispose();
+        }
+        if (shapeRenderer != null) {
+            shapeRenderer.dispose();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.pimpedpixel.games.simulation;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+/**
+ * Parses a TMX file into a TiledMap without touching GL.
+ * Tiles carry their gid but no texture region, which is all the collision and
+ * reward systems need. Uses the same y-flip as TmxMapLoader so coordinates match the game.
+ * Only CSV encoded tile layers are supported (that is what our maps are saved as).
+ */
+public class HeadlessTmxMapLoader {
+
+    private static final long FLAG_FLIP_HORIZONTALLY = 0x80000000L;
+    private static final long FLAG_FLIP_VERTICALLY = 0x40000000L;
+    private static final long FLAG_FLIP_DIAGONALLY = 0x20000000L;
+    private static final long MASK_CLEAR = 0x0FFFFFFFL;
+
+    private final XmlReader xml = new XmlReader();
+
+    public TiledMap load(FileHandle tmxFile) {
+        XmlReader.Element root = xml.parse(tmxFile);
+
+        int mapWidth = root.getIntAttribute("width", 0);
+        int mapHeight = root.getIntAttribute("height", 0);
+        int tileWidth = root.getIntAttribute("tilewidth", 0);
+        int tileHeight = root.getIntAttribute("tileheight", 0);
+        float mapHeightPixels = mapHeight * tileHeight;
+
+        TiledMap map = new TiledMap();
+        MapProperties properties = map.getProperties();
+        properties.put("width", mapWidth);
+        properties.put("height", mapHeight);
+        properties.put("tilewidth", tileWidth);
+        properties.put("tileheight", tileHeight);
+        properties.put("orientation", root.getAttribute("orientation", "orthogonal"));
+        loadProperties(properties, root.getChildByName("properties"));
+
+        // One shared tile instance per gid, like the tilesets TmxMapLoader builds
+        IntMap<TiledMapTile> tiles = new IntMap<>();
+
+        for (int i = 0; i < root.getChildCount(); i++) {
+            XmlReader.Element element = root.getChild(i);
+            String name = element.getName();
+            if ("layer".equals(name)) {
+                map.getLayers().add(loadTileLayer(element, tileWidth, tileHeight, tiles));
+            } else if ("objectgroup".equals(name)) {
+                map.getLayers().add(loadObjectGroup(element, mapHeightPixels));
+            }
+        }
+        return map;
+    }
+
+    private TiledMapTileLayer loadTileLayer(XmlReader.Element element, int tileWidth, int tileHeight,
+                                            IntMap<TiledMapTile> tiles) {
+        int width = element.getIntAttribute("width", 0);
+        int height = element.getIntAttribute("height", 0);
+
+        TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+        layer.setName(element.getAttribute("name", null));
+        layer.setVisible(element.getIntAttribute("visible", 1) == 1);
+        layer.setOpacity(element.getFloatAttribute("opacity", 1.0f));
+        loadProperties(layer.getProperties(), element.getChildByName("properties"));
+
+        XmlReader.Element data = element.getChildByName("data");
+        if (data == null) {
+            return layer;
+        }
+        String encoding = data.getAttribute("encoding", null);
+        if (!"csv".equals(encoding)) {
+            throw new GdxRuntimeException("Unsupported TMX layer encoding '" + encoding + "' in layer " + layer.getName());
+        }
+
+        String[] values = data.getText().split(",");
+        for (int index = 0; index < values.length && index < width * height; index++) {
+            String value = values[index].trim();
+            if (value.isEmpty()) continue;
+
+            long raw = Long.parseLong(value);
+            int gid = (int) (raw & MASK_CLEAR);
+            if (gid == 0) continue;
+
+            TiledMapTile tile = tiles.get(gid);
+            if (tile == null) {
+                tile = new StaticTiledMapTile((TextureRegion) null);
+                tile.setId(gid);
+                tiles.put(gid, tile);
+            }
+
+            TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+            cell.setTile(tile);
+            cell.setFlipHorizontally((raw & FLAG_FLIP_HORIZONTALLY) != 0);
+            cell.setFlipVertically((raw & FLAG_FLIP_VERTICALLY) != 0);
+            if ((raw & FLAG_FLIP_DIAGONALLY) != 0) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            }
+
+            // TMX rows run top-down, libGDX rows bottom-up
+            int x = index % width;
+            int y = height - 1 - index / width;
+            layer.setCell(x, y, cell);
+        }
+        return layer;
+    }
+
+    private MapLayer loadObjectGroup(XmlReader.Element element, float mapHeightPixels) {
+        MapLayer layer = new MapLayer();
+        layer.setName(element.getAttribute("name", null));
+        layer.setVisible(element.getIntAttribute("visible", 1) == 1);
+        loadProperties(layer.getProperties(), element.getChildByName("properties"));
+
+        for (XmlReader.Element objectElement : element.getChildrenByName("object")) {
+            float x = objectElement.getFloatAttribute("x", 0);
+            float y = mapHeightPixels - objectElement.getFloatAttribute("y", 0);
+            float width = objectElement.getFloatAttribute("width", 0);
+            float height = objectElement.getFloatAttribute("height", 0);
+
+            RectangleMapObject object = new RectangleMapObject(x, y - height, width, height);
+            object.setName(objectElement.getAttribute("name", null));
+            MapProperties properties = object.getProperties();
+            properties.put("id", objectElement.getIntAttribute("id", 0));
+            properties.put("x", x);
+            properties.put("y", y - height);
+            properties.put("width", width);
+            properties.put("height", height);
+            String type = objectElement.getAttribute("type", null);
+            if (type != null) {
+                properties.put("type", type);
+            }
+            loadProperties(properties, objectElement.getChildByName("properties"));
+            layer.getObjects().add(object);
+        }
+        return layer;
+    }
+
+    private void loadProperties(MapProperties properties, XmlReader.Element element) {
+        if (element == null) {
+            return;
+        }
+        for (XmlReader.Element property : element.getChildrenByName("property")) {
+            String name = property.getAttribute("name", null);
+            String value = property.getAttribute("value", null);
+            if (value == null) {
+                value = property.getText();
+            }
+            String type = property.getAttribute("type", "string");
+            if ("bool".equals(type)) {
+                properties.put(name, Boolean.parseBoolean(value));
+            } else if ("int".equals(type)) {
+                properties.put(name, Integer.parseInt(value));
+            } else if ("float".equals(type)) {
+                properties.put(name, Float.parseFloat(value));
+            } else {
+                properties.put(name, value);
+            }
+        }
+    }
+}
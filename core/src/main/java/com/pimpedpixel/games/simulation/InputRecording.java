@@ -0,0 +1,182 @@
+package com.pimpedpixel.games.simulation;
+
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+
+/**
+ * The buttons of every logic tick of one attempt at a scenario, plus what is needed to start it
+ * again: level, scenario, random seed and how many attempts at the scenario came before.
+ *
+ * Ticks are stored run-length encoded: consecutive ticks with the same buttons become one run.
+ * Serialized ({@link #toBytes()}) each run is a single varint of
+ * {@code length << 3 | (buttons ^ previousButtons)}, so holding a key for a few seconds costs
+ * one or two bytes. {@link #encode()} gives the same bytes as a string for bug reports.
+ */
+public class InputRecording {
+
+    private static final int MAGIC = 0xB2;
+    private static final int VERSION = 2;
+    private static final int BUTTON_BITS = 3;
+    private static final int BUTTON_MASK = (1 << BUTTON_BITS) - 1;
+
+    private final int levelIndex;
+    private final int scenarioIndex;
+    private final long seed;
+    private final int attempts;
+
+    private final IntArray runButtons = new IntArray();
+    private final IntArray runLengths = new IntArray();
+    private long tickCount;
+
+    public InputRecording(int levelIndex, int scenarioIndex, long seed) {
+        this(levelIndex, scenarioIndex, seed, 0);
+    }
+
+    public InputRecording(int levelIndex, int scenarioIndex, long seed, int attempts) {
+        this.levelIndex = levelIndex;
+        this.scenarioIndex = scenarioIndex;
+        this.seed = seed;
+        this.attempts = attempts;
+    }
+
+    /**
+     * Append the buttons of the next tick.
+     */
+    public void add(int buttons) {
+        buttons &= BUTTON_MASK;
+        int last = runButtons.size - 1;
+        if (last >= 0 && runButtons.get(last) == buttons) {
+            runLengths.incr(last, 1);
+        } else {
+            runButtons.add(buttons);
+            runLengths.add(1);
+        }
+        tickCount++;
+    }
+
+    public int getLevelIndex() {
+        return levelIndex;
+    }
+
+    public int getScenarioIndex() {
+        return scenarioIndex;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Attempts at the scenario before this one, e.g. resumed from a password.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getRunCount() {
+        return runButtons.size;
+    }
+
+    /**
+     * Buttons of the given run, a combination of the {@link CharacterInput} bits.
+     */
+    public int getRunButtons(int run) {
+        return runButtons.get(run);
+    }
+
+    public int getRunLength(int run) {
+        return runLengths.get(run);
+    }
+
+    public byte[] toBytes() {
+        ByteArray out = new ByteArray(16 + runButtons.size * 2);
+        out.add((byte) MAGIC);
+        out.add((byte) VERSION);
+        writeVarLong(out, levelIndex);
+        writeVarLong(out, scenarioIndex);
+        writeVarLong(out, seed);
+        writeVarLong(out, attempts);
+        writeVarLong(out, runButtons.size);
+        int previous = 0;
+        for (int i = 0; i < runButtons.size; i++) {
+            int buttons = runButtons.get(i);
+            writeVarLong(out, ((long) runLengths.get(i) << BUTTON_BITS) | (buttons ^ previous));
+            previous = buttons;
+        }
+        return out.toArray();
+    }
+
+    public static InputRecording fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < 2 || (bytes[0] & 0xFF) != MAGIC) {
+            throw new IllegalArgumentException("Not an input recording");
+        }
+        // Version 1 had no attempt count
+        if (bytes[1] != VERSION && bytes[1] != 1) {
+            throw new IllegalArgumentException("Unsupported input recording version " + bytes[1]);
+        }
+        int[] position = {2};
+        int levelIndex = (int) readVarLong(bytes, position);
+        int scenarioIndex = (int) readVarLong(bytes, position);
+        long seed = readVarLong(bytes, position);
+        int attempts = bytes[1] == 1 ? 0 : (int) readVarLong(bytes, position);
+        int runs = (int) readVarLong(bytes, position);
+
+        InputRecording recording = new InputRecording(levelIndex, scenarioIndex, seed, attempts);
+        int previous = 0;
+        for (int i = 0; i < runs; i++) {
+            long run = readVarLong(bytes, position);
+            int buttons = (int) (run & BUTTON_MASK) ^ previous;
+            int length = (int) (run >>> BUTTON_BITS);
+            if (length <= 0) {
+                throw new IllegalArgumentException("Corrupt input recording: empty run " + i);
+            }
+            recording.runButtons.add(buttons);
+            recording.runLengths.add(length);
+            recording.tickCount += length;
+            previous = buttons;
+        }
+        return recording;
+    }
+
+    /**
+     * The recording as a Base64 string, short enough to paste into a bug report.
+     */
+    public String encode() {
+        return new String(Base64Coder.encode(toBytes()));
+    }
+
+    public static InputRecording decode(String encoded) {
+        return fromBytes(Base64Coder.decode(encoded.trim()));
+    }
+
+    // Seeds are written as unsigned, so negative values take the full ten bytes
+    private static void writeVarLong(ByteArray out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.add((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.add((byte) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            if (position[0] >= bytes.length || shift > 63) {
+                throw new IllegalArgumentException("Corrupt input recording: truncated");
+            }
+            int b = bytes[position[0]++] & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.pimpedpixel.games.simulation;
+
+import com.badlogic.gdx.utils.Array;
+import com.pimpedpixel.games.gameplay.ScenarioState;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+
+/**
+ * Passes another input through unchanged while appending every sampled tick to an
+ * {@link InputRecording}.
+ *
+ * A recording only replays from where its header says it starts, so when following a
+ * {@link ScenarioState} ({@link #followAttempts}) a new recording is started with the first
+ * tick of every level, scenario or attempt: a level change, or a death that rotates (or
+ * restarts) the scenario. Every recording started is kept, see {@link #getRecordings()}.
+ */
+public class RecordingCharacterInput implements CharacterInput {
+
+    private final CharacterInput delegate;
+    private InputRecording recording;
+    private final Array<InputRecording> recordings = new Array<>();
+    private ScenarioState scenarioState;
+
+    public RecordingCharacterInput(CharacterInput delegate, InputRecording recording) {
+        this.delegate = delegate;
+        setRecording(recording);
+    }
+
+    @Override
+    public int sample() {
+        if (scenarioState != null && !isCurrentAttempt(recording)) {
+            setRecording(new InputRecording(scenarioState.getCurrentLevelIndex(),
+                scenarioState.getCurrentScenarioIndex(), scenarioState.getRandomSeed(), currentAttempts()));
+        }
+        int buttons = delegate.sample();
+        if (recording != null) {
+            recording.add(buttons);
+        }
+        return buttons;
+    }
+
+    /**
+     * The recording being appended to.
+     */
+    public InputRecording getRecording() {
+        return recording;
+    }
+
+    /**
+     * Every recording of this input in the order they were started, the current one last.
+     */
+    public Array<InputRecording> getRecordings() {
+        return recordings;
+    }
+
+    /**
+     * Start appending to a new recording, e.g. when a level restarts. Null stops recording.
+     */
+    public void setRecording(InputRecording recording) {
+        this.recording = recording;
+        if (recording != null) {
+            recordings.add(recording);
+        }
+    }
+
+    /**
+     * Start a new recording whenever the state enters another level, scenario or attempt
+     * (including before the first tick). Null records into the current recording only.
+     */
+    public void followAttempts(ScenarioState scenarioState) {
+        this.scenarioState = scenarioState;
+    }
+
+    private boolean isCurrentAttempt(InputRecording recording) {
+        return recording != null
+            && recording.getLevelIndex() == scenarioState.getCurrentLevelIndex()
+            && recording.getScenarioIndex() == scenarioState.getCurrentScenarioIndex()
+            && recording.getAttempts() == currentAttempts();
+    }
+
+    private int currentAttempts() {
+        ScenarioState.ScenarioAttemptData attemptData = scenarioState.getCurrentScenarioAttemptData();
+        return attemptData != null ? attemptData.getAttemptCount() : 0;
+    }
+}
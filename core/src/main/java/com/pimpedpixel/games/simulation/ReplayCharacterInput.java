@@ -0,0 +1,48 @@
+package com.pimpedpixel.games.simulation;
+
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+
+/**
+ * Feeds a recorded run back one tick per {@link #sample()}. Reports no buttons once the
+ * recording is exhausted.
+ */
+public class ReplayCharacterInput implements CharacterInput {
+
+    private final InputRecording recording;
+    private int run;
+    private int tickInRun;
+    private long tick;
+
+    public ReplayCharacterInput(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public int sample() {
+        if (isFinished()) {
+            return 0;
+        }
+        int buttons = recording.getRunButtons(run);
+        tick++;
+        if (++tickInRun >= recording.getRunLength(run)) {
+            run++;
+            tickInRun = 0;
+        }
+        return buttons;
+    }
+
+    public boolean isFinished() {
+        return run >= recording.getRunCount();
+    }
+
+    /**
+     * Number of ticks played so far.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public InputRecording getRecording() {
+        return recording;
+    }
+}
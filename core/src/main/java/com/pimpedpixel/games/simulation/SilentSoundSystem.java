@@ -0,0 +1,32 @@
+package com.pimpedpixel.games.simulation;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import com.pimpedpixel.games.systems.gameplay.PlaySoundComponent;
+import com.pimpedpixel.games.systems.gameplay.StopSoundComponent;
+
+/**
+ * Stand-in for SoundSystem/StopSoundSystem in headless worlds.
+ * Every sound request finishes immediately, so blocking sounds (the death grunt)
+ * never hold up the death sequence.
+ */
+public class SilentSoundSystem extends IteratingSystem {
+
+    private ComponentMapper<PlaySoundComponent> mPlaySound;
+    private ComponentMapper<StopSoundComponent> mStopSound;
+
+    public SilentSoundSystem() {
+        super(Aspect.one(PlaySoundComponent.class, StopSoundComponent.class));
+    }
+
+    @Override
+    protected void process(int entityId) {
+        if (mPlaySound.has(entityId)) {
+            mPlaySound.remove(entityId);
+        }
+        if (mStopSound.has(entityId)) {
+            mStopSound.remove(entityId);
+        }
+    }
+}
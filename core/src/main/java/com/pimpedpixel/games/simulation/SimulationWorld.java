@@ -0,0 +1,473 @@
+package com.pimpedpixel.games.simulation;
+
+import com.artemis.BaseSystem;
+import com.artemis.ComponentMapper;
+import com.artemis.World;
+import com.artemis.WorldConfiguration;
+import com.artemis.WorldConfigurationBuilder;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+import com.pimpedpixel.games.gameplay.ScenarioState;
+import com.pimpedpixel.games.systems.characters.*;
+import com.pimpedpixel.games.systems.gameplay.*;
+import com.pimpedpixel.games.systems.hud.TimerComponent;
+import com.pimpedpixel.games.systems.hud.TimerSystem;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Headless version of the gameplay world built in Bridge2FarGameplayScreen.
+ * Wires the same logic systems in the same order but leaves out every render, audio and
+ * Stage system, so it can be stepped as fast as the CPU allows without a GL context.
+ *
+ * <pre>
+ * SimulationWorld sim = new SimulationWorld.Builder(levelContainer)
+ *     .map(new HeadlessTmxMapLoader().load(tmxFile))
+ *     .level(0).scenario(1)
+ *     .input(scriptedInput)
+ *     .build();
+ * sim.step(1f / 60f);
+ * </pre>
+ *
+ * An attempt recorded with {@link RecordingCharacterInput} is reproduced with
+ * {@code new Builder(levelContainer).map(map).recording(recording).build().replay(recording)}.
+ *
+ * Level progression without a LevelLoadingSystem only advances the scenario indices;
+ * the map stays the one given to the builder.
+ * Each world has its own {@link GameContext} and {@link RandomSystem}, so several worlds can
+ * be built and stepped side by side in one JVM.
+ */
+public class SimulationWorld {
+
+    public static final float DEFAULT_TICK = 1f / 60f;
+
+    private final World artemisWorld;
+    private final com.dongbat.jbump.World<Object> jbumpWorld;
+    private final TiledMap tileMap;
+    private final int harryEntityId;
+    private final IntArray zebraEntityIds;
+    private final CharacterMovementSystem movementSystem;
+    private final TimerSystem timerSystem;
+    private final GameContext context;
+    // What the world was built for, to start over from
+    private final LevelLoader.LevelContainer levelContainer;
+    private final int levelIndex;
+    private final int scenarioIndex;
+    private final int attempts;
+    private long tick;
+
+    private SimulationWorld(World artemisWorld,
+                            com.dongbat.jbump.World<Object> jbumpWorld,
+                            TiledMap tileMap,
+                            int harryEntityId,
+                            IntArray zebraEntityIds,
+                            GameContext context,
+                            LevelLoader.LevelContainer levelContainer,
+                            int levelIndex,
+                            int scenarioIndex,
+                            int attempts) {
+        this.artemisWorld = artemisWorld;
+        this.context = context;
+        this.jbumpWorld = jbumpWorld;
+        this.tileMap = tileMap;
+        this.harryEntityId = harryEntityId;
+        this.zebraEntityIds = zebraEntityIds;
+        this.levelContainer = levelContainer;
+        this.levelIndex = levelIndex;
+        this.scenarioIndex = scenarioIndex;
+        this.attempts = attempts;
+        this.movementSystem = artemisWorld.getSystem(CharacterMovementSystem.class);
+        this.timerSystem = artemisWorld.getSystem(TimerSystem.class);
+    }
+
+    /**
+     * Advance the world by one tick of the given length.
+     */
+    public void step(float delta) {
+        artemisWorld.setDelta(delta);
+        artemisWorld.process();
+        tick++;
+    }
+
+    /**
+     * Advance the world by a number of ticks of the given length.
+     */
+    public void step(float delta, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            step(delta);
+        }
+    }
+
+    public void setInput(CharacterInput input) {
+        movementSystem.setInput(input);
+    }
+
+    /**
+     * Play a recorded run back from the current tick, as fast as the CPU allows.
+     * Build the world with {@link Builder#recording(InputRecording)} so it starts where the
+     * recording started.
+     *
+     * @return the number of ticks played
+     */
+    public long replay(InputRecording recording) {
+        ReplayCharacterInput replay = new ReplayCharacterInput(recording);
+        setInput(replay);
+        while (!replay.isFinished()) {
+            step(DEFAULT_TICK);
+        }
+        return replay.getTick();
+    }
+
+    /**
+     * Start over on the level and scenario the world was built for, as a newly built world with
+     * this seed would: Harry and the zebras go back to where they spawned, the random streams are
+     * reseeded and the scenario state and timer are reset. Cheaper than building a new world, since
+     * the systems, the map with its scenario and the static colliders are kept.
+     */
+    public void restart(long seed) {
+        ScenarioState scenarioState = context.getScenarioState();
+        scenarioState.initializeLevel(levelIndex);
+        scenarioState.setCurrentScenarioIndex(scenarioIndex);
+        scenarioState.resetTreasureFoundFlag();
+        scenarioState.setRandomSeed(seed);
+        scenarioState.getCurrentLevelScenarioData().setCurrentScenarioRotationIndex(scenarioIndex);
+        scenarioState.seedAttemptCount(levelIndex, scenarioIndex, attempts);
+        artemisWorld.getSystem(RandomSystem.class).reseed(seed);
+
+        // Finding the reward moved these on to the next scenario
+        HarryLevelStartSystem levelStartSystem = artemisWorld.getSystem(HarryLevelStartSystem.class);
+        levelStartSystem.setCurrentLevelIndex(levelIndex);
+        levelStartSystem.setCurrentScenarioIndex(scenarioIndex);
+        artemisWorld.getSystem(HarryDeathSystem.class).setCurrentLevelIndex(levelIndex);
+
+        Scenario scenario = levelContainer.getLevels()[levelIndex].getScenarios().get(scenarioIndex);
+        resetHarry(scenario.getStartingPositionX(), scenario.getStartingPositionY());
+        artemisWorld.getSystem(ZebraStateSystem.class).resetZebras();
+
+        timerSystem.resetAndStartTimer();
+        levelStartSystem.startLevel();
+        tick = 0;
+    }
+
+    /**
+     * Put Harry back the way HarryFactory spawned him.
+     */
+    private void resetHarry(float x, float y) {
+        HarryStateComponent state = getHarryState();
+        state.state = HarryState.RESTING;
+        state.previousState = HarryState.RESTING;
+        state.dir = Direction.RIGHT;
+        state.stateTime = 0f;
+        state.justJumped = false;
+        state.suppressBloodOnDeath = false;
+
+        PhysicsComponent physics = getHarryPhysics();
+        physics.vx = 0f;
+        physics.vy = 0f;
+        physics.onGround = false;
+        physics.onZebraSupport = false;
+        physics.lethalJump = false;
+
+        TransformComponent transform = getHarryTransform();
+        transform.x = x;
+        transform.y = y;
+        transform.dirty = false;
+        transform.hasPrevious = false;
+
+        artemisWorld.getMapper(HarryDeathSequenceComponent.class).remove(harryEntityId);
+        JbumpItemComponent collider = artemisWorld.getMapper(JbumpItemComponent.class).get(harryEntityId);
+        float colliderX = x + collider.offsetX;
+        ComponentMapper<DisabledJbumpColliderComponent> mDisabled = artemisWorld.getMapper(DisabledJbumpColliderComponent.class);
+        DisabledJbumpColliderComponent disabled = mDisabled.get(harryEntityId);
+        if (disabled != null && disabled.disabled) {
+            jbumpWorld.add((com.dongbat.jbump.Item) collider.item, colliderX, y, collider.width, collider.height);
+        } else {
+            jbumpWorld.update(collider.item, colliderX, y, collider.width, collider.height);
+        }
+        mDisabled.remove(harryEntityId);
+        collider.syncedX = colliderX;
+        collider.syncedY = y;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getLevelIndex() {
+        return levelIndex;
+    }
+
+    public int getScenarioIndex() {
+        return scenarioIndex;
+    }
+
+    /**
+     * Scenario state and configuration of this world only.
+     */
+    public GameContext getContext() {
+        return context;
+    }
+
+    public World getArtemisWorld() {
+        return artemisWorld;
+    }
+
+    public com.dongbat.jbump.World<Object> getJbumpWorld() {
+        return jbumpWorld;
+    }
+
+    public TiledMap getTileMap() {
+        return tileMap;
+    }
+
+    public int getHarryEntityId() {
+        return harryEntityId;
+    }
+
+    public IntArray getZebraEntityIds() {
+        return zebraEntityIds;
+    }
+
+    public TransformComponent getHarryTransform() {
+        return artemisWorld.getMapper(TransformComponent.class).get(harryEntityId);
+    }
+
+    public PhysicsComponent getHarryPhysics() {
+        return artemisWorld.getMapper(PhysicsComponent.class).get(harryEntityId);
+    }
+
+    public HarryStateComponent getHarryState() {
+        return artemisWorld.getMapper(HarryStateComponent.class).get(harryEntityId);
+    }
+
+    public TimerComponent getTimer() {
+        return timerSystem != null ? timerSystem.getTimer() : null;
+    }
+
+    public void dispose() {
+        artemisWorld.dispose();
+    }
+
+    /**
+     * Collects the level, scenario, map and input for a headless world.
+     */
+    public static class Builder {
+        private final LevelLoader.LevelContainer levelContainer;
+        private TiledMap tileMap;
+        private int levelIndex = 0;
+        private int scenarioIndex = 0;
+        private boolean applyScenario = true;
+        private long seed = 0L;
+        private int attempts = 0;
+        private GameContext context;
+        private CharacterInput input;
+
+        // Defaults match assets/characters.json; unset offsets are scaled by the context's asset scale
+        private float harryOffsetX = Float.NaN;
+        private float harryWidth = 30f;
+        private float harryHeight = 64f;
+        private float zebraOffsetX = Float.NaN;
+        private float zebraWidth = 128f;
+        private float zebraHeight = 64f;
+
+        private final FloatArray zebraPositions = new FloatArray();
+        private boolean defaultZebra = true;
+
+        public Builder(LevelLoader.LevelContainer levelContainer) {
+            this.levelContainer = levelContainer;
+        }
+
+        /**
+         * The map to simulate on, e.g. from {@link HeadlessTmxMapLoader}. The scenario's
+         * ground layer is applied to it in place unless {@link #applyScenario(boolean)} is off.
+         */
+        public Builder map(TiledMap tileMap) {
+            this.tileMap = tileMap;
+            return this;
+        }
+
+        public Builder level(int levelIndex) {
+            this.levelIndex = levelIndex;
+            return this;
+        }
+
+        public Builder scenario(int scenarioIndex) {
+            this.scenarioIndex = scenarioIndex;
+            return this;
+        }
+
+        /**
+         * Start at the level, scenario and attempt the recording was made on.
+         */
+        public Builder recording(InputRecording recording) {
+            this.levelIndex = recording.getLevelIndex();
+            this.scenarioIndex = recording.getScenarioIndex();
+            this.seed = recording.getSeed();
+            this.attempts = recording.getAttempts();
+            return this;
+        }
+
+        /**
+         * Seed of the world's {@link RandomSystem}; the same seed and input give the same run.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Share a context instead of giving the world a fresh {@link GameContext#isolated()} one,
+         * e.g. {@link GameContext#shared()} to see the world's progress in ScenarioState.getInstance().
+         */
+        public Builder context(GameContext context) {
+            this.context = context;
+            return this;
+        }
+
+        public Builder applyScenario(boolean applyScenario) {
+            this.applyScenario = applyScenario;
+            return this;
+        }
+
+        public Builder input(CharacterInput input) {
+            this.input = input;
+            return this;
+        }
+
+        public Builder harryCollider(float offsetX, float width, float height) {
+            this.harryOffsetX = offsetX;
+            this.harryWidth = width;
+            this.harryHeight = height;
+            return this;
+        }
+
+        public Builder zebraCollider(float offsetX, float width, float height) {
+            this.zebraOffsetX = offsetX;
+            this.zebraWidth = width;
+            this.zebraHeight = height;
+            return this;
+        }
+
+        /**
+         * Add a zebra. Without any call the world gets the single zebra the gameplay screen spawns.
+         */
+        public Builder zebraAt(float x, float y) {
+            zebraPositions.add(x);
+            zebraPositions.add(y);
+            defaultZebra = false;
+            return this;
+        }
+
+        public Builder withoutZebras() {
+            zebraPositions.clear();
+            defaultZebra = false;
+            return this;
+        }
+
+        public SimulationWorld build() {
+            if (tileMap == null) {
+                throw new IllegalStateException("SimulationWorld needs a map");
+            }
+            if (levelContainer == null || levelContainer.getLevels() == null || levelContainer.getLevels().length == 0) {
+                throw new IllegalStateException("SimulationWorld needs at least one level");
+            }
+            Level level = levelContainer.getLevels()[levelIndex];
+            Scenario scenario = level.getScenarios().get(scenarioIndex);
+
+            if (applyScenario) {
+                ScenarioOverlay overlay = ScenarioOverlay.forGroundLayer(tileMap);
+                if (overlay != null) {
+                    overlay.apply(scenario);
+                }
+            }
+
+            GameContext gameContext = context != null ? context : GameContext.isolated();
+            float harryOffsetX = Float.isNaN(this.harryOffsetX) ? 24f * gameContext.getAssetScale() : this.harryOffsetX;
+            float zebraOffsetX = Float.isNaN(this.zebraOffsetX) ? 30f * gameContext.getAssetScale() : this.zebraOffsetX;
+
+            // TimerSystem reads the current scenario while the world is being created
+            ScenarioState scenarioState = gameContext.getScenarioState();
+            scenarioState.initializeLevel(levelIndex);
+            scenarioState.setCurrentScenarioIndex(scenarioIndex);
+            scenarioState.resetTreasureFoundFlag();
+            scenarioState.setRandomSeed(seed);
+            // Dying rotates on from the scenario being played, as it does in the game
+            scenarioState.getCurrentLevelScenarioData().setCurrentScenarioRotationIndex(scenarioIndex);
+            if (attempts > 0) {
+                scenarioState.seedAttemptCount(levelIndex, scenarioIndex, attempts);
+            }
+
+            com.dongbat.jbump.World<Object> jbumpWorld = new com.dongbat.jbump.World<>();
+            LevelLoader.SystemDefaults systemDefaults = levelContainer.getSystemdefaults();
+
+            // Same order as Bridge2FarGameplayScreen, logic systems only
+            Set<BaseSystem> systemSet = new LinkedHashSet<>();
+            systemSet.add(new RandomSystem(seed));
+            systemSet.add(new JbumpMapInitializationSystem(tileMap, jbumpWorld, "ground"));
+            systemSet.add(new ColliderSyncSystem(jbumpWorld));
+            systemSet.add(new CharacterMovementSystem(jbumpWorld, systemDefaults));
+            systemSet.add(new HarryDeathSequenceSystem(jbumpWorld));
+            systemSet.add(new HarryDeathSystem(jbumpWorld));
+            systemSet.add(new TweenSystem());
+            systemSet.add(new NavGraphSystem(jbumpWorld, "objects", harryWidth, harryHeight, zebraHeight));
+            systemSet.add(new ZebraStateSystem(jbumpWorld));
+            systemSet.add(new RewardCollisionSystem(jbumpWorld, tileMap, "objects", harryOffsetX, harryWidth, harryHeight, gameContext.getAssetScale()));
+            systemSet.add(new LevelProgressionSystem(levelContainer, jbumpWorld));
+            systemSet.add(new SilentSoundSystem());
+            systemSet.add(new TimerSystem(levelContainer));
+            systemSet.add(new HarryLevelStartSystem(levelContainer));
+            systemSet.add(new StateHistorySystem());
+
+            WorldConfiguration config = new WorldConfigurationBuilder()
+                .with(systemSet.toArray(new BaseSystem[0]))
+                .build();
+            config.register(gameContext);
+            World artemisWorld = new World(config);
+
+            HarryLevelStartSystem levelStartSystem = artemisWorld.getSystem(HarryLevelStartSystem.class);
+            TimerSystem timerSystem = artemisWorld.getSystem(TimerSystem.class);
+            HarryDeathSystem deathSystem = artemisWorld.getSystem(HarryDeathSystem.class);
+            LevelProgressionSystem progressionSystem = artemisWorld.getSystem(LevelProgressionSystem.class);
+
+            levelStartSystem.setCurrentLevelIndex(levelIndex);
+            levelStartSystem.setCurrentScenarioIndex(scenarioIndex);
+            levelStartSystem.setTimerSystem(timerSystem);
+            deathSystem.setTimerSystem(timerSystem);
+            deathSystem.setLevelContainer(levelContainer);
+            deathSystem.setCurrentLevelIndex(levelIndex);
+            progressionSystem.setLevelStartSystem(levelStartSystem);
+            progressionSystem.setDeathSystem(deathSystem);
+
+            if (input != null) {
+                artemisWorld.getSystem(CharacterMovementSystem.class).setInput(input);
+            }
+
+            HarryFactory harryFactory = new HarryFactory(artemisWorld, jbumpWorld, harryOffsetX, harryWidth, harryHeight);
+            harryFactory.setCreateAnimations(false);
+            int harryEntityId = harryFactory.createHarry(scenario.getStartingPositionX(), scenario.getStartingPositionY());
+
+            ZebraFactory zebraFactory = new ZebraFactory(artemisWorld, jbumpWorld, zebraOffsetX, zebraWidth, zebraHeight);
+            zebraFactory.setCreateAnimations(false);
+            FloatArray positions = new FloatArray(zebraPositions);
+            if (defaultZebra) {
+                positions.add(400f, 120f);
+            }
+            IntArray zebraEntityIds = new IntArray();
+            for (int i = 0; i + 1 < positions.size; i += 2) {
+                zebraEntityIds.add(zebraFactory.createZebra(positions.get(i), positions.get(i + 1)));
+            }
+
+            levelStartSystem.startLevel();
+
+            return new SimulationWorld(artemisWorld, jbumpWorld, tileMap, harryEntityId, zebraEntityIds, gameContext,
+                levelContainer, levelIndex, scenarioIndex, attempts);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.pimpedpixel.games.systems;
+
+import com.artemis.BaseSystem;
+import com.artemis.SystemInvocationStrategy;
+import com.artemis.utils.IntBag;
+
+/**
+ * Runs logic systems in fixed ticks and {@link RenderSystem}s once per frame.
+ * The world delta set by the screen is treated as the frame delta; logic systems see the
+ * fixed tick delta, render systems see the frame delta again.
+ */
+public class FixedStepInvocationStrategy extends SystemInvocationStrategy {
+
+    private final FixedTimestep timestep;
+    private IntBag logicSystems;
+    private IntBag renderSystems;
+
+    public FixedStepInvocationStrategy(FixedTimestep timestep) {
+        this.timestep = timestep;
+    }
+
+    public FixedTimestep getTimestep() {
+        return timestep;
+    }
+
+    @Override
+    protected void process() {
+        if (logicSystems == null) {
+            splitSystems();
+        }
+
+        float frameDelta = world.getDelta();
+        int steps = timestep.advance(frameDelta);
+        world.setDelta(timestep.getTickDelta(frameDelta));
+        for (int step = 0; step < steps; step++) {
+            processSystems(logicSystems);
+        }
+
+        world.setDelta(frameDelta);
+        processSystems(renderSystems);
+        updateEntityStates();
+    }
+
+    private void processSystems(IntBag indices) {
+        BaseSystem[] systemsData = systems.getData();
+        int[] ids = indices.getData();
+        for (int i = 0, s = indices.size(); i < s; i++) {
+            BaseSystem system = systemsData[ids[i]];
+            if (!system.isEnabled()) continue;
+
+            updateEntityStates();
+            processSystem(ids[i], system);
+        }
+    }
+
+    /**
+     * Runs one system; subclasses can wrap it (timing, tracing).
+     *
+     * @param index position of the system in the world's system bag
+     */
+    protected void processSystem(int index, BaseSystem system) {
+        system.process();
+    }
+
+    private void splitSystems() {
+        logicSystems = new IntBag();
+        renderSystems = new IntBag();
+        BaseSystem[] systemsData = systems.getData();
+        for (int i = 0, s = systems.size(); i < s; i++) {
+            if (systemsData[i] instanceof RenderSystem) {
+                renderSystems.add(i);
+            } else {
+                logicSystems.add(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.pimpedpixel.games.systems;
+
+/**
+ * Accumulator for a fixed logic tick rate.
+ * Every frame adds its delta, {@link #advance(float)} returns how many whole ticks to run and
+ * {@link #getAlpha()} tells render systems how far we are between the last two ticks.
+ * Catch-up is capped so a long stall does not make us run hundreds of ticks in one frame.
+ */
+public class FixedTimestep {
+
+    public static final int DEFAULT_TICK_RATE = 60;
+    public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
+    private final float tickDelta;
+    private final int maxCatchUpSteps;
+    private boolean enabled = true;
+
+    private float accumulator;
+    private float alpha = 1f;
+    private long tickCount;
+
+    public FixedTimestep() {
+        this(DEFAULT_TICK_RATE, DEFAULT_MAX_CATCH_UP_STEPS);
+    }
+
+    public FixedTimestep(int tickRate, int maxCatchUpSteps) {
+        this.tickDelta = 1f / (tickRate > 0 ? tickRate : DEFAULT_TICK_RATE);
+        this.maxCatchUpSteps = maxCatchUpSteps > 0 ? maxCatchUpSteps : DEFAULT_MAX_CATCH_UP_STEPS;
+    }
+
+    /**
+     * Add a frame's delta and return the number of logic ticks to run this frame.
+     * When disabled, every frame is exactly one tick of the frame delta.
+     */
+    public int advance(float frameDelta) {
+        if (!enabled) {
+            alpha = 1f;
+            tickCount++;
+            return 1;
+        }
+
+        accumulator += Math.max(0f, frameDelta);
+        int steps = 0;
+        while (accumulator >= tickDelta && steps < maxCatchUpSteps) {
+            accumulator -= tickDelta;
+            steps++;
+        }
+        if (steps == maxCatchUpSteps && accumulator >= tickDelta) {
+            // Too far behind (debugger, window drag, loading hitch): drop the backlog
+            accumulator = accumulator % tickDelta;
+        }
+        tickCount += steps;
+        alpha = accumulator / tickDelta;
+        return steps;
+    }
+
+    /**
+     * Delta that logic systems see for each tick.
+     */
+    public float getTickDelta(float frameDelta) {
+        return enabled ? tickDelta : frameDelta;
+    }
+
+    public float getTickDelta() {
+        return tickDelta;
+    }
+
+    /**
+     * Interpolation factor between the previous (0) and current (1) logic state.
+     */
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switch between fixed ticks and the old one-tick-per-frame behaviour.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        this.accumulator = 0f;
+        this.alpha = 1f;
+    }
+}
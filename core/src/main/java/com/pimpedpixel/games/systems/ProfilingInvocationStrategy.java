@@ -0,0 +1,50 @@
+package com.pimpedpixel.games.systems;
+
+import com.artemis.BaseSystem;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * {@link FixedStepInvocationStrategy} that times every system call into a {@link SystemProfiler}.
+ * Costs two clock reads per system call, so it can stay on in normal builds.
+ */
+public class ProfilingInvocationStrategy extends FixedStepInvocationStrategy {
+
+    private final SystemProfiler profiler;
+    private boolean named;
+
+    public ProfilingInvocationStrategy(FixedTimestep timestep, SystemProfiler profiler) {
+        super(timestep);
+        this.profiler = profiler;
+    }
+
+    public SystemProfiler getProfiler() {
+        return profiler;
+    }
+
+    @Override
+    protected void process() {
+        if (!named) {
+            nameSystems();
+        }
+        long frameStart = TimeUtils.nanoTime();
+        super.process();
+        profiler.endFrame(TimeUtils.nanoTime() - frameStart);
+    }
+
+    @Override
+    protected void processSystem(int index, BaseSystem system) {
+        long start = TimeUtils.nanoTime();
+        super.processSystem(index, system);
+        profiler.record(index, TimeUtils.nanoTime() - start);
+    }
+
+    private void nameSystems() {
+        BaseSystem[] systemsData = systems.getData();
+        String[] names = new String[systems.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = systemsData[i].getClass().getSimpleName();
+        }
+        profiler.setSystemNames(names);
+        named = true;
+    }
+}
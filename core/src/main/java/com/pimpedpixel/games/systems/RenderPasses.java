@@ -0,0 +1,165 @@
+package com.pimpedpixel.games.systems;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * Owns the gameplay screen's SpriteBatch and world camera and hands them to whoever draws,
+ * pass by pass, in the order of {@link Pass}.
+ *
+ * The camera is snapped and updated once per frame in {@link #beginFrame()}. Consecutive batched
+ * passes with the same projection share one begin/end, so blood, characters and the profiler
+ * overlay do not flush each other; a pass that draws without the batch (the cached map layers,
+ * shape renderers, the Stage) ends it first. {@link #endFrame()} closes the batch and reports
+ * the frame's batch begins, flushes and texture switches to the {@link SystemProfiler}.
+ *
+ * The passes do not reorder anything: render systems draw in the order they are registered in
+ * the world, so that order is authoritative and has to follow {@link Pass}. Entering a pass
+ * that comes before the current one is reported (once) so a misplaced system shows up.
+ */
+public class RenderPasses {
+
+    /**
+     * Drawing order of a frame. Batched passes draw into the shared SpriteBatch.
+     */
+    public enum Pass {
+        BACKGROUND(false),
+        BLOOD(true),
+        CHARACTERS(true),
+        FOREGROUND(false),
+        OVERLAY(true),
+        HUD(false),
+        POPUP(true);
+
+        final boolean batched;
+
+        Pass(boolean batched) {
+            this.batched = batched;
+        }
+    }
+
+    private final SpriteBatch batch;
+    private final OrthographicCamera camera;
+    private SystemProfiler profiler;
+
+    private Pass current;
+    private boolean orderReported;
+    private Matrix4 batchProjection;
+    private int lastTotalRenderCalls;
+
+    // This frame so far
+    private int batchBegins;
+    private int textureSwitches;
+
+    public RenderPasses(SpriteBatch batch, OrthographicCamera camera) {
+        this.batch = batch;
+        this.camera = camera;
+        this.lastTotalRenderCalls = batch.totalRenderCalls;
+    }
+
+    public void setProfiler(SystemProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public SpriteBatch getBatch() {
+        return batch;
+    }
+
+    public OrthographicCamera getCamera() {
+        return camera;
+    }
+
+    /**
+     * Start a frame: snap the camera to whole pixels (crisp pixel art) and update it, once.
+     */
+    public void beginFrame() {
+        camera.position.x = Math.round(camera.position.x);
+        camera.position.y = Math.round(camera.position.y);
+        camera.update();
+        current = null;
+        batchBegins = 0;
+        textureSwitches = 0;
+        lastTotalRenderCalls = batch.totalRenderCalls;
+    }
+
+    /**
+     * Enter a pass drawn with the world camera.
+     *
+     * @return the batch, drawing for batched passes and ended for the others
+     */
+    public SpriteBatch begin(Pass pass) {
+        return begin(pass, camera.combined);
+    }
+
+    /**
+     * Enter a pass drawn with the given projection. A batched pass keeps the batch going when
+     * the pass before it used the same projection.
+     */
+    public SpriteBatch begin(Pass pass, Matrix4 projection) {
+        if (current != null && pass.ordinal() < current.ordinal() && !orderReported) {
+            orderReported = true;
+            Gdx.app.error("RenderPasses", pass + " drawn after " + current
+                + ", check the order the render systems are registered in");
+        }
+        current = pass;
+        if (!pass.batched) {
+            endBatch();
+            return batch;
+        }
+        if (batch.isDrawing() && projection == batchProjection) {
+            return batch;
+        }
+        endBatch();
+        batch.setProjectionMatrix(projection);
+        batchProjection = projection;
+        batch.begin();
+        batchBegins++;
+        return batch;
+    }
+
+    /**
+     * End the batch if a batched pass left it drawing.
+     */
+    public void endBatch() {
+        if (batch.isDrawing()) {
+            batch.end();
+            countTextureSwitches();
+        }
+    }
+
+    /**
+     * Count a begin/end the batch went through outside the passes, like Stage.draw() or the
+     * tile map renderer.
+     */
+    public void countExternalBatch() {
+        if (!batch.isDrawing()) {
+            batchBegins++;
+            countTextureSwitches();
+        }
+    }
+
+    /**
+     * Close the frame's last pass and report its batch statistics.
+     */
+    public void endFrame() {
+        endBatch();
+        current = null;
+        if (profiler != null) {
+            profiler.setBatchStats(batchBegins, batch.totalRenderCalls - lastTotalRenderCalls, textureSwitches);
+        }
+    }
+
+    /**
+     * The pass being drawn, or null between frames.
+     */
+    public Pass getCurrentPass() {
+        return current;
+    }
+
+    private void countTextureSwitches() {
+        // Every flush of one begin/end but the last is forced by a texture change (or a full buffer)
+        textureSwitches += Math.max(0, batch.renderCalls - 1);
+    }
+}
@@ -0,0 +1,161 @@
+package com.pimpedpixel.games.systems;
+
+/**
+ * Draw commands of one frame, sorted by {@link SortInfo#sortY} without allocating.
+ *
+ * A command is a {@link SortInfo.Type} and an int handle (an entity id, a layer index) stored in
+ * parallel primitive arrays; the order is the one {@link SortInfoComparator} gives (lowest sortY
+ * first, drawn furthest back) and stable for equal keys. Small queues are insertion sorted,
+ * large ones go through an LSD radix sort on the float bits, so thousands of sprites stay linear.
+ *
+ * Call {@link #clear()} at the start of a frame, {@link #add} per command, {@link #sort()} once
+ * and then walk the commands with {@link #typeAt}/{@link #handleAt}. The buffers only grow,
+ * after the first frames nothing is allocated anymore.
+ */
+public class RenderQueue {
+
+    static final int INSERTION_SORT_LIMIT = 48;
+    private static final SortInfo.Type[] TYPES = SortInfo.Type.values();
+
+    private float[] sortY;
+    // sortY as ints that compare like the floats
+    private int[] keys;
+    private int[] types;
+    private int[] handles;
+    // Command indices in drawing order, and the radix sort's other buffer
+    private int[] order;
+    private int[] scratch;
+    private final int[] counts = new int[256];
+    private int size;
+
+    public RenderQueue() {
+        this(64);
+    }
+
+    public RenderQueue(int capacity) {
+        capacity = Math.max(1, capacity);
+        sortY = new float[capacity];
+        keys = new int[capacity];
+        types = new int[capacity];
+        handles = new int[capacity];
+        order = new int[capacity];
+        scratch = new int[capacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(SortInfo.Type type, int handle, float y) {
+        if (size == keys.length) {
+            grow();
+        }
+        int bits = Float.floatToIntBits(y);
+        sortY[size] = y;
+        // Negative floats order backwards as ints, flipping their magnitude bits fixes that
+        keys[size] = bits ^ ((bits >> 31) & 0x7FFFFFFF);
+        types[size] = type.ordinal();
+        handles[size] = handle;
+        order[size] = size;
+        size++;
+    }
+
+    public void sort() {
+        if (size < INSERTION_SORT_LIMIT) {
+            insertionSort();
+        } else {
+            radixSort();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public SortInfo.Type typeAt(int index) {
+        return TYPES[types[order[index]]];
+    }
+
+    public int handleAt(int index) {
+        return handles[order[index]];
+    }
+
+    public float sortYAt(int index) {
+        return sortY[order[index]];
+    }
+
+    private void insertionSort() {
+        for (int i = 1; i < size; i++) {
+            int command = order[i];
+            int key = keys[command];
+            int j = i - 1;
+            while (j >= 0 && keys[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = command;
+        }
+    }
+
+    /**
+     * Four stable counting passes of 8 bits each; passes where every key has the same digit are skipped.
+     */
+    private void radixSort() {
+        int[] source = order;
+        int[] target = scratch;
+        for (int shift = 0; shift < 32; shift += 8) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = 0;
+            }
+            for (int i = 0; i < size; i++) {
+                counts[digit(keys[source[i]], shift)]++;
+            }
+            if (counts[digit(keys[source[0]], shift)] == size) {
+                continue;
+            }
+            int position = 0;
+            for (int i = 0; i < counts.length; i++) {
+                int count = counts[i];
+                counts[i] = position;
+                position += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int command = source[i];
+                target[counts[digit(keys[command], shift)]++] = command;
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, size);
+        }
+    }
+
+    private static int digit(int key, int shift) {
+        // The sign bit is flipped so the signed keys sort as unsigned digits
+        return ((key ^ 0x80000000) >>> shift) & 0xFF;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        sortY = copyOf(sortY, capacity);
+        keys = copyOf(keys, capacity);
+        types = copyOf(types, capacity);
+        handles = copyOf(handles, capacity);
+        order = copyOf(order, capacity);
+        scratch = new int[capacity];
+    }
+
+    private static float[] copyOf(float[] values, int capacity) {
+        float[] copy = new float[capacity];
+        System.arraycopy(values, 0, copy, 0, values.length);
+        return copy;
+    }
+
+    private static int[] copyOf(int[] values, int capacity) {
+        int[] copy = new int[capacity];
+        System.arraycopy(values, 0, copy, 0, values.length);
+        return copy;
+    }
+}
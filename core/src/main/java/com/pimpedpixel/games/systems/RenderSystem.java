@@ -0,0 +1,8 @@
+package com.pimpedpixel.games.systems;
+
+/**
+ * Marker for systems that draw. With a fixed timestep they run once per rendered frame
+ * (with the frame delta) after the logic systems, instead of once per logic tick.
+ */
+public interface RenderSystem {
+}
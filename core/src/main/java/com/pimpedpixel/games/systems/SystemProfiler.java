@@ -0,0 +1,182 @@
+package com.pimpedpixel.games.systems;
+
+import java.util.Arrays;
+
+/**
+ * Per-system frame timings over a rolling window of frames.
+ * A system that runs several times in one frame (fixed ticks catching up) is summed, so the
+ * numbers are "time this system cost in that frame". Percentiles are computed on request
+ * over the last {@link #getWindow()} frames.
+ *
+ * Fed by {@link ProfilingInvocationStrategy}; read by the profiler overlay or anyone
+ * investigating a hitch.
+ */
+public class SystemProfiler {
+
+    public static final int DEFAULT_WINDOW = 240;
+
+    private final int window;
+    private String[] names = new String[0];
+    private long[][] samples = new long[0][];
+    private long[] current = new long[0];
+    private final long[] frameTotals;
+    private final long[] scratch;
+    // Reused by slowest(), sized per system
+    private long[] costs = new long[0];
+    private boolean[] taken = new boolean[0];
+    private int cursor;
+    private int filled;
+
+    // Batch statistics of the last frame, reported by RenderPasses
+    private int batchBegins;
+    private int batchFlushes;
+    private int textureSwitches;
+    // GL statistics of the last frame, when a GLProfiler is running
+    private int drawCalls;
+    private int textureBindings;
+
+    public SystemProfiler() {
+        this(DEFAULT_WINDOW);
+    }
+
+    public SystemProfiler(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.window = window;
+        this.frameTotals = new long[window];
+        this.scratch = new long[window];
+    }
+
+    /**
+     * Name the profiled systems; indices passed to {@link #record(int, long)} refer to this array.
+     * Resets the collected samples.
+     */
+    public void setSystemNames(String[] systemNames) {
+        names = systemNames.clone();
+        samples = new long[names.length][window];
+        current = new long[names.length];
+        costs = new long[names.length];
+        taken = new boolean[names.length];
+        cursor = 0;
+        filled = 0;
+    }
+
+    public void record(int system, long nanos) {
+        if (system >= 0 && system < current.length) {
+            current[system] += nanos;
+        }
+    }
+
+    /**
+     * Close the frame: store this frame's per-system times and the total frame time.
+     */
+    public void endFrame(long frameNanos) {
+        for (int i = 0; i < current.length; i++) {
+            samples[i][cursor] = current[i];
+            current[i] = 0L;
+        }
+        frameTotals[cursor] = frameNanos;
+        cursor = (cursor + 1) % window;
+        if (filled < window) {
+            filled++;
+        }
+    }
+
+    public void setBatchStats(int batchBegins, int batchFlushes, int textureSwitches) {
+        this.batchBegins = batchBegins;
+        this.batchFlushes = batchFlushes;
+        this.textureSwitches = textureSwitches;
+    }
+
+    public void setGlStats(int drawCalls, int textureBindings) {
+        this.drawCalls = drawCalls;
+        this.textureBindings = textureBindings;
+    }
+
+    /**
+     * Time the system took in the given percentile of recent frames, in nanoseconds.
+     *
+     * @param percentile 0..100, e.g. 50, 95 or 99
+     */
+    public long percentile(int system, float percentile) {
+        return percentileOf(samples[system], percentile);
+    }
+
+    /**
+     * Whole frame time (all systems plus bookkeeping) at the given percentile, in nanoseconds.
+     */
+    public long framePercentile(float percentile) {
+        return percentileOf(frameTotals, percentile);
+    }
+
+    /**
+     * Fill {@code out} with system indices, slowest first by the given percentile.
+     *
+     * @return number of indices written
+     */
+    public int slowest(int[] out, float percentile) {
+        int count = Math.min(out.length, names.length);
+        for (int i = 0; i < names.length; i++) {
+            costs[i] = percentile(i, percentile);
+            taken[i] = false;
+        }
+        for (int n = 0; n < count; n++) {
+            int best = -1;
+            for (int i = 0; i < names.length; i++) {
+                if (!taken[i] && (best < 0 || costs[i] > costs[best])) {
+                    best = i;
+                }
+            }
+            taken[best] = true;
+            out[n] = best;
+        }
+        return count;
+    }
+
+    private long percentileOf(long[] values, float percentile) {
+        if (filled == 0) {
+            return 0L;
+        }
+        System.arraycopy(values, 0, scratch, 0, filled);
+        Arrays.sort(scratch, 0, filled);
+        int rank = (int) Math.ceil(percentile / 100f * filled) - 1;
+        return scratch[Math.max(0, Math.min(filled - 1, rank))];
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public int getFrameCount() {
+        return filled;
+    }
+
+    public int getSystemCount() {
+        return names.length;
+    }
+
+    public String getSystemName(int system) {
+        return names[system];
+    }
+
+    public int getBatchBegins() {
+        return batchBegins;
+    }
+
+    public int getBatchFlushes() {
+        return batchFlushes;
+    }
+
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public int getTextureBindings() {
+        return textureBindings;
+    }
+}
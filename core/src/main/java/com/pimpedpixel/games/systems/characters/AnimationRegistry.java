@@ -0,0 +1,128 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Process-wide cache of character animations, keyed by character/state/direction.
+ * The frames of an animation are decoded and uploaded once; every entity of that character
+ * shares the same Animation instance (Animation is stateless, state time lives in the entity).
+ * Entries are reference counted and their textures are disposed when the last user releases them.
+ *
+ * Not thread safe: textures can only be created on the GL thread anyway.
+ */
+public final class AnimationRegistry {
+
+    /**
+     * Decodes one frame, e.g. {@link HarryTextureLoader#loadColorKeyedRegion(String)}.
+     */
+    public interface FrameLoader {
+        TextureRegion load(String path);
+
+        /**
+         * False when the frames live in a texture owned by someone else (an atlas page),
+         * so the registry must not dispose it.
+         */
+        default boolean ownsTextures() {
+            return true;
+        }
+    }
+
+    private static AnimationRegistry instance;
+
+    private final ObjectMap<String, Entry> entries = new ObjectMap<>();
+
+    private AnimationRegistry() {
+    }
+
+    public static synchronized AnimationRegistry getInstance() {
+        if (instance == null) {
+            instance = new AnimationRegistry();
+        }
+        return instance;
+    }
+
+    public static String key(String character, String state, Direction direction) {
+        return character + "/" + state + "/" + direction.name().toLowerCase();
+    }
+
+    /**
+     * Get the shared animation for the key, loading its frames the first time.
+     * Every call must be matched by a {@link #release(String)}.
+     */
+    public Animation<TextureRegion> acquire(String key, FrameLoader loader, float frameDuration,
+                                            Animation.PlayMode playMode, String... framePaths) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            // Typed backing array, Animation.getKeyFrames() returns it as TextureRegion[]
+            Array<TextureRegion> frames = new Array<>(true, framePaths.length, TextureRegion.class);
+            for (String path : framePaths) {
+                frames.add(loader.load(path));
+            }
+            entry = new Entry(new Animation<>(frameDuration, frames, playMode), loader.ownsTextures());
+            entries.put(key, entry);
+        }
+        entry.references++;
+        return entry.animation;
+    }
+
+    /**
+     * Drop one reference; the frames' textures are disposed when it was the last one.
+     */
+    public void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.references--;
+        if (entry.references <= 0) {
+            entries.remove(key);
+            entry.dispose();
+        }
+    }
+
+    public int getReferenceCount(String key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.references : 0;
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    /**
+     * Dispose every animation regardless of references (application shutdown).
+     */
+    public void clear() {
+        for (Entry entry : entries.values()) {
+            entry.dispose();
+        }
+        entries.clear();
+    }
+
+    private static final class Entry {
+        final Animation<TextureRegion> animation;
+        final boolean ownsTextures;
+        int references;
+
+        Entry(Animation<TextureRegion> animation, boolean ownsTextures) {
+            this.animation = animation;
+            this.ownsTextures = ownsTextures;
+        }
+
+        void dispose() {
+            if (!ownsTextures) {
+                return;
+            }
+            for (TextureRegion frame : animation.getKeyFrames()) {
+                Texture texture = frame != null ? frame.getTexture() : null;
+                if (texture != null) {
+                    texture.dispose();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.IntBag;
+
+/**
+ * Hands shared character animations back to the {@link AnimationRegistry} when a Harry or
+ * zebra entity is deleted, and for the remaining entities when the world is disposed.
+ */
+public class AnimationReleaseSystem extends BaseEntitySystem {
+
+    private ComponentMapper<HarryAnimationComponent> mHarryAnim;
+    private ComponentMapper<ZebraAnimationComponent> mZebraAnim;
+
+    public AnimationReleaseSystem() {
+        super(Aspect.one(HarryAnimationComponent.class, ZebraAnimationComponent.class));
+    }
+
+    @Override
+    protected void processSystem() {
+        // Event driven, nothing to do per frame
+    }
+
+    @Override
+    protected void removed(int entityId) {
+        release(entityId);
+    }
+
+    @Override
+    protected void dispose() {
+        IntBag entities = getEntityIds();
+        int[] ids = entities.getData();
+        for (int i = 0; i < entities.size(); i++) {
+            release(ids[i]);
+        }
+    }
+
+    private void release(int entityId) {
+        if (mHarryAnim.has(entityId)) {
+            HarryAnimationsFactory.releaseAnimations(mHarryAnim.get(entityId));
+        }
+        if (mZebraAnim.has(entityId)) {
+            ZebraAnimationsFactory.releaseAnimations(mZebraAnim.get(entityId));
+        }
+    }
+}
@@ -3,24 +3,33 @@ package com.pimpedpixel.games.systems.characters;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.systems.IteratingSystem;
-import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.pimpedpixel.games.DesignResolution;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.systems.FixedTimestep;
+import com.pimpedpixel.games.systems.RenderPasses;
+import com.pimpedpixel.games.systems.RenderSystem;
 
 /**
  * Renders blood animations with crisp pixel-art scaling.
  * Blood is rendered behind characters and can be flipped based on orientation.
  */
-public class BloodRenderSystem extends IteratingSystem {
+public class BloodRenderSystem extends IteratingSystem implements RenderSystem {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
 
     private ComponentMapper<TransformComponent> mTransform;
     private ComponentMapper<BloodAnimationComponent> mAnim;
     private ComponentMapper<HarryStateComponent> mHarryState;
 
-    private final SpriteBatch batch;
-    private final OrthographicCamera camera;
+    private final RenderPasses renderPasses;
+    private SpriteBatch batch;
+
+    // Interpolates between logic ticks when the world runs on a fixed timestep
+    private FixedTimestep timestep;
 
     // Blood state durations
     // Let blood stick around longer to feel more visceral.
@@ -32,26 +41,22 @@ public class BloodRenderSystem extends IteratingSystem {
     private static final float MAX_BLOOD_WIDTH = 128f;    // 2 cells × 64 pixels per cell
     private static final float BLOOD_SCALE_FACTOR = 0.5f; // Scale factor relative to character scale
 
-    public BloodRenderSystem(SpriteBatch batch, OrthographicCamera camera) {
+    public BloodRenderSystem(RenderPasses renderPasses) {
         super(Aspect.all(TransformComponent.class, BloodAnimationComponent.class));
-        this.batch = batch;
-        this.camera = camera;
+        this.renderPasses = renderPasses;
     }
 
-    @Override
-    protected void begin() {
-        // Optional but very helpful for pixel art: snap camera to whole pixels
-        camera.position.x = Math.round(camera.position.x);
-        camera.position.y = Math.round(camera.position.y);
-        camera.update();
+    public void setTimestep(FixedTimestep timestep) {
+        this.timestep = timestep;
+    }
 
-        batch.setProjectionMatrix(camera.combined);
-        batch.begin();
+    private float alpha() {
+        return timestep != null ? timestep.getAlpha() : 1f;
     }
 
     @Override
-    protected void end() {
-        batch.end();
+    protected void begin() {
+        batch = renderPasses.begin(RenderPasses.Pass.BLOOD);
     }
 
     @Override
@@ -82,14 +87,15 @@ public class BloodRenderSystem extends IteratingSystem {
 
         // Use a reduced scale for blood to ensure it covers max 2 cells (2x64 pixels)
         // The largest blood frame is 64px wide, so we scale it down appropriately
-        float bloodScale = DesignResolution.CHARACTER_SCALE * BLOOD_SCALE_FACTOR;
+        float bloodScale = GameContext.orShared(context).getCharacterScale() * BLOOD_SCALE_FACTOR;
 
         float width = frame.getRegionWidth() * bloodScale;
         float height = frame.getRegionHeight() * bloodScale;
 
         // Snap to whole pixels to avoid blur
-        float drawX = Math.round(t.x);
-        float drawY = Math.round(t.y);
+        float alpha = alpha();
+        float drawX = Math.round(t.interpolatedX(alpha));
+        float drawY = Math.round(t.interpolatedY(alpha));
 
         // Handle orientation flipping
         boolean flipX = (anim.orientation == Direction.RIGHT);
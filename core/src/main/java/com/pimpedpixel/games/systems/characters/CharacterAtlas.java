@@ -0,0 +1,67 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Harry and zebra frames packed into one atlas by the core:packCharacters Gradle task,
+ * with the #FF00FF colour key already turned into transparency.
+ * All characters then draw from one texture, so the SpriteBatch does not flush between them.
+ *
+ * Region names are the frame paths relative to assets/characters without ".png",
+ * e.g. "harry/harry-walking-left-1".
+ */
+public final class CharacterAtlas implements AnimationRegistry.FrameLoader {
+
+    public static final String PATH = "characters/characters.atlas";
+    private static final String FRAME_ROOT = "characters/";
+    private static final String FRAME_SUFFIX = ".png";
+
+    private static CharacterAtlas installed;
+
+    private final TextureAtlas atlas;
+
+    private CharacterAtlas(TextureAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Use this atlas for character frames from now on; null goes back to loading the PNGs.
+     * The atlas stays owned by whoever loaded it (the AssetManager).
+     */
+    public static void install(TextureAtlas atlas) {
+        installed = atlas != null ? new CharacterAtlas(atlas) : null;
+    }
+
+    /**
+     * The installed atlas, or the given loader when the atlas was not built or not loaded.
+     */
+    public static AnimationRegistry.FrameLoader frameLoader(AnimationRegistry.FrameLoader fallback) {
+        return installed != null ? installed : fallback;
+    }
+
+    static String regionName(String framePath) {
+        String name = framePath;
+        if (name.startsWith(FRAME_ROOT)) {
+            name = name.substring(FRAME_ROOT.length());
+        }
+        if (name.endsWith(FRAME_SUFFIX)) {
+            name = name.substring(0, name.length() - FRAME_SUFFIX.length());
+        }
+        return name;
+    }
+
+    @Override
+    public TextureRegion load(String path) {
+        TextureRegion region = atlas.findRegion(regionName(path));
+        if (region == null) {
+            throw new IllegalStateException("Frame " + path + " is missing from " + PATH + ", run core:packCharacters");
+        }
+        return region;
+    }
+
+    @Override
+    public boolean ownsTextures() {
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package com.pimpedpixel.games.systems.characters;
+
+/**
+ * Source of the player's buttons for one logic tick.
+ * The movement system samples it exactly once per tick, so implementations can be
+ * backed by the keyboard, a script or a recorded run.
+ */
+public interface CharacterInput {
+
+    int LEFT = 1;
+    int RIGHT = 1 << 1;
+    int JUMP = 1 << 2;
+
+    /**
+     * Returns the pressed buttons for the current tick as a combination of
+     * {@link #LEFT}, {@link #RIGHT} and {@link #JUMP}. JUMP means "pressed this tick".
+     */
+    int sample();
+}
@@ -3,8 +3,6 @@ package com.pimpedpixel.games.systems.characters;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.systems.IteratingSystem;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.dongbat.jbump.*;
 import com.pimpedpixel.games.systems.gameplay.PlaySoundComponent;
 import com.pimpedpixel.games.systems.gameplay.SoundId;
@@ -21,7 +19,6 @@ public class CharacterMovementSystem extends IteratingSystem {
     private ComponentMapper<TransformComponent> mTransform;
     private ComponentMapper<PhysicsComponent> mPhysics;
     private ComponentMapper<HarryStateComponent> mState;
-    private ComponentMapper<ZebraStateComponent> mZebraState;
     private ComponentMapper<DisabledJbumpColliderComponent> mDisabledCollider;
     private ComponentMapper<PlaySoundComponent> mPlaySound;
 
@@ -31,12 +28,23 @@ public class CharacterMovementSystem extends IteratingSystem {
     // Jbump World
     private final World jbumpWorld;
 
+    // Harry dies when he lands with his feet below this height
+    public static final float DEATH_Y = 130f;
+    // Jump speed multiplier when jumping off a zebra's back
+    public static final float ZEBRA_JUMP_MULTIPLIER = 3f;
+    // Bumping his head on the bottom of a block in this tile row kills Harry
+    public static final int LETHAL_HEAD_ROW = 5;
+
     private final float moveSpeed;
     private final float jumpSpeed;
     private final float gravity;
 
-    // Custom CollisionFilter for the character (standard platformer behavior)
-    private final static CollisionFilter playerFilter = (item, other) -> Response.slide;
+    // Slides against what Harry's collision mask includes (standard platformer behavior)
+    private final static CollisionFilter playerFilter = CollisionFilters.MOVE;
+
+    // Input is sampled once per tick so keyboard, scripted and recorded runs behave the same
+    private CharacterInput input = new GdxCharacterInput();
+    private int buttons;
 
     public CharacterMovementSystem(World jbumpWorld) {
         this(jbumpWorld, null);
@@ -57,6 +65,34 @@ public class CharacterMovementSystem extends IteratingSystem {
         }
     }
 
+    /**
+     * Replace the input source (scripted or recorded input for headless runs).
+     */
+    public void setInput(CharacterInput input) {
+        this.input = input != null ? input : new GdxCharacterInput();
+    }
+
+    public CharacterInput getInput() {
+        return input;
+    }
+
+    public float getMoveSpeed() {
+        return moveSpeed;
+    }
+
+    public float getJumpSpeed() {
+        return jumpSpeed;
+    }
+
+    public float getGravity() {
+        return gravity;
+    }
+
+    @Override
+    protected void begin() {
+        buttons = input.sample();
+    }
+
     @Override
     protected void process(int entityId) {
         float dt = world.getDelta();
@@ -71,7 +107,7 @@ public class CharacterMovementSystem extends IteratingSystem {
             return;
         }
 
-        Item<Integer> item = jbumpItemComp.item;
+        Item<ColliderData> item = jbumpItemComp.item;
 
         // Add null check for item
         if (item == null) {
@@ -98,9 +134,9 @@ public class CharacterMovementSystem extends IteratingSystem {
         boolean wasFalling = s.state == HarryState.FALLING;
 
         // --- INPUT ---
-        boolean left = Gdx.input.isKeyPressed(Input.Keys.LEFT);
-        boolean right = Gdx.input.isKeyPressed(Input.Keys.RIGHT);
-        boolean jump = Gdx.input.isKeyJustPressed(Input.Keys.SPACE);
+        boolean left = (buttons & CharacterInput.LEFT) != 0;
+        boolean right = (buttons & CharacterInput.RIGHT) != 0;
+        boolean jump = (buttons & CharacterInput.JUMP) != 0;
 
         // Horizontal movement - only allow if not in blocked states
         p.vx = 0;
@@ -116,7 +152,7 @@ public class CharacterMovementSystem extends IteratingSystem {
 
         // Jump logic - only allow if not in blocked states
         if (jump && p.onGround && !movementBlocked) {
-            float jumpImpulse = p.onZebraSupport ? jumpSpeed * 3f : jumpSpeed;
+            float jumpImpulse = p.onZebraSupport ? jumpSpeed * ZEBRA_JUMP_MULTIPLIER : jumpSpeed;
             p.vy = jumpImpulse;
             p.onGround = false;
             p.onZebraSupport = false;
@@ -152,6 +188,7 @@ public class CharacterMovementSystem extends IteratingSystem {
             return;
         }
 
+        // jbump already moved the collider, so the transform is not marked dirty
         t.x = result.goalX;
         t.y = result.goalY;
 
@@ -163,32 +200,30 @@ public class CharacterMovementSystem extends IteratingSystem {
         if (result.projectedCollisions != null) {
             for (int i = 0; i < result.projectedCollisions.size(); i++) {
                 Collision collision = result.projectedCollisions.get(i);
-                if (collision != null && collision.normal.y > 0.001f) {
+                // Crossed items (sensors) are reported but neither carry nor stop Harry
+                if (collision == null || collision.type == Response.cross) {
+                    continue;
+                }
+                if (collision.normal.y > 0.001f) {
                     touchedGround = true;
                     Object otherUserData = collision.other != null ? collision.other.userData : null;
-                    if (otherUserData instanceof Integer) {
-                        int otherId = (Integer) otherUserData;
-                        if (mZebraState != null && mZebraState.has(otherId)) {
-                            landedOnZebra = true;
-                        }
+                    if ((CollisionCategory.of(otherUserData) & CollisionCategory.ZEBRA) != 0) {
+                        landedOnZebra = true;
                     }
                     p.vy = 0;
                     break;
-                } else if (collision != null && collision.normal.y < -0.001f && p.vy > 0) {
+                } else if (collision.normal.y < -0.001f && p.vy > 0) {
                     headBump = true;
                     // Hitting a block above while in lethal (boosted) jump: check row 9
                     try {
                         @SuppressWarnings("unchecked")
                         Item<Object> otherItem = (Item<Object>) collision.other;
                         if (otherItem != null) {
-                            Rect rect = jbumpWorld.getRect(otherItem);
-                            float h = rect.h;
-                            if (h > 0) {
-                                int row = Math.round(rect.y / h);
-                                if (row == 5) {
-                                    lethalHeadHit = true;
-                                    break;
-                                }
+                            // Merged colliders span several tiles, the bottom face is the one we hit
+                            int row = ColliderData.bottomRow(otherItem.userData, jbumpWorld.getRect(otherItem));
+                            if (row == LETHAL_HEAD_ROW) {
+                                lethalHeadHit = true;
+                                break;
                             }
                         }
                     } catch (ClassCastException ignored) {
@@ -247,7 +282,7 @@ public class CharacterMovementSystem extends IteratingSystem {
                 } else {
                     s.state = HarryState.RESTING;
                 }
-                if(t.y < 130){
+                if(t.y < DEATH_Y){
                     s.suppressBloodOnDeath = false;
                     s.state = HarryState.DYING;
                     if (landedThisFrame && wasFalling) {
@@ -3,17 +3,37 @@ package com.pimpedpixel.games.systems.characters;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.systems.IteratingSystem;
-import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.pimpedpixel.games.DesignResolution;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.pimpedpixel.games.GameContext;
 import com.pimpedpixel.games.config.CharacterConfig;
+import com.pimpedpixel.games.systems.FixedTimestep;
+import com.pimpedpixel.games.systems.RenderPasses;
+import com.pimpedpixel.games.systems.RenderQueue;
+import com.pimpedpixel.games.systems.RenderSystem;
+import com.pimpedpixel.games.systems.SortInfo;
+import com.pimpedpixel.games.systems.playfield.TiledMapUtilities;
 
 /**
- * Renders Harry with crisp pixel-art scaling.
+ * Renders Harry and the zebras with crisp pixel-art scaling.
+ *
+ * Characters are drawn back to front by the height of their feet (lower on screen is in front),
+ * through a {@link RenderQueue}. Tile layers with a "sortY" property join that queue at their
+ * sortY, so a character can walk in front of or behind them; the map render systems skip them.
  */
-public class CharacterRenderSystem extends IteratingSystem {
+public class CharacterRenderSystem extends IteratingSystem implements RenderSystem {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
 
     private ComponentMapper<TransformComponent> mTransform;
     private ComponentMapper<HarryStateComponent> mState;
@@ -21,14 +41,27 @@ public class CharacterRenderSystem extends IteratingSystem {
     private ComponentMapper<ZebraStateComponent> mZebraState;
     private ComponentMapper<ZebraAnimationComponent> mZebraAnim;
 
-    private final SpriteBatch batch;
-    private final OrthographicCamera camera;
+    private final RenderPasses renderPasses;
+    private final RenderQueue queue = new RenderQueue();
+    private SpriteBatch batch;
+
+    // Depth-sorted layers of the renderer's current map
+    private OrthogonalTiledMapRenderer mapRenderer;
+    private TiledMap sortedLayersMap;
+    private final IntArray sortedLayers = new IntArray();
+    private final FloatArray sortedLayerY = new FloatArray();
     
     // Character offsets for rendering (loaded from CharacterConfig)
-    private float harryOffsetX = 22f * DesignResolution.ASSET_SCALE; // Default values
-    private float zebraOffsetX = 15f * DesignResolution.ASSET_SCALE;
+    // Unscaled defaults until initialize() applies the world's asset scale
+    private static final float DEFAULT_HARRY_OFFSET_X = 22f;
+    private static final float DEFAULT_ZEBRA_OFFSET_X = 15f;
+    private float harryOffsetX;
+    private float zebraOffsetX;
 
-    public CharacterRenderSystem(SpriteBatch batch, OrthographicCamera camera) {
+    // Interpolates between logic ticks when the world runs on a fixed timestep
+    private FixedTimestep timestep;
+
+    public CharacterRenderSystem(RenderPasses renderPasses) {
         super(Aspect.all(
             TransformComponent.class
         ).one(
@@ -38,49 +71,114 @@ public class CharacterRenderSystem extends IteratingSystem {
             HarryAnimationComponent.class,
             ZebraAnimationComponent.class
         ));
-        this.batch = batch;
-        this.camera = camera;
+        this.renderPasses = renderPasses;
+    }
+
+    @Override
+    protected void initialize() {
+        float assetScale = GameContext.orShared(context).getAssetScale();
+        harryOffsetX = DEFAULT_HARRY_OFFSET_X * assetScale;
+        zebraOffsetX = DEFAULT_ZEBRA_OFFSET_X * assetScale;
     }
 
     /**
      * Configure character offsets from CharacterConfig.
      */
     public void configureFromCharacterConfig() {
-        CharacterConfig.CharacterData harryData = CharacterConfig.getInstance().getCharacterByName("harry");
-        CharacterConfig.CharacterData zebraData = CharacterConfig.getInstance().getCharacterByName("zebra");
+        GameContext gameContext = GameContext.orShared(context);
+        CharacterConfig.CharacterData harryData = gameContext.getCharacterConfig().getCharacterByName("harry");
+        CharacterConfig.CharacterData zebraData = gameContext.getCharacterConfig().getCharacterByName("zebra");
         
         if (harryData != null) {
-            this.harryOffsetX = harryData.getScaledHorizontalOffset(DesignResolution.ASSET_SCALE);
+            this.harryOffsetX = harryData.getScaledHorizontalOffset(gameContext.getAssetScale());
         }
         
         if (zebraData != null) {
-            this.zebraOffsetX = zebraData.getScaledHorizontalOffset(DesignResolution.ASSET_SCALE);
+            this.zebraOffsetX = zebraData.getScaledHorizontalOffset(gameContext.getAssetScale());
         }
         
         System.out.println("CharacterRenderSystem configured with offsets: harry=" + harryOffsetX + ", zebra=" + zebraOffsetX);
     }
 
+    /**
+     * Renderer whose map's depth-sorted layers are drawn with the characters.
+     */
+    public void setMapRenderer(OrthogonalTiledMapRenderer mapRenderer) {
+        this.mapRenderer = mapRenderer;
+    }
+
+    public void setTimestep(FixedTimestep timestep) {
+        this.timestep = timestep;
+    }
+
+    private float alpha() {
+        return timestep != null ? timestep.getAlpha() : 1f;
+    }
+
     @Override
     protected void begin() {
-        // Optional but very helpful for pixel art: snap camera to whole pixels
-        camera.position.x = Math.round(camera.position.x);
-        camera.position.y = Math.round(camera.position.y);
-        camera.update();
-
-        batch.setProjectionMatrix(camera.combined);
-        // blending is enabled by default, but if you ever disabled it:
-        // batch.enableBlending();
-        batch.begin();
+        // Camera is snapped and updated once per frame by RenderPasses
+        batch = renderPasses.begin(RenderPasses.Pass.CHARACTERS);
+        queue.clear();
     }
 
     @Override
-    protected void end() {
-        batch.end();
+    protected void process(int entityId) {
+        // Feet lower on screen are nearer, so they sort (and draw) later
+        queue.add(SortInfo.Type.CHARACTER, entityId, -Math.round(mTransform.get(entityId).interpolatedY(alpha())));
     }
 
     @Override
-    protected void process(int entityId) {
+    protected void end() {
+        addSortedLayers();
+        queue.sort();
+
+        boolean viewSet = false;
+        for (int i = 0, n = queue.size(); i < n; i++) {
+            if (queue.typeAt(i) == SortInfo.Type.CHARACTER) {
+                drawCharacter(queue.handleAt(i));
+            } else {
+                if (!viewSet) {
+                    mapRenderer.setView(renderPasses.getCamera());
+                    viewSet = true;
+                }
+                mapRenderer.renderTileLayer((TiledMapTileLayer) mapRenderer.getMap().getLayers().get(queue.handleAt(i)));
+            }
+        }
+    }
+
+    private void addSortedLayers() {
+        if (mapRenderer == null || mapRenderer.getMap() == null) {
+            return;
+        }
+        if (mapRenderer.getMap() != sortedLayersMap) {
+            resolveSortedLayers(mapRenderer.getMap());
+        }
+        MapLayers layers = sortedLayersMap.getLayers();
+        for (int i = 0; i < sortedLayers.size; i++) {
+            if (layers.get(sortedLayers.get(i)).isVisible()) {
+                queue.add(SortInfo.Type.LAYER, sortedLayers.get(i), -sortedLayerY.get(i));
+            }
+        }
+    }
+
+    private void resolveSortedLayers(TiledMap map) {
+        sortedLayersMap = map;
+        sortedLayers.clear();
+        sortedLayerY.clear();
+        MapLayers layers = map.getLayers();
+        for (int i = 0; i < layers.getCount(); i++) {
+            MapLayer layer = layers.get(i);
+            if (layer instanceof TiledMapTileLayer && TiledMapUtilities.isDepthSorted(layer)) {
+                sortedLayers.add(i);
+                sortedLayerY.add(TiledMapUtilities.sortYOf(layer) * mapRenderer.getUnitScale());
+            }
+        }
+    }
+
+    private void drawCharacter(int entityId) {
         TransformComponent t = mTransform.get(entityId);
+        float alpha = alpha();
         
         // Check if this is a Harry entity
         if (mState.has(entityId) && mAnim.has(entityId)) {
@@ -91,14 +189,14 @@ public class CharacterRenderSystem extends IteratingSystem {
             boolean looping = (s.state == HarryState.WALKING);
             TextureRegion frame = animation.getKeyFrame(s.stateTime, looping);
 
-            float scale = DesignResolution.CHARACTER_SCALE; // 2f * ASSET_SCALE
+            float scale = GameContext.orShared(context).getCharacterScale(); // 2f * asset scale
 
             float width = frame.getRegionWidth() * scale;
             float height = frame.getRegionHeight() * scale;
 
             // Snap to whole pixels to avoid blur
-            float drawX = Math.round(t.x);
-            float drawY = Math.round(t.y);
+            float drawX = Math.round(t.interpolatedX(alpha));
+            float drawY = Math.round(t.interpolatedY(alpha));
 
             // Bottom-left anchor
             batch.draw(frame, drawX - harryOffsetX, drawY, width, height);
@@ -112,14 +210,14 @@ public class CharacterRenderSystem extends IteratingSystem {
             boolean looping = (s.state == ZebraState.WALKING);
             TextureRegion frame = animation.getKeyFrame(s.stateTime, looping);
 
-            float scale = DesignResolution.CHARACTER_SCALE; // 2f * ASSET_SCALE
+            float scale = GameContext.orShared(context).getCharacterScale(); // 2f * asset scale
 
             float width = frame.getRegionWidth() * scale;
             float height = frame.getRegionHeight() * scale;
 
             // Snap to whole pixels to avoid blur
-            float drawX = Math.round(t.x);
-            float drawY = Math.round(t.y);
+            float drawX = Math.round(t.interpolatedX(alpha));
+            float drawY = Math.round(t.interpolatedY(alpha));
 
             // Bottom-left anchor with zebra offset
             batch.draw(frame, drawX - zebraOffsetX, drawY, width, height);
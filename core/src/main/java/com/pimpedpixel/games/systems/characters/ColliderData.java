@@ -0,0 +1,114 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.dongbat.jbump.Rect;
+
+/**
+ * userData of the jbump items: the static ones built from the map and the characters.
+ * One map item can cover a whole block of merged tiles, so it remembers which tile cells it covers
+ * (libGDX rows, bottom-up) instead of callers deriving the row from the rectangle. Every item has
+ * a {@link CollisionCategory} and a mask of the categories it reacts to.
+ */
+public class ColliderData {
+
+    public enum Kind {
+        TILE,
+        BOUNDARY,
+        CHARACTER,
+        SENSOR
+    }
+
+    public final Kind kind;
+    public final int column;
+    public final int row;
+    public final int columns;
+    public final int rows;
+    public final int category;
+    public final int mask;
+    // Entity a character item belongs to, -1 for everything else
+    public final int entityId;
+
+    public ColliderData(Kind kind, int column, int row, int columns, int rows) {
+        this(kind, column, row, columns, rows,
+            kind == Kind.BOUNDARY ? CollisionCategory.BOUNDARY : CollisionCategory.TILE,
+            CollisionCategory.STATIC_MASK, -1);
+    }
+
+    private ColliderData(Kind kind, int column, int row, int columns, int rows,
+                         int category, int mask, int entityId) {
+        this.kind = kind;
+        this.column = column;
+        this.row = row;
+        this.columns = columns;
+        this.rows = rows;
+        this.category = category;
+        this.mask = mask;
+        this.entityId = entityId;
+    }
+
+    public static ColliderData boundary() {
+        return new ColliderData(Kind.BOUNDARY, -1, -1, 0, 0);
+    }
+
+    public static ColliderData character(int entityId, int category, int mask) {
+        return new ColliderData(Kind.CHARACTER, -1, -1, 0, 0, category, mask, entityId);
+    }
+
+    public static ColliderData harry(int entityId) {
+        return character(entityId, CollisionCategory.HARRY, CollisionCategory.HARRY_MASK);
+    }
+
+    public static ColliderData zebra(int entityId) {
+        return character(entityId, CollisionCategory.ZEBRA, CollisionCategory.ZEBRA_MASK);
+    }
+
+    public static ColliderData sensor(int mask) {
+        return new ColliderData(Kind.SENSOR, -1, -1, 0, 0, CollisionCategory.SENSOR, mask, -1);
+    }
+
+    public boolean is(int categories) {
+        return (category & categories) != 0;
+    }
+
+    public boolean isTile() {
+        return kind == Kind.TILE;
+    }
+
+    public boolean coversRow(int tileRow) {
+        return isTile() && tileRow >= row && tileRow < row + rows;
+    }
+
+    public boolean coversColumn(int tileColumn) {
+        return isTile() && tileColumn >= column && tileColumn < column + columns;
+    }
+
+    /**
+     * Tile row of the bottom face of a static item, the face a jumping character hits.
+     * Falls back to deriving it from a single-tile rectangle for items without ColliderData.
+     *
+     * @return the row, or -1 if unknown
+     */
+    public static int bottomRow(Object userData, Rect rect) {
+        if (userData instanceof ColliderData) {
+            ColliderData data = (ColliderData) userData;
+            return data.isTile() ? data.row : -1;
+        }
+        if (rect != null && rect.h > 0) {
+            return Math.round(rect.y / rect.h);
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        if (kind == Kind.CHARACTER) {
+            return "CHARACTER[" + entityId + "]";
+        }
+        if (kind == Kind.SENSOR) {
+            return "SENSOR";
+        }
+        if (!isTile()) {
+            return CollisionQueries.BOUNDARY_WALL;
+        }
+        return CollisionQueries.MAP_COLLISION + "[" + column + "," + row + " " + columns + "x" + rows + "]";
+    }
+}
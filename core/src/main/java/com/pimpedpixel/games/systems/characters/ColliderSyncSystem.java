@@ -0,0 +1,69 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import com.dongbat.jbump.World;
+
+/**
+ * Pushes the positions of moved entities to their jbump colliders, once per tick.
+ *
+ * Whoever moves an entity without jbump (tweens, respawns, level changes) calls
+ * {@link TransformComponent#setPosition}, which marks it dirty; this system then updates only
+ * the dirty colliders, using the box cached in {@link JbumpItemComponent}. It runs at the start
+ * of a tick, so everything moved during the previous tick is in place before
+ * {@link CharacterMovementSystem} collides against it. A collider that is taken out of the
+ * world ({@link DisabledJbumpColliderComponent}) gets its stored box moved instead.
+ */
+public class ColliderSyncSystem extends IteratingSystem {
+
+    private ComponentMapper<TransformComponent> mTransform;
+    private ComponentMapper<JbumpItemComponent> mJbumpItem;
+    private ComponentMapper<DisabledJbumpColliderComponent> mDisabledCollider;
+    private ComponentMapper<ZebraStateComponent> mZebraState;
+
+    private final World<Object> jbumpWorld;
+
+    public ColliderSyncSystem(World<Object> jbumpWorld) {
+        super(Aspect.all(TransformComponent.class, JbumpItemComponent.class));
+        this.jbumpWorld = jbumpWorld;
+    }
+
+    @Override
+    protected void process(int entityId) {
+        TransformComponent transform = mTransform.get(entityId);
+        if (!transform.dirty) {
+            return;
+        }
+        transform.dirty = false;
+
+        JbumpItemComponent collider = mJbumpItem.get(entityId);
+        if (collider.item == null) {
+            return;
+        }
+        float x = transform.x + collider.offsetX;
+        float y = transform.y;
+
+        DisabledJbumpColliderComponent disabled = mDisabledCollider.get(entityId);
+        if (disabled != null && disabled.disabled) {
+            disabled.x = x;
+            disabled.y = y;
+            disabled.w = collider.width;
+            disabled.h = collider.height;
+        } else {
+            jbumpWorld.update(collider.item, x, y, collider.width, collider.height);
+        }
+
+        // Walking zebras face the way their tween takes them
+        ZebraStateComponent zebraState = mZebraState.get(entityId);
+        if (zebraState != null) {
+            float movementDelta = x - collider.syncedX;
+            if (Math.abs(movementDelta) > 0.1f) {
+                zebraState.dir = movementDelta > 0 ? Direction.RIGHT : Direction.LEFT;
+            }
+        }
+
+        collider.syncedX = x;
+        collider.syncedY = y;
+    }
+}
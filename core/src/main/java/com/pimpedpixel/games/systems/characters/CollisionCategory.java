@@ -0,0 +1,57 @@
+package com.pimpedpixel.games.systems.characters;
+
+/**
+ * Collision categories of jbump items, one bit each, and the masks they use by default.
+ *
+ * Every item carries a category and a mask in its {@link ColliderData}. Item A reacts to item B
+ * when {@code (A.mask & B.category) != 0}; {@link CollisionFilters} does that test, so making
+ * two kinds of items interact is a change to a mask here instead of a new check in a system.
+ */
+public final class CollisionCategory {
+
+    public static final int NONE = 0;
+    public static final int TILE = 1;
+    public static final int BOUNDARY = 1 << 1;
+    public static final int HARRY = 1 << 2;
+    public static final int ZEBRA = 1 << 3;
+    // Overlap triggers that never block, like reward areas
+    public static final int SENSOR = 1 << 4;
+
+    public static final int STATIC = TILE | BOUNDARY;
+    public static final int CHARACTERS = HARRY | ZEBRA;
+    public static final int ALL = -1;
+
+    // Harry stands on the map and on zebras and walks through sensors
+    public static final int HARRY_MASK = STATIC | ZEBRA | SENSOR;
+    public static final int ZEBRA_MASK = STATIC | HARRY;
+    public static final int STATIC_MASK = CHARACTERS;
+    public static final int SENSOR_MASK = HARRY;
+
+    private CollisionCategory() {
+    }
+
+    /**
+     * Category of an item's userData. Items from before categories only carry the
+     * {@link CollisionQueries#MAP_COLLISION} or {@link CollisionQueries#BOUNDARY_WALL} name;
+     * anything else is {@link #NONE}.
+     */
+    public static int of(Object userData) {
+        if (userData instanceof ColliderData) {
+            return ((ColliderData) userData).category;
+        }
+        if (CollisionQueries.MAP_COLLISION.equals(userData)) {
+            return TILE;
+        }
+        if (CollisionQueries.BOUNDARY_WALL.equals(userData)) {
+            return BOUNDARY;
+        }
+        return NONE;
+    }
+
+    /**
+     * Mask of an item's userData; items without ColliderData react to everything, like before.
+     */
+    public static int maskOf(Object userData) {
+        return userData instanceof ColliderData ? ((ColliderData) userData).mask : ALL;
+    }
+}
@@ -1,6 +1,7 @@
 package com.pimpedpixel.games.systems.characters;
 
 import com.artemis.BaseSystem;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
@@ -8,14 +9,17 @@ import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.pimpedpixel.games.DesignResolution;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.systems.RenderSystem;
 
-public class CollisionDebugRenderSystem extends BaseSystem {
+public class CollisionDebugRenderSystem extends BaseSystem implements RenderSystem {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
     private final TiledMap map;
     private final String collisionLayerName;
     private final ShapeRenderer shapeRenderer;
     private static final int COLLISION_GID = 600; // Match this with your collision tile GID
-    private static final float SCALE = DesignResolution.ASSET_SCALE;
 
     public CollisionDebugRenderSystem(TiledMap map, String collisionLayerName) {
         this.map = map;
@@ -55,10 +59,10 @@ public class CollisionDebugRenderSystem extends BaseSystem {
                     TiledMapTile tile = cell.getTile();
                     if (tile.getId() == COLLISION_GID) {
                         // Calculate world position and dimensions
-                        float worldX = x * collisionLayer.getTileWidth() * SCALE;
-                        float worldY = y * collisionLayer.getTileHeight() * SCALE;
-                        float width = collisionLayer.getTileWidth() * SCALE;
-                        float height = collisionLayer.getTileHeight() * SCALE;
+                        float worldX = x * collisionLayer.getTileWidth() * scale();
+                        float worldY = y * collisionLayer.getTileHeight() * scale();
+                        float width = collisionLayer.getTileWidth() * scale();
+                        float height = collisionLayer.getTileHeight() * scale();
 
                         // Draw a semi-transparent magenta rectangle
                         shapeRenderer.rect(worldX, worldY, width, height);
@@ -70,4 +74,8 @@ public class CollisionDebugRenderSystem extends BaseSystem {
         shapeRenderer.end();
         Gdx.gl.glDisable(GL20.GL_BLEND);
     }
+
+    private float scale() {
+        return GameContext.orShared(context).getAssetScale();
+    }
 }
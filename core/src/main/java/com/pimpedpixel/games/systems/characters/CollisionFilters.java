@@ -0,0 +1,39 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.dongbat.jbump.CollisionFilter;
+import com.dongbat.jbump.Response;
+
+/**
+ * Prebuilt jbump filters on {@link CollisionCategory} bits. Each test is one AND of a mask with
+ * a category, read from the items' {@link ColliderData}.
+ */
+public final class CollisionFilters {
+
+    /**
+     * For {@code World.move}: slide against what the moving item's mask includes, pass through
+     * sensors (they still show up in the collisions), ignore the rest.
+     */
+    public static final CollisionFilter MOVE = (item, other) -> {
+        int category = CollisionCategory.of(other.userData);
+        if ((CollisionCategory.maskOf(item.userData) & category) == 0) {
+            return null;
+        }
+        return (category & CollisionCategory.SENSOR) != 0 ? Response.cross : Response.slide;
+    };
+
+    /**
+     * For {@code World.queryRect}: the map tiles and boundary walls.
+     */
+    public static final CollisionFilter STATIC = query(CollisionCategory.STATIC);
+
+    private CollisionFilters() {
+    }
+
+    /**
+     * A query filter accepting the items in any of the given categories. Query filters get the
+     * candidate as {@code item}.
+     */
+    public static CollisionFilter query(int mask) {
+        return (item, other) -> (CollisionCategory.of(item.userData) & mask) != 0 ? Response.cross : null;
+    }
+}
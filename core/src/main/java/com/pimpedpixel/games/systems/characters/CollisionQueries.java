@@ -0,0 +1,64 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.dongbat.jbump.CollisionFilter;
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.World;
+
+import java.util.ArrayList;
+
+/**
+ * Spatial queries against the static level geometry in the jbump world.
+ * Uses jbump's grid broadphase (queryRect) so a query only looks at the items in the
+ * cells it touches, instead of scanning every item in the world.
+ *
+ * Not thread safe: results go into one reused list.
+ */
+public class CollisionQueries {
+
+    public static final String MAP_COLLISION = "MAP_COLLISION";
+    public static final String BOUNDARY_WALL = "BOUNDARY_WALL";
+
+    /**
+     * Accepts map tiles and boundary walls, skips characters and sensors.
+     */
+    public static final CollisionFilter STATIC_GEOMETRY = CollisionFilters.STATIC;
+
+    private final World<Object> jbumpWorld;
+    private final ArrayList<Item> results = new ArrayList<>();
+
+    public CollisionQueries(World<Object> jbumpWorld) {
+        this.jbumpWorld = jbumpWorld;
+    }
+
+    public static boolean isStaticGeometry(Object userData) {
+        return (CollisionCategory.of(userData) & CollisionCategory.STATIC) != 0;
+    }
+
+    /**
+     * True if the rectangle overlaps any static geometry. Touching edges do not count.
+     */
+    public boolean overlapsStatic(float x, float y, float width, float height) {
+        return !queryStatic(x, y, width, height).isEmpty();
+    }
+
+    /**
+     * True if a box of the given size sliding horizontally from startX to endX
+     * would overlap static geometry anywhere along the way (including both ends).
+     */
+    public boolean horizontalSweepBlocked(float startX, float endX, float y, float width, float height) {
+        float left = Math.min(startX, endX);
+        float right = Math.max(startX, endX);
+        return overlapsStatic(left, y, right - left + width, height);
+    }
+
+    /**
+     * All static items overlapping the rectangle. The returned list is reused by the next query.
+     */
+    public ArrayList<Item> queryStatic(float x, float y, float width, float height) {
+        results.clear();
+        if (width <= 0 || height <= 0) {
+            return results;
+        }
+        return jbumpWorld.queryRect(x, y, width, height, STATIC_GEOMETRY, results);
+    }
+}
@@ -0,0 +1,45 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Keyboard backed input: arrow keys to walk, space to jump.
+ * Reports no buttons when there is no Gdx input (headless runs).
+ *
+ * With a fixed timestep a frame can run zero or several logic ticks, so the jump key is
+ * latched by {@link #pollFrame()} (called once per rendered frame) and consumed by the
+ * first tick that samples it.
+ */
+public class GdxCharacterInput implements CharacterInput {
+
+    private boolean pendingJump;
+
+    /**
+     * Latch edge-triggered keys once per rendered frame.
+     */
+    public void pollFrame() {
+        if (Gdx.input != null && Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+            pendingJump = true;
+        }
+    }
+
+    @Override
+    public int sample() {
+        if (Gdx.input == null) {
+            return 0;
+        }
+        int buttons = 0;
+        if (pendingJump) {
+            buttons |= JUMP;
+            pendingJump = false;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+            buttons |= LEFT;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+            buttons |= RIGHT;
+        }
+        return buttons;
+    }
+}
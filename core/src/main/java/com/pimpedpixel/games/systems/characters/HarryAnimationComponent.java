@@ -3,7 +3,10 @@ package com.pimpedpixel.games.systems.characters;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.artemis.Component;
+import com.artemis.annotations.DelayedComponentRemoval;
 
+// Still readable in AnimationReleaseSystem.removed() so the shared animations can be released
+@DelayedComponentRemoval
 public class HarryAnimationComponent extends Component {
     public Animation<TextureRegion> restingLeft;
     public Animation<TextureRegion> restingRight;
@@ -2,82 +2,83 @@ package com.pimpedpixel.games.systems.characters;
 
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
 
 public class HarryAnimationsFactory {
 
+    private static final String CHARACTER = "harry";
     private static final float WALK_FRAME_DURATION = 0.12f;
     private static final float ONE_FRAME_DURATION = 0.2f;
     private static final float DIMINISH_FRAME_DURATION = 0.15f;
 
+    // Used when the packed character atlas is not available
+    private static final AnimationRegistry.FrameLoader PNG_LOADER = HarryTextureLoader::loadColorKeyedRegion;
+
+    /**
+     * Point the component at the shared Harry animations; frames are only decoded for the first Harry.
+     * Pair with {@link #releaseAnimations(HarryAnimationComponent)}.
+     */
     public static void initAnimations(HarryAnimationComponent anim) {
         // RESTING
-        anim.restingLeft = singleFrame("characters/harry/harry-resting-left-1.png");
-        anim.restingRight = singleFrame("characters/harry/harry-resting-right-1.png");
+        anim.restingLeft = singleFrame("resting", Direction.LEFT);
+        anim.restingRight = singleFrame("resting", Direction.RIGHT);
 
         // WALKING (3 frames each)
-        anim.walkingLeft = new Animation<>(
-            WALK_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-walking-left-1.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-walking-left-2.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-walking-left-3.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
-
-        anim.walkingRight = new Animation<>(
-            WALK_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-walking-right-1.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-walking-right-2.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-walking-right-3.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
+        anim.walkingLeft = frames("walking", Direction.LEFT, WALK_FRAME_DURATION, Animation.PlayMode.LOOP, 3);
+        anim.walkingRight = frames("walking", Direction.RIGHT, WALK_FRAME_DURATION, Animation.PlayMode.LOOP, 3);
 
         // JUMPING
-        anim.jumpingLeft = singleFrame("characters/harry/harry-jumping-left-1.png");
-        anim.jumpingRight = singleFrame("characters/harry/harry-jumping-right-1.png");
+        anim.jumpingLeft = singleFrame("jumping", Direction.LEFT);
+        anim.jumpingRight = singleFrame("jumping", Direction.RIGHT);
 
         // FALLING
-        anim.fallingLeft = singleFrame("characters/harry/harry-falling-left-1.png");
-        anim.fallingRight = singleFrame("characters/harry/harry-falling-right-1.png");
+        anim.fallingLeft = singleFrame("falling", Direction.LEFT);
+        anim.fallingRight = singleFrame("falling", Direction.RIGHT);
 
         // DYING
-        anim.dyingLeft = singleFrame("characters/harry/harry-dying-left-1.png");
-        anim.dyingRight = singleFrame("characters/harry/harry-dying-right-1.png");
+        anim.dyingLeft = singleFrame("dying", Direction.LEFT);
+        anim.dyingRight = singleFrame("dying", Direction.RIGHT);
 
         // DIMINISHING (multi-frame)
-        anim.diminishingLeft = new Animation<>(
-            DIMINISH_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-diminishing-left-1.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-diminishing-left-2.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-diminishing-left-3.png")
-            }),
-            Animation.PlayMode.NORMAL
-        );
-
-        anim.diminishingRight = new Animation<>(
-            DIMINISH_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-diminishing-right-1.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-diminishing-right-2.png"),
-                HarryTextureLoader.loadColorKeyedRegion("characters/harry/harry-diminishing-right-3.png")
-            }),
-            Animation.PlayMode.NORMAL
-        );
+        anim.diminishingLeft = frames("diminishing", Direction.LEFT, DIMINISH_FRAME_DURATION, Animation.PlayMode.NORMAL, 3);
+        anim.diminishingRight = frames("diminishing", Direction.RIGHT, DIMINISH_FRAME_DURATION, Animation.PlayMode.NORMAL, 3);
 
         // DIMINISHED (final single frame)
-        anim.diminishedLeft = singleFrame("characters/harry/harry-diminished-left-1.png");
-        anim.diminishedRight = singleFrame("characters/harry/harry-diminished-right-1.png");
+        anim.diminishedLeft = singleFrame("diminished", Direction.LEFT);
+        anim.diminishedRight = singleFrame("diminished", Direction.RIGHT);
+    }
+
+    /**
+     * Give the component's animations back to the registry.
+     */
+    public static void releaseAnimations(HarryAnimationComponent anim) {
+        if (anim == null || anim.restingLeft == null) {
+            return;
+        }
+        for (String state : new String[]{"resting", "walking", "jumping", "falling", "dying", "diminishing", "diminished"}) {
+            for (Direction direction : Direction.values()) {
+                AnimationRegistry.getInstance().release(AnimationRegistry.key(CHARACTER, state, direction));
+            }
+        }
+        anim.restingLeft = anim.restingRight = null;
+        anim.walkingLeft = anim.walkingRight = null;
+        anim.jumpingLeft = anim.jumpingRight = null;
+        anim.fallingLeft = anim.fallingRight = null;
+        anim.dyingLeft = anim.dyingRight = null;
+        anim.diminishingLeft = anim.diminishingRight = null;
+        anim.diminishedLeft = anim.diminishedRight = null;
+    }
+
+    private static Animation<TextureRegion> singleFrame(String state, Direction direction) {
+        return frames(state, direction, ONE_FRAME_DURATION, Animation.PlayMode.NORMAL, 1);
     }
 
-    private static Animation<TextureRegion> singleFrame(String path) {
-        TextureRegion region = HarryTextureLoader.loadColorKeyedRegion(path);
-        Animation<TextureRegion> anim = new Animation<>(ONE_FRAME_DURATION, region);
-        anim.setPlayMode(Animation.PlayMode.NORMAL);
-        return anim;
+    private static Animation<TextureRegion> frames(String state, Direction direction, float frameDuration,
+                                                   Animation.PlayMode playMode, int frameCount) {
+        String[] paths = new String[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            paths[i] = "characters/harry/harry-" + state + "-" + direction.name().toLowerCase() + "-" + (i + 1) + ".png";
+        }
+        return AnimationRegistry.getInstance().acquire(AnimationRegistry.key(CHARACTER, state, direction),
+            CharacterAtlas.frameLoader(PNG_LOADER), frameDuration, playMode, paths);
     }
 }
@@ -14,6 +14,7 @@ public class HarryFactory {
     private final float harryOffsetX;
     private final float harryWidth;
     private final float harryHeight;
+    private boolean createAnimations = true;
 
     /**
      * Create a new HarryFactory.
@@ -36,6 +37,14 @@ public class HarryFactory {
         this.harryHeight = harryHeight;
     }
 
+    /**
+     * Enable or disable animation setup. Headless simulations have no GL context
+     * to upload textures to, so they create Harry without animations.
+     */
+    public void setCreateAnimations(boolean createAnimations) {
+        this.createAnimations = createAnimations;
+    }
+
     /**
      * Create a new Harry entity at the specified position.
      *
@@ -46,8 +55,7 @@ public class HarryFactory {
     public int createHarry(float x, float y) {
         int entityId = artemisWorld.create();
 
-        // Use the entityId as the object type for dynamic items
-        Item<Integer> harryItem = new Item<>(entityId);
+        Item<ColliderData> harryItem = new Item<>(ColliderData.harry(entityId));
 
         // 1. TRANSFORM
         TransformComponent t = artemisWorld.edit(entityId).create(TransformComponent.class);
@@ -64,9 +72,11 @@ public class HarryFactory {
         // Add the component and initialize the Jbump Item at the starting position
         JbumpItemComponent j = artemisWorld.edit(entityId).create(JbumpItemComponent.class);
         j.item = harryItem;
+        j.setBox(harryOffsetX, harryWidth, harryHeight);
+        j.syncedX = x + harryOffsetX;
+        j.syncedY = y;
 
         // Add the item to the Jbump World (x, y, width, height)
-        // The type for the Item's user data is Integer, which is compatible with World<Object>
         jbumpWorld.add((Item)harryItem, x + harryOffsetX, y, harryWidth, harryHeight);
 
         // 4. STATE
@@ -76,8 +86,10 @@ public class HarryFactory {
         s.stateTime = 0f;
 
         // 5. ANIMATION
-        HarryAnimationComponent anim = artemisWorld.edit(entityId).create(HarryAnimationComponent.class);
-        HarryAnimationsFactory.initAnimations(anim);
+        if (createAnimations) {
+            HarryAnimationComponent anim = artemisWorld.edit(entityId).create(HarryAnimationComponent.class);
+            HarryAnimationsFactory.initAnimations(anim);
+        }
 
         return entityId;
     }
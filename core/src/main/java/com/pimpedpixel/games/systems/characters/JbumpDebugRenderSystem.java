@@ -7,8 +7,9 @@ import com.badlogic.gdx.graphics.Camera;
 import com.dongbat.jbump.Item;
 import com.dongbat.jbump.Rect;
 import com.dongbat.jbump.World;
+import com.pimpedpixel.games.systems.RenderSystem;
 
-public class JbumpDebugRenderSystem extends BaseSystem {
+public class JbumpDebugRenderSystem extends BaseSystem implements RenderSystem {
 
     private final World<Object> world;
     private final ShapeRenderer renderer;
@@ -4,6 +4,20 @@ import com.artemis.Component;
 import com.dongbat.jbump.Item;
 
 public class JbumpItemComponent extends Component {
-    public Item<Integer> item;
-    // You might also store the item's width/height here if it changes.
+    public Item<ColliderData> item;
+
+    // Collider box relative to the entity's TransformComponent, used by ColliderSyncSystem
+    public float offsetX;
+    public float width;
+    public float height;
+
+    // Collider position ColliderSyncSystem pushed last
+    public float syncedX;
+    public float syncedY;
+
+    public void setBox(float offsetX, float width, float height) {
+        this.offsetX = offsetX;
+        this.width = width;
+        this.height = height;
+    }
 }
@@ -1,15 +1,18 @@
 package com.pimpedpixel.games.systems.characters;
 
 import com.artemis.BaseSystem;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.IntArray;
 import com.dongbat.jbump.Item;
 import com.dongbat.jbump.World;
-import com.pimpedpixel.games.DesignResolution;
+import com.pimpedpixel.games.GameContext;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Builds all static Jbump collision geometry from the Tiled map.
@@ -18,13 +21,19 @@ import java.util.ArrayList;
  */
 public class JbumpMapInitializationSystem extends BaseSystem {
 
+    @Wire(failOnNull = false)
+    private GameContext context;
+
     private TiledMap map;
     private final World<Object> jbumpWorld;
     private String groundLayerName;
 
-    private static final String STATIC_ITEM_IDENTIFIER = "MAP_COLLISION";
-    private static final String BOUNDARY_ITEM_IDENTIFIER = "BOUNDARY_WALL";
-    private static final float SCALE = DesignResolution.ASSET_SCALE;
+    // Merge solid tiles into larger rectangles (switch off to compare against one item per tile)
+    private boolean mergeColliders = true;
+    private final CollisionQueries collisionQueries;
+
+    // Bumped whenever the static geometry changes, so caches built from it can tell
+    private int geometryVersion;
 
     public JbumpMapInitializationSystem(
         TiledMap map,
@@ -34,6 +43,23 @@ public class JbumpMapInitializationSystem extends BaseSystem {
         this.map = map;
         this.jbumpWorld = jbumpWorld;
         this.groundLayerName = groundLayerName;
+        this.collisionQueries = new CollisionQueries(jbumpWorld);
+    }
+
+    public void setMergeColliders(boolean mergeColliders) {
+        this.mergeColliders = mergeColliders;
+    }
+
+    public int getGeometryVersion() {
+        return geometryVersion;
+    }
+
+    public TiledMap getMap() {
+        return map;
+    }
+
+    public String getGroundLayerName() {
+        return groundLayerName;
     }
 
     /**
@@ -59,8 +85,7 @@ public class JbumpMapInitializationSystem extends BaseSystem {
             // Collect map-related items so we can remove them safely and keep cell state in sync
             ArrayList<Item<Object>> itemsToRemove = new ArrayList<>();
             for (Item item : jbumpWorld.getItems()) {
-                Object userData = item.userData;
-                if (STATIC_ITEM_IDENTIFIER.equals(userData) || BOUNDARY_ITEM_IDENTIFIER.equals(userData)) {
+                if (CollisionQueries.isStaticGeometry(item.userData)) {
                     // Suppress unchecked warning: we only store Objects in this world
                     @SuppressWarnings("unchecked")
                     Item<Object> typedItem = (Item<Object>) item;
@@ -72,8 +97,9 @@ public class JbumpMapInitializationSystem extends BaseSystem {
             for (Item<Object> item : itemsToRemove) {
                 jbumpWorld.remove(item);
             }
+            geometryVersion++;
 
-            Gdx.app.log("JbumpMapInitializationSystem",
+            log("JbumpMapInitializationSystem",
                 "Cleared existing collision geometry (" + itemsToRemove.size() + " items)");
         }
     }
@@ -82,7 +108,7 @@ public class JbumpMapInitializationSystem extends BaseSystem {
      * Rebuild collision geometry with the new map
      */
     private void rebuildCollisionGeometry() {
-        Gdx.app.log("JbumpMapInitializationSystem",
+        log("JbumpMapInitializationSystem",
             "Rebuilding collision geometry with new map...");
 
         MapLayers layers = map.getLayers();
@@ -96,7 +122,7 @@ public class JbumpMapInitializationSystem extends BaseSystem {
     @Override
     protected void initialize() {
 
-        Gdx.app.log("JbumpMapInitializationSystem",
+        log("JbumpMapInitializationSystem",
             "Starting collision map build...");
 
         MapLayers layers = map.getLayers();
@@ -107,7 +133,7 @@ public class JbumpMapInitializationSystem extends BaseSystem {
 
         addCollisionLayer(ground);
 
-        Gdx.app.log("JbumpMapInitializationSystem",
+        log("JbumpMapInitializationSystem",
             "Collision setup complete. Total static items in world: "
                 + jbumpWorld.getItems().size());
 
@@ -117,58 +143,76 @@ public class JbumpMapInitializationSystem extends BaseSystem {
 
     private boolean exitIfMissing(TiledMapTileLayer layer, String name) {
         if (layer == null) {
-            Gdx.app.error("JbumpMapInitializationSystem",
+            error("JbumpMapInitializationSystem",
                 "Collision layer '" + name + "' not found!");
             return true;
         }
         return false;
     }
 
-    /** Build collisions from a layer. Every tile with property collision=true is solid. */
-    private void addCollisionLayer(TiledMapTileLayer layer) {
-
-        float rawTileWidth = layer.getTileWidth();
-        float rawTileHeight = layer.getTileHeight();
-
-        float scaledTileWidth = rawTileWidth * SCALE;
-        float scaledTileHeight = rawTileHeight * SCALE;
+    private float scale() {
+        return GameContext.orShared(context).getAssetScale();
+    }
 
-        boolean logOnce = true;
+    /**
+     * Build collisions from a layer. Every tile with property collision=true is solid.
+     * Solid cells are merged into as few rectangles as possible (see {@link #mergeSolidCells}),
+     * unless merging is switched off.
+     */
+    private void addCollisionLayer(TiledMapTileLayer layer) {
+        List<ColliderData> colliders = buildColliders(layer, mergeColliders);
+        if (!colliders.isEmpty()) {
+            // Log so we know collision is actually detected
+            log("JbumpMapInitializationSystem",
+                "Detected collision tiles via property on layer '" + layer.getName() + "'.");
+        }
+        addLayerColliders(layer, colliders);
+    }
 
-        for (int x = 0; x < layer.getWidth(); x++) {
-            for (int y = 0; y < layer.getHeight(); y++) {
+    /**
+     * Colliders for the solid cells of a layer, in tile units. Only reads the layer, so a
+     * level prefetch can call it off the render thread for a map that is not in play yet.
+     */
+    public static List<ColliderData> buildColliders(TiledMapTileLayer layer, boolean merge) {
+        int width = layer.getWidth();
+        int height = layer.getHeight();
+        boolean[][] solid = new boolean[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                solid[x][y] = isSolid(layer, x, y);
+            }
+        }
+        return merge ? mergeSolidCells(solid, width, height) : singleCells(solid, width, height);
+    }
 
-                TiledMapTileLayer.Cell cell = layer.getCell(x, y);
-                if (cell == null) continue;
+    public boolean isMergeColliders() {
+        return mergeColliders;
+    }
 
-                TiledMapTile tile = cell.getTile();
-                if (tile == null) continue;
+    /**
+     * Like {@link #reinitializeWithNewMap}, but with colliders that were already built for the
+     * map's ground layer (see {@link #buildColliders}), so only the jbump items are added here.
+     */
+    public void reinitializeWithColliders(TiledMap newMap, String newGroundLayerName, List<ColliderData> colliders) {
+        clearCollisionGeometry();
 
-                // TILE PROPERTY CHECK — safest method
-                boolean isCollision =
-                    tile.getProperties().get("collision",  true, Boolean.class);
+        this.map = newMap;
+        this.groundLayerName = newGroundLayerName;
 
-                if (!isCollision) continue;
+        TiledMapTileLayer ground = (TiledMapTileLayer) map.getLayers().get(groundLayerName);
+        if (exitIfMissing(ground, groundLayerName)) return;
 
-                // Log once so we know collision is actually detected
-                if (logOnce) {
-                    Gdx.app.log("JbumpMapInitializationSystem",
-                        "Detected collision tiles via property on layer '" + layer.getName() + "'.");
-                    logOnce = false;
-                }
+        addLayerColliders(ground, colliders);
+    }
 
-                // Convert tile coords → world coords (scaled)
-                float rawWorldX = x * rawTileWidth;
-                float rawWorldY = y * rawTileHeight;
+    private void addLayerColliders(TiledMapTileLayer layer, List<ColliderData> colliders) {
+        float scaledTileWidth = layer.getTileWidth() * scale();
+        float scaledTileHeight = layer.getTileHeight() * scale();
 
-                float worldX = rawWorldX * SCALE;
-                float worldY = rawWorldY * SCALE;
+        addColliders(colliders, scaledTileWidth, scaledTileHeight);
 
-                // Create static Jbump item
-                Item<Object> item = new Item<>(STATIC_ITEM_IDENTIFIER);
-                jbumpWorld.add(item, worldX, worldY, scaledTileWidth, scaledTileHeight);
-            }
-        }
+        log("JbumpMapInitializationSystem",
+            "Added " + colliders.size() + " colliders for layer '" + layer.getName() + "'");
 
         // Add boundary walls around the playable area
         addBoundaryWalls(layer.getWidth(), layer.getHeight(), scaledTileWidth, scaledTileHeight);
@@ -179,12 +223,129 @@ public class JbumpMapInitializationSystem extends BaseSystem {
             float w = jbumpWorld.getRect(item).w;
             float h = jbumpWorld.getRect(item).h;
 
-            Gdx.app.log("COLLISION_DEBUG",
+            log("COLLISION_DEBUG",
                 item.userData + " at " + x + "," + y + " size " + w + "," + h);
         }
 
     }
 
+    private void addColliders(List<ColliderData> colliders, float scaledTileWidth, float scaledTileHeight) {
+        geometryVersion++;
+        for (ColliderData data : colliders) {
+            // Convert tile coords → world coords (scaled)
+            float worldX = data.column * scaledTileWidth;
+            float worldY = data.row * scaledTileHeight;
+
+            // Create static Jbump item
+            Item<Object> item = new Item<>(data);
+            jbumpWorld.add(item, worldX, worldY, data.columns * scaledTileWidth, data.rows * scaledTileHeight);
+        }
+    }
+
+    /** TILE PROPERTY CHECK — a cell is solid if it has a tile without collision=false. */
+    private static boolean isSolid(TiledMapTileLayer layer, int x, int y) {
+        TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+        if (cell == null) return false;
+
+        TiledMapTile tile = cell.getTile();
+        if (tile == null) return false;
+
+        return tile.getProperties().get("collision", true, Boolean.class);
+    }
+
+    /**
+     * Update the collision geometry after some cells of one row changed in the tile layer,
+     * without touching the rest of the map.
+     * Every merged collider covering or next to a changed cell is removed, and the cells those
+     * colliders covered are merged again from the current tile layer. The number of jbump items
+     * removed and added depends on the changed cells, not on the map size.
+     *
+     * @param row     libGDX row (bottom-up) of the changed cells
+     * @param columns columns that changed
+     * @return number of colliders added back
+     */
+    public int patchRow(int row, IntArray columns) {
+        if (map == null || columns == null || columns.size == 0) {
+            return 0;
+        }
+        TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get(groundLayerName);
+        if (exitIfMissing(layer, groundLayerName)) return 0;
+
+        int width = layer.getWidth();
+        int height = layer.getHeight();
+        if (row < 0 || row >= height) {
+            return 0;
+        }
+        float scaledTileWidth = layer.getTileWidth() * scale();
+        float scaledTileHeight = layer.getTileHeight() * scale();
+
+        // Cells to rebuild: the changed ones plus everything the colliders over them covered
+        boolean[][] region = new boolean[width][height];
+        int minX = width, maxX = -1, minY = row, maxY = row;
+        ArrayList<Item> affected = new ArrayList<>();
+        for (int i = 0; i < columns.size; i++) {
+            int column = columns.get(i);
+            if (column < 0 || column >= width) continue;
+            region[column][row] = true;
+            minX = Math.min(minX, column);
+            maxX = Math.max(maxX, column);
+
+            // Include the colliders left and right of the cell so a filled gap merges with them,
+            // but stay inside the row so the rows above and below are left alone
+            for (Item item : collisionQueries.queryStatic(
+                (column - 1) * scaledTileWidth + 1f, row * scaledTileHeight + 1f,
+                3 * scaledTileWidth - 2f, scaledTileHeight - 2f)) {
+                if (item.userData instanceof ColliderData && ((ColliderData) item.userData).isTile()
+                    && !affected.contains(item)) {
+                    affected.add(item);
+                }
+            }
+        }
+        if (maxX < 0) {
+            return 0;
+        }
+
+        for (Item item : affected) {
+            ColliderData data = (ColliderData) item.userData;
+            for (int x = data.column; x < data.column + data.columns; x++) {
+                for (int y = data.row; y < data.row + data.rows; y++) {
+                    region[x][y] = true;
+                }
+            }
+            minX = Math.min(minX, data.column);
+            maxX = Math.max(maxX, data.column + data.columns - 1);
+            minY = Math.min(minY, data.row);
+            maxY = Math.max(maxY, data.row + data.rows - 1);
+            @SuppressWarnings("unchecked")
+            Item<Object> typedItem = (Item<Object>) item;
+            jbumpWorld.remove(typedItem);
+        }
+
+        // Merge the region again, in coordinates relative to its bounding box
+        int regionWidth = maxX - minX + 1;
+        int regionHeight = maxY - minY + 1;
+        boolean[][] solid = new boolean[regionWidth][regionHeight];
+        for (int x = 0; x < regionWidth; x++) {
+            for (int y = 0; y < regionHeight; y++) {
+                solid[x][y] = region[minX + x][minY + y] && isSolid(layer, minX + x, minY + y);
+            }
+        }
+        List<ColliderData> merged = mergeColliders
+            ? mergeSolidCells(solid, regionWidth, regionHeight)
+            : singleCells(solid, regionWidth, regionHeight);
+        List<ColliderData> colliders = new ArrayList<>(merged.size());
+        for (ColliderData data : merged) {
+            colliders.add(new ColliderData(ColliderData.Kind.TILE,
+                data.column + minX, data.row + minY, data.columns, data.rows));
+        }
+        addColliders(colliders, scaledTileWidth, scaledTileHeight);
+
+        log("JbumpMapInitializationSystem",
+            "Patched row " + row + ": " + columns.size + " changed cells, replaced "
+                + affected.size() + " colliders with " + colliders.size());
+        return colliders.size();
+    }
+
     /**
      * Adds boundary walls around the entire playable area to prevent the player
      * from leaving the room and falling into the abyss.
@@ -197,28 +358,104 @@ public class JbumpMapInitializationSystem extends BaseSystem {
 
         // Create boundary walls (1 tile thick)
         // Left wall - placed just left of the map
-        Item<Object> leftWall = new Item<>(BOUNDARY_ITEM_IDENTIFIER);
+        Item<Object> leftWall = new Item<>(ColliderData.boundary());
         jbumpWorld.add(leftWall, -tileWidth, 0, tileWidth, mapHeightPixels);
 
         // Right wall - placed just right of the map
-        Item<Object> rightWall = new Item<>(BOUNDARY_ITEM_IDENTIFIER);
+        Item<Object> rightWall = new Item<>(ColliderData.boundary());
         jbumpWorld.add(rightWall, mapWidthPixels, 0, tileWidth, mapHeightPixels);
 
         // Bottom wall - placed just below the map
-        Item<Object> bottomWall = new Item<>(BOUNDARY_ITEM_IDENTIFIER);
+        Item<Object> bottomWall = new Item<>(ColliderData.boundary());
         jbumpWorld.add(bottomWall, 0, -tileHeight, mapWidthPixels, tileHeight);
 
         // Top wall - placed just above the map
-        Item<Object> topWall = new Item<>(BOUNDARY_ITEM_IDENTIFIER);
+        Item<Object> topWall = new Item<>(ColliderData.boundary());
         jbumpWorld.add(topWall, 0, mapHeightPixels, mapWidthPixels, tileHeight);
 
-        Gdx.app.log("JbumpMapInitializationSystem",
+        log("JbumpMapInitializationSystem",
             "Added boundary walls: Left at x=" + (-tileWidth) + ", Right at x=" + mapWidthPixels +
             ", Bottom at y=" + (-tileHeight) + ", Top at y=" + mapHeightPixels);
     }
 
+    /**
+     * Greedy rectangle merge: every row is cut into runs of solid cells, then runs with the same
+     * start and end column in consecutive rows are stacked into one rectangle.
+     * A rectangle's bottom row is the row a jumping character's head hits, so the lethal
+     * row check keeps working on merged colliders.
+     */
+    static List<ColliderData> mergeSolidCells(boolean[][] solid, int width, int height) {
+        // runEnd[x][y] is the last column of the run starting at (x, y), or -1
+        int[][] runEnd = new int[width][height];
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                runEnd[x][y] = -1;
+                if (!solid[x][y]) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && solid[x][y]) {
+                    if (x != start) runEnd[x][y] = -1;
+                    x++;
+                }
+                runEnd[start][y] = x - 1;
+            }
+        }
+
+        List<ColliderData> result = new ArrayList<>();
+        boolean[][] consumed = new boolean[width][height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int end = runEnd[x][y];
+                if (end < 0 || consumed[x][y]) continue;
+
+                int top = y;
+                while (top + 1 < height && runEnd[x][top + 1] == end && !consumed[x][top + 1]) {
+                    top++;
+                    consumed[x][top] = true;
+                }
+                consumed[x][y] = true;
+                result.add(new ColliderData(ColliderData.Kind.TILE, x, y, end - x + 1, top - y + 1));
+            }
+        }
+        return result;
+    }
+
+    static List<ColliderData> singleCells(boolean[][] solid, int width, int height) {
+        List<ColliderData> result = new ArrayList<>();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (solid[x][y]) {
+                    result.add(new ColliderData(ColliderData.Kind.TILE, x, y, 1, 1));
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     protected void processSystem() {
         // Not used — initialization only
     }
+
+    /**
+     * Safe logging method that works in both game and headless environments.
+     */
+    private static void log(String tag, String message) {
+        if (Gdx.app != null) {
+            Gdx.app.log(tag, message);
+        } else {
+            System.out.println("[" + tag + "] " + message);
+        }
+    }
+
+    private static void error(String tag, String message) {
+        if (Gdx.app != null) {
+            Gdx.app.error(tag, message);
+        } else {
+            System.err.println("[" + tag + "] " + message);
+        }
+    }
 }
@@ -5,4 +5,45 @@ import com.artemis.Component;
 public class TransformComponent extends Component {
     public float x;
     public float y;
+
+    // Position at the start of the current logic tick, for render interpolation
+    public float prevX;
+    public float prevY;
+    public boolean hasPrevious;
+
+    // Moved since ColliderSyncSystem last pushed the jbump collider
+    public boolean dirty;
+
+    /**
+     * Move the entity and have its collider follow at the next sync. Movers that already moved
+     * the collider themselves (jbump's move) assign x and y directly.
+     */
+    public void setPosition(float x, float y) {
+        if (x != this.x || y != this.y) {
+            this.x = x;
+            this.y = y;
+            dirty = true;
+        }
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Remember the current position as the previous tick's position.
+     */
+    public void snapshot() {
+        prevX = x;
+        prevY = y;
+        hasPrevious = true;
+    }
+
+    public float interpolatedX(float alpha) {
+        return hasPrevious ? prevX + (x - prevX) * alpha : x;
+    }
+
+    public float interpolatedY(float alpha) {
+        return hasPrevious ? prevY + (y - prevY) * alpha : y;
+    }
 }
@@ -0,0 +1,24 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+
+/**
+ * Snapshots every transform at the start of a logic tick so render systems can
+ * interpolate between the previous and current tick.
+ *
+ * Add this system first in the pipeline so it runs before anything moves.
+ */
+public class TransformHistorySystem extends IteratingSystem {
+    private ComponentMapper<TransformComponent> mTransform;
+
+    public TransformHistorySystem() {
+        super(Aspect.all(TransformComponent.class));
+    }
+
+    @Override
+    protected void process(int entityId) {
+        mTransform.get(entityId).snapshot();
+    }
+}
@@ -0,0 +1,105 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.PooledComponent;
+
+/**
+ * A short script of steps for {@link TweenSystem}: move the transform to a point, wait, or fire
+ * an event id (see {@link TweenEvents}). Steps run one after the other, like a scene2d sequence.
+ *
+ * The steps live in fixed primitive arrays, so scripting an entity allocates nothing, and the
+ * component is pooled by artemis when its entity is deleted.
+ */
+public class TweenComponent extends PooledComponent {
+
+    public static final int MAX_STEPS = 8;
+
+    static final int MOVE_TO = 0;
+    static final int DELAY = 1;
+    static final int EVENT = 2;
+
+    final int[] kinds = new int[MAX_STEPS];
+    final float[] targetX = new float[MAX_STEPS];
+    final float[] targetY = new float[MAX_STEPS];
+    final float[] durations = new float[MAX_STEPS];
+    final int[] events = new int[MAX_STEPS];
+
+    int count;
+    int current;
+    // Time spent in the current step, and where a move started from
+    float elapsed;
+    boolean started;
+    float startX;
+    float startY;
+    // Bumped by clear(), so an event listener that rescripts the entity is noticed
+    int script;
+
+    /**
+     * Move linearly from wherever the entity is when the step starts.
+     */
+    public TweenComponent moveTo(float x, float y, float duration) {
+        int step = append(MOVE_TO);
+        targetX[step] = x;
+        targetY[step] = y;
+        durations[step] = duration;
+        return this;
+    }
+
+    public TweenComponent delay(float duration) {
+        durations[append(DELAY)] = duration;
+        return this;
+    }
+
+    /**
+     * Fire an event to the listener registered with {@link TweenSystem#addListener}.
+     */
+    public TweenComponent event(int eventId) {
+        events[append(EVENT)] = eventId;
+        return this;
+    }
+
+    /**
+     * Drop the remaining steps.
+     */
+    public void clear() {
+        count = 0;
+        current = 0;
+        elapsed = 0f;
+        started = false;
+        script++;
+    }
+
+    /**
+     * Copy another tween's steps and progress, e.g. to save a tween and put it back later.
+     */
+    public void set(TweenComponent other) {
+        System.arraycopy(other.kinds, 0, kinds, 0, MAX_STEPS);
+        System.arraycopy(other.targetX, 0, targetX, 0, MAX_STEPS);
+        System.arraycopy(other.targetY, 0, targetY, 0, MAX_STEPS);
+        System.arraycopy(other.durations, 0, durations, 0, MAX_STEPS);
+        System.arraycopy(other.events, 0, events, 0, MAX_STEPS);
+        count = other.count;
+        current = other.current;
+        elapsed = other.elapsed;
+        started = other.started;
+        startX = other.startX;
+        startY = other.startY;
+        script = other.script;
+    }
+
+    public boolean isActive() {
+        return current < count;
+    }
+
+    @Override
+    protected void reset() {
+        clear();
+    }
+
+    private int append(int kind) {
+        if (count == MAX_STEPS) {
+            throw new IllegalStateException("A tween holds at most " + MAX_STEPS + " steps");
+        }
+        kinds[count] = kind;
+        return count++;
+    }
+}
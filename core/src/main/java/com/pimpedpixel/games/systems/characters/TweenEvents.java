@@ -0,0 +1,17 @@
+package com.pimpedpixel.games.systems.characters;
+
+/**
+ * Event ids fired by {@link TweenComponent#event(int)}. Each id has one listener per world.
+ */
+public final class TweenEvents {
+
+    /** A patrolling zebra reached the end of its walk. Handled by ZebraStateSystem. */
+    public static final int ZEBRA_WALK_DONE = 1;
+    /** The zebra of a death sequence reached Harry. Handled by HarryDeathSequenceSystem. */
+    public static final int ZEBRA_REACHED_HARRY = 2;
+    /** The zebra of a death sequence is done shredding. Handled by HarryDeathSequenceSystem. */
+    public static final int ZEBRA_SHRED_DONE = 3;
+
+    private TweenEvents() {
+    }
+}
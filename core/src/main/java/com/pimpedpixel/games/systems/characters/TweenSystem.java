@@ -0,0 +1,89 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Runs {@link TweenComponent} scripts, writing straight into {@link TransformComponent}.
+ *
+ * Steps behave like the scene2d actions they replace: a move interpolates linearly from the
+ * position at its first tick, and one step finishes per tick at most, so an event fires the tick
+ * after the move before it arrived. Events go to the listener registered for their id; listeners
+ * are per world, which keeps headless worlds on different threads apart.
+ */
+public class TweenSystem extends IteratingSystem {
+
+    /**
+     * Receives the events of every entity's tween.
+     */
+    public interface Listener {
+        void onTweenEvent(int entityId, int eventId);
+    }
+
+    private ComponentMapper<TweenComponent> mTween;
+    private ComponentMapper<TransformComponent> mTransform;
+
+    private final IntMap<Listener> listeners = new IntMap<>();
+
+    public TweenSystem() {
+        super(Aspect.all(TweenComponent.class, TransformComponent.class));
+    }
+
+    public void addListener(int eventId, Listener listener) {
+        listeners.put(eventId, listener);
+    }
+
+    @Override
+    protected void process(int entityId) {
+        TweenComponent tween = mTween.get(entityId);
+        if (!tween.isActive()) {
+            return;
+        }
+        int script = tween.script;
+        if (step(entityId, tween, world.getDelta()) && tween.script == script) {
+            tween.current++;
+            tween.elapsed = 0f;
+            tween.started = false;
+            if (!tween.isActive()) {
+                tween.clear();
+            }
+        }
+    }
+
+    /**
+     * @return true when the current step is done
+     */
+    private boolean step(int entityId, TweenComponent tween, float delta) {
+        int step = tween.current;
+        switch (tween.kinds[step]) {
+            case TweenComponent.MOVE_TO: {
+                TransformComponent transform = mTransform.get(entityId);
+                if (!tween.started) {
+                    tween.startX = transform.x;
+                    tween.startY = transform.y;
+                    tween.started = true;
+                }
+                tween.elapsed += delta;
+                boolean complete = tween.elapsed >= tween.durations[step];
+                float percent = complete ? 1f : tween.elapsed / tween.durations[step];
+                transform.setPosition(
+                    tween.startX + (tween.targetX[step] - tween.startX) * percent,
+                    tween.startY + (tween.targetY[step] - tween.startY) * percent);
+                return complete;
+            }
+            case TweenComponent.DELAY:
+                tween.elapsed += delta;
+                return tween.elapsed >= tween.durations[step];
+            case TweenComponent.EVENT:
+            default: {
+                Listener listener = listeners.get(tween.events[step]);
+                if (listener != null) {
+                    listener.onTweenEvent(entityId, tween.events[step]);
+                }
+                return true;
+            }
+        }
+    }
+}
@@ -2,85 +2,57 @@ package com.pimpedpixel.games.systems.characters;
 
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
 
 public class ZebraAnimationsFactory {
 
+    private static final String CHARACTER = "zebra";
     private static final float WALK_FRAME_DURATION = 0.12f;
     private static final float GRAZE_FRAME_DURATION = 0.2f;
-    private static final float ONE_FRAME_DURATION = 0.2f;
 
+    // Used when the packed character atlas is not available
+    private static final AnimationRegistry.FrameLoader PNG_LOADER = ZebraTextureLoader::loadColorKeyedRegion;
+
+    /**
+     * Point the component at the shared zebra animations; frames are only decoded for the first zebra.
+     * Pair with {@link #releaseAnimations(ZebraAnimationComponent)}.
+     */
     public static void initAnimations(ZebraAnimationComponent anim) {
         // GRAZING (4 frames each)
-        anim.grazingLeft = new Animation<>(
-            GRAZE_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-left-1.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-left-2.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-left-3.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-left-4.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
-
-        anim.grazingRight = new Animation<>(
-            GRAZE_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-right-1.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-right-2.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-right-3.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-grazing-right-4.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
+        anim.grazingLeft = frames("grazing", Direction.LEFT, GRAZE_FRAME_DURATION, 4);
+        anim.grazingRight = frames("grazing", Direction.RIGHT, GRAZE_FRAME_DURATION, 4);
 
         // WALKING (2 frames each)
-        anim.walkingLeft = new Animation<>(
-            WALK_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-walking-left-1.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-walking-left-2.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
+        anim.walkingLeft = frames("walking", Direction.LEFT, WALK_FRAME_DURATION, 2);
+        anim.walkingRight = frames("walking", Direction.RIGHT, WALK_FRAME_DURATION, 2);
 
-        anim.walkingRight = new Animation<>(
-            WALK_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-walking-right-1.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-walking-right-2.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
-
-        // SHREDDING (4 frames each) - NEW ANIMATION
-        anim.shreddingLeft = new Animation<>(
-            GRAZE_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-left-1.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-left-2.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-left-3.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-left-4.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
+        // SHREDDING (4 frames each)
+        anim.shreddingLeft = frames("shredding", Direction.LEFT, GRAZE_FRAME_DURATION, 4);
+        anim.shreddingRight = frames("shredding", Direction.RIGHT, GRAZE_FRAME_DURATION, 4);
+    }
 
-        anim.shreddingRight = new Animation<>(
-            GRAZE_FRAME_DURATION,
-            new Array<>(new TextureRegion[]{
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-right-1.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-right-2.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-right-3.png"),
-                ZebraTextureLoader.loadColorKeyedRegion("characters/raelus/zebra-shredding-right-4.png")
-            }),
-            Animation.PlayMode.LOOP
-        );
+    /**
+     * Give the component's animations back to the registry.
+     */
+    public static void releaseAnimations(ZebraAnimationComponent anim) {
+        if (anim == null || anim.grazingLeft == null) {
+            return;
+        }
+        for (String state : new String[]{"grazing", "walking", "shredding"}) {
+            for (Direction direction : Direction.values()) {
+                AnimationRegistry.getInstance().release(AnimationRegistry.key(CHARACTER, state, direction));
+            }
+        }
+        anim.grazingLeft = anim.grazingRight = null;
+        anim.walkingLeft = anim.walkingRight = null;
+        anim.shreddingLeft = anim.shreddingRight = null;
     }
 
-    private static Animation<TextureRegion> singleFrame(String path) {
-        TextureRegion region = ZebraTextureLoader.loadColorKeyedRegion(path);
-        Animation<TextureRegion> anim = new Animation<>(ONE_FRAME_DURATION, region);
-        anim.setPlayMode(Animation.PlayMode.NORMAL);
-        return anim;
+    private static Animation<TextureRegion> frames(String state, Direction direction, float frameDuration, int frameCount) {
+        String[] paths = new String[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            paths[i] = "characters/raelus/zebra-" + state + "-" + direction.name().toLowerCase() + "-" + (i + 1) + ".png";
+        }
+        return AnimationRegistry.getInstance().acquire(AnimationRegistry.key(CHARACTER, state, direction),
+            CharacterAtlas.frameLoader(PNG_LOADER), frameDuration, Animation.PlayMode.LOOP, paths);
     }
-}
\ No newline at end of file
+}
@@ -14,6 +14,7 @@ public class ZebraFactory {
     private final float zebraOffsetX;
     private final float zebraWidth;
     private final float zebraHeight;
+    private boolean createAnimations = true;
 
     /**
      * Create a new ZebraFactory.
@@ -36,6 +37,14 @@ public class ZebraFactory {
         this.zebraHeight = zebraHeight;
     }
 
+    /**
+     * Enable or disable animation setup. Headless simulations have no GL context
+     * to upload textures to, so they create Zebra without animations.
+     */
+    public void setCreateAnimations(boolean createAnimations) {
+        this.createAnimations = createAnimations;
+    }
+
     /**
      * Create a new Zebra entity at the specified position.
      *
@@ -46,8 +55,7 @@ public class ZebraFactory {
     public int createZebra(float startingPosX, float startingPosY) {
         int entityId = artemisWorld.create();
 
-        // Use the entityId as the object type for dynamic items
-        Item<Integer> zebraItem = new Item<>(entityId);
+        Item<ColliderData> zebraItem = new Item<>(ColliderData.zebra(entityId));
 
         // 1. TRANSFORM
         TransformComponent t = artemisWorld.edit(entityId).create(TransformComponent.class);
@@ -64,9 +72,12 @@ public class ZebraFactory {
         // Add the component and initialize the Jbump Item at the starting position
         JbumpItemComponent j = artemisWorld.edit(entityId).create(JbumpItemComponent.class);
         j.item = zebraItem;
+        // Walks put the collider at the transform, only the spawn is offset
+        j.setBox(0f, zebraWidth, zebraHeight);
+        j.syncedX = startingPosX + zebraOffsetX;
+        j.syncedY = startingPosY;
 
         // Add the item to the Jbump World (x, y, width, height)
-        // The type for the Item's user data is Integer, which is compatible with World<Object>
         jbumpWorld.add((Item)zebraItem, startingPosX + zebraOffsetX, startingPosY, zebraWidth, zebraHeight);
 
         // 4. STATE
@@ -74,15 +85,19 @@ public class ZebraFactory {
         s.state = ZebraState.GRAZING;
         s.dir = Direction.LEFT;
         s.stateTime = 0f;
+        s.spawnX = startingPosX;
+        s.spawnY = startingPosY;
+        s.spawnColliderX = startingPosX + zebraOffsetX;
+        s.spawnDir = s.dir;
 
         // 5. ANIMATION
-        ZebraAnimationComponent anim = artemisWorld.edit(entityId).create(ZebraAnimationComponent.class);
-        ZebraAnimationsFactory.initAnimations(anim);
+        if (createAnimations) {
+            ZebraAnimationComponent anim = artemisWorld.edit(entityId).create(ZebraAnimationComponent.class);
+            ZebraAnimationsFactory.initAnimations(anim);
+        }
 
-        // 6. ACTIONS
-        ActionComponent actions = artemisWorld.edit(entityId).create(ActionComponent.class);
-        // Initialize actor position to match entity position
-        actions.actor.setPosition(t.x, t.y);
+        // 6. TWEENS (patrol walks, death sequence)
+        artemisWorld.edit(entityId).create(TweenComponent.class);
 
         return entityId;
     }
@@ -99,6 +114,7 @@ public class ZebraFactory {
         int entityId = createZebra(x, y);
         ZebraStateComponent s = artemisWorld.getMapper(ZebraStateComponent.class).get(entityId);
         s.dir = direction;
+        s.spawnDir = direction;
         return entityId;
     }
 
@@ -131,6 +147,7 @@ public class ZebraFactory {
         ZebraStateComponent s = artemisWorld.getMapper(ZebraStateComponent.class).get(entityId);
         s.state = initialState;
         s.dir = direction;
+        s.spawnDir = direction;
         return entityId;
     }
 }
@@ -7,4 +7,13 @@ public class ZebraStateComponent extends Component {
     public ZebraState previousState = ZebraState.GRAZING;
     public Direction dir;
     public float stateTime;
+    // Seconds since this zebra last switched between grazing and walking
+    public float stateChangeTimer;
+    // The first walk of each zebra heads left, for deterministic patrols
+    public boolean initializedDirection;
+    // Where ZebraFactory spawned the zebra, for ZebraStateSystem#resetZebras
+    public float spawnX;
+    public float spawnY;
+    public float spawnColliderX;
+    public Direction spawnDir = Direction.LEFT;
 }
@@ -2,54 +2,129 @@ package com.pimpedpixel.games.systems.characters;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.utils.IntBag;
 import com.artemis.systems.IteratingSystem;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
-import com.badlogic.gdx.scenes.scene2d.actions.MoveToAction;
+import com.badlogic.gdx.math.RandomXS128;
 import com.dongbat.jbump.World;
-import com.dongbat.jbump.Item;
-import com.dongbat.jbump.Rect;
 import com.dongbat.jbump.Collision;
 import com.dongbat.jbump.Response;
-import com.pimpedpixel.games.DesignResolution;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.navigation.SolidGrid;
+import com.pimpedpixel.games.systems.gameplay.NavGraphSystem;
+import com.pimpedpixel.games.systems.gameplay.RandomSystem;
 import java.util.List;
 
 /**
  * System to handle zebra state transitions (alternating between walking and grazing).
  * Zebra moves randomly within 25-75% of available cells bounded by jbump collision blocks.
  */
-public class ZebraStateSystem extends IteratingSystem {
+public class ZebraStateSystem extends IteratingSystem implements TweenSystem.Listener {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
 
     private ComponentMapper<ZebraStateComponent> mState;
     private ComponentMapper<PhysicsComponent> mPhysics;
-    private ComponentMapper<ActionComponent> mActions;
+    private ComponentMapper<TweenComponent> mTween;
     private ComponentMapper<TransformComponent> mTransform;
     private ComponentMapper<JbumpItemComponent> mJbumpItem;
     private ComponentMapper<ZebraOverrideComponent> mOverride;
 
-    private float stateChangeTimer = 0f;
     private float stateChangeInterval = 3f; // Change state every 3 seconds (faster for testing)
     private float movementSpeed = 100f; // Movement speed in pixels per second (faster for testing)
-    
-    // For deterministic patrolling behavior
-    private boolean initializedDirection = false;
 
     // Cell-based movement parameters
-    private static final float CELL_WIDTH = 32f * DesignResolution.ASSET_SCALE; // 64 pixels per cell
+    private static final float CELL_SIZE = 32f; // Map tile size before the asset scale
     private static final int TOTAL_CELLS = 20; // Map is 20 cells wide
     private static final int MIN_AVAILABLE_CELLS = 14; // Minimum available cells
     
     private World<Object> jbumpWorld;
+    private final CollisionQueries collisionQueries;
+
+    private NavGraphSystem navGraphSystem;
+
+    public static final String RANDOM_STREAM = "zebra";
+    private RandomXS128 random;
 
     public ZebraStateSystem(World<Object> jbumpWorld) {
         super(Aspect.all(
             ZebraStateComponent.class,
             PhysicsComponent.class,
-            ActionComponent.class,
+            TweenComponent.class,
             TransformComponent.class,
             JbumpItemComponent.class
         ));
         this.jbumpWorld = jbumpWorld;
+        this.collisionQueries = new CollisionQueries(jbumpWorld);
+    }
+
+    @Override
+    protected void initialize() {
+        navGraphSystem = world.getSystem(NavGraphSystem.class);
+        RandomSystem randomSystem = world.getSystem(RandomSystem.class);
+        // Without a RandomSystem (bare test worlds) the patrols are still reproducible, from seed 0
+        random = randomSystem != null
+            ? randomSystem.stream(RANDOM_STREAM)
+            : new RandomXS128(RandomSystem.streamSeed(0L, RANDOM_STREAM));
+        TweenSystem tweenSystem = world.getSystem(TweenSystem.class);
+        if (tweenSystem != null) {
+            tweenSystem.addListener(TweenEvents.ZEBRA_WALK_DONE, this);
+        }
+    }
+
+    @Override
+    public void onTweenEvent(int entityId, int eventId) {
+        ZebraStateComponent state = mState.get(entityId);
+        if (state != null) {
+            state.state = ZebraState.GRAZING;
+            state.stateTime = 0f;
+            state.stateChangeTimer = 0f;
+        }
+    }
+
+    /**
+     * Put every zebra back the way ZebraFactory spawned it: at its spawn point, grazing, with no
+     * walk or death sequence in progress. Together with {@link RandomSystem#reseed} an attempt
+     * then starts from the same zebra state as a newly built world.
+     */
+    public void resetZebras() {
+        IntBag entities = getEntityIds();
+        int[] ids = entities.getData();
+        for (int i = 0, size = entities.size(); i < size; i++) {
+            int entityId = ids[i];
+            ZebraStateComponent state = mState.get(entityId);
+            state.state = ZebraState.GRAZING;
+            state.previousState = ZebraState.GRAZING;
+            state.dir = state.spawnDir;
+            state.stateTime = 0f;
+            state.stateChangeTimer = 0f;
+            state.initializedDirection = false;
+
+            mTween.get(entityId).clear();
+            if (mOverride.has(entityId)) {
+                mOverride.remove(entityId);
+            }
+
+            PhysicsComponent physics = mPhysics.get(entityId);
+            physics.vx = 0f;
+            physics.vy = 0f;
+            physics.onGround = false;
+
+            // The spawn collider sits at the factory's offset, so place it directly instead of syncing
+            TransformComponent transform = mTransform.get(entityId);
+            transform.x = state.spawnX;
+            transform.y = state.spawnY;
+            transform.dirty = false;
+            transform.snapshot();
+            JbumpItemComponent collider = mJbumpItem.get(entityId);
+            if (collider.item != null) {
+                jbumpWorld.update(collider.item, state.spawnColliderX, state.spawnY, collider.width, collider.height);
+            }
+            collider.syncedX = state.spawnColliderX;
+            collider.syncedY = state.spawnY;
+        }
     }
 
     /**
@@ -72,48 +147,26 @@ public class ZebraStateSystem extends IteratingSystem {
         int maxCells = (int) (availableCells * 0.75f);
         
         // Randomly choose between min and max cells
-        int cellsToUse = minCells + (int) (Math.random() * (maxCells - minCells + 1));
+        int cellsToUse = minCells + random.nextInt(maxCells - minCells + 1);
         
         // Convert cells to pixels
-        return cellsToUse * CELL_WIDTH;
+        return cellsToUse * CELL_SIZE * GameContext.orShared(context).getAssetScale();
     }
 
     /**
-     * Checks if a position would collide with jbump collision blocks using jbump's collision system.
+     * Checks if a position would collide with jbump collision blocks (map tiles and boundary walls).
      */
     boolean wouldCollide(float x, float y, float width, float height) {
-        // Check if there are any collision items at the target position
-        for (Item<Object> item : jbumpWorld.getItems()) {
-            if (item.userData.equals("MAP_COLLISION") || item.userData.equals("BOUNDARY_WALL")) {
-                Rect itemRect = jbumpWorld.getRect(item);
-                
-                // Proper AABB collision check - check if rectangles overlap
-                boolean xOverlap = x < itemRect.x + itemRect.w && x + width > itemRect.x;
-                boolean yOverlap = y < itemRect.y + itemRect.h && y + height > itemRect.y;
-                
-                if (xOverlap && yOverlap) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return collisionQueries.overlapsStatic(x, y, width, height);
     }
 
     /**
      * Checks if a movement path would collide with any jbump collision blocks.
-     * This checks multiple points along the path to ensure the zebra doesn't walk through walls.
+     * The whole path is checked as one swept box, so {@code steps} no longer matters
+     * (sampling could step over a block narrower than the step size).
      */
     boolean wouldPathCollide(float startX, float endX, float y, float width, float height, int steps) {
-        // Check collision at multiple points along the path
-        float stepSize = (endX - startX) / steps;
-        
-        for (int i = 0; i <= steps; i++) {
-            float currentX = startX + (stepSize * i);
-            if (wouldCollide(currentX, y, width, height)) {
-                return true;
-            }
-        }
-        return false;
+        return collisionQueries.horizontalSweepBlocked(startX, endX, y, width, height);
     }
 
     /**
@@ -166,11 +219,29 @@ public class ZebraStateSystem extends IteratingSystem {
         return low;
     }
 
+    /**
+     * Farthest x towards {@code targetX} the zebra can walk without running into a wall.
+     * Reads the solid cells NavGraphSystem keeps when the world has one, and otherwise probes the
+     * jbump world with the binary searches above.
+     */
+    float walkLimit(float startX, float targetX, float y, float width, float height, float maxRange) {
+        SolidGrid grid = navGraphSystem != null ? navGraphSystem.getGrid() : null;
+        if (grid != null) {
+            return grid.slideLimit(startX, targetX, y, width, height);
+        }
+        if (!wouldPathCollide(startX, targetX, y, width, height, 5)) {
+            return targetX;
+        }
+        return targetX < startX
+            ? findMaximumLeftMovement(startX, y, width, height, maxRange)
+            : findMaximumRightMovement(startX, y, width, height, maxRange);
+    }
+
     @Override
     protected void process(int entityId) {
         ZebraStateComponent state = mState.get(entityId);
         PhysicsComponent physics = mPhysics.get(entityId);
-        ActionComponent actions = mActions.get(entityId);
+        TweenComponent tween = mTween.get(entityId);
         TransformComponent transform = mTransform.get(entityId);
         JbumpItemComponent jbumpItem = mJbumpItem.get(entityId);
 
@@ -185,32 +256,26 @@ public class ZebraStateSystem extends IteratingSystem {
         }
 
         // Handle state transitions
-        stateChangeTimer += deltaTime;
+        state.stateChangeTimer += deltaTime;
 
-        // Force immediate movement for testing (remove this later)
-        if (state.state == ZebraState.GRAZING && !actions.hasActions()) {
-            stateChangeTimer = stateChangeInterval + 0.1f;
-        }
+        if (state.stateChangeTimer >= stateChangeInterval) {
+            state.stateChangeTimer = 0f;
 
-        if (stateChangeTimer >= stateChangeInterval) {
-            stateChangeTimer = 0f;
-
-            // Clear any existing actions
-            actions.clearActions();
+            // Drop any walk still in progress
+            tween.clear();
 
             // Alternate between walking and grazing
             if (state.state == ZebraState.GRAZING) {
                 state.state = ZebraState.WALKING;
                 state.stateTime = 0f;
 
-                // Get zebra dimensions from jbump item
-                float zebraWidth = jbumpWorld.getRect(jbumpItem.item).w;
-                float zebraHeight = jbumpWorld.getRect(jbumpItem.item).h;
+                float zebraWidth = jbumpItem.width;
+                float zebraHeight = jbumpItem.height;
 
                 // Initialize direction if not set (start with LEFT for deterministic behavior)
-                if (!initializedDirection) {
+                if (!state.initializedDirection) {
                     state.dir = Direction.LEFT;
-                    initializedDirection = true;
+                    state.initializedDirection = true;
                 }
 
                 // Detect available cells and calculate maximum movement range
@@ -222,62 +287,22 @@ public class ZebraStateSystem extends IteratingSystem {
                 float targetX;
                 
                 // For deterministic patrolling: try to move as far as possible in current direction
-                if (state.dir == Direction.LEFT) {
-                    // Try to move left as far as possible
-                    targetX = startX - maxMovementRange;
-                    
-                    // Check if the movement path would collide with walls
-                    if (wouldPathCollide(startX, targetX, transform.y, zebraWidth, zebraHeight, 5)) {
-                        // If collision when moving left, try to find the maximum possible left movement
-                        targetX = findMaximumLeftMovement(startX, transform.y, zebraWidth, zebraHeight, maxMovementRange);
-                        
-                        // If we can't move left at all, reverse direction to right
-                        if (targetX == startX) {
-                            state.dir = Direction.RIGHT;
-                            targetX = startX + maxMovementRange;
-                            
-                            // Check right movement
-                            if (wouldPathCollide(startX, targetX, transform.y, zebraWidth, zebraHeight, 5)) {
-                                targetX = findMaximumRightMovement(startX, transform.y, zebraWidth, zebraHeight, maxMovementRange);
-                            }
-                        }
-                    }
-                } else {
-                    // Try to move right as far as possible
-                    targetX = startX + maxMovementRange;
-                    
-                    // Check if the movement path would collide with walls
-                    if (wouldPathCollide(startX, targetX, transform.y, zebraWidth, zebraHeight, 5)) {
-                        // If collision when moving right, try to find the maximum possible right movement
-                        targetX = findMaximumRightMovement(startX, transform.y, zebraWidth, zebraHeight, maxMovementRange);
-                        
-                        // If we can't move right at all, reverse direction to left
-                        if (targetX == startX) {
-                            state.dir = Direction.LEFT;
-                            targetX = startX - maxMovementRange;
-                            
-                            // Check left movement
-                            if (wouldPathCollide(startX, targetX, transform.y, zebraWidth, zebraHeight, 5)) {
-                                targetX = findMaximumLeftMovement(startX, transform.y, zebraWidth, zebraHeight, maxMovementRange);
-                            }
-                        }
-                    }
+                float direction = state.dir == Direction.LEFT ? -1f : 1f;
+                targetX = walkLimit(startX, startX + direction * maxMovementRange, transform.y, zebraWidth, zebraHeight, maxMovementRange);
+
+                // If we can't move that way at all, reverse direction
+                if (targetX == startX) {
+                    state.dir = state.dir == Direction.LEFT ? Direction.RIGHT : Direction.LEFT;
+                    targetX = walkLimit(startX, startX - direction * maxMovementRange, transform.y, zebraWidth, zebraHeight, maxMovementRange);
                 }
 
                 // Create a simple move-by action for testing
                 float moveDistance = Math.abs(targetX - startX);
                 float moveDuration = moveDistance / movementSpeed;
 
-                // Add the movement action to the zebra
-                actions.addAction(
-                    Actions.sequence(
-                        Actions.moveTo(targetX, transform.y, moveDuration),
-                        Actions.run(() -> {
-                            state.state = ZebraState.GRAZING;
-                            state.stateTime = 0f;
-                        })
-                    )
-                );
+                // Walk there, then graze again (onTweenEvent)
+                tween.moveTo(targetX, transform.y, moveDuration)
+                    .event(TweenEvents.ZEBRA_WALK_DONE);
 
             } else {
                 state.state = ZebraState.GRAZING;
@@ -286,11 +311,10 @@ public class ZebraStateSystem extends IteratingSystem {
             }
         }
 
-        // Update physics velocity based on current action
-        if (state.state == ZebraState.WALKING && actions.hasActions()) {
-            // Get current velocity from the action system
-            // The ActionSystem will handle the actual movement
-            physics.vx = 0; // Action system handles movement
+        // Update physics velocity based on current tween
+        if (state.state == ZebraState.WALKING && tween.isActive()) {
+            // The TweenSystem handles the actual movement
+            physics.vx = 0; // Tween system handles movement
             physics.vy = 0;
         } else {
             physics.vx = 0;
@@ -0,0 +1,107 @@
+package com.pimpedpixel.games.systems.debug;
+
+import com.artemis.BaseSystem;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.pimpedpixel.games.systems.RenderPasses;
+import com.pimpedpixel.games.systems.RenderSystem;
+import com.pimpedpixel.games.systems.SystemProfiler;
+
+/**
+ * Draws the slowest systems (p50/p95/p99 over the profiler window), the frame time and the
+ * render statistics of the previous frame in the top-left corner.
+ * Enabled with "profiler" in debugconfig.json. Add it last so it draws on top.
+ */
+public class ProfilerOverlayRenderSystem extends BaseSystem implements RenderSystem {
+
+    private static final int SHOWN_SYSTEMS = 8;
+    private static final float MARGIN = 8f;
+
+    private final SystemProfiler profiler;
+    private final RenderPasses renderPasses;
+    private final BitmapFont font;
+    private final int[] slowest = new int[SHOWN_SYSTEMS];
+    private final StringBuilder text = new StringBuilder();
+
+    private GLProfiler glProfiler;
+
+    public ProfilerOverlayRenderSystem(SystemProfiler profiler, RenderPasses renderPasses, BitmapFont font) {
+        this.profiler = profiler;
+        this.renderPasses = renderPasses;
+        this.font = font;
+    }
+
+    @Override
+    protected void initialize() {
+        if (Gdx.graphics != null) {
+            glProfiler = new GLProfiler(Gdx.graphics);
+            glProfiler.enable();
+        }
+    }
+
+    @Override
+    protected void processSystem() {
+        collectRenderStats();
+        buildText();
+
+        OrthographicCamera camera = renderPasses.getCamera();
+        float left = camera.position.x - camera.viewportWidth * camera.zoom / 2f + MARGIN;
+        float top = camera.position.y + camera.viewportHeight * camera.zoom / 2f - MARGIN;
+
+        SpriteBatch batch = renderPasses.begin(RenderPasses.Pass.OVERLAY);
+        font.setColor(Color.WHITE);
+        font.draw(batch, text, left, top);
+    }
+
+    /**
+     * GL calls since the last overlay, so the overlay itself is counted in the next frame.
+     * The batch statistics come from RenderPasses at the end of each frame.
+     */
+    private void collectRenderStats() {
+        int drawCalls = 0;
+        int textureBindings = 0;
+        if (glProfiler != null) {
+            drawCalls = glProfiler.getDrawCalls();
+            textureBindings = glProfiler.getTextureBindings();
+            glProfiler.reset();
+        }
+        profiler.setGlStats(drawCalls, textureBindings);
+    }
+
+    private void buildText() {
+        text.setLength(0);
+        text.append("frame p50 ").append(ms(profiler.framePercentile(50)))
+            .append(" p95 ").append(ms(profiler.framePercentile(95)))
+            .append(" p99 ").append(ms(profiler.framePercentile(99))).append(" ms\n");
+        text.append("batches ").append(profiler.getBatchBegins())
+            .append("  flushes ").append(profiler.getBatchFlushes())
+            .append("  texture switches ").append(profiler.getTextureSwitches()).append('\n');
+        text.append("draw calls ").append(profiler.getDrawCalls())
+            .append("  texture binds ").append(profiler.getTextureBindings()).append('\n');
+
+        int count = profiler.slowest(slowest, 95);
+        for (int i = 0; i < count; i++) {
+            int system = slowest[i];
+            text.append(profiler.getSystemName(system))
+                .append("  ").append(ms(profiler.percentile(system, 50)))
+                .append(" / ").append(ms(profiler.percentile(system, 95)))
+                .append(" / ").append(ms(profiler.percentile(system, 99))).append('\n');
+        }
+    }
+
+    private static float ms(long nanos) {
+        // Two decimals is plenty and avoids String.format (not available on GWT)
+        return Math.round(nanos / 10000f) / 100f;
+    }
+
+    @Override
+    protected void dispose() {
+        if (glProfiler != null) {
+            glProfiler.disable();
+        }
+    }
+}
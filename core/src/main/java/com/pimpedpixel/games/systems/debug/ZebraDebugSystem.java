@@ -15,7 +15,7 @@ public class ZebraDebugSystem extends IteratingSystem {
     private ComponentMapper<TransformComponent> mTransform;
     private ComponentMapper<JbumpItemComponent> mJbumpItem;
     private ComponentMapper<ZebraStateComponent> mZebraState;
-    private ComponentMapper<ActionComponent> mActions;
+    private ComponentMapper<TweenComponent> mTween;
 
     private final World<Object> jbumpWorld;
     private boolean debugEnabled = false;
@@ -26,7 +26,7 @@ public class ZebraDebugSystem extends IteratingSystem {
             JbumpItemComponent.class,
             ZebraStateComponent.class
         ).one(
-            ActionComponent.class // Optional - not all zebras might have actions
+            TweenComponent.class // Optional - not all zebras might have tweens
         ));
         this.jbumpWorld = jbumpWorld;
     }
@@ -48,7 +48,7 @@ public class ZebraDebugSystem extends IteratingSystem {
         TransformComponent transform = mTransform.get(entityId);
         JbumpItemComponent jbumpItem = mJbumpItem.get(entityId);
         ZebraStateComponent zebraState = mZebraState.get(entityId);
-        ActionComponent actions = mActions.get(entityId);
+        TweenComponent tween = mTween.get(entityId);
 
         // Get current jbump collider position
         float colliderX = jbumpWorld.getRect(jbumpItem.item).x;
@@ -62,10 +62,10 @@ public class ZebraDebugSystem extends IteratingSystem {
 
         // Log zebra state and position information
 //        System.out.printf("ZebraDebug[ID:%d]: State=%s, Dir=%s, Transform=(%.1f,%.1f), Collider=(%.1f,%.1f), " +
-//                        "Diff=(%.3f,%.3f), Size=(%.1f,%.1f), HasActions=%s%n",
+//                        "Diff=(%.3f,%.3f), Size=(%.1f,%.1f), Tweening=%s%n",
 //            entityId, zebraState.state, zebraState.dir, transform.x, transform.y,
 //            colliderX, colliderY, dx, dy, colliderWidth, colliderHeight,
-//            actions != null && actions.hasActions());
+//            tween != null && tween.isActive());
 
         // Warn if position difference is significant
         if (dx > 1f || dy > 1f) {
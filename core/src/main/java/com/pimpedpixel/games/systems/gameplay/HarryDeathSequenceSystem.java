@@ -4,22 +4,28 @@ import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.EntitySubscription;
 import com.artemis.systems.IteratingSystem;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.artemis.annotations.Wire;
+import com.pimpedpixel.games.GameContext;
 import com.pimpedpixel.games.gameplay.ScenarioState;
-import com.pimpedpixel.games.systems.characters.ActionComponent;
 import com.pimpedpixel.games.systems.characters.DisabledJbumpColliderComponent;
 import com.pimpedpixel.games.systems.characters.Direction;
 import com.pimpedpixel.games.systems.characters.HarryState;
 import com.pimpedpixel.games.systems.characters.HarryStateComponent;
 import com.pimpedpixel.games.systems.characters.JbumpItemComponent;
 import com.pimpedpixel.games.systems.characters.TransformComponent;
+import com.pimpedpixel.games.systems.characters.TweenComponent;
+import com.pimpedpixel.games.systems.characters.TweenEvents;
+import com.pimpedpixel.games.systems.characters.TweenSystem;
 import com.pimpedpixel.games.systems.characters.ZebraOverrideComponent;
 import com.pimpedpixel.games.systems.characters.ZebraState;
 import com.pimpedpixel.games.systems.characters.ZebraStateComponent;
 import com.dongbat.jbump.Rect;
 import com.dongbat.jbump.World;
 
-public class HarryDeathSequenceSystem extends IteratingSystem {
+public class HarryDeathSequenceSystem extends IteratingSystem implements TweenSystem.Listener {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
     private static final float ZEBRA_ATTACK_SPEED = 220f;
     private static final float SHRED_DURATION_SECONDS = 0.8f;
     private static final float ZEBRA_TARGET_OFFSET_X = 16f;
@@ -30,7 +36,7 @@ public class HarryDeathSequenceSystem extends IteratingSystem {
     private ComponentMapper<HarryDeathSequenceComponent> mDeathSequence;
 
     private ComponentMapper<ZebraStateComponent> mZebraState;
-    private ComponentMapper<ActionComponent> mActions;
+    private ComponentMapper<TweenComponent> mTween;
     private ComponentMapper<ZebraOverrideComponent> mZebraOverride;
     private ComponentMapper<JbumpItemComponent> mJbumpItem;
     private ComponentMapper<DisabledJbumpColliderComponent> mDisabledCollider;
@@ -46,8 +52,32 @@ public class HarryDeathSequenceSystem extends IteratingSystem {
     @Override
     protected void initialize() {
         zebraSubscription = world.getAspectSubscriptionManager().get(
-            Aspect.all(ZebraStateComponent.class, TransformComponent.class, ActionComponent.class)
+            Aspect.all(ZebraStateComponent.class, TransformComponent.class, TweenComponent.class)
         );
+        TweenSystem tweenSystem = world.getSystem(TweenSystem.class);
+        if (tweenSystem != null) {
+            tweenSystem.addListener(TweenEvents.ZEBRA_REACHED_HARRY, this);
+            tweenSystem.addListener(TweenEvents.ZEBRA_SHRED_DONE, this);
+        }
+    }
+
+    @Override
+    public void onTweenEvent(int zebraId, int eventId) {
+        ZebraStateComponent zebraState = mZebraState.get(zebraId);
+        if (zebraState == null) {
+            return;
+        }
+        zebraState.stateTime = 0f;
+        if (eventId == TweenEvents.ZEBRA_REACHED_HARRY) {
+            zebraState.state = ZebraState.SHREDDING;
+            return;
+        }
+        zebraState.state = ZebraState.GRAZING;
+        if (mZebraOverride.has(zebraId)) {
+            ZebraOverrideComponent zebraOverride = mZebraOverride.get(zebraId);
+            zebraOverride.deathSequenceDone = true;
+            zebraOverride.deathSequenceActive = false;
+        }
     }
 
     @Override
@@ -99,7 +129,7 @@ public class HarryDeathSequenceSystem extends IteratingSystem {
     }
 
     private void maybePlayGruntOncePerLevel(int harryEntityId, HarryDeathSequenceComponent seq) {
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
         if (scenarioState.hasPlayedDeathGruntThisLevel()) {
             return;
         }
@@ -122,8 +152,8 @@ public class HarryDeathSequenceSystem extends IteratingSystem {
 
         TransformComponent zebraTransform = mTransform.get(zebraId);
         ZebraStateComponent zebraState = mZebraState.get(zebraId);
-        ActionComponent zebraActions = mActions.get(zebraId);
-        if (zebraTransform == null || zebraState == null || zebraActions == null) {
+        TweenComponent zebraTween = mTween.get(zebraId);
+        if (zebraTransform == null || zebraState == null || zebraTween == null) {
             seq.zebraDone = true;
             return;
         }
@@ -132,7 +162,7 @@ public class HarryDeathSequenceSystem extends IteratingSystem {
         zebraOverride.deathSequenceActive = true;
         zebraOverride.deathSequenceDone = false;
 
-        zebraActions.clearActions();
+        zebraTween.clear();
 
         float targetX = harryTransform.x + (zebraTransform.x < harryTransform.x ? -ZEBRA_TARGET_OFFSET_X : ZEBRA_TARGET_OFFSET_X);
         float moveDistance = Math.abs(targetX - zebraTransform.x);
@@ -142,22 +172,11 @@ public class HarryDeathSequenceSystem extends IteratingSystem {
         zebraState.state = ZebraState.WALKING;
         zebraState.stateTime = 0f;
 
-        zebraActions.addAction(
-            Actions.sequence(
-                Actions.moveTo(targetX, zebraTransform.y, moveDuration),
-                Actions.run(() -> {
-                    zebraState.state = ZebraState.SHREDDING;
-                    zebraState.stateTime = 0f;
-                }),
-                Actions.delay(SHRED_DURATION_SECONDS),
-                Actions.run(() -> {
-                    zebraState.state = ZebraState.GRAZING;
-                    zebraState.stateTime = 0f;
-                    zebraOverride.deathSequenceDone = true;
-                    zebraOverride.deathSequenceActive = false;
-                })
-            )
-        );
+        // Walk up to Harry, shred, then graze again (onTweenEvent)
+        zebraTween.moveTo(targetX, zebraTransform.y, moveDuration)
+            .event(TweenEvents.ZEBRA_REACHED_HARRY)
+            .delay(SHRED_DURATION_SECONDS)
+            .event(TweenEvents.ZEBRA_SHRED_DONE);
     }
 
     private void disableHarryHitbox(int harryEntityId) {
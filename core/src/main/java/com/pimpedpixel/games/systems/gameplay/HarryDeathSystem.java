@@ -3,8 +3,9 @@ package com.pimpedpixel.games.systems.gameplay;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.systems.IteratingSystem;
+import com.artemis.annotations.Wire;
 import com.dongbat.jbump.World;
-import com.pimpedpixel.games.config.CharacterConfig;
+import com.pimpedpixel.games.GameContext;
 import com.pimpedpixel.games.gameplay.Level;
 import com.pimpedpixel.games.gameplay.LevelLoader;
 import com.pimpedpixel.games.gameplay.Scenario;
@@ -14,6 +15,7 @@ import com.pimpedpixel.games.systems.characters.Direction;
 import com.pimpedpixel.games.systems.characters.HarryState;
 import com.pimpedpixel.games.systems.characters.HarryStateComponent;
 import com.pimpedpixel.games.systems.characters.JbumpItemComponent;
+import com.pimpedpixel.games.systems.characters.PhysicsComponent;
 import com.pimpedpixel.games.systems.characters.TransformComponent;
 import com.pimpedpixel.games.systems.hud.TimerComponent;
 import com.pimpedpixel.games.systems.hud.TimerSystem;
@@ -22,6 +24,9 @@ import com.pimpedpixel.games.gameplay.Level;
 import com.pimpedpixel.games.gameplay.Scenario;
 
 public class HarryDeathSystem extends IteratingSystem {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
     public static final float DEFAULT_START_POSX = 20f;
     public static final float DEFAULT_START_POSY = 700f;
     ComponentMapper<HarryStateComponent> mHarryState;
@@ -29,9 +34,11 @@ public class HarryDeathSystem extends IteratingSystem {
     ComponentMapper<JbumpItemComponent> mJbumpItem;
     ComponentMapper<HarryDeathSequenceComponent> mDeathSequence;
     ComponentMapper<DisabledJbumpColliderComponent> mDisabledCollider;
+    ComponentMapper<PhysicsComponent> mPhysics;
 
     private final World<Object> jbumpWorld;
     private TimerSystem timerSystem; // Reference to timer system for resetting timer on revival
+    private LevelLoadingSystem levelLoadingSystem; // Applies the rotated scenario's ground cells
     private LevelLoader.LevelContainer levelContainer; // For accessing scenario titles
     private int currentLevelIndex = 0; // Track current level for scenario title display
     private static final float DYING_DURATION = 2.0f; // 2 seconds in DYING state
@@ -40,11 +47,6 @@ public class HarryDeathSystem extends IteratingSystem {
     // Blood factory for creating blood entities when Harry dies
     private BloodFactory bloodFactory;
 
-    // Character data for Harry (loaded from CharacterConfig)
-    private float harryOffsetX = 22f; // Default values
-    private float harryWidth = DEFAULT_START_POSX;
-    private float harryHeight = 64f;
-    
     // Track Harry's orientation when he starts falling for accurate blood orientation
     private int fallingHarryEntityId = -1;
     private Direction fallingOrientation = Direction.LEFT;
@@ -61,6 +63,13 @@ public class HarryDeathSystem extends IteratingSystem {
         this.timerSystem = timerSystem;
     }
 
+    /**
+     * Set the level loading system used to apply the next scenario when rotating on death.
+     */
+    public void setLevelLoadingSystem(LevelLoadingSystem levelLoadingSystem) {
+        this.levelLoadingSystem = levelLoadingSystem;
+    }
+
     /**
      * Set the level container for accessing scenario titles.
      */
@@ -84,23 +93,6 @@ public class HarryDeathSystem extends IteratingSystem {
         this.bloodFactory = bloodFactory;
     }
 
-    /**
-     * Set character data for Harry from CharacterConfig.
-     *
-     * @param assetScale The asset scale factor for scaling offsets
-     */
-    public void setCharacterDataFromConfig(float assetScale) {
-        CharacterConfig.CharacterData harryData = CharacterConfig.getInstance().getCharacterByName("harry");
-        if (harryData != null) {
-            this.harryOffsetX = harryData.getScaledHorizontalOffset(assetScale);
-            this.harryWidth = harryData.getWidth();
-            this.harryHeight = harryData.getHeight();
-            System.out.println("HarryDeathSystem configured with CharacterConfig data: " + harryData);
-        } else {
-            System.err.println("Harry character data not found in CharacterConfig for HarryDeathSystem");
-        }
-    }
-
     /**
      * Get the starting position for the current level and scenario.
      *
@@ -120,7 +112,7 @@ public class HarryDeathSystem extends IteratingSystem {
             }
 
             // Get the current scenario index from ScenarioState
-            ScenarioState scenarioState = ScenarioState.getInstance();
+            ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
             int scenarioIndex = scenarioState.getCurrentScenarioIndex();
             
             // Ensure scenario index is within bounds
@@ -192,23 +184,9 @@ public class HarryDeathSystem extends IteratingSystem {
                 float newX = startPosition[0];
                 float newY = startPosition[1];
 
-                transformComp.x = newX;
-                transformComp.y = newY;
-
-                // Also update the Jbump item position
-                if (mDisabledCollider != null && mDisabledCollider.has(entityId)) {
-                    DisabledJbumpColliderComponent disabled = mDisabledCollider.get(entityId);
-                    if (disabled != null && disabled.disabled) {
-                        disabled.x = newX + harryOffsetX;
-                        disabled.y = newY;
-                        disabled.w = harryWidth;
-                        disabled.h = harryHeight;
-                    } else {
-                        jbumpWorld.update(jbumpItemComp.item, newX + harryOffsetX, newY, harryWidth, harryHeight);
-                    }
-                } else {
-                    jbumpWorld.update(jbumpItemComp.item, newX + harryOffsetX, newY, harryWidth, harryHeight);
-                }
+                // ColliderSyncSystem moves the (possibly disabled) collider along
+                transformComp.setPosition(newX, newY);
+                transformComp.snapshot(); // Teleport, don't interpolate from the death spot
 
                 System.out.println("Harry resurrected at scenario start position: (" + newX + ", " + newY + ")");
             }
@@ -228,23 +206,8 @@ public class HarryDeathSystem extends IteratingSystem {
             float newX = startPosition[0];
             float newY = startPosition[1];
 
-            transformComp.x = newX;
-            transformComp.y = newY;
-
-            // Also update the Jbump item position
-            if (mDisabledCollider != null && mDisabledCollider.has(entityId)) {
-                DisabledJbumpColliderComponent disabled = mDisabledCollider.get(entityId);
-                if (disabled != null && disabled.disabled) {
-                    disabled.x = newX + harryOffsetX;
-                    disabled.y = newY;
-                    disabled.w = harryWidth;
-                    disabled.h = harryHeight;
-                } else {
-                    jbumpWorld.update(jbumpItemComp.item, newX + harryOffsetX, newY, harryWidth, harryHeight);
-                }
-            } else {
-                jbumpWorld.update(jbumpItemComp.item, newX + harryOffsetX, newY, harryWidth, harryHeight);
-            }
+            transformComp.setPosition(newX, newY);
+            transformComp.snapshot();
 
             // Debug log for DIED state position updates
             System.out.println("Harry in DIED state - maintaining position at scenario start: (" + newX + ", " + newY + ")");
@@ -252,7 +215,7 @@ public class HarryDeathSystem extends IteratingSystem {
             // After 1 second in DIED state, revive Harry to RESTING state
             if (stateComp.stateTime >= DIED_DURATION) {
                 // Record death location in ScenarioState
-                ScenarioState scenarioState = ScenarioState.getInstance();
+                ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
                 scenarioState.recordDeath(transformComp.x, transformComp.y);
                 
                 // Implement scenario rotation on death
@@ -268,20 +231,41 @@ public class HarryDeathSystem extends IteratingSystem {
                         
                         // Update current scenario index
                         scenarioState.setCurrentScenarioIndex(nextScenarioIndex);
+
+                        // Patch only the ground cells that differ from the previous scenario
+                        if (levelLoadingSystem != null) {
+                            levelLoadingSystem.switchScenario(nextScenarioIndex);
+                        }
                         
                         System.out.println("Rotating to next scenario: " + nextScenarioIndex + "/" + currentLevel.getScenarios().size());
                     }
                 }
                 
+                // The zebras and random streams start over too, as the new attempt's recording assumes
+                HarryLevelStartSystem levelStartSystem = world.getSystem(HarryLevelStartSystem.class);
+                if (levelStartSystem != null) {
+                    levelStartSystem.resetAttempt();
+                }
+
                 stateComp.state = HarryState.RESTING;
                 stateComp.suppressBloodOnDeath = false;
                 stateComp.stateTime = 0f; // Reset state time
 
+                // Gravity kept pulling while he was held at the start, revive him standing still
+                // like a freshly spawned Harry, so the attempt replays from a fresh world
+                PhysicsComponent physics = mPhysics.get(entityId);
+                if (physics != null) {
+                    physics.vx = 0f;
+                    physics.vy = 0f;
+                    physics.onGround = false;
+                    physics.onZebraSupport = false;
+                    physics.lethalJump = false;
+                }
+
                 if (mDisabledCollider != null && mDisabledCollider.has(entityId)) {
                     DisabledJbumpColliderComponent disabled = mDisabledCollider.get(entityId);
                     if (disabled != null && disabled.disabled) {
                         jbumpWorld.add((com.dongbat.jbump.Item) jbumpItemComp.item, disabled.x, disabled.y, disabled.w, disabled.h);
-                        jbumpWorld.update(jbumpItemComp.item, disabled.x, disabled.y, disabled.w, disabled.h);
                         mDisabledCollider.remove(entityId);
                     }
                 }
@@ -2,8 +2,10 @@ package com.pimpedpixel.games.systems.gameplay;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
 import com.artemis.systems.IteratingSystem;
 import com.badlogic.gdx.Gdx;
+import com.pimpedpixel.games.GameContext;
 import com.pimpedpixel.games.gameplay.Level;
 import com.pimpedpixel.games.gameplay.LevelLoader;
 import com.pimpedpixel.games.gameplay.Scenario;
@@ -11,6 +13,7 @@ import com.pimpedpixel.games.gameplay.ScenarioState;
 import com.pimpedpixel.games.gameprogress.GameProgress;
 import com.pimpedpixel.games.systems.characters.HarryState;
 import com.pimpedpixel.games.systems.characters.HarryStateComponent;
+import com.pimpedpixel.games.systems.characters.ZebraStateSystem;
 import com.pimpedpixel.games.systems.hud.TimerComponent;
 import com.pimpedpixel.games.systems.hud.TimerSystem;
 
@@ -23,12 +26,16 @@ import com.pimpedpixel.games.systems.hud.TimerSystem;
  */
 public class HarryLevelStartSystem extends IteratingSystem {
 
+    @Wire(failOnNull = false)
+    private GameContext context;
+
     private ComponentMapper<HarryStateComponent> mHarryState;
 
     private final LevelLoader.LevelContainer levelContainer;
     private int currentLevelIndex = 0;
     private int currentScenarioIndex = 0;
     private boolean levelStartPending = false;
+    private boolean attemptResetPending = false;
     private float timerDecrementAmount = 1f; // Decrement timer by 1 second at level start
     private int resumeAttempts = 0;
 
@@ -89,8 +96,30 @@ public class HarryLevelStartSystem extends IteratingSystem {
         }
     }
 
+    /**
+     * Start the next attempt like a newly built world: the zebras go back to where they spawned
+     * and the random streams restart from the session's seed, which is what the attempt's
+     * recording assumes. Done in this system's next pass, after the zebras moved for the tick,
+     * so they stand at their spawn point when the attempt's first tick starts.
+     */
+    public void resetAttempt() {
+        attemptResetPending = true;
+    }
+
     @Override
     protected void process(int entityId) {
+        if (attemptResetPending) {
+            attemptResetPending = false;
+            ZebraStateSystem zebraStateSystem = world.getSystem(ZebraStateSystem.class);
+            if (zebraStateSystem != null) {
+                zebraStateSystem.resetZebras();
+            }
+            RandomSystem randomSystem = world.getSystem(RandomSystem.class);
+            if (randomSystem != null) {
+                randomSystem.reseed(GameContext.orShared(context).getScenarioState().getRandomSeed());
+            }
+        }
+
         // Handle level start if pending
         if (levelStartPending) {
             handleLevelStart(entityId);
@@ -3,12 +3,19 @@ package com.pimpedpixel.games.systems.gameplay;
 import com.artemis.BaseSystem;
 import com.artemis.ComponentMapper;
 import com.artemis.EntitySubscription;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
 import com.dongbat.jbump.World;
+import com.pimpedpixel.games.GameContext;
 import com.pimpedpixel.games.DesignResolution;
+import com.pimpedpixel.games.assets.LevelAssets;
+import com.pimpedpixel.games.assets.LevelPack;
 import com.pimpedpixel.games.gameplay.*;
+import com.pimpedpixel.games.systems.characters.ColliderData;
 import com.pimpedpixel.games.systems.characters.JbumpMapInitializationSystem;
 import com.pimpedpixel.games.systems.characters.HarryStateComponent;
 import com.pimpedpixel.games.systems.characters.JbumpItemComponent;
@@ -27,11 +34,14 @@ import java.util.*;
  */
 public class LevelLoadingSystem extends BaseSystem {
 
+    @Wire(failOnNull = false)
+    private GameContext context;
+
     private TiledMap currentTileMap;
     private World<Object> currentJbumpWorld;
     private final com.dongbat.jbump.World<Object> jbumpWorld;
     private final LevelLoader.LevelContainer levelContainer;
-    private com.badlogic.gdx.assets.AssetManager assetManager;
+    private LevelAssets levelAssets;
     private com.artemis.World artemisWorld;
     private ComponentMapper<TransformComponent> mTransform;
     private ComponentMapper<JbumpItemComponent> mJbumpItem;
@@ -39,11 +49,6 @@ public class LevelLoadingSystem extends BaseSystem {
     private ComponentMapper<PhysicsComponent> mPhysics;
     private ComponentMapper<DisabledJbumpColliderComponent> mDisabledCollider;
 
-    // Character dimensions for Harry (needed for Jbump collider setup)
-    private final float harryOffsetX;
-    private final float harryWidth;
-    private final float harryHeight;
-
     // Systems that need to be notified of level changes
     private HarryLevelStartSystem levelStartSystem;
     private HarryDeathSystem deathSystem;
@@ -54,21 +59,24 @@ public class LevelLoadingSystem extends BaseSystem {
     private int currentLevelIndex = 0;
     private int currentScenarioIndex = 0;
 
+    // Next level, prepared in the background while the current one is played
+    private final LevelPrefetcher prefetcher = new LevelPrefetcher();
+    private boolean prefetchEnabled = true;
+    // Level and scenario waiting for its TMX before it can be prefetched, or -1
+    private int waitingLevelIndex = -1;
+    private int waitingScenarioIndex = -1;
+
     public LevelLoadingSystem(com.dongbat.jbump.World<Object> jbumpWorld,
-                           LevelLoader.LevelContainer levelContainer,
-                           float harryOffsetX, float harryWidth, float harryHeight) {
+                           LevelLoader.LevelContainer levelContainer) {
         this.jbumpWorld = jbumpWorld;
         this.levelContainer = levelContainer;
-        this.harryOffsetX = harryOffsetX;
-        this.harryWidth = harryWidth;
-        this.harryHeight = harryHeight;
     }
 
     /**
-     * Set the asset manager for loading tilemaps
+     * Set the level asset group the tilemaps are loaded from (and unloaded to once a level is left)
      */
-    public void setAssetManager(com.badlogic.gdx.assets.AssetManager assetManager) {
-        this.assetManager = assetManager;
+    public void setLevelAssets(LevelAssets levelAssets) {
+        this.levelAssets = levelAssets;
     }
 
     /**
@@ -78,8 +86,30 @@ public class LevelLoadingSystem extends BaseSystem {
         this.artemisWorld = artemisWorld;
     }
 
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        this.prefetchEnabled = prefetchEnabled;
+        if (!prefetchEnabled) {
+            prefetcher.cancel();
+            waitingLevelIndex = -1;
+        }
+    }
+
     @Override
     protected void processSystem() {
+        // Keep the AssetManager going until the next level's TMX is in, then prepare the level
+        if (waitingLevelIndex < 0 || levelAssets == null) {
+            return;
+        }
+        if (levelAssets.isLoaded(levelNumber(waitingLevelIndex)) || levelAssets.update()) {
+            int levelIndex = waitingLevelIndex;
+            waitingLevelIndex = -1;
+            startPrefetch(levelIndex, waitingScenarioIndex);
+        }
+    }
+
+    @Override
+    protected void dispose() {
+        prefetcher.dispose();
     }
 
     /**
@@ -125,6 +155,9 @@ public class LevelLoadingSystem extends BaseSystem {
             return;
         }
 
+        // Same level: the map and collision world stay, only the scenario's cells change
+        boolean sameMap = currentTileMap != null && jbumpMapInitSystem != null && levelIndex == this.currentLevelIndex;
+
         // Store new level/scenario indices
         this.currentLevelIndex = levelIndex;
         this.currentScenarioIndex = scenarioIndex;
@@ -143,10 +176,35 @@ public class LevelLoadingSystem extends BaseSystem {
         pauseDependentSystems();
 
         try {
+            if (sameMap) {
+                patchScenario(scenarioIndex);
+                notifySystemsOfLevelChange();
+                resetHarryToScenarioStart();
+
+                System.out.println("Level " + levelIndex + ", scenario " + scenarioIndex + " patched in place");
+
+                if (levelStartSystem != null) {
+                    levelStartSystem.startLevel();
+                }
+                if (timerSystem != null) {
+                    timerSystem.resetAndStartTimer();
+                }
+                schedulePrefetch();
+                return;
+            }
+
+            // Prepared in the background: only the swap is left to do here
+            LevelPrefetcher.PreparedLevel prepared = prefetcher.take(levelIndex, scenarioIndex);
+            if (prepared != null) {
+                swapInPreparedLevel(prepared);
+                System.out.println("Level " + levelIndex + ", scenario " + scenarioIndex + " swapped in from prefetch");
+                return;
+            }
+            prefetcher.cancel();
+            waitingLevelIndex = -1;
+
             // Load the TMX map for this level
-            int levelNumber = levelContainer.getLevels()[levelIndex].getLevelNumber();
-            String mapName = "bridgefall_" + levelNumber;
-            TiledMap newTileMap = loadBridgeFallMap(mapName);
+            TiledMap newTileMap = loadBridgeFallMap(levelNumber(levelIndex));
 
             if (newTileMap == null) {
                 Gdx.app.error("LevelLoadingSystem", "Failed to load tilemap for level " + levelIndex);
@@ -166,7 +224,7 @@ public class LevelLoadingSystem extends BaseSystem {
             updateSystemsForNewTileMap(newTileMap);
 
             // Reinitialize Jbump world for the new level based on the modified map
-            initializeJbumpWorld(newTileMap);
+            initializeJbumpWorld(newTileMap, compiledColliders(levelIndex, scenarioIndex, newTileMap));
 
             // Notify systems of the level change
             notifySystemsOfLevelChange();
@@ -186,12 +244,131 @@ public class LevelLoadingSystem extends BaseSystem {
                 timerSystem.resetAndStartTimer();
             }
 
+            releaseFinishedLevels();
+            schedulePrefetch();
+
         } finally {
             // RESUME SYSTEMS AFTER TRANSITION COMPLETES
             resumeDependentSystems();
         }
     }
 
+    /**
+     * Swap in a level the prefetcher prepared: the overlay is already applied and the colliders
+     * merged, so what is left is pointing the systems at the map and adding the jbump items.
+     */
+    private void swapInPreparedLevel(LevelPrefetcher.PreparedLevel prepared) {
+        cleanupCurrentLevel();
+
+        this.currentTileMap = prepared.map;
+
+        updateSystemsForNewTileMap(prepared.map);
+        jbumpMapInitSystem.reinitializeWithColliders(prepared.map, ScenarioOverlay.GROUND_LAYER, prepared.colliders);
+
+        notifySystemsOfLevelChange();
+        NavGraphSystem navGraphSystem = navGraphSystem();
+        if (navGraphSystem != null) {
+            navGraphSystem.put(prepared.levelIndex, prepared.scenarioIndex, prepared.navGraph);
+        }
+        resetHarryToScenarioStart();
+
+        if (levelStartSystem != null) {
+            levelStartSystem.startLevel();
+        }
+        if (timerSystem != null) {
+            timerSystem.resetAndStartTimer();
+        }
+
+        releaseFinishedLevels();
+        schedulePrefetch();
+    }
+
+    /**
+     * After a level change, unload the maps of every level but the current and the next one.
+     * LevelAssets drops their overlays: a map that is loaded again is a new TiledMap with pristine cells.
+     */
+    private void releaseFinishedLevels() {
+        if (levelAssets == null || levelContainer == null) {
+            return;
+        }
+        int[] next = LevelProgressionSystem.nextScenario(levelContainer, currentLevelIndex, currentScenarioIndex);
+        int currentNumber = levelNumber(currentLevelIndex);
+        int nextNumber = levelNumber(next[0]);
+
+        // A prefetch still running for another level is done with its map once cancelled
+        prefetcher.cancel();
+        if (waitingLevelIndex >= 0 && waitingLevelIndex != next[0]) {
+            waitingLevelIndex = -1;
+        }
+
+        int unloaded = levelAssets.retainOnly(currentNumber, nextNumber);
+        if (unloaded > 0) {
+            System.out.println("LevelLoadingSystem: Unloaded " + unloaded + " finished level map(s)");
+        }
+    }
+
+    /**
+     * Start preparing the level that follows the current scenario, unless it is on the same map
+     * (that is a cheap in-place patch anyway). If its TMX is still loading, the prefetch starts
+     * from {@link #processSystem} once it is in.
+     */
+    private void schedulePrefetch() {
+        if (!prefetchEnabled || levelAssets == null || jbumpMapInitSystem == null
+            || levelContainer == null || levelContainer.getLevels().length == 0) {
+            return;
+        }
+        int[] next = LevelProgressionSystem.nextScenario(levelContainer, currentLevelIndex, currentScenarioIndex);
+        if (next[0] == currentLevelIndex || prefetcher.isPending(next[0], next[1])) {
+            return;
+        }
+
+        int nextLevelNumber = levelNumber(next[0]);
+        if (levelAssets.isLoaded(nextLevelNumber)) {
+            startPrefetch(next[0], next[1]);
+        } else if (levelAssets.require(nextLevelNumber)) {
+            waitingLevelIndex = next[0];
+            waitingScenarioIndex = next[1];
+        }
+    }
+
+    private void startPrefetch(int levelIndex, int scenarioIndex) {
+        TiledMap map = levelAssets.get(levelNumber(levelIndex));
+        if (map == null || map == currentTileMap) {
+            return;
+        }
+        // Whatever was prepared before is dropped; the overlay is created here, never on the worker
+        prefetcher.cancel();
+        NavGraphSystem navGraphSystem = navGraphSystem();
+        prefetcher.prefetch(levelIndex, scenarioIndex, map, levelAssets.overlayOf(map),
+            scenarioOf(levelIndex, scenarioIndex), jbumpMapInitSystem.isMergeColliders(),
+            compiledColliders(levelIndex, scenarioIndex, map),
+            navGraphSystem != null ? navGraphSystem.newBuilder(map) : null);
+        System.out.println("LevelLoadingSystem: Prefetching level " + levelIndex + ", scenario " + scenarioIndex);
+    }
+
+    /**
+     * Ground colliders of a scenario from the level's compiled pack, or null when the level has no
+     * pack the manifest lists (LevelAssets checks its hash) or it does not fit the map; then they
+     * are merged from the map as before.
+     */
+    private List<ColliderData> compiledColliders(int levelIndex, int scenarioIndex, TiledMap map) {
+        if (levelAssets == null || jbumpMapInitSystem == null || !jbumpMapInitSystem.isMergeColliders()) {
+            return null;
+        }
+        LevelPack pack = levelAssets.getPack(levelNumber(levelIndex));
+        if (pack == null || !(map.getLayers().get(ScenarioOverlay.GROUND_LAYER) instanceof TiledMapTileLayer)) {
+            return null;
+        }
+        TiledMapTileLayer ground = (TiledMapTileLayer) map.getLayers().get(ScenarioOverlay.GROUND_LAYER);
+        Level level = levelContainer.getLevels()[levelIndex];
+        if (pack.getColumns() != ground.getWidth() || pack.getRows() != ground.getHeight()
+            || pack.getScenarioCount() != Math.max(1, level.getScenarios().size())) {
+            System.out.println("LevelLoadingSystem: Level pack of level " + levelIndex + " is out of date, ignoring it");
+            return null;
+        }
+        return pack.getColliders(scenarioIndex);
+    }
+
     /**
      * Pause systems that depend on the Jbump world during level transitions
      * This prevents null pointer exceptions when the Jbump world is being reinitialized
@@ -216,12 +393,12 @@ public class LevelLoadingSystem extends BaseSystem {
                 System.out.println("Paused CharacterMovementSystem");
             }
 
-            // Pause JbumpActionSyncSystem
-            com.pimpedpixel.games.systems.characters.JbumpActionSyncSystem actionSyncSystem =
-                artemisWorld.getSystem(com.pimpedpixel.games.systems.characters.JbumpActionSyncSystem.class);
-            if (actionSyncSystem != null) {
-                actionSyncSystem.setEnabled(false);
-                System.out.println("Paused JbumpActionSyncSystem");
+            // Pause ColliderSyncSystem
+            com.pimpedpixel.games.systems.characters.ColliderSyncSystem colliderSyncSystem =
+                artemisWorld.getSystem(com.pimpedpixel.games.systems.characters.ColliderSyncSystem.class);
+            if (colliderSyncSystem != null) {
+                colliderSyncSystem.setEnabled(false);
+                System.out.println("Paused ColliderSyncSystem");
             }
 
             // Pause HarryDeathSystem
@@ -272,12 +449,12 @@ public class LevelLoadingSystem extends BaseSystem {
                 System.out.println("Resumed CharacterMovementSystem");
             }
 
-            // Resume JbumpActionSyncSystem
-            com.pimpedpixel.games.systems.characters.JbumpActionSyncSystem actionSyncSystem =
-                artemisWorld.getSystem(com.pimpedpixel.games.systems.characters.JbumpActionSyncSystem.class);
-            if (actionSyncSystem != null) {
-                actionSyncSystem.setEnabled(true);
-                System.out.println("Resumed JbumpActionSyncSystem");
+            // Resume ColliderSyncSystem
+            com.pimpedpixel.games.systems.characters.ColliderSyncSystem colliderSyncSystem =
+                artemisWorld.getSystem(com.pimpedpixel.games.systems.characters.ColliderSyncSystem.class);
+            if (colliderSyncSystem != null) {
+                colliderSyncSystem.setEnabled(true);
+                System.out.println("Resumed ColliderSyncSystem");
             }
 
             // Resume HarryDeathSystem
@@ -325,8 +502,11 @@ public class LevelLoadingSystem extends BaseSystem {
     /**
      * Initialize Jbump world for the new level
      */
-    private void initializeJbumpWorld(TiledMap tileMap) {
-        if (jbumpMapInitSystem != null) {
+    private void initializeJbumpWorld(TiledMap tileMap, List<ColliderData> compiledColliders) {
+        if (jbumpMapInitSystem != null && compiledColliders != null) {
+            jbumpMapInitSystem.reinitializeWithColliders(tileMap, ScenarioOverlay.GROUND_LAYER, compiledColliders);
+            System.out.println("Reinitialized Jbump world with the level pack's colliders");
+        } else if (jbumpMapInitSystem != null) {
             // Reinitialize the Jbump world with the new tilemap
             jbumpMapInitSystem.reinitializeWithNewMap(tileMap, "ground");
             System.out.println("Reinitialized Jbump world with new tilemap");
@@ -340,19 +520,9 @@ public class LevelLoadingSystem extends BaseSystem {
      */
     private void applyScenarioModifications(TiledMap tileMap, int scenarioIndex) {
         try {
-            Level currentLevel = levelContainer.getLevels()[currentLevelIndex];
-            if (currentLevel != null && !currentLevel.getScenarios().isEmpty()) {
-                // Ensure scenario index is within bounds
-                int safeScenarioIndex = Math.min(scenarioIndex, currentLevel.getScenarios().size() - 1);
-                safeScenarioIndex = Math.max(0, safeScenarioIndex);
-
-                Scenario scenario = currentLevel.getScenarios().get(safeScenarioIndex);
-                if (scenario != null) {
-                    CollisionLayer groundLayer = scenario.getGroundLayer();
-                    if (groundLayer != null) {
-                        modifyTileMapBasedOnScenario(tileMap, groundLayer);
-                    }
-                }
+            ScenarioOverlay overlay = overlayFor(tileMap);
+            if (overlay != null) {
+                overlay.apply(scenarioIndex, scenarioAt(scenarioIndex));
             }
         } catch (Exception e) {
             Gdx.app.error("LevelLoadingSystem", "Error applying scenario modifications: " + e.getMessage());
@@ -360,19 +530,98 @@ public class LevelLoadingSystem extends BaseSystem {
         }
     }
 
+    /**
+     * Scenario of the current level, with the index clamped to the available scenarios.
+     */
+    private Scenario scenarioAt(int scenarioIndex) {
+        return scenarioOf(currentLevelIndex, scenarioIndex);
+    }
+
+    private Scenario scenarioOf(int levelIndex, int scenarioIndex) {
+        Level currentLevel = levelContainer.getLevels()[levelIndex];
+        if (currentLevel == null || currentLevel.getScenarios().isEmpty()) {
+            return null;
+        }
+        int safeScenarioIndex = Math.max(0, Math.min(scenarioIndex, currentLevel.getScenarios().size() - 1));
+        return currentLevel.getScenarios().get(safeScenarioIndex);
+    }
+
+    /**
+     * Overlay of the given map, owned by LevelAssets for as long as the map is loaded.
+     */
+    private ScenarioOverlay overlayFor(TiledMap tileMap) {
+        return levelAssets != null ? levelAssets.overlayOf(tileMap) : null;
+    }
+
+    /**
+     * Register the map the screen loaded at startup, so later scenario switches on this level
+     * can be patched instead of rebuilt. Its scenario went through the map's LevelAssets overlay.
+     */
+    public void setLoadedMap(TiledMap tileMap, int levelIndex, int scenarioIndex) {
+        this.currentTileMap = tileMap;
+        this.currentLevelIndex = levelIndex;
+        this.currentScenarioIndex = scenarioIndex;
+        schedulePrefetch();
+    }
+
+    /**
+     * Switch to another scenario of the current level without reloading anything:
+     * only the cells that differ between the scenarios are changed in the tilemap
+     * and in the jbump world. Harry and the timer are left alone.
+     *
+     * @return false if there is no loaded level to patch
+     */
+    public boolean switchScenario(int scenarioIndex) {
+        if (currentTileMap == null || jbumpMapInitSystem == null || levelContainer == null
+            || currentLevelIndex < 0 || currentLevelIndex >= levelContainer.getLevels().length) {
+            return false;
+        }
+        if (scenarioAt(scenarioIndex) == null) {
+            return false;
+        }
+
+        patchScenario(scenarioIndex);
+        this.currentScenarioIndex = scenarioIndex;
+        if (levelStartSystem != null) {
+            levelStartSystem.setCurrentScenarioIndex(scenarioIndex);
+        }
+        schedulePrefetch();
+        return true;
+    }
+
+    private void patchScenario(int scenarioIndex) {
+        ScenarioOverlay overlay = overlayFor(currentTileMap);
+        if (overlay == null) {
+            return;
+        }
+        int changedCells = 0;
+        for (IntMap.Entry<IntArray> change : overlay.apply(scenarioIndex, scenarioAt(scenarioIndex))) {
+            jbumpMapInitSystem.patchRow(change.key, change.value);
+            changedCells += change.value.size;
+        }
+        System.out.println("LevelLoadingSystem: Patched " + changedCells + " cells for scenario switch");
+    }
+
     /**
      * Notify other systems about the level change
      */
     private void notifySystemsOfLevelChange() {
         // Update ScenarioState with new level/scenario
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
         scenarioState.initializeLevel(currentLevelIndex);
         scenarioState.setCurrentScenarioIndex(currentScenarioIndex);
         scenarioState.resetTreasureFoundFlag();
+        if (levelStartSystem != null) {
+            levelStartSystem.resetAttempt();
+        }
 
         System.out.println("Notified systems of level change to level " + currentLevelIndex + ", scenario " + currentScenarioIndex);
     }
 
+    private NavGraphSystem navGraphSystem() {
+        return artemisWorld != null ? artemisWorld.getSystem(NavGraphSystem.class) : null;
+    }
+
     private void updateSystemsForNewTileMap(TiledMap newTileMap) {
         if (artemisWorld == null || newTileMap == null) {
             return;
@@ -442,8 +691,10 @@ public class LevelLoadingSystem extends BaseSystem {
                 continue;
             }
 
-            t.x = startX;
-            t.y = startY;
+            t.setPosition(startX, startY);
+            // Also when Harry is already there, his collider may have been left at the death spot
+            t.markDirty();
+            t.snapshot();
 
             if (p != null) {
                 p.vx = 0;
@@ -461,8 +712,6 @@ public class LevelLoadingSystem extends BaseSystem {
                 }
             }
 
-            jbumpWorld.update(j.item, startX + harryOffsetX, startY, harryWidth, harryHeight);
-
             if (h != null) {
                 h.state = com.pimpedpixel.games.systems.characters.HarryState.RESTING;
                 h.stateTime = 0f;
@@ -475,129 +724,38 @@ public class LevelLoadingSystem extends BaseSystem {
         }
     }
 
+    private int levelNumber(int levelIndex) {
+        return levelContainer.getLevels()[levelIndex].getLevelNumber();
+    }
+
     /**
-     * Loads the "bridgefall_X" TMX via AssetManager where X is the level number.
+     * Loads the "bridgefall_X" TMX of a level number, streaming it in if it was not preloaded.
      */
-    private TiledMap loadBridgeFallMap(String mapName) {
+    private TiledMap loadBridgeFallMap(int levelNumber) {
         try {
-            System.out.println("Loading tilemap: " + mapName);
+            System.out.println("Loading tilemap for level number: " + levelNumber);
 
-            if (assetManager == null) {
-                Gdx.app.error("LevelLoadingSystem", "AssetManager not set! Cannot load tilemaps.");
+            if (levelAssets == null) {
+                Gdx.app.error("LevelLoadingSystem", "LevelAssets not set! Cannot load tilemaps.");
                 return null;
             }
 
-            // Construct the path to the tilemap
-            String path = "rooms/tiles/" + mapName + ".tmx";
-
-            System.out.println("Looking for tilemap at path: " + path);
-
-            // Check if the asset manager contains the tilemap
-            if (!assetManager.contains(path)) {
-                Gdx.app.error("LevelLoadingSystem", "Tilemap not found in asset manager: " + path);
-
-                // Debug: List available tilemaps
-                System.out.println("Available tilemaps in asset manager:");
-                for (String assetName : assetManager.getAssetNames()) {
-                    if (assetName.contains("bridgefall")) {
-                        System.out.println("  - " + assetName);
-                    }
-                }
-
-                return null;
-            }
-
-            // Load and return the tilemap
-            assetManager.finishLoadingAsset(path);
-            TiledMap tileMap = assetManager.get(path, TiledMap.class);
-
+            TiledMap tileMap = levelAssets.get(levelNumber);
             if (tileMap == null) {
-                Gdx.app.error("LevelLoadingSystem", "Failed to load tilemap from asset manager: " + path);
+                Gdx.app.error("LevelLoadingSystem", "Failed to load tilemap: " + levelAssets.pathOf(levelNumber));
                 return null;
             }
 
-            System.out.println("Successfully loaded tilemap: " + mapName);
+            System.out.println("Successfully loaded tilemap: " + levelAssets.pathOf(levelNumber));
             return tileMap;
 
         } catch (Exception e) {
-            Gdx.app.error("LevelLoadingSystem", "Failed to load tilemap " + mapName + ": " + e.getMessage());
+            Gdx.app.error("LevelLoadingSystem", "Failed to load tilemap for level number " + levelNumber + ": " + e.getMessage());
             e.printStackTrace();
             return null;
         }
     }
 
-    /**
-     * Modify the tilemap based on scenario data (copied from Bridge2FarGame)
-     */
-    private void modifyTileMapBasedOnScenario(TiledMap tileMap, CollisionLayer groundLayer) {
-        if (groundLayer == null) {
-            System.out.println("No groundLayer defined in scenario, skipping tilemap modification");
-            return;
-        }
-
-        int matchingRow = groundLayer.getMatchingRow();
-        List<Integer> cellStates = groundLayer.getCellStates();
-
-        if (cellStates == null || cellStates.isEmpty()) {
-            System.out.println("No cellStates defined in groundLayer, skipping tilemap modification");
-            return;
-        }
-
-        // Get the ground layer from the tilemap
-        TiledMapTileLayer groundTileLayer = (TiledMapTileLayer) tileMap.getLayers().get("ground");
-        if (groundTileLayer == null) {
-            System.out.println("Ground layer not found in tilemap, skipping modification");
-            return;
-        }
-
-        // Determine the actual row to use (handle Tiled vs LibGDX coordinate system differences)
-        int actualRow = groundTileLayer.getHeight() - 1 - matchingRow;
-
-        if (actualRow < 0 || actualRow >= groundTileLayer.getHeight()) {
-            System.out.println("ERROR: Row " + actualRow + " is out of bounds!");
-            return;
-        }
-
-        // Modify the tiles based on cell states
-        int changesMade = 0;
-
-        // Find a template tile to use when we need to fill gaps (first non-null cell)
-        TiledMapTileLayer.Cell templateCell = null;
-        outer:
-        for (int tx = 0; tx < groundTileLayer.getWidth(); tx++) {
-            for (int ty = 0; ty < groundTileLayer.getHeight(); ty++) {
-                TiledMapTileLayer.Cell candidate = groundTileLayer.getCell(tx, ty);
-                if (candidate != null && candidate.getTile() != null) {
-                    templateCell = candidate;
-                    break outer;
-                }
-            }
-        }
-
-        for (int x = 0; x < cellStates.size(); x++) {
-            if (x >= groundTileLayer.getWidth()) break;
-
-            int cellState = cellStates.get(x);
-            CollisionType collisionType = CollisionType.fromValue(cellState);
-
-            if (collisionType == CollisionType.HOLE) {
-                groundTileLayer.setCell(x, actualRow, null);
-                changesMade++;
-            } else if (collisionType == CollisionType.SOLID) {
-                TiledMapTileLayer.Cell cell = groundTileLayer.getCell(x, actualRow);
-                if (cell == null && templateCell != null) {
-                    // Fill missing tiles to ensure collision is present where scenario says SOLID.
-                    TiledMapTileLayer.Cell newCell = new TiledMapTileLayer.Cell();
-                    newCell.setTile(templateCell.getTile());
-                    groundTileLayer.setCell(x, actualRow, newCell);
-                    changesMade++;
-                }
-            }
-        }
-
-        System.out.println("Tilemap modification completed. " + changesMade + " cells were modified.");
-    }
-
     // Getters for current state
     public int getCurrentLevelIndex() {
         return currentLevelIndex;
@@ -0,0 +1,149 @@
+package com.pimpedpixel.games.systems.gameplay;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+import com.pimpedpixel.games.navigation.NavGraph;
+import com.pimpedpixel.games.navigation.NavGraphBuilder;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+import com.pimpedpixel.games.systems.characters.JbumpMapInitializationSystem;
+
+import java.util.List;
+
+/**
+ * Prepares the next level on a worker thread while the current one is played.
+ *
+ * A job applies the next scenario's overlay to the next level's map, merges its solid cells
+ * into colliders and builds its nav graph from them. Nothing in play is touched: the map is not rendered or collided with until
+ * {@link LevelLoadingSystem} swaps it in, and from then on only the render thread uses it.
+ * There is at most one job; starting another one waits for the previous job first, so a map
+ * and its overlay are never worked on by two threads.
+ *
+ * On GWT the executor runs the job right away on the calling thread.
+ */
+public class LevelPrefetcher implements Disposable {
+
+    /**
+     * A level ready to be swapped in.
+     */
+    public static class PreparedLevel {
+        public final int levelIndex;
+        public final int scenarioIndex;
+        public final TiledMap map;
+        public final ScenarioOverlay overlay;
+        public final List<ColliderData> colliders;
+        // Null when no builder was given
+        public final NavGraph navGraph;
+
+        PreparedLevel(int levelIndex, int scenarioIndex, TiledMap map, ScenarioOverlay overlay,
+                      List<ColliderData> colliders, NavGraph navGraph) {
+            this.levelIndex = levelIndex;
+            this.scenarioIndex = scenarioIndex;
+            this.map = map;
+            this.overlay = overlay;
+            this.colliders = colliders;
+            this.navGraph = navGraph;
+        }
+    }
+
+    private final AsyncExecutor executor = new AsyncExecutor(1, "LevelPrefetcher");
+
+    private AsyncResult<PreparedLevel> pending;
+    private int pendingLevelIndex = -1;
+    private int pendingScenarioIndex = -1;
+
+    /**
+     * Start preparing a level. The overlay is the map's own (see LevelAssets#overlayOf), created
+     * on the calling thread; without one there is nothing to prepare. Colliders compiled into the
+     * level's pack are used as they are, pass null to merge them from the map. The nav graph
+     * builder (see NavGraphSystem#newBuilder) is only used by the job; pass null to skip the graph.
+     */
+    public void prefetch(final int levelIndex, final int scenarioIndex, final TiledMap map,
+                         final ScenarioOverlay overlay, final Scenario scenario, final boolean mergeColliders,
+                         final List<ColliderData> compiledColliders, final NavGraphBuilder navGraphBuilder) {
+        if (levelIndex == pendingLevelIndex && scenarioIndex == pendingScenarioIndex) {
+            return;
+        }
+        cancel();
+
+        pendingLevelIndex = levelIndex;
+        pendingScenarioIndex = scenarioIndex;
+        pending = executor.submit(() -> {
+            if (overlay == null) {
+                return null;
+            }
+            overlay.apply(scenarioIndex, scenario);
+            TiledMapTileLayer ground = overlay.getLayer();
+            List<ColliderData> colliders = compiledColliders != null
+                ? compiledColliders
+                : JbumpMapInitializationSystem.buildColliders(ground, mergeColliders);
+            NavGraph navGraph = navGraphBuilder != null
+                ? navGraphBuilder.build(NavGraphBuilder.rasterize(colliders, ground.getWidth(), ground.getHeight()))
+                : null;
+            return new PreparedLevel(levelIndex, scenarioIndex, map, overlay, colliders, navGraph);
+        });
+    }
+
+    public boolean isPending(int levelIndex, int scenarioIndex) {
+        return pending != null && levelIndex == pendingLevelIndex && scenarioIndex == pendingScenarioIndex;
+    }
+
+    public boolean isReady() {
+        return pending != null && pending.isDone();
+    }
+
+    /**
+     * Hand over the prepared level, waiting for the job if it has not finished yet.
+     *
+     * @return the level, or null when nothing was prefetched for this level and scenario
+     *         (or the job failed)
+     */
+    public PreparedLevel take(int levelIndex, int scenarioIndex) {
+        if (!isPending(levelIndex, scenarioIndex)) {
+            return null;
+        }
+        PreparedLevel level = await();
+        clear();
+        return level;
+    }
+
+    /**
+     * Drop the pending job, after waiting for it.
+     *
+     * @return what it prepared, or null
+     */
+    public PreparedLevel cancel() {
+        if (pending == null) {
+            return null;
+        }
+        PreparedLevel level = await();
+        clear();
+        return level;
+    }
+
+    @Override
+    public void dispose() {
+        cancel();
+        executor.dispose();
+    }
+
+    private PreparedLevel await() {
+        try {
+            return pending.get();
+        } catch (Exception e) {
+            System.err.println("LevelPrefetcher: Preparing level " + pendingLevelIndex + ", scenario "
+                + pendingScenarioIndex + " failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void clear() {
+        pending = null;
+        pendingLevelIndex = -1;
+        pendingScenarioIndex = -1;
+    }
+}
@@ -3,7 +3,9 @@ package com.pimpedpixel.games.systems.gameplay;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.systems.IteratingSystem;
+import com.artemis.annotations.Wire;
 import com.dongbat.jbump.World;
+import com.pimpedpixel.games.GameContext;
 import com.pimpedpixel.games.gameplay.*;
 import com.pimpedpixel.games.systems.characters.HarryState;
 import com.pimpedpixel.games.systems.characters.HarryStateComponent;
@@ -16,6 +18,9 @@ import com.pimpedpixel.games.systems.characters.TransformComponent;
  * wraps around to the first level if all levels are completed.
  */
 public class LevelProgressionSystem extends IteratingSystem {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
     
     ComponentMapper<HarryStateComponent> mHarryState;
     ComponentMapper<TransformComponent> mTransform;
@@ -23,23 +28,16 @@ public class LevelProgressionSystem extends IteratingSystem {
     
     private final LevelLoader.LevelContainer levelContainer;
     private final World<Object> jbumpWorld;
-    private final float harryOffsetX;
-    private final float harryWidth;
-    private final float harryHeight;
     private HarryLevelStartSystem levelStartSystem;
     private HarryDeathSystem deathSystem;
     private LevelLoadingSystem levelLoadingSystem;
     private boolean progressedForCurrentTreasure = false;
     
     public LevelProgressionSystem(LevelLoader.LevelContainer levelContainer, 
-                                 World<Object> jbumpWorld, 
-                                 float harryOffsetX, float harryWidth, float harryHeight) {
+                                 World<Object> jbumpWorld) {
         super(Aspect.all(HarryStateComponent.class, TransformComponent.class, JbumpItemComponent.class));
         this.levelContainer = levelContainer;
         this.jbumpWorld = jbumpWorld;
-        this.harryOffsetX = harryOffsetX;
-        this.harryWidth = harryWidth;
-        this.harryHeight = harryHeight;
     }
     
     /**
@@ -83,11 +81,33 @@ public class LevelProgressionSystem extends IteratingSystem {
         return new float[]{20f, 700f}; // Default fallback position
     }
     
+    /**
+     * Level and scenario that follow the given one: the next scenario of the level, or the first
+     * scenario of the next level once the scenarios are exhausted (wrapping after the last level).
+     */
+    static int[] nextScenario(LevelLoader.LevelContainer levelContainer, int levelIndex, int scenarioIndex) {
+        int targetLevelIndex = levelIndex;
+        int targetScenarioIndex = scenarioIndex + 1;
+
+        // If we've exhausted scenarios in this level, move to next level (wrap if needed)
+        if (levelContainer != null && levelContainer.getLevels().length > 0) {
+            int scenarioCount = levelContainer.getLevels()[levelIndex].getScenarios().size();
+            if (targetScenarioIndex >= scenarioCount) {
+                targetScenarioIndex = 0;
+                targetLevelIndex = levelIndex + 1;
+                if (targetLevelIndex >= levelContainer.getLevels().length) {
+                    targetLevelIndex = 0;
+                }
+            }
+        }
+        return new int[]{targetLevelIndex, targetScenarioIndex};
+    }
+
     @Override
     protected void process(int entityId) {
         HarryStateComponent stateComp = mHarryState.get(entityId);
 
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
         if (!scenarioState.isTreasureFoundThisScenario()) {
             progressedForCurrentTreasure = false;
         } else if (!progressedForCurrentTreasure) {
@@ -109,7 +129,7 @@ public class LevelProgressionSystem extends IteratingSystem {
      * Check if treasure was found and handle level progression
      */
     private void checkForLevelProgression(int entityId) {
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
         
         System.out.println("LevelProgressionSystem.checkForLevelProgression: Checking if treasure was found...");
         System.out.println("Treasure found this scenario: " + scenarioState.isTreasureFoundThisScenario());
@@ -122,20 +142,11 @@ public class LevelProgressionSystem extends IteratingSystem {
             int currentLevelIndex = scenarioState.getCurrentLevelIndex();
             int currentScenarioIndex = scenarioState.getCurrentScenarioIndex();
 
-            int targetLevelIndex = currentLevelIndex;
-            int targetScenarioIndex = currentScenarioIndex + 1;
-
-            // If we've exhausted scenarios in this level, move to next level (wrap if needed)
-            if (levelContainer != null && levelContainer.getLevels().length > 0) {
-                int scenarioCount = levelContainer.getLevels()[currentLevelIndex].getScenarios().size();
-                if (targetScenarioIndex >= scenarioCount) {
-                    targetScenarioIndex = 0;
-                    targetLevelIndex = currentLevelIndex + 1;
-                    if (targetLevelIndex >= levelContainer.getLevels().length) {
-                        targetLevelIndex = 0;
-                        System.out.println("All levels completed! Wrapping around to level 1.");
-                    }
-                }
+            int[] target = nextScenario(levelContainer, currentLevelIndex, currentScenarioIndex);
+            int targetLevelIndex = target[0];
+            int targetScenarioIndex = target[1];
+            if (targetLevelIndex == 0 && targetScenarioIndex == 0) {
+                System.out.println("All levels completed! Wrapping around to level 1.");
             }
 
             // Load the new level/scenario using LevelLoadingSystem (handles everything)
@@ -169,9 +180,7 @@ public class LevelProgressionSystem extends IteratingSystem {
                     float newX = startPosition[0];
                     float newY = startPosition[1];
 
-                    transformComp.x = newX;
-                    transformComp.y = newY;
-                    jbumpWorld.update(jbumpItemComp.item, newX + harryOffsetX, newY, harryWidth, harryHeight);
+                    transformComp.setPosition(newX, newY);
 
                     System.out.println("Moved Harry to level " + targetLevelIndex + " scenario " + targetScenarioIndex +
                         " starting position: (" + newX + ", " + newY + ")");
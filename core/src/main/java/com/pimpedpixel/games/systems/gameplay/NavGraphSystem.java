@@ -0,0 +1,213 @@
+package com.pimpedpixel.games.systems.gameplay;
+
+import com.artemis.BaseSystem;
+import com.artemis.annotations.Wire;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.dongbat.jbump.World;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.gameplay.ScenarioState;
+import com.pimpedpixel.games.navigation.NavGraph;
+import com.pimpedpixel.games.navigation.NavGraphBuilder;
+import com.pimpedpixel.games.navigation.SolidGrid;
+import com.pimpedpixel.games.systems.characters.CharacterMovementSystem;
+import com.pimpedpixel.games.systems.characters.JbumpMapInitializationSystem;
+
+/**
+ * Keeps the {@link NavGraph} of the current scenario for debug overlays, hints and the zebra.
+ *
+ * The {@link SolidGrid} of the current geometry is cheap and is rasterized again whenever the level,
+ * scenario or geometry changed; the zebra walks by it. The graph itself takes a few hundred move
+ * simulations, so it is only built when {@link #getGraph()} is asked for it, or handed in ready-made
+ * through {@link #put} by the LevelPrefetcher's worker. Graphs are cached per level and scenario and
+ * only rebuilt if their solid cells differ. Does no per-tick work.
+ */
+public class NavGraphSystem extends BaseSystem {
+
+    @Wire(failOnNull = false)
+    private GameContext context;
+
+    private final World<Object> jbumpWorld;
+    private final String rewardLayerName;
+    private final float harryWidth;
+    private final float harryHeight;
+    private final float zebraHeight;
+
+    private JbumpMapInitializationSystem mapSystem;
+    private CharacterMovementSystem movementSystem;
+
+    private final IntMap<NavGraph> cache = new IntMap<>();
+    // Geometry the grid was rasterized from
+    private int currentKey = -1;
+    private int currentVersion = -1;
+    private boolean[][] cells;
+    private SolidGrid grid;
+    private long signature;
+    private NavGraph current;
+
+    public NavGraphSystem(World<Object> jbumpWorld, String rewardLayerName, float harryWidth, float harryHeight,
+                          float zebraHeight) {
+        this.jbumpWorld = jbumpWorld;
+        this.rewardLayerName = rewardLayerName;
+        this.harryWidth = harryWidth;
+        this.harryHeight = harryHeight;
+        this.zebraHeight = zebraHeight;
+    }
+
+    @Override
+    protected void initialize() {
+        mapSystem = world.getSystem(JbumpMapInitializationSystem.class);
+        movementSystem = world.getSystem(CharacterMovementSystem.class);
+    }
+
+    @Override
+    protected boolean checkProcessing() {
+        return false;
+    }
+
+    @Override
+    protected void processSystem() {
+    }
+
+    /**
+     * The solid cells of the current geometry, or null when the world has no map.
+     */
+    public SolidGrid getGrid() {
+        refresh();
+        return grid;
+    }
+
+    /**
+     * The graph of the current geometry, built now unless it is cached. Building takes long enough
+     * to drop frames, so game code should not ask for it from inside a tick.
+     *
+     * @return the graph, or null when the world has no map
+     */
+    public NavGraph getGraph() {
+        refresh();
+        if (current != null || cells == null) {
+            return current;
+        }
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
+        long started = TimeUtils.nanoTime();
+        NavGraphBuilder builder = newBuilder(mapSystem.getMap());
+        if (builder == null) {
+            return null;
+        }
+        current = builder.build(cells);
+        cache.put(currentKey, current);
+        log("Built nav graph for level " + scenarioState.getCurrentLevelIndex()
+            + " scenario " + scenarioState.getCurrentScenarioIndex() + ": " + current.getNodeCount()
+            + " nodes in " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(started)) + " ms");
+        return current;
+    }
+
+    /**
+     * Cache a graph built elsewhere (by {@link #newBuilder}) for a level and scenario. It is used
+     * when its solid cells match the geometry of that scenario.
+     */
+    public void put(int levelIndex, int scenarioIndex, NavGraph graph) {
+        if (graph == null) {
+            return;
+        }
+        int key = key(levelIndex, scenarioIndex);
+        cache.put(key, graph);
+        if (key == currentKey && cells != null && graph.getSignature() == signature) {
+            current = graph;
+        }
+    }
+
+    public void clearCache() {
+        cache.clear();
+        current = null;
+    }
+
+    /**
+     * A builder set up for a map and this world's movement constants, to build a graph on another
+     * thread. Null when the map has no collision layer.
+     */
+    public NavGraphBuilder newBuilder(TiledMap map) {
+        MapLayer layer = map != null && mapSystem != null ? map.getLayers().get(mapSystem.getGroundLayerName()) : null;
+        if (!(layer instanceof TiledMapTileLayer)) {
+            return null;
+        }
+        TiledMapTileLayer ground = (TiledMapTileLayer) layer;
+        float scale = GameContext.orShared(context).getAssetScale();
+        NavGraphBuilder builder = new NavGraphBuilder()
+            .tileSize(ground.getTileWidth() * scale, ground.getTileHeight() * scale)
+            .harrySize(harryWidth, harryHeight)
+            .zebraHeight(zebraHeight);
+        if (movementSystem != null) {
+            builder.physics(movementSystem.getMoveSpeed(), movementSystem.getJumpSpeed(), movementSystem.getGravity());
+        }
+
+        // Same box RewardCollisionSystem tests Harry against
+        MapLayer rewardLayer = map.getLayers().get(rewardLayerName);
+        if (rewardLayer != null) {
+            for (MapObject object : rewardLayer.getObjects()) {
+                if ("reward".equals(object.getName())) {
+                    Rectangle bounds = RewardCollisionSystem.rewardBounds(object, scale, new Rectangle());
+                    builder.reward(bounds.x, bounds.y, bounds.width, bounds.height);
+                    break;
+                }
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Rasterize the geometry again if the level, scenario or geometry changed since the last time,
+     * and pick up its cached graph if the solid cells still match.
+     */
+    private void refresh() {
+        if (mapSystem == null || mapSystem.getMap() == null) {
+            cells = null;
+            grid = null;
+            current = null;
+            currentKey = -1;
+            return;
+        }
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
+        int key = key(scenarioState.getCurrentLevelIndex(), scenarioState.getCurrentScenarioIndex());
+        int version = mapSystem.getGeometryVersion();
+        if (cells != null && key == currentKey && version == currentVersion) {
+            return;
+        }
+        currentKey = key;
+        currentVersion = version;
+
+        MapLayer layer = mapSystem.getMap().getLayers().get(mapSystem.getGroundLayerName());
+        if (!(layer instanceof TiledMapTileLayer)) {
+            cells = null;
+            grid = null;
+            current = null;
+            return;
+        }
+        TiledMapTileLayer ground = (TiledMapTileLayer) layer;
+        float scale = GameContext.orShared(context).getAssetScale();
+        float tileWidth = ground.getTileWidth() * scale;
+        float tileHeight = ground.getTileHeight() * scale;
+
+        cells = NavGraphBuilder.rasterize(jbumpWorld, ground.getWidth(), ground.getHeight(), tileWidth, tileHeight);
+        grid = SolidGrid.of(cells, tileWidth, tileHeight);
+        signature = NavGraphBuilder.signature(cells);
+        NavGraph cached = cache.get(key);
+        current = cached != null && cached.getSignature() == signature ? cached : null;
+    }
+
+    private static int key(int levelIndex, int scenarioIndex) {
+        return (levelIndex << 16) | scenarioIndex;
+    }
+
+    private void log(String message) {
+        if (Gdx.app != null) {
+            Gdx.app.log("NavGraphSystem", message);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.pimpedpixel.games.systems.gameplay;
+
+import com.artemis.BaseSystem;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Owns the randomness of one world. Every gameplay system draws from its own named stream,
+ * derived from the world seed, so a run can be repeated from its seed alone and worlds on
+ * different threads never share a generator.
+ *
+ * Streams are independent of each other: adding draws to one system does not shift the
+ * numbers another system sees. Does no per-tick work.
+ */
+public class RandomSystem extends BaseSystem {
+
+    private long seed;
+    private final ObjectMap<String, RandomXS128> streams = new ObjectMap<>();
+
+    public RandomSystem(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * The stream for the given name (usually the system's), created on first use.
+     */
+    public RandomXS128 stream(String name) {
+        RandomXS128 stream = streams.get(name);
+        if (stream == null) {
+            stream = new RandomXS128(streamSeed(seed, name));
+            streams.put(name, stream);
+        }
+        return stream;
+    }
+
+    /**
+     * A fresh stream for one entity, e.g. when it is created. Same seed, name and entity id
+     * always give the same numbers.
+     */
+    public RandomXS128 entityStream(String name, int entityId) {
+        return new RandomXS128(mix(streamSeed(seed, name) + entityId));
+    }
+
+    /**
+     * Start over from a new seed. Streams handed out before start over too, as if they had just
+     * been created from it, so systems can keep the stream they got in initialize().
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        for (ObjectMap.Entry<String, RandomXS128> entry : streams) {
+            entry.value.setSeed(streamSeed(seed, entry.key));
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Seed of a named stream, also for code that runs without a RandomSystem.
+     */
+    public static long streamSeed(long worldSeed, String name) {
+        return mix(worldSeed ^ mix(name.hashCode()));
+    }
+
+    // SplitMix64 finalizer: neighbouring inputs give unrelated outputs
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    protected boolean checkProcessing() {
+        return false;
+    }
+
+    @Override
+    protected void processSystem() {
+    }
+}
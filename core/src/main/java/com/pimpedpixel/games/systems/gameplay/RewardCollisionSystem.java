@@ -3,14 +3,18 @@ package com.pimpedpixel.games.systems.gameplay;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.systems.IteratingSystem;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.math.Rectangle;
 import com.dongbat.jbump.Item;
 import com.dongbat.jbump.Rect;
 import com.dongbat.jbump.World;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.systems.characters.ColliderData;
 import com.pimpedpixel.games.systems.characters.DisabledJbumpColliderComponent;
 import com.pimpedpixel.games.systems.characters.HarryStateComponent;
 import com.pimpedpixel.games.systems.characters.JbumpItemComponent;
@@ -23,6 +27,12 @@ import com.pimpedpixel.games.gameplay.ScenarioState;
  */
 public class RewardCollisionSystem extends IteratingSystem {
 
+    // Size in map pixels of the area around a point reward object Harry has to touch
+    public static final float POINT_REWARD_SIZE = 32f;
+
+    @Wire(failOnNull = false)
+    private GameContext context;
+
     ComponentMapper<HarryStateComponent> mHarryState;
     ComponentMapper<TransformComponent> mTransform;
     ComponentMapper<JbumpItemComponent> mJbumpItem;
@@ -37,6 +47,8 @@ public class RewardCollisionSystem extends IteratingSystem {
     private final float harryHeight;
     private final float assetScale;
 
+    private final Rectangle rewardBounds = new Rectangle();
+
     // Track which rewards have been collected to avoid duplicate sounds
     private boolean rewardCollected = false;
 
@@ -83,7 +95,7 @@ public class RewardCollisionSystem extends IteratingSystem {
 
     private void checkRewardCollisions(int entityId, TransformComponent transformComp, JbumpItemComponent jbumpItemComp) {
         // Check if treasure was already found in this scenario (play sound only once)
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
         if (scenarioState.isTreasureFoundThisScenario()) {
             System.out.println("Treasure already found in this scenario, skipping reward check.");
             return;
@@ -94,8 +106,7 @@ public class RewardCollisionSystem extends IteratingSystem {
 
         if (rewardLayer != null) {
             // Get Harry's position from Jbump world
-            @SuppressWarnings("unchecked")
-            Item<Integer> harryItem = (Item<Integer>) jbumpItemComp.item;
+            Item<ColliderData> harryItem = jbumpItemComp.item;
 
             // Get the position from the Jbump world and use our stored dimensions
             Rect rect = jbumpWorld.getRect(harryItem);
@@ -112,13 +123,7 @@ public class RewardCollisionSystem extends IteratingSystem {
             for (MapObject mapObject : rewardLayer.getObjects()) {
                 // Only process objects named "reward"
                 if ("reward".equals(mapObject.getName())) {
-                    // Get the reward position and scale it to match game coordinates
-                    float rewardX = mapObject.getProperties().get("x", Float.class) * assetScale;
-                    float rewardY = mapObject.getProperties().get("y", Float.class) * assetScale;
-
-                    // Create a reasonable bounding box for the reward (point objects need dimensions)
-                    // Use a 32x32 pixel area around the reward point
-                    Rectangle rewardBounds = new Rectangle(rewardX, rewardY, 32f * assetScale, 32f * assetScale);
+                    rewardBounds(mapObject, assetScale, rewardBounds);
 
                     // Check if Harry's bounding box overlaps with the reward object
                     if (harryBounds.overlaps(rewardBounds)) {
@@ -141,4 +146,20 @@ public class RewardCollisionSystem extends IteratingSystem {
         PlaySoundComponent playSound = mPlaySound.create(entityId);
         playSound.soundId = SoundId.UNLOCK; // Use enum for type safety
     }
+
+    /**
+     * The box Harry has to touch to pick up a reward object, in world units: the object's own
+     * size, or {@link #POINT_REWARD_SIZE} for a point object (which all rewards in the maps are).
+     */
+    public static Rectangle rewardBounds(MapObject object, float assetScale, Rectangle out) {
+        MapProperties properties = object.getProperties();
+        float width = properties.get("width", 0f, Float.class);
+        float height = properties.get("height", 0f, Float.class);
+        if (width <= 0f || height <= 0f) {
+            width = POINT_REWARD_SIZE;
+            height = POINT_REWARD_SIZE;
+        }
+        return out.set(properties.get("x", Float.class) * assetScale, properties.get("y", Float.class) * assetScale,
+            width * assetScale, height * assetScale);
+    }
 }
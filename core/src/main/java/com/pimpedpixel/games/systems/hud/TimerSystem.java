@@ -4,6 +4,7 @@ import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.artemis.EntitySubscription;
 import com.artemis.systems.IteratingSystem;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -11,6 +12,7 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.utils.Align;
+import com.pimpedpixel.games.GameContext;
 import com.pimpedpixel.games.DesignResolution;
 import com.pimpedpixel.games.gameplay.Level;
 import com.pimpedpixel.games.gameplay.LevelLoader;
@@ -21,9 +23,13 @@ import com.pimpedpixel.games.systems.characters.HarryStateComponent;
 
 /**
  * System that manages the game timer and displays it in the HUD using C64 font.
+ * Without an AssetManager and Stage (headless simulation) only the timer logic runs.
  */
 public class TimerSystem extends IteratingSystem {
 
+    @Wire(failOnNull = false)
+    private GameContext context;
+
     private ComponentMapper<TimerComponent> timerMapper;
     private ComponentMapper<HarryStateComponent> harryStateMapper;
     private final AssetManager assetManager;
@@ -52,8 +58,28 @@ public class TimerSystem extends IteratingSystem {
         this.levelContainer = levelContainer;
     }
 
+    /**
+     * Create a timer without HUD labels, for headless simulation.
+     */
+    public TimerSystem(LevelLoader.LevelContainer levelContainer) {
+        this(null, null, levelContainer);
+    }
+
     @Override
     protected void initialize() {
+        if (assetManager != null && stage != null) {
+            createHudLabels();
+        }
+
+        // Create timer entity
+        createTimerEntity();
+        updateAttemptsLabel();
+
+        // Initialize entity subscription for Harry entities
+        harrySubscription = world.getAspectSubscriptionManager().get(Aspect.all(HarryStateComponent.class));
+    }
+
+    private void createHudLabels() {
         // Load C64 font
         c64Font = assetManager.get("font/c64.fnt", BitmapFont.class);
         c64Font.getData().setScale(DesignResolution.getFontScale());
@@ -86,19 +112,12 @@ public class TimerSystem extends IteratingSystem {
         stage.addActor(timerLabel);
         stage.addActor(attemptsLabel);
         stage.addActor(scenarioTitleLabel);
-
-        // Create timer entity
-        createTimerEntity();
-        updateAttemptsLabel();
-
-        // Initialize entity subscription for Harry entities
-        harrySubscription = world.getAspectSubscriptionManager().get(Aspect.all(HarryStateComponent.class));
     }
 
     private void createTimerEntity() {
         if (levelContainer != null && levelContainer.getLevels().length > 0) {
             // Use current scenario (from ScenarioState) instead of hardcoded level 1
-            ScenarioState scenarioState = ScenarioState.getInstance();
+            ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
             int levelIdx = Math.max(0, Math.min(scenarioState.getCurrentLevelIndex(), levelContainer.getLevels().length - 1));
             Level level = levelContainer.getLevels()[levelIdx];
             Scenario scenario = level.getScenarios().get(Math.max(0, Math.min(scenarioState.getCurrentScenarioIndex(), level.getScenarios().size() - 1)));
@@ -111,9 +130,9 @@ public class TimerSystem extends IteratingSystem {
             timer.remainingTime = timeLimit;
             timer.start();
 
-            Gdx.app.log("TimerSystem", "Created timer with " + timeLimit + " seconds from level " + level.getLevelNumber());
+            log("Created timer with " + timeLimit + " seconds from level " + level.getLevelNumber());
         } else {
-            Gdx.app.error("TimerSystem", "No levels found to get time limit");
+            error("No levels found to get time limit");
         }
     }
 
@@ -131,7 +150,7 @@ public class TimerSystem extends IteratingSystem {
         updateTimerLabel(timer);
 
         if (expired) {
-            Gdx.app.log("TimerSystem", "Timer expired!");
+            log("Timer expired!");
 
             // Find Harry's entity and set his state to DYING
             findAndKillHarry();
@@ -139,6 +158,9 @@ public class TimerSystem extends IteratingSystem {
     }
 
     private void updateTimerLabel(TimerComponent timer) {
+        if (timerLabel == null) {
+            return;
+        }
         String formattedTime = timer.getFormattedTime();
         timerLabel.setText(TIMER_PREFIX + formattedTime);
         updateAttemptsLabel();
@@ -148,7 +170,7 @@ public class TimerSystem extends IteratingSystem {
         if (attemptsLabel == null) {
             return;
         }
-        ScenarioState scenarioState = ScenarioState.getInstance();
+        ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
         ScenarioState.ScenarioAttemptData attemptData = scenarioState.getCurrentScenarioAttemptData();
         int attempts = attemptData != null ? Math.max(0, attemptData.getAttemptCount()) : 0;
         if (attempts != lastDisplayedAttemptCount) {
@@ -203,7 +225,7 @@ public class TimerSystem extends IteratingSystem {
      */
     public void resetTimer() {
         if (currentEntity != -1 && levelContainer != null && levelContainer.getLevels().length > 0) {
-            ScenarioState scenarioState = ScenarioState.getInstance();
+            ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
             int levelIdx = Math.max(0, Math.min(scenarioState.getCurrentLevelIndex(), levelContainer.getLevels().length - 1));
             Level level = levelContainer.getLevels()[levelIdx];
             Scenario scenario = level.getScenarios().get(Math.max(0, Math.min(scenarioState.getCurrentScenarioIndex(), level.getScenarios().size() - 1)));
@@ -221,7 +243,7 @@ public class TimerSystem extends IteratingSystem {
      */
     public void resetAndStartTimer() {
         if (currentEntity != -1 && levelContainer != null && levelContainer.getLevels().length > 0) {
-            ScenarioState scenarioState = ScenarioState.getInstance();
+            ScenarioState scenarioState = GameContext.orShared(context).getScenarioState();
             int levelIdx = Math.max(0, Math.min(scenarioState.getCurrentLevelIndex(), levelContainer.getLevels().length - 1));
             Level level = levelContainer.getLevels()[levelIdx];
             Scenario scenario = level.getScenarios().get(Math.max(0, Math.min(scenarioState.getCurrentScenarioIndex(), level.getScenarios().size() - 1)));
@@ -241,11 +263,14 @@ public class TimerSystem extends IteratingSystem {
      */
     public void showScenarioTitle(String title) {
         if (title == null || title.isEmpty()) {
-            Gdx.app.log("TimerSystem", "Scenario title is null or empty");
+            log("Scenario title is null or empty");
             return;
         }
 
-        Gdx.app.log("TimerSystem", "Showing scenario title: " + title);
+        log("Showing scenario title: " + title);
+        if (scenarioTitleLabel == null) {
+            return;
+        }
 
         // Set the title text
         scenarioTitleLabel.setText(title);
@@ -274,7 +299,7 @@ public class TimerSystem extends IteratingSystem {
                 Actions.fadeOut(SCENARIO_TITLE_FADE_TIME),
                 Actions.run(() -> {
                     scenarioTitleLabel.setVisible(false);
-                    Gdx.app.log("TimerSystem", "Scenario title faded out");
+                    log("Scenario title faded out");
                 })
             )
         );
@@ -300,11 +325,30 @@ public class TimerSystem extends IteratingSystem {
                 // Reset the timer to give Harry a fresh start after revival
                 resetAndStartTimer();
 
-                Gdx.app.log("TimerSystem", "Harry found and set to DYING state, timer reset");
+                log("Harry found and set to DYING state, timer reset");
                 return;
             }
         }
 
-        Gdx.app.error("TimerSystem", "Harry entity not found!");
+        error("Harry entity not found!");
+    }
+
+    /**
+     * Safe logging method that works in both game and headless environments.
+     */
+    private void log(String message) {
+        if (Gdx.app != null) {
+            Gdx.app.log("TimerSystem", message);
+        } else {
+            System.out.println("[TimerSystem] " + message);
+        }
+    }
+
+    private void error(String message) {
+        if (Gdx.app != null) {
+            Gdx.app.error("TimerSystem", message);
+        } else {
+            System.err.println("[TimerSystem] " + message);
+        }
     }
 }
@@ -7,35 +7,44 @@ import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.utils.IntArray;
+import com.pimpedpixel.games.systems.RenderPasses;
+import com.pimpedpixel.games.systems.RenderSystem;
 
 /**
  * Renders one or more background layers of a Tiled map, behind characters.
  * Layers are specified by name instead of indices.
+ *
+ * The layers are drawn from a {@link TiledLayerCache}, baked again when the map changes.
  */
-public class MapBackgroundRenderSystem extends BaseSystem {
+public class MapBackgroundRenderSystem extends BaseSystem implements RenderSystem {
 
     private final OrthogonalTiledMapRenderer renderer;
-    private final OrthographicCamera camera;
+    private final RenderPasses renderPasses;
     private final String[] layerNames;
 
+    private final TiledLayerCache layerCache;
+
     private int[] layerIndices; // resolved once from names
 
     public MapBackgroundRenderSystem(OrthogonalTiledMapRenderer renderer,
-                                     OrthographicCamera camera,
+                                     RenderPasses renderPasses,
                                      String... layerNames) {
         this.renderer = renderer;
-        this.camera = camera;
+        this.renderPasses = renderPasses;
         this.layerNames = layerNames;
+        this.layerCache = new TiledLayerCache(renderer.getUnitScale());
     }
 
     @Override
     protected void initialize() {
         resolveLayerIndices();
+        layerCache.setLayers(renderer.getMap(), layerIndices);
     }
 
     public void setMap(TiledMap map) {
         renderer.setMap(map);
         resolveLayerIndices();
+        layerCache.setLayers(map, layerIndices);
     }
 
     private void resolveLayerIndices() {
@@ -49,6 +58,9 @@ public class MapBackgroundRenderSystem extends BaseSystem {
             if (idx == -1) {
                 Gdx.app.log("MapBackgroundRenderSystem",
                     "Layer not found: \"" + name + "\"");
+            } else if (TiledMapUtilities.isDepthSorted(layers.get(idx))) {
+                // Left to the depth sorting in CharacterRenderSystem
+                continue;
             } else {
                 indices.add(idx);
             }
@@ -69,8 +81,17 @@ public class MapBackgroundRenderSystem extends BaseSystem {
             return;
         }
 
-        camera.update();
-        renderer.setView(camera);
-        renderer.render(layerIndices);
+        renderPasses.begin(RenderPasses.Pass.BACKGROUND);
+        OrthographicCamera camera = renderPasses.getCamera();
+        if (!layerCache.render(camera)) {
+            renderer.setView(camera);
+            renderer.render(layerIndices);
+            renderPasses.countExternalBatch();
+        }
+    }
+
+    @Override
+    protected void dispose() {
+        layerCache.dispose();
     }
 }
@@ -7,35 +7,44 @@ import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.utils.IntArray;
+import com.pimpedpixel.games.systems.RenderPasses;
+import com.pimpedpixel.games.systems.RenderSystem;
 
 /**
  * Renders one or more foreground layers of a Tiled map, in front of characters.
  * Layers are specified by name instead of indices.
+ *
+ * The layers are drawn from a {@link TiledLayerCache}, baked again when the map changes.
  */
-public class MapForegroundRenderSystem extends BaseSystem {
+public class MapForegroundRenderSystem extends BaseSystem implements RenderSystem {
 
     private final OrthogonalTiledMapRenderer renderer;
-    private final OrthographicCamera camera;
+    private final RenderPasses renderPasses;
     private final String[] layerNames;
 
+    private final TiledLayerCache layerCache;
+
     private int[] layerIndices; // resolved once from names
 
     public MapForegroundRenderSystem(OrthogonalTiledMapRenderer renderer,
-                                     OrthographicCamera camera,
+                                     RenderPasses renderPasses,
                                      String... layerNames) {
         this.renderer = renderer;
-        this.camera = camera;
+        this.renderPasses = renderPasses;
         this.layerNames = layerNames;
+        this.layerCache = new TiledLayerCache(renderer.getUnitScale());
     }
 
     @Override
     protected void initialize() {
         resolveLayerIndices();
+        layerCache.setLayers(renderer.getMap(), layerIndices);
     }
 
     public void setMap(TiledMap map) {
         renderer.setMap(map);
         resolveLayerIndices();
+        layerCache.setLayers(map, layerIndices);
     }
 
     private void resolveLayerIndices() {
@@ -49,6 +58,9 @@ public class MapForegroundRenderSystem extends BaseSystem {
             if (idx == -1) {
                 Gdx.app.log("MapForegroundRenderSystem",
                     "Layer not found: \"" + name + "\"");
+            } else if (TiledMapUtilities.isDepthSorted(layers.get(idx))) {
+                // CharacterRenderSystem draws it, sorted in between the characters
+                continue;
             } else {
                 indices.add(idx);
             }
@@ -69,8 +81,17 @@ public class MapForegroundRenderSystem extends BaseSystem {
             return;
         }
 
-        camera.update();
-        renderer.setView(camera);
-        renderer.render(layerIndices);
+        renderPasses.begin(RenderPasses.Pass.FOREGROUND);
+        OrthographicCamera camera = renderPasses.getCamera();
+        if (!layerCache.render(camera)) {
+            renderer.setView(camera);
+            renderer.render(layerIndices);
+            renderPasses.countExternalBatch();
+        }
+    }
+
+    @Override
+    protected void dispose() {
+        layerCache.dispose();
     }
 }
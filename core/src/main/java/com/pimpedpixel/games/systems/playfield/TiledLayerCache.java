@@ -0,0 +1,260 @@
+package com.pimpedpixel.games.systems.playfield;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Keeps the tiles of a few static map layers in a {@link SpriteCache}, so drawing them is a
+ * couple of draw calls on vertices that already live on the GPU instead of re-submitting every
+ * tile quad each frame like {@code OrthogonalTiledMapRenderer} does.
+ *
+ * The layers are baked into one cache in their drawing order, again after a map switch or a
+ * visibility change. Baking happens lazily on the next render. The cells of these layers are
+ * never changed at runtime; scenario overlays only touch the collision layer, which is not drawn.
+ *
+ * Tile offsets, flips, rotation, layer offsets and opacity are honoured. Animated tiles are not,
+ * they would be frozen on their first frame.
+ */
+public class TiledLayerCache implements Disposable {
+
+    // Largest SpriteCache that can use indices
+    private static final int MAX_TILES = 8191;
+
+    private final float unitScale;
+    private final float[] vertices = new float[20];
+
+    private SpriteCache cache;
+    private int capacity;
+
+    private TiledMap map;
+    private int[] layerIndices = new int[0];
+    private int cacheId;
+    private int tileCount;
+    private boolean dirty = true;
+    private boolean tooLarge;
+    private int visibleMask;
+
+    public TiledLayerCache(float unitScale) {
+        this.unitScale = unitScale;
+    }
+
+    /**
+     * Cache these layers of the map from now on, in this order.
+     */
+    public void setLayers(TiledMap map, int[] layerIndices) {
+        this.map = map;
+        this.layerIndices = layerIndices != null ? layerIndices : new int[0];
+        tooLarge = false;
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        dirty = true;
+    }
+
+    /**
+     * Draw the cached layers, baking them first if needed. Must not be called between a
+     * SpriteBatch's begin and end.
+     *
+     * @return false if the layers do not fit in a SpriteCache and have to be drawn another way
+     */
+    public boolean render(OrthographicCamera camera) {
+        if (map == null || layerIndices.length == 0) {
+            return true;
+        }
+        if (dirty || visibilityMask() != visibleMask) {
+            bake();
+        }
+        if (tooLarge) {
+            return false;
+        }
+        if (tileCount == 0) {
+            return true;
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(camera.combined);
+        cache.begin();
+        cache.draw(cacheId);
+        cache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        return true;
+    }
+
+    @Override
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+            cache = null;
+        }
+    }
+
+    private void bake() {
+        dirty = false;
+        visibleMask = visibilityMask();
+
+        int total = countTiles();
+        tooLarge = total > MAX_TILES;
+        if (tooLarge) {
+            Gdx.app.error("TiledLayerCache", total + " tiles do not fit in a SpriteCache, not caching");
+            return;
+        }
+
+        if (cache == null || total > capacity) {
+            dispose();
+            capacity = Math.max(total, 64);
+            cache = new SpriteCache(capacity, true);
+        } else {
+            cache.clear();
+        }
+        cache.beginCache();
+        tileCount = addTiles();
+        cacheId = cache.endCache();
+        Gdx.app.log("TiledLayerCache", "Baked " + tileCount + " tiles");
+    }
+
+    private int countTiles() {
+        int count = 0;
+        for (int index : layerIndices) {
+            TiledMapTileLayer layer = tileLayer(index);
+            if (layer == null || !layer.isVisible()) {
+                continue;
+            }
+            for (int row = 0; row < layer.getHeight(); row++) {
+                for (int column = 0; column < layer.getWidth(); column++) {
+                    if (regionAt(layer, column, row) != null) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Add the tiles of all cached layers to the cache that is being defined.
+     *
+     * @return number of tiles added
+     */
+    private int addTiles() {
+        int count = 0;
+        for (int index : layerIndices) {
+            TiledMapTileLayer layer = tileLayer(index);
+            if (layer == null || !layer.isVisible()) {
+                continue;
+            }
+            float color = Color.toFloatBits(1f, 1f, 1f, layer.getOpacity());
+            float tileWidth = layer.getTileWidth() * unitScale;
+            float tileHeight = layer.getTileHeight() * unitScale;
+            float offsetX = layer.getRenderOffsetX() * unitScale;
+            float offsetY = -layer.getRenderOffsetY() * unitScale;
+
+            for (int row = 0; row < layer.getHeight(); row++) {
+                for (int column = 0; column < layer.getWidth(); column++) {
+                    TextureRegion region = regionAt(layer, column, row);
+                    if (region == null) {
+                        continue;
+                    }
+                    TiledMapTileLayer.Cell cell = layer.getCell(column, row);
+                    TiledMapTile tile = cell.getTile();
+                    tileVertices(cell, region,
+                        column * tileWidth + tile.getOffsetX() * unitScale + offsetX,
+                        row * tileHeight + tile.getOffsetY() * unitScale + offsetY,
+                        color);
+                    cache.add(region.getTexture(), vertices, 0, vertices.length);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * One tile quad, laid out and flipped the way OrthogonalTiledMapRenderer does it.
+     */
+    private void tileVertices(TiledMapTileLayer.Cell cell, TextureRegion region, float x1, float y1, float color) {
+        float x2 = x1 + region.getRegionWidth() * unitScale;
+        float y2 = y1 + region.getRegionHeight() * unitScale;
+        float u1 = region.getU();
+        float v1 = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+
+        // Corners: bottom left, top left, top right, bottom right; each x, y, color, u, v
+        float[] u = {u1, u1, u2, u2};
+        float[] v = {v1, v2, v2, v1};
+        if (cell.getFlipHorizontally()) {
+            swap(u, 0, 2);
+            swap(u, 1, 3);
+        }
+        if (cell.getFlipVertically()) {
+            swap(v, 0, 2);
+            swap(v, 1, 3);
+        }
+        // Each quarter turn moves the texture coordinates one corner on
+        for (int turn = 0; turn < cell.getRotation(); turn++) {
+            rotate(u);
+            rotate(v);
+        }
+
+        float[] x = {x1, x1, x2, x2};
+        float[] y = {y1, y2, y2, y1};
+        for (int corner = 0; corner < 4; corner++) {
+            int i = corner * 5;
+            vertices[i] = x[corner];
+            vertices[i + 1] = y[corner];
+            vertices[i + 2] = color;
+            vertices[i + 3] = u[corner];
+            vertices[i + 4] = v[corner];
+        }
+    }
+
+    private static void swap(float[] values, int a, int b) {
+        float value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+
+    private static void rotate(float[] values) {
+        float first = values[0];
+        values[0] = values[1];
+        values[1] = values[2];
+        values[2] = values[3];
+        values[3] = first;
+    }
+
+    private TextureRegion regionAt(TiledMapTileLayer layer, int column, int row) {
+        TiledMapTileLayer.Cell cell = layer.getCell(column, row);
+        TiledMapTile tile = cell != null ? cell.getTile() : null;
+        return tile != null ? tile.getTextureRegion() : null;
+    }
+
+    private TiledMapTileLayer tileLayer(int index) {
+        if (map == null || index < 0 || index >= map.getLayers().getCount()) {
+            return null;
+        }
+        MapLayer layer = map.getLayers().get(index);
+        return layer instanceof TiledMapTileLayer ? (TiledMapTileLayer) layer : null;
+    }
+
+    private int visibilityMask() {
+        int mask = 0;
+        for (int i = 0; i < layerIndices.length && i < 32; i++) {
+            TiledMapTileLayer layer = tileLayer(layerIndices[i]);
+            if (layer != null && layer.isVisible()) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+}
@@ -1,9 +1,35 @@
 package com.pimpedpixel.games.systems.playfield;
 
+import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 
 public class TiledMapUtilities {
+    /**
+     * Layer property (map pixels) that makes a tile layer draw between the characters, sorted
+     * by depth, instead of in the background or foreground pass.
+     */
+    public static final String SORT_Y_PROPERTY = "sortY";
+
+    public static boolean isDepthSorted(MapLayer layer) {
+        return layer != null && layer.getProperties().containsKey(SORT_Y_PROPERTY);
+    }
+
+    /**
+     * A layer's sortY in map pixels, whether Tiled typed the property as int, float or string.
+     */
+    public static float sortYOf(MapLayer layer) {
+        Object value = layer.getProperties().get(SORT_Y_PROPERTY);
+        if (value instanceof Number) {
+            return ((Number) value).floatValue();
+        }
+        try {
+            return Float.parseFloat(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return 0f;
+        }
+    }
+
     public static int findLowestTileY(TiledMapTileLayer layer) {
         int lowestY = Integer.MAX_VALUE;
 
@@ -0,0 +1,406 @@
+package com.pimpedpixel.games.tools;
+
+import com.artemis.ComponentMapper;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.pimpedpixel.games.gameplay.CollisionLayer;
+import com.pimpedpixel.games.gameplay.CollisionType;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.simulation.SimulationWorld;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+import com.pimpedpixel.games.systems.characters.HarryState;
+import com.pimpedpixel.games.systems.characters.PhysicsComponent;
+import com.pimpedpixel.games.systems.characters.TransformComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * N independent headless worlds stepped together, for training agents on the scenarios.
+ *
+ * <pre>
+ * BatchedEnvironment env = new BatchedEnvironment(levelContainer, levelIndex -&gt; loadMap(levelIndex), 64, 8);
+ * env.reset();
+ * while (training) {
+ *     env.step(actions);              // one CharacterInput bitmask per world
+ *     float[] obs = env.getObservations();
+ *     ...
+ * }
+ * env.dispose();
+ * </pre>
+ *
+ * Every world owns its map, jbump world, {@link com.pimpedpixel.games.GameContext} and random
+ * seed, and the worlds are split into contiguous shards with one shard per pool thread, so no
+ * mutable state is shared between threads. The results land in primitive arrays indexed by world:
+ * <ul>
+ *   <li>observations: {@link #OBSERVATION_SIZE} floats per world, see the {@code OBS_} offsets;
+ *       zebra slots past the world's zebra count are zero</li>
+ *   <li>ground masks: bit x set when column x of the scenario's ground row is solid</li>
+ *   <li>rewards: +1 for reaching the reward, -1 for dying (including the timer running out)</li>
+ *   <li>dones: the episode ended; that world starts over at the start of the next step, so the
+ *       terminal observation can still be read</li>
+ * </ul>
+ *
+ * A world that starts over on the scenario it was built for is restarted in place
+ * ({@link SimulationWorld#restart(long)}); only a world whose scenario was changed with
+ * {@link #setScenario} gets a new map and is built again.
+ *
+ * Desktop JVM only (threads); excluded from the GWT module.
+ */
+public class BatchedEnvironment {
+
+    public static final int MAX_ZEBRAS = 2;
+
+    public static final int OBS_HARRY_X = 0;
+    public static final int OBS_HARRY_Y = 1;
+    public static final int OBS_HARRY_VX = 2;
+    public static final int OBS_HARRY_VY = 3;
+    public static final int OBS_HARRY_ON_GROUND = 4;
+    public static final int OBS_ZEBRAS = 5;
+    public static final int OBSERVATION_SIZE = OBS_ZEBRAS + MAX_ZEBRAS * 2;
+
+    public static final float REWARD_FOUND = 1f;
+    public static final float REWARD_DIED = -1f;
+
+    /**
+     * Creates the map of a level. Has to return a new instance on every call, since the scenario
+     * is applied to the map in place and each world keeps its own. Only called from the thread
+     * calling {@link #reset()} or {@link #step(int[])}, never from the pool, so it need not be
+     * thread safe.
+     */
+    public interface MapFactory {
+        TiledMap createMap(int levelIndex);
+    }
+
+    private final LevelLoader.LevelContainer levelContainer;
+    private final MapFactory mapFactory;
+    private final int size;
+
+    private final SimulationWorld[] worlds;
+    // Maps of the worlds built again in the running step, created before the shards start
+    private final TiledMap[] pendingMaps;
+    private final ActionInput[] inputs;
+    private final int[] levelIndices;
+    private final int[] scenarioIndices;
+    private final int[] episodes;
+    private final long[] episodeTicks;
+
+    private final float[] observations;
+    private final int[] groundMasks;
+    private final float[] rewards;
+    private final boolean[] dones;
+
+    private final ExecutorService executor;
+    private final List<Shard> shards = new ArrayList<>();
+
+    private int ticksPerStep = 1;
+    private float tickLength = SimulationWorld.DEFAULT_TICK;
+    private long maxEpisodeTicks = 0L;
+    private long seed = 0L;
+
+    public BatchedEnvironment(LevelLoader.LevelContainer levelContainer, MapFactory mapFactory, int size, int threads) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Need at least one world, got " + size);
+        }
+        this.levelContainer = levelContainer;
+        this.mapFactory = mapFactory;
+        this.size = size;
+
+        worlds = new SimulationWorld[size];
+        pendingMaps = new TiledMap[size];
+        inputs = new ActionInput[size];
+        levelIndices = new int[size];
+        scenarioIndices = new int[size];
+        episodes = new int[size];
+        episodeTicks = new long[size];
+        observations = new float[size * OBSERVATION_SIZE];
+        groundMasks = new int[size];
+        rewards = new float[size];
+        dones = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            inputs[i] = new ActionInput();
+        }
+
+        int shardCount = Math.max(1, Math.min(threads, size));
+        for (int s = 0; s < shardCount; s++) {
+            shards.add(new Shard(s * size / shardCount, (s + 1) * size / shardCount));
+        }
+        executor = shardCount > 1 ? Executors.newFixedThreadPool(shardCount) : null;
+    }
+
+    /**
+     * How many ticks each action is held for. Rewards of the ticks are summed.
+     */
+    public void setTicksPerStep(int ticksPerStep) {
+        this.ticksPerStep = Math.max(1, ticksPerStep);
+    }
+
+    public void setTickLength(float tickLength) {
+        this.tickLength = tickLength;
+    }
+
+    /**
+     * End episodes after this many ticks with no reward; 0 leaves it to the scenario timer.
+     */
+    public void setMaxEpisodeTicks(long maxEpisodeTicks) {
+        this.maxEpisodeTicks = maxEpisodeTicks;
+    }
+
+    /**
+     * Base seed; world i's episode n is seeded from it, i and n, so a run can be repeated.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Scenario world {@code index} plays from its next reset on. Every world starts on the first
+     * scenario of the first level.
+     */
+    public void setScenario(int index, int levelIndex, int scenarioIndex) {
+        levelIndices[index] = levelIndex;
+        scenarioIndices[index] = scenarioIndex;
+    }
+
+    /**
+     * Start every world over and fill in the first observations.
+     */
+    public void reset() {
+        runShards(null);
+    }
+
+    /**
+     * Hold each world's buttons ({@link CharacterInput#LEFT}, {@link CharacterInput#RIGHT},
+     * {@link CharacterInput#JUMP}) for {@link #setTicksPerStep(int)} ticks. Worlds whose episode
+     * ended in the previous step start over first and do not move this step.
+     */
+    public void step(int[] actions) {
+        if (actions.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " actions, got " + actions.length);
+        }
+        runShards(actions);
+    }
+
+    private void runShards(int[] actions) {
+        for (int i = 0; i < size; i++) {
+            if ((actions == null || dones[i] || worlds[i] == null) && needsNewWorld(i)) {
+                pendingMaps[i] = mapFactory.createMap(levelIndices[i]);
+            }
+        }
+        for (Shard shard : shards) {
+            shard.actions = actions;
+        }
+        if (executor == null) {
+            shards.get(0).call();
+            return;
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(shards)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stepping", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Stepping a world failed", e.getCause());
+        }
+    }
+
+    private void stepWorld(int index, int[] actions) {
+        if (dones[index] || worlds[index] == null) {
+            resetWorld(index);
+            observe(index);
+            return;
+        }
+
+        SimulationWorld world = worlds[index];
+        ActionInput input = inputs[index];
+        float reward = 0f;
+        boolean done = false;
+        for (int t = 0; t < ticksPerStep && !done; t++) {
+            // Jump is an edge, so it only counts on the first tick the action is held
+            input.buttons = t == 0 ? actions[index] : actions[index] & ~CharacterInput.JUMP;
+            world.step(tickLength);
+            episodeTicks[index]++;
+
+            HarryState state = world.getHarryState().state;
+            if (world.getContext().getScenarioState().isTreasureFoundThisScenario()) {
+                reward += REWARD_FOUND;
+                done = true;
+            } else if (state == HarryState.DYING || state == HarryState.DIED) {
+                reward += REWARD_DIED;
+                done = true;
+            } else if (maxEpisodeTicks > 0 && episodeTicks[index] >= maxEpisodeTicks) {
+                done = true;
+            }
+        }
+        rewards[index] = reward;
+        dones[index] = done;
+        observe(index);
+    }
+
+    private boolean needsNewWorld(int index) {
+        SimulationWorld world = worlds[index];
+        return world == null
+            || world.getLevelIndex() != levelIndices[index]
+            || world.getScenarioIndex() != scenarioIndices[index];
+    }
+
+    private void resetWorld(int index) {
+        int levelIndex = levelIndices[index];
+        int scenarioIndex = scenarioIndices[index];
+        long episodeSeed = seed + index * 0x9E3779B97F4A7C15L + episodes[index];
+        inputs[index].buttons = 0;
+        if (needsNewWorld(index)) {
+            if (worlds[index] != null) {
+                worlds[index].dispose();
+            }
+            TiledMap map = pendingMaps[index];
+            pendingMaps[index] = null;
+            worlds[index] = new SimulationWorld.Builder(levelContainer)
+                .map(map)
+                .level(levelIndex)
+                .scenario(scenarioIndex)
+                .seed(episodeSeed)
+                .input(inputs[index])
+                .build();
+        } else {
+            worlds[index].restart(episodeSeed);
+        }
+        episodes[index]++;
+        episodeTicks[index] = 0L;
+        rewards[index] = 0f;
+        dones[index] = false;
+
+        Scenario scenario = levelContainer.getLevels()[levelIndex].getScenarios().get(scenarioIndex);
+        groundMasks[index] = solidMask(scenario.getGroundLayer());
+    }
+
+    private void observe(int index) {
+        SimulationWorld world = worlds[index];
+        TransformComponent transform = world.getHarryTransform();
+        PhysicsComponent physics = world.getHarryPhysics();
+        int base = index * OBSERVATION_SIZE;
+        observations[base + OBS_HARRY_X] = transform.x;
+        observations[base + OBS_HARRY_Y] = transform.y;
+        observations[base + OBS_HARRY_VX] = physics.vx;
+        observations[base + OBS_HARRY_VY] = physics.vy;
+        observations[base + OBS_HARRY_ON_GROUND] = physics.onGround ? 1f : 0f;
+
+        ComponentMapper<TransformComponent> mTransform = world.getArtemisWorld().getMapper(TransformComponent.class);
+        IntArray zebras = world.getZebraEntityIds();
+        for (int z = 0; z < MAX_ZEBRAS; z++) {
+            int offset = base + OBS_ZEBRAS + z * 2;
+            TransformComponent zebra = z < zebras.size ? mTransform.get(zebras.get(z)) : null;
+            observations[offset] = zebra != null ? zebra.x : 0f;
+            observations[offset + 1] = zebra != null ? zebra.y : 0f;
+        }
+    }
+
+    static int solidMask(CollisionLayer layer) {
+        if (layer == null || layer.getCellStates() == null) {
+            return 0;
+        }
+        List<Integer> cells = layer.getCellStates();
+        int mask = 0;
+        for (int x = 0; x < cells.size() && x < Integer.SIZE; x++) {
+            Integer state = cells.get(x);
+            if (state != null && state == CollisionType.SOLID.getValue()) {
+                mask |= 1 << x;
+            }
+        }
+        return mask;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@link #OBSERVATION_SIZE} floats per world; reused between steps.
+     */
+    public float[] getObservations() {
+        return observations;
+    }
+
+    public int[] getGroundMasks() {
+        return groundMasks;
+    }
+
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    public int getEpisode(int index) {
+        return episodes[index];
+    }
+
+    /**
+     * The world behind index {@code index}, e.g. to look at it in a test. Not safe to touch
+     * while a step is running.
+     */
+    public SimulationWorld getWorld(int index) {
+        return worlds[index];
+    }
+
+    public void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < size; i++) {
+            if (worlds[i] != null) {
+                worlds[i].dispose();
+                worlds[i] = null;
+            }
+        }
+    }
+
+    /**
+     * A contiguous range of worlds, only ever stepped by one thread at a time.
+     */
+    private class Shard implements Callable<Void> {
+        private final int from;
+        private final int to;
+        private int[] actions;
+
+        Shard(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Void call() {
+            for (int i = from; i < to; i++) {
+                if (actions == null) {
+                    resetWorld(i);
+                    observe(i);
+                } else {
+                    stepWorld(i, actions);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Holds the buttons of the current step for one world.
+     */
+    private static class ActionInput implements CharacterInput {
+        int buttons;
+
+        @Override
+        public int sample() {
+            return buttons;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.pimpedpixel.games.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Json;
+import com.pimpedpixel.games.config.CharacterConfig;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.simulation.HeadlessTmxMapLoader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the {@link ScenarioSolver} over every scenario in gameplay/levelInfo.json, one scenario
+ * per core, and prints whether each one can be won in time.
+ *
+ * Usage: {@code gradlew core:checkLevels} or
+ * {@code LevelPackChecker [assetsDir] [ticksPerStep] [beamWidth]}.
+ * Exits with status 1 when a scenario is not solvable, so it can guard a build.
+ *
+ * Desktop JVM only (threads, java.io); excluded from the GWT module.
+ */
+public class LevelPackChecker {
+
+    private final File assetsDir;
+    private final LevelLoader.LevelContainer levelContainer;
+    private final CharacterConfig characters = new CharacterConfig();
+    private int ticksPerStep = ScenarioSolver.DEFAULT_TICKS_PER_STEP;
+    private int beamWidth = ScenarioSolver.DEFAULT_BEAM_WIDTH;
+
+    public LevelPackChecker(File assetsDir) {
+        this.assetsDir = assetsDir;
+        FileHandle levelInfo = new FileHandle(new File(assetsDir, "gameplay/levelInfo.json"));
+        this.levelContainer = new Json().fromJson(LevelLoader.LevelContainer.class, levelInfo);
+        File charactersFile = new File(assetsDir, "characters/characters.json");
+        if (charactersFile.exists()) {
+            characters.setCharacters(new Json().fromJson(CharacterConfig.CharacterData[].class, new FileHandle(charactersFile)));
+        }
+    }
+
+    public void setTicksPerStep(int ticksPerStep) {
+        this.ticksPerStep = ticksPerStep;
+    }
+
+    public void setBeamWidth(int beamWidth) {
+        this.beamWidth = beamWidth;
+    }
+
+    /**
+     * Solve every scenario of every level on the given number of threads.
+     *
+     * @return results in level and scenario order
+     */
+    public List<ScenarioSolver.Result> checkAll(int threads) throws InterruptedException {
+        List<Callable<ScenarioSolver.Result>> tasks = new ArrayList<>();
+        Level[] levels = levelContainer.getLevels();
+        for (int levelIndex = 0; levelIndex < levels.length; levelIndex++) {
+            for (int scenarioIndex = 0; scenarioIndex < levels[levelIndex].getScenarios().size(); scenarioIndex++) {
+                final int level = levelIndex;
+                final int scenario = scenarioIndex;
+                tasks.add(() -> solve(level, scenario));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<ScenarioSolver.Result> results = new ArrayList<>();
+            for (Future<ScenarioSolver.Result> future : executor.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Solving a scenario failed", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Each task loads its own copy of the map, since applying a scenario changes it.
+     */
+    private ScenarioSolver.Result solve(int levelIndex, int scenarioIndex) {
+        int levelNumber = levelContainer.getLevels()[levelIndex].getLevelNumber();
+        File tmx = new File(assetsDir, "rooms/tiles/bridgefall_" + levelNumber + ".tmx");
+        TiledMap map = new HeadlessTmxMapLoader().load(new FileHandle(tmx));
+
+        ScenarioSolver solver = new ScenarioSolver(levelContainer, characters);
+        solver.setTicksPerStep(ticksPerStep);
+        solver.setBeamWidth(beamWidth);
+        return solver.solve(map, levelIndex, scenarioIndex);
+    }
+
+    static String describe(ScenarioSolver.Result result) {
+        StringBuilder line = new StringBuilder();
+        line.append("Level ").append(result.getLevelNumber())
+            .append(" scenario ").append(result.getScenarioIndex())
+            .append(" \"").append(result.getTitle()).append("\": ");
+        if (result.getProblem() != null) {
+            line.append("NOT CHECKED (").append(result.getProblem()).append(')');
+        } else if (result.isSolvable()) {
+            line.append("solvable in ").append(seconds(result.getSeconds()))
+                .append(" s of ").append(seconds(result.getAvailableSeconds())).append(" s");
+        } else if (result.isReachable()) {
+            line.append("TOO SLOW, best ").append(seconds(result.getSeconds()))
+                .append(" s but only ").append(seconds(result.getAvailableSeconds())).append(" s available");
+        } else {
+            line.append("UNSOLVABLE, reward not reached");
+        }
+        line.append("  [").append(result.getStatesExplored()).append(" states, ")
+            .append(result.getElapsedMillis()).append(" ms]");
+        if (result.getInputs() != null) {
+            line.append("\n    input: ").append(result.getInputs().encode());
+        }
+        return line.toString();
+    }
+
+    private static float seconds(float value) {
+        return Math.round(value * 100f) / 100f;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        File assetsDir = new File(args.length > 0 ? args[0] : "assets");
+        LevelPackChecker checker = new LevelPackChecker(assetsDir);
+        if (args.length > 1) {
+            checker.setTicksPerStep(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            checker.setBeamWidth(Integer.parseInt(args[2]));
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        long started = System.currentTimeMillis();
+        List<ScenarioSolver.Result> results = checker.checkAll(threads);
+
+        int failures = 0;
+        for (ScenarioSolver.Result result : results) {
+            System.out.println(describe(result));
+            if (!result.isSolvable()) {
+                failures++;
+            }
+        }
+        System.out.println(results.size() + " scenarios checked on " + threads + " threads in "
+            + (System.currentTimeMillis() - started) + " ms, " + failures + " not solvable");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
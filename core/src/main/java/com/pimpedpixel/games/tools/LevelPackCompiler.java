@@ -0,0 +1,259 @@
+package com.pimpedpixel.games.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.XmlReader;
+import com.pimpedpixel.games.assets.LevelPack;
+import com.pimpedpixel.games.assets.LevelPackLoader;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+import com.pimpedpixel.games.simulation.HeadlessTmxMapLoader;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+import com.pimpedpixel.games.systems.characters.JbumpMapInitializationSystem;
+import com.pimpedpixel.games.systems.gameplay.RewardCollisionSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Compiles every level in gameplay/levelInfo.json into a {@link LevelPack} under rooms/packs/,
+ * and writes the manifest with the source hash of every pack.
+ *
+ * Usage: {@code gradlew core:compileLevels} or {@code LevelPackCompiler [assetsDir]}; the desktop
+ * and html builds run it before they copy the assets. A pack is only written again when its TMX,
+ * levelInfo.json or the pack format changed, which the manifest tells.
+ *
+ * Desktop JVM only (java.io, java.nio); excluded from the GWT module.
+ */
+public class LevelPackCompiler {
+
+    private static final String LEVEL_INFO = "gameplay/levelInfo.json";
+
+    private final File assetsDir;
+    private final LevelLoader.LevelContainer levelContainer;
+    private final byte[] levelInfoBytes;
+
+    public LevelPackCompiler(File assetsDir) throws IOException {
+        this.assetsDir = assetsDir;
+        this.levelInfoBytes = Files.readAllBytes(new File(assetsDir, LEVEL_INFO).toPath());
+        this.levelContainer = new Json().fromJson(LevelLoader.LevelContainer.class, new String(levelInfoBytes, "UTF-8"));
+    }
+
+    /**
+     * Write the packs that are missing or out of date, and the manifest.
+     *
+     * @return number of packs written
+     */
+    public int compileAll() throws IOException {
+        File packDir = new File(assetsDir, LevelPackLoader.PACK_DIRECTORY);
+        if (!packDir.isDirectory() && !packDir.mkdirs()) {
+            throw new IOException("Cannot create " + packDir);
+        }
+        File manifestFile = new File(assetsDir, LevelPackLoader.MANIFEST);
+        ObjectMap<String, Long> compiled = new LevelPackLoader().readManifest(new FileHandle(manifestFile));
+        OrderedMap<String, Long> manifest = new OrderedMap<>();
+
+        int written = 0;
+        for (Level level : levelContainer.getLevels()) {
+            String mapName = "bridgefall_" + level.getLevelNumber();
+            File tmx = new File(assetsDir, "rooms/tiles/" + mapName + ".tmx");
+            File packFile = new File(assetsDir, LevelPackLoader.packPath(mapName));
+            long hash = LevelPack.sourceHash(Files.readAllBytes(tmx.toPath()), levelInfoBytes);
+            manifest.put(mapName, hash);
+
+            Long compiledHash = compiled.get(mapName);
+            if (compiledHash != null && compiledHash == hash && packFile.isFile()) {
+                System.out.println(mapName + ": up to date");
+                continue;
+            }
+
+            LevelPack pack = compile(level, new HeadlessTmxMapLoader().load(new FileHandle(tmx)),
+                readTileSets(tmx), hash);
+            byte[] bytes = pack.toBytes();
+            Files.write(packFile.toPath(), bytes);
+            written++;
+            System.out.println(mapName + ": " + pack.getLayers().size + " layers, " + pack.getScenarioCount()
+                + " scenarios, " + bytes.length + " bytes");
+        }
+        writeManifest(manifestFile, manifest);
+        return written;
+    }
+
+    /**
+     * Compile one level from its parsed map. The layers are taken as loaded, then every scenario
+     * is applied to the map's ground layer, which is left with the last one applied.
+     */
+    static LevelPack compile(Level level, TiledMap map, Array<LevelPack.TileSet> tileSets, long sourceHash) {
+        if (!(map.getLayers().get(ScenarioOverlay.GROUND_LAYER) instanceof TiledMapTileLayer)) {
+            throw new IllegalArgumentException("Level " + level.getLevelNumber() + " has no ground layer");
+        }
+        TiledMapTileLayer ground = (TiledMapTileLayer) map.getLayers().get(ScenarioOverlay.GROUND_LAYER);
+
+        Array<LevelPack.Layer> layers = new Array<>();
+        for (MapLayer layer : map.getLayers()) {
+            layers.add(layer instanceof TiledMapTileLayer ? tileLayer((TiledMapTileLayer) layer) : objectLayer(layer));
+        }
+
+        // A level without scenarios still gets its plain ground, as scenario 0
+        List<Scenario> scenarios = new ArrayList<>(level.getScenarios());
+        if (scenarios.isEmpty()) {
+            scenarios.add(null);
+        }
+        ScenarioOverlay overlay = new ScenarioOverlay(ground);
+        int[][] diffs = new int[scenarios.size()][];
+        int[][] colliders = new int[scenarios.size()][];
+        for (int i = 0; i < scenarios.size(); i++) {
+            overlay.apply(scenarios.get(i));
+
+            IntArray diff = new IntArray();
+            for (int y = 0; y < ground.getHeight(); y++) {
+                for (int x = 0; x < ground.getWidth(); x++) {
+                    TiledMapTileLayer.Cell cell = ground.getCell(x, y);
+                    if (cell != overlay.getPristineCell(x, y)) {
+                        diff.add(x + y * ground.getWidth(), LevelPack.gidOf(cell));
+                    }
+                }
+            }
+            diffs[i] = diff.toArray();
+
+            List<ColliderData> merged = JbumpMapInitializationSystem.buildColliders(ground, true);
+            int[] rects = new int[merged.size() * 4];
+            for (int c = 0; c < merged.size(); c++) {
+                ColliderData data = merged.get(c);
+                rects[c * 4] = data.column;
+                rects[c * 4 + 1] = data.row;
+                rects[c * 4 + 2] = data.columns;
+                rects[c * 4 + 3] = data.rows;
+            }
+            colliders[i] = rects;
+        }
+
+        return new LevelPack(sourceHash, level.getLevelNumber(), ground.getWidth(), ground.getHeight(),
+            (int) ground.getTileWidth(), (int) ground.getTileHeight(), properties(map.getProperties()),
+            tileSets, layers, diffs, colliders);
+    }
+
+    private static LevelPack.Layer tileLayer(TiledMapTileLayer layer) {
+        int[] cells = new int[layer.getWidth() * layer.getHeight()];
+        for (int y = 0; y < layer.getHeight(); y++) {
+            for (int x = 0; x < layer.getWidth(); x++) {
+                cells[x + y * layer.getWidth()] = LevelPack.gidOf(layer.getCell(x, y));
+            }
+        }
+        return LevelPack.Layer.tiles(layer.getName(), layer.isVisible(), layer.getOpacity(),
+            properties(layer.getProperties()), layer.getWidth(), layer.getHeight(), cells);
+    }
+
+    /**
+     * An object layer as named bounds; a reward's bounds are its pickup box at asset scale 1.
+     */
+    private static LevelPack.Layer objectLayer(MapLayer layer) {
+        int count = layer.getObjects().getCount();
+        String[] names = new String[count];
+        float[] bounds = new float[count * 4];
+        Rectangle box = new Rectangle();
+        for (int i = 0; i < count; i++) {
+            MapObject object = layer.getObjects().get(i);
+            names[i] = object.getName();
+            MapProperties properties = object.getProperties();
+            if (LevelPack.REWARD_OBJECT.equals(object.getName())) {
+                RewardCollisionSystem.rewardBounds(object, 1f, box);
+            } else {
+                box.set(properties.get("x", 0f, Float.class), properties.get("y", 0f, Float.class),
+                    properties.get("width", 0f, Float.class), properties.get("height", 0f, Float.class));
+            }
+            bounds[i * 4] = box.x;
+            bounds[i * 4 + 1] = box.y;
+            bounds[i * 4 + 2] = box.width;
+            bounds[i * 4 + 3] = box.height;
+        }
+        return LevelPack.Layer.objects(layer.getName(), layer.isVisible(), layer.getOpacity(),
+            properties(layer.getProperties()), names, bounds);
+    }
+
+    private static ObjectMap<String, Object> properties(MapProperties properties) {
+        ObjectMap<String, Object> copy = new ObjectMap<>();
+        Iterator<String> keys = properties.getKeys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            copy.put(key, properties.get(key));
+        }
+        return copy;
+    }
+
+    /**
+     * The tilesets of a TMX, inline or in a .tsx next to it, with image paths relative to the
+     * assets root.
+     */
+    Array<LevelPack.TileSet> readTileSets(File tmx) throws IOException {
+        XmlReader xml = new XmlReader();
+        Array<LevelPack.TileSet> tileSets = new Array<>();
+        for (XmlReader.Element element : xml.parse(new FileHandle(tmx)).getChildrenByName("tileset")) {
+            int firstGid = element.getIntAttribute("firstgid", 1);
+            File base = tmx.getParentFile();
+            String source = element.getAttribute("source", null);
+            if (source != null) {
+                File tsx = new File(base, source);
+                element = xml.parse(new FileHandle(tsx));
+                base = tsx.getParentFile();
+            }
+            XmlReader.Element image = element.getChildByName("image");
+            if (image == null) {
+                throw new IOException("Tileset " + element.getAttribute("name", "?") + " of " + tmx + " has no image");
+            }
+            int tileWidth = element.getIntAttribute("tilewidth", 0);
+            int tileHeight = element.getIntAttribute("tileheight", 0);
+            int margin = element.getIntAttribute("margin", 0);
+            int spacing = element.getIntAttribute("spacing", 0);
+            int columns = element.getIntAttribute("columns",
+                (image.getIntAttribute("width", 0) - 2 * margin + spacing) / (tileWidth + spacing));
+            tileSets.add(new LevelPack.TileSet(element.getAttribute("name", null), firstGid,
+                assetPath(new File(base, image.getAttribute("source"))), tileWidth, tileHeight, columns,
+                element.getIntAttribute("tilecount", 0), margin, spacing));
+        }
+        return tileSets;
+    }
+
+    private String assetPath(File file) {
+        return assetsDir.toPath().toAbsolutePath().normalize()
+            .relativize(file.toPath().toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Source hashes by map name as JSON; the hashes are strings, a double cannot hold them.
+     */
+    static void writeManifest(File file, OrderedMap<String, Long> hashes) throws IOException {
+        StringBuilder json = new StringBuilder("{\n");
+        for (ObjectMap.Entry<String, Long> entry : hashes) {
+            if (json.length() > 2) {
+                json.append(",\n");
+            }
+            json.append("  \"").append(entry.key).append("\": \"").append(entry.value).append('"');
+        }
+        json.append("\n}\n");
+        Files.write(file.toPath(), json.toString().getBytes("UTF-8"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        File assetsDir = new File(args.length > 0 ? args[0] : "assets");
+        long started = System.currentTimeMillis();
+        int written = new LevelPackCompiler(assetsDir).compileAll();
+        System.out.println(written + " level pack(s) written in " + (System.currentTimeMillis() - started) + " ms");
+    }
+}
@@ -0,0 +1,646 @@
+package com.pimpedpixel.games.tools;
+
+import com.artemis.BaseSystem;
+import com.artemis.ComponentMapper;
+import com.artemis.World;
+import com.artemis.WorldConfiguration;
+import com.artemis.WorldConfigurationBuilder;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.RandomXS128;
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.Rect;
+import com.pimpedpixel.games.GameContext;
+import com.pimpedpixel.games.config.CharacterConfig;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+import com.pimpedpixel.games.gameplay.ScenarioState;
+import com.pimpedpixel.games.simulation.InputRecording;
+import com.pimpedpixel.games.simulation.SilentSoundSystem;
+import com.pimpedpixel.games.systems.characters.*;
+import com.pimpedpixel.games.systems.gameplay.RandomSystem;
+import com.pimpedpixel.games.systems.gameplay.RewardCollisionSystem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Searches for the shortest input that takes Harry from a scenario's start position to the
+ * reward, using the real CharacterMovementSystem, the jbump colliders built from the map and
+ * the RewardCollisionSystem.
+ *
+ * The search is a breadth-first search over decisions taken every {@link #setTicksPerStep(int)}
+ * ticks (walk left/right, jump, or stand still). Harry's state is saved and restored between
+ * candidates instead of re-simulating from the start, states that round to the same position,
+ * vertical speed and flags are visited once, and each depth keeps at most
+ * {@link #setBeamWidth(int)} states (those closest to the reward). A death ends a branch.
+ * Because of the rounding and the beam the result is the shortest input found, which is
+ * not a proof that nothing shorter exists.
+ *
+ * The zebra patrols as it does in the game, from where the gameplay screen spawns it and with
+ * the patrol stream of {@link #setSeed(long)}. Its transform, tween, collider and random stream
+ * are saved and restored along with Harry's, so jumps boosted off its back are found. Another
+ * seed gives another patrol, so a scenario that needs the zebra is only checked for that seed.
+ *
+ * One solver owns one world; use one solver per thread.
+ */
+public class ScenarioSolver {
+
+    public static final int DEFAULT_TICKS_PER_STEP = 6;
+    public static final int DEFAULT_BEAM_WIDTH = 3000;
+    // The level start costs a second of the time limit (see HarryLevelStartSystem)
+    public static final float LEVEL_START_PENALTY = 1f;
+
+    private static final String GROUND_LAYER = "ground";
+    private static final String OBJECTS_LAYER = "objects";
+    private static final float POSITION_BUCKET = 4f;
+    private static final float VELOCITY_BUCKET = 30f;
+    private static final int[] ACTIONS = {
+        0,
+        CharacterInput.LEFT,
+        CharacterInput.RIGHT,
+        CharacterInput.JUMP,
+        CharacterInput.LEFT | CharacterInput.JUMP,
+        CharacterInput.RIGHT | CharacterInput.JUMP
+    };
+
+    // Where Bridge2FarGameplayScreen spawns the zebra
+    public static final float DEFAULT_ZEBRA_X = 400f;
+    public static final float DEFAULT_ZEBRA_Y = 120f;
+
+    // Colliders for characters missing from the character config, as in characters.json
+    private static final float DEFAULT_HARRY_OFFSET_X = 24f;
+    private static final float DEFAULT_HARRY_WIDTH = 30f;
+    private static final float DEFAULT_HARRY_HEIGHT = 64f;
+    private static final float DEFAULT_ZEBRA_OFFSET_X = 30f;
+    private static final float DEFAULT_ZEBRA_WIDTH = 128f;
+    private static final float DEFAULT_ZEBRA_HEIGHT = 64f;
+    private static final float TIMER_BUCKET = 0.1f;
+
+    private final LevelLoader.LevelContainer levelContainer;
+    private final CharacterConfig characters;
+    private int ticksPerStep = DEFAULT_TICKS_PER_STEP;
+    private int beamWidth = DEFAULT_BEAM_WIDTH;
+    private float horizonFactor = 2f;
+    private long seed;
+    private boolean withZebra = true;
+    private float zebraStartX = DEFAULT_ZEBRA_X;
+    private float zebraStartY = DEFAULT_ZEBRA_Y;
+
+    // Per solve
+    private GameContext context;
+    private float harryOffsetX;
+    private float harryWidth;
+    private float harryHeight;
+    private World artemisWorld;
+    private com.dongbat.jbump.World<Object> jbumpWorld;
+    private ScenarioState scenarioState;
+    private int harryEntityId;
+    private final StepInput input = new StepInput();
+    private ComponentMapper<TransformComponent> mTransform;
+    private ComponentMapper<PhysicsComponent> mPhysics;
+    private ComponentMapper<HarryStateComponent> mState;
+    private Item<?> harryItem;
+    private int zebraEntityId;
+    private Item<?> zebraItem;
+    private RandomXS128 zebraRandom;
+    private ComponentMapper<ZebraStateComponent> mZebraState;
+    private ComponentMapper<TweenComponent> mTween;
+    private ComponentMapper<JbumpItemComponent> mJbumpItem;
+    private float rewardX;
+    private float rewardY;
+
+    /**
+     * A solver with the collider sizes of characters.json built in.
+     */
+    public ScenarioSolver(LevelLoader.LevelContainer levelContainer) {
+        this(levelContainer, new CharacterConfig());
+    }
+
+    /**
+     * @param characters the colliders of "harry" and "zebra"; missing ones fall back to the sizes
+     *                   of characters.json
+     */
+    public ScenarioSolver(LevelLoader.LevelContainer levelContainer, CharacterConfig characters) {
+        this.levelContainer = levelContainer;
+        this.characters = characters;
+    }
+
+    /**
+     * Ticks between two decisions; smaller finds tighter solutions but searches longer.
+     */
+    public void setTicksPerStep(int ticksPerStep) {
+        this.ticksPerStep = Math.max(1, ticksPerStep);
+    }
+
+    public void setBeamWidth(int beamWidth) {
+        this.beamWidth = Math.max(1, beamWidth);
+    }
+
+    /**
+     * How far past the time limit to keep searching, as a multiple of it, so scenarios that
+     * are reachable but too slow can be told apart from unreachable ones.
+     */
+    public void setHorizonFactor(float horizonFactor) {
+        this.horizonFactor = Math.max(1f, horizonFactor);
+    }
+
+    /**
+     * Seed of the world's {@link RandomSystem}, which decides the zebra's patrol.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setZebraStart(float x, float y) {
+        this.zebraStartX = x;
+        this.zebraStartY = y;
+        this.withZebra = true;
+    }
+
+    /**
+     * Solve without the zebra, i.e. whether Harry can do it on his own.
+     */
+    public void withoutZebra() {
+        this.withZebra = false;
+    }
+
+    /**
+     * Solve one scenario. The map is modified: the scenario is applied to its ground layer.
+     */
+    public Result solve(TiledMap map, int levelIndex, int scenarioIndex) {
+        long started = System.currentTimeMillis();
+        Level level = levelContainer.getLevels()[levelIndex];
+        Scenario scenario = level.getScenarios().get(scenarioIndex);
+        float tickLength = tickLength();
+        Result result = new Result(level.getLevelNumber(), scenarioIndex, scenario.getTitle(),
+            scenario.getTimeLimit(), tickLength);
+
+        context = GameContext.isolated();
+        CharacterConfig.CharacterData harry = characters.getCharacterByName("harry");
+        harryOffsetX = (harry != null ? harry.getHorizontalOffset() : DEFAULT_HARRY_OFFSET_X) * context.getAssetScale();
+        harryWidth = harry != null ? harry.getWidth() : DEFAULT_HARRY_WIDTH;
+        harryHeight = harry != null ? harry.getHeight() : DEFAULT_HARRY_HEIGHT;
+
+        ScenarioOverlay overlay = ScenarioOverlay.forGroundLayer(map);
+        if (overlay != null) {
+            overlay.apply(scenario);
+        }
+        if (!findReward(map)) {
+            result.problem = "map has no reward object";
+            return result;
+        }
+
+        buildWorld(map, levelIndex, scenarioIndex, scenario);
+        try {
+            search(result, levelIndex, scenarioIndex);
+        } finally {
+            artemisWorld.dispose();
+            artemisWorld = null;
+        }
+        result.elapsedMillis = System.currentTimeMillis() - started;
+        return result;
+    }
+
+    private void search(Result result, int levelIndex, int scenarioIndex) {
+        float secondsPerStep = ticksPerStep * result.tickLength;
+        int maxSteps = (int) Math.ceil(result.timeLimit * horizonFactor / secondsPerStep);
+
+        Set<Long> visited = new HashSet<>();
+        List<Node> frontier = new ArrayList<>();
+        Node root = capture(null, 0, 0);
+        frontier.add(root);
+        visited.add(root.key());
+
+        Comparator<Node> closestToReward = Comparator.comparingDouble(this::distanceToReward);
+
+        for (int depth = 0; depth < maxSteps && !frontier.isEmpty(); depth++) {
+            List<Node> next = new ArrayList<>();
+            for (Node node : frontier) {
+                for (int action : ACTIONS) {
+                    if ((action & CharacterInput.JUMP) != 0 && !node.onGround) {
+                        continue; // Same as not jumping
+                    }
+                    restore(node);
+                    int outcome = step(action);
+                    result.statesExplored++;
+                    if (outcome > 0) {
+                        result.found = true;
+                        result.ticks = depth * ticksPerStep + outcome;
+                        result.inputs = recordInputs(node, action, outcome, levelIndex, scenarioIndex);
+                        return;
+                    }
+                    if (outcome < 0) {
+                        continue;
+                    }
+                    Node child = capture(node, action, depth + 1);
+                    if (visited.add(child.key())) {
+                        next.add(child);
+                    }
+                }
+            }
+            if (next.size() > beamWidth) {
+                next.sort(closestToReward);
+                next = new ArrayList<>(next.subList(0, beamWidth));
+            }
+            frontier = next;
+        }
+    }
+
+    /**
+     * Run one decision.
+     *
+     * @return the tick (1-based) the reward was reached on, -1 if Harry died, 0 otherwise
+     */
+    private int step(int action) {
+        float tickLength = tickLength();
+        for (int tick = 0; tick < ticksPerStep; tick++) {
+            // Jump is a key press, so only the first tick of a decision carries it
+            input.buttons = tick == 0 ? action : action & ~CharacterInput.JUMP;
+            artemisWorld.setDelta(tickLength);
+            artemisWorld.process();
+            if (scenarioState.isTreasureFoundThisScenario()) {
+                return tick + 1;
+            }
+            HarryState state = mState.get(harryEntityId).state;
+            if (state == HarryState.DYING || state == HarryState.DIED) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    private InputRecording recordInputs(Node parent, int lastAction, int lastTicks, int levelIndex, int scenarioIndex) {
+        List<Integer> actions = new ArrayList<>();
+        for (Node node = parent; node.parent != null; node = node.parent) {
+            actions.add(node.action);
+        }
+        InputRecording recording = new InputRecording(levelIndex, scenarioIndex, seed);
+        for (int i = actions.size() - 1; i >= 0; i--) {
+            addStep(recording, actions.get(i), ticksPerStep);
+        }
+        addStep(recording, lastAction, lastTicks);
+        return recording;
+    }
+
+    private static void addStep(InputRecording recording, int action, int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            recording.add(tick == 0 ? action : action & ~CharacterInput.JUMP);
+        }
+    }
+
+    private void buildWorld(TiledMap map, int levelIndex, int scenarioIndex, Scenario scenario) {
+        scenarioState = context.getScenarioState();
+        scenarioState.initializeLevel(levelIndex);
+        scenarioState.setCurrentScenarioIndex(scenarioIndex);
+        scenarioState.resetTreasureFoundFlag();
+
+        jbumpWorld = new com.dongbat.jbump.World<>();
+        // Same order as SimulationWorld, without the timer, death and level flow
+        List<BaseSystem> systems = new ArrayList<>();
+        systems.add(new RandomSystem(seed));
+        systems.add(new JbumpMapInitializationSystem(map, jbumpWorld, GROUND_LAYER));
+        systems.add(new ColliderSyncSystem(jbumpWorld));
+        systems.add(new CharacterMovementSystem(jbumpWorld, levelContainer.getSystemdefaults()));
+        systems.add(new TweenSystem());
+        systems.add(new ZebraStateSystem(jbumpWorld));
+        systems.add(new RewardCollisionSystem(jbumpWorld, map, OBJECTS_LAYER, harryOffsetX, harryWidth, harryHeight,
+            context.getAssetScale()));
+        systems.add(new SilentSoundSystem());
+
+        WorldConfiguration config = new WorldConfigurationBuilder()
+            .with(systems.toArray(new BaseSystem[0]))
+            .build();
+        config.register(context);
+        artemisWorld = new World(config);
+        artemisWorld.getSystem(CharacterMovementSystem.class).setInput(input);
+
+        HarryFactory harryFactory = new HarryFactory(artemisWorld, jbumpWorld, harryOffsetX, harryWidth, harryHeight);
+        harryFactory.setCreateAnimations(false);
+        harryEntityId = harryFactory.createHarry(scenario.getStartingPositionX(), scenario.getStartingPositionY());
+
+        mTransform = artemisWorld.getMapper(TransformComponent.class);
+        mPhysics = artemisWorld.getMapper(PhysicsComponent.class);
+        mState = artemisWorld.getMapper(HarryStateComponent.class);
+        mZebraState = artemisWorld.getMapper(ZebraStateComponent.class);
+        mTween = artemisWorld.getMapper(TweenComponent.class);
+        mJbumpItem = artemisWorld.getMapper(JbumpItemComponent.class);
+        harryItem = mJbumpItem.get(harryEntityId).item;
+
+        zebraEntityId = -1;
+        if (withZebra) {
+            CharacterConfig.CharacterData zebra = characters.getCharacterByName("zebra");
+            float zebraOffsetX = (zebra != null ? zebra.getHorizontalOffset() : DEFAULT_ZEBRA_OFFSET_X) * context.getAssetScale();
+            ZebraFactory zebraFactory = new ZebraFactory(artemisWorld, jbumpWorld, zebraOffsetX,
+                zebra != null ? zebra.getWidth() : DEFAULT_ZEBRA_WIDTH, zebra != null ? zebra.getHeight() : DEFAULT_ZEBRA_HEIGHT);
+            zebraFactory.setCreateAnimations(false);
+            zebraEntityId = zebraFactory.createZebra(zebraStartX, zebraStartY);
+            zebraItem = mJbumpItem.get(zebraEntityId).item;
+            zebraRandom = artemisWorld.getSystem(RandomSystem.class).stream(ZebraStateSystem.RANDOM_STREAM);
+        }
+    }
+
+    private boolean findReward(TiledMap map) {
+        MapLayer objects = map.getLayers().get(OBJECTS_LAYER);
+        if (objects == null) {
+            return false;
+        }
+        float assetScale = context.getAssetScale();
+        for (MapObject object : objects.getObjects()) {
+            if ("reward".equals(object.getName())) {
+                rewardX = object.getProperties().get("x", Float.class) * assetScale;
+                rewardY = object.getProperties().get("y", Float.class) * assetScale;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private float tickLength() {
+        LevelLoader.SystemDefaults defaults = levelContainer.getSystemdefaults();
+        return defaults != null && defaults.getTickRate() > 0 ? 1f / defaults.getTickRate() : 1f / 60f;
+    }
+
+    private double distanceToReward(Node node) {
+        double dx = node.x + harryOffsetX + harryWidth / 2f - rewardX;
+        double dy = node.y - rewardY;
+        return dx * dx + dy * dy;
+    }
+
+    private Node capture(Node parent, int action, int depth) {
+        TransformComponent t = mTransform.get(harryEntityId);
+        PhysicsComponent p = mPhysics.get(harryEntityId);
+        HarryStateComponent s = mState.get(harryEntityId);
+        Node node = new Node();
+        node.parent = parent;
+        node.action = action;
+        node.depth = depth;
+        node.x = t.x;
+        node.y = t.y;
+        node.vx = p.vx;
+        node.vy = p.vy;
+        node.onGround = p.onGround;
+        node.onZebraSupport = p.onZebraSupport;
+        node.lethalJump = p.lethalJump;
+        node.state = s.state;
+        node.dir = s.dir;
+        node.stateTime = s.stateTime;
+        node.justJumped = s.justJumped;
+        if (zebraEntityId >= 0) {
+            node.zebra = captureZebra();
+        }
+        return node;
+    }
+
+    private ZebraSnapshot captureZebra() {
+        TransformComponent t = mTransform.get(zebraEntityId);
+        PhysicsComponent p = mPhysics.get(zebraEntityId);
+        ZebraStateComponent s = mZebraState.get(zebraEntityId);
+        JbumpItemComponent collider = mJbumpItem.get(zebraEntityId);
+        ZebraSnapshot zebra = new ZebraSnapshot();
+        zebra.x = t.x;
+        zebra.y = t.y;
+        zebra.vx = p.vx;
+        zebra.vy = p.vy;
+        zebra.onGround = p.onGround;
+        zebra.state = s.state;
+        zebra.previousState = s.previousState;
+        zebra.dir = s.dir;
+        zebra.stateTime = s.stateTime;
+        zebra.stateChangeTimer = s.stateChangeTimer;
+        zebra.initializedDirection = s.initializedDirection;
+        zebra.tween.set(mTween.get(zebraEntityId));
+        Rect rect = jbumpWorld.getRect(zebraItem);
+        zebra.colliderX = rect.x;
+        zebra.colliderY = rect.y;
+        zebra.syncedX = collider.syncedX;
+        zebra.syncedY = collider.syncedY;
+        zebra.random0 = zebraRandom.getState(0);
+        zebra.random1 = zebraRandom.getState(1);
+        return zebra;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void restoreZebra(ZebraSnapshot zebra) {
+        TransformComponent t = mTransform.get(zebraEntityId);
+        PhysicsComponent p = mPhysics.get(zebraEntityId);
+        ZebraStateComponent s = mZebraState.get(zebraEntityId);
+        JbumpItemComponent collider = mJbumpItem.get(zebraEntityId);
+        t.x = zebra.x;
+        t.y = zebra.y;
+        t.dirty = false; // the collider is put back below
+        t.snapshot();
+        p.vx = zebra.vx;
+        p.vy = zebra.vy;
+        p.onGround = zebra.onGround;
+        s.state = zebra.state;
+        s.previousState = zebra.previousState;
+        s.dir = zebra.dir;
+        s.stateTime = zebra.stateTime;
+        s.stateChangeTimer = zebra.stateChangeTimer;
+        s.initializedDirection = zebra.initializedDirection;
+        mTween.get(zebraEntityId).set(zebra.tween);
+        jbumpWorld.update((Item) zebraItem, zebra.colliderX, zebra.colliderY, collider.width, collider.height);
+        collider.syncedX = zebra.syncedX;
+        collider.syncedY = zebra.syncedY;
+        zebraRandom.setState(zebra.random0, zebra.random1);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void restore(Node node) {
+        TransformComponent t = mTransform.get(harryEntityId);
+        PhysicsComponent p = mPhysics.get(harryEntityId);
+        HarryStateComponent s = mState.get(harryEntityId);
+        t.x = node.x;
+        t.y = node.y;
+        t.dirty = false; // the collider is put back below
+        t.snapshot();
+        p.vx = node.vx;
+        p.vy = node.vy;
+        p.onGround = node.onGround;
+        p.onZebraSupport = node.onZebraSupport;
+        p.lethalJump = node.lethalJump;
+        s.state = node.state;
+        s.previousState = node.state;
+        s.dir = node.dir;
+        s.stateTime = node.stateTime;
+        s.justJumped = node.justJumped;
+        jbumpWorld.update((Item) harryItem, node.x + harryOffsetX, node.y, harryWidth, harryHeight);
+        if (node.zebra != null) {
+            restoreZebra(node.zebra);
+        }
+    }
+
+    /**
+     * Buttons for the current tick, set by the solver before each world step.
+     */
+    private static class StepInput implements CharacterInput {
+        int buttons;
+
+        @Override
+        public int sample() {
+            return buttons;
+        }
+    }
+
+    private static class Node {
+        Node parent;
+        int action;
+        int depth;
+        float x;
+        float y;
+        float vx;
+        float vy;
+        boolean onGround;
+        boolean onZebraSupport;
+        boolean lethalJump;
+        boolean justJumped;
+        HarryState state;
+        Direction dir;
+        float stateTime;
+        ZebraSnapshot zebra;
+
+        /**
+         * Nodes with the same key behave the same from here on (up to rounding).
+         * Horizontal speed is not part of it: it is set from the input every tick.
+         */
+        long key() {
+            long qx = Math.round(x / POSITION_BUCKET) & 0xFFFL;
+            long qy = Math.round(y / POSITION_BUCKET) & 0xFFFL;
+            long qvy = Math.round(vy / VELOCITY_BUCKET) & 0x3FFL;
+            long flags = (onGround ? 1 : 0) | (lethalJump ? 2 : 0) | (justJumped ? 4 : 0) | (onZebraSupport ? 8 : 0);
+            long key = qx | qy << 12 | qvy << 24 | flags << 34;
+            return zebra != null ? key | zebra.key() << 38 : key;
+        }
+    }
+
+    /**
+     * The zebra's part of a node. Its random stream is saved too, since the next walk's length
+     * is drawn from it.
+     */
+    private static class ZebraSnapshot {
+        float x;
+        float y;
+        float vx;
+        float vy;
+        boolean onGround;
+        ZebraState state;
+        ZebraState previousState;
+        Direction dir;
+        float stateTime;
+        float stateChangeTimer;
+        boolean initializedDirection;
+        final TweenComponent tween = new TweenComponent();
+        float colliderX;
+        float colliderY;
+        float syncedX;
+        float syncedY;
+        long random0;
+        long random1;
+
+        /**
+         * Where the zebra is and how far into its grazing or walk; 21 bits.
+         */
+        long key() {
+            long qx = Math.round(x / POSITION_BUCKET) & 0xFFFL;
+            long qtimer = Math.round(stateChangeTimer / TIMER_BUCKET) & 0x1FL;
+            long flags = (dir == Direction.RIGHT ? 1 : 0) | (initializedDirection ? 2 : 0);
+            return qx | (long) state.ordinal() << 12 | flags << 14 | qtimer << 16;
+        }
+    }
+
+    /**
+     * Outcome of solving one scenario.
+     */
+    public static class Result {
+        private final int levelNumber;
+        private final int scenarioIndex;
+        private final String title;
+        private final float timeLimit;
+        private final float tickLength;
+        private boolean found;
+        private int ticks;
+        private InputRecording inputs;
+        private long statesExplored;
+        private long elapsedMillis;
+        private String problem;
+
+        Result(int levelNumber, int scenarioIndex, String title, float timeLimit, float tickLength) {
+            this.levelNumber = levelNumber;
+            this.scenarioIndex = scenarioIndex;
+            this.title = title;
+            this.timeLimit = timeLimit;
+            this.tickLength = tickLength;
+        }
+
+        /**
+         * Reward reachable within the time limit (minus the level start penalty).
+         */
+        public boolean isSolvable() {
+            return found && getSeconds() <= getAvailableSeconds();
+        }
+
+        /**
+         * Reward reachable at all within the search horizon, possibly too slowly.
+         */
+        public boolean isReachable() {
+            return found;
+        }
+
+        public float getSeconds() {
+            return ticks * tickLength;
+        }
+
+        public float getAvailableSeconds() {
+            return Math.max(0f, timeLimit - LEVEL_START_PENALTY);
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+
+        /**
+         * The winning input, one entry per tick from the start position, or null.
+         */
+        public InputRecording getInputs() {
+            return inputs;
+        }
+
+        public int getLevelNumber() {
+            return levelNumber;
+        }
+
+        public int getScenarioIndex() {
+            return scenarioIndex;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public float getTimeLimit() {
+            return timeLimit;
+        }
+
+        public long getStatesExplored() {
+            return statesExplored;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Why the scenario could not be searched at all, or null.
+         */
+        public String getProblem() {
+            return problem;
+        }
+    }
+}
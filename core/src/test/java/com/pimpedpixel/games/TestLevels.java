@@ -0,0 +1,54 @@
+package com.pimpedpixel.games;
+
+import com.pimpedpixel.games.gameplay.CollisionLayer;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.Scenario;
+
+import java.util.Arrays;
+
+/**
+ * Levels and scenarios for the six column maps of {@link TestMaps#groundRow(int, int)} with
+ * ground row 5.
+ */
+public final class TestLevels {
+
+    public static final int COLUMNS = 6;
+
+    private TestLevels() {
+    }
+
+    /**
+     * A scenario that keeps ground row 5 (Tiled row 9) except for one column; -1 keeps it whole.
+     */
+    public static Scenario scenarioWithHoleAt(int column) {
+        Integer[] states = new Integer[COLUMNS];
+        Arrays.fill(states, 1);
+        if (column >= 0) {
+            states[column] = 0;
+        }
+        CollisionLayer layer = new CollisionLayer();
+        layer.setMatchingRow(9);
+        layer.setCellStates(Arrays.asList(states));
+        Scenario scenario = new Scenario();
+        scenario.setGroundLayer(layer);
+        return scenario;
+    }
+
+    public static Level level(Scenario... scenarios) {
+        Level level = new Level();
+        level.setLevelNumber(1);
+        level.setScenarios(Arrays.asList(scenarios));
+        return level;
+    }
+
+    /**
+     * A level with the given number of empty scenarios.
+     */
+    public static Level level(int scenarios) {
+        Scenario[] list = new Scenario[scenarios];
+        for (int i = 0; i < scenarios; i++) {
+            list[i] = new Scenario();
+        }
+        return level(list);
+    }
+}
@@ -0,0 +1,81 @@
+package com.pimpedpixel.games;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+
+/**
+ * Small maps for tests that need no TMX: 20x15 cells of 32 px with a "ground" collision layer
+ * and an "objects" layer, like the level maps.
+ */
+public final class TestMaps {
+
+    public static final int COLUMNS = 20;
+    public static final int ROWS = 15;
+    public static final int TILE_SIZE = 32;
+
+    public static final int TILE_ID = 7;
+
+    private static final StaticTiledMapTile TILE = new StaticTiledMapTile((TextureRegion) null);
+
+    static {
+        TILE.setId(TILE_ID);
+    }
+
+    private TestMaps() {
+    }
+
+    /**
+     * A map whose ground layer has one complete libGDX row and whose objects layer is empty.
+     */
+    public static TiledMap groundRow(int row) {
+        return groundRow(COLUMNS, row);
+    }
+
+    /**
+     * {@link #groundRow(int)} on a narrower map, as wide as the scenarios of {@link TestLevels}.
+     */
+    public static TiledMap groundRow(int columns, int row) {
+        TiledMap map = new TiledMap();
+        TiledMapTileLayer ground = new TiledMapTileLayer(columns, ROWS, TILE_SIZE, TILE_SIZE);
+        ground.setName("ground");
+        for (int x = 0; x < columns; x++) {
+            fill(ground, x, row);
+        }
+        map.getLayers().add(ground);
+
+        MapLayer objects = new MapLayer();
+        objects.setName("objects");
+        map.getLayers().add(objects);
+        return map;
+    }
+
+    /**
+     * {@link #groundRow(int)} with a point reward object at a map pixel position.
+     */
+    public static TiledMap groundRowWithReward(int row, float rewardX, float rewardY) {
+        TiledMap map = groundRow(row);
+        MapObject reward = new MapObject();
+        reward.setName("reward");
+        reward.getProperties().put("x", rewardX);
+        reward.getProperties().put("y", rewardY);
+        map.getLayers().get("objects").getObjects().add(reward);
+        return map;
+    }
+
+    public static TiledMapTileLayer ground(TiledMap map) {
+        return (TiledMapTileLayer) map.getLayers().get("ground");
+    }
+
+    /**
+     * Put a solid tile in a cell of the layer.
+     */
+    public static void fill(TiledMapTileLayer layer, int column, int row) {
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        cell.setTile(TILE);
+        layer.setCell(column, row, cell);
+    }
+}
@@ -0,0 +1,135 @@
+package com.pimpedpixel.games.gameplay;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ScenarioOverlayTest {
+
+    // Tiled rows used by levelInfo.json on a 15 row map
+    private static final int GROUND_ROW = 9;
+    private static final int BASE_ROW = 14;
+
+    private TiledMap map;
+    private TiledMapTileLayer ground;
+    private ScenarioOverlay overlay;
+
+    @Before
+    public void setUp() {
+        map = new TiledMap();
+        ground = new TiledMapTileLayer(6, 15, 32, 32);
+        ground.setName("ground");
+        StaticTiledMapTile tile = new StaticTiledMapTile((TextureRegion) null);
+        for (int x = 0; x < 6; x++) {
+            // Ground row has a gap at column 3 in the TMX, the base row is complete
+            if (x != 3) {
+                ground.setCell(x, 5, cell(tile));
+            }
+            ground.setCell(x, 0, cell(tile));
+        }
+        map.getLayers().add(ground);
+        overlay = ScenarioOverlay.forGroundLayer(map);
+    }
+
+    @Test
+    public void testHolesAreRestoredWhenSwitchingBack() {
+        TiledMapTileLayer.Cell original = ground.getCell(1, 5);
+
+        overlay.apply(scenario(layer(GROUND_ROW, 1, 0, 1, 1, 1, 1), null));
+        assertNull(ground.getCell(1, 5));
+
+        overlay.apply(scenario(layer(GROUND_ROW, 1, 1, 1, 1, 1, 1), null));
+        assertSame(original, ground.getCell(1, 5));
+    }
+
+    @Test
+    public void testSolidFillsCellsMissingFromTheMap() {
+        overlay.apply(scenario(layer(GROUND_ROW, 1, 1, 1, 1, 1, 1), null));
+
+        assertNotNull(ground.getCell(3, 5));
+        assertNotNull(ground.getCell(3, 5).getTile());
+
+        // Back to the pristine gap when no scenario overrides the row
+        overlay.reset();
+        assertNull(ground.getCell(3, 5));
+    }
+
+    @Test
+    public void testBaseLayerIsApplied() {
+        overlay.apply(scenario(null, layer(BASE_ROW, 1, 1, 0, 1, 1, 1)));
+
+        assertNull(ground.getCell(2, 0));
+        assertNotNull(ground.getCell(1, 0));
+    }
+
+    @Test
+    public void testOnlyChangedCellsAreReported() {
+        overlay.apply(scenario(layer(GROUND_ROW, 1, 0, 1, 1, 1, 1), layer(BASE_ROW, 1, 1, 1, 1, 1, 1)));
+
+        IntMap<IntArray> changes = overlay.apply(
+            scenario(layer(GROUND_ROW, 1, 1, 1, 1, 0, 1), layer(BASE_ROW, 1, 1, 1, 1, 1, 1)));
+
+        assertEquals(1, changes.size);
+        IntArray row = changes.get(5);
+        assertEquals(2, row.size);
+        assertTrue(row.contains(1));
+        assertTrue(row.contains(4));
+    }
+
+    @Test
+    public void testFatalKeepsPristineCell() {
+        TiledMapTileLayer.Cell original = ground.getCell(0, 5);
+
+        IntMap<IntArray> changes = overlay.apply(scenario(layer(GROUND_ROW, 2, 1, 1, 2, 1, 1), null));
+
+        assertSame(original, ground.getCell(0, 5));
+        assertNull("FATAL does not fill a gap", ground.getCell(3, 5));
+        assertEquals(0, changes.size);
+    }
+
+    @Test
+    public void testScenarioUndoesACompiledDiff() {
+        TiledMapTileLayer.Cell original = ground.getCell(1, 5);
+        overlay.applyDiff(new int[]{1 + 5 * 6, 0});
+        assertNull(ground.getCell(1, 5));
+
+        IntMap<IntArray> changes = overlay.apply(scenario(layer(GROUND_ROW, 1, 1, 1, 1, 0, 1), null));
+
+        assertSame(original, ground.getCell(1, 5));
+        assertNull(ground.getCell(4, 5));
+        IntArray row = changes.get(5);
+        assertEquals(3, row.size);
+        assertTrue("gap filled by SOLID", row.contains(3));
+        assertTrue(row.contains(1));
+        assertTrue(row.contains(4));
+    }
+
+    private static TiledMapTileLayer.Cell cell(StaticTiledMapTile tile) {
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        cell.setTile(tile);
+        return cell;
+    }
+
+    private static Scenario scenario(CollisionLayer groundLayer, CollisionLayer baseLayer) {
+        Scenario scenario = new Scenario();
+        scenario.setGroundLayer(groundLayer);
+        scenario.setBaseLayer(baseLayer);
+        return scenario;
+    }
+
+    private static CollisionLayer layer(int matchingRow, Integer... states) {
+        CollisionLayer layer = new CollisionLayer();
+        layer.setMatchingRow(matchingRow);
+        layer.setCellStates(Arrays.asList(states));
+        return layer;
+    }
+}
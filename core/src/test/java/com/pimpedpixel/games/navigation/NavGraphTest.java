@@ -0,0 +1,181 @@
+package com.pimpedpixel.games.navigation;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.World;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Graphs over a 20x15 grid of 64 px tiles with the default movement constants
+ * (120 px/s, jump 260 px/s, gravity -600 px/s²).
+ */
+public class NavGraphTest {
+
+    @Test
+    public void testWalkingAlongFlatGround() {
+        NavGraph graph = new NavGraphBuilder().build(groundRow());
+
+        assertEquals(20, graph.getNodeCount());
+        int from = graph.nodeOfCell(1, 5);
+        int to = graph.nodeOfCell(10, 5);
+        assertEquals(9 * 64f / 120f, graph.getTravelTime(from, to), 0.001f);
+        assertEquals(NavGraph.MoveType.WALK, graph.getNextMove(from, to));
+
+        IntArray path = new IntArray();
+        assertTrue(graph.findPath(from, to, path));
+        assertEquals(10, path.size);
+        assertEquals(to, path.peek());
+    }
+
+    @Test
+    public void testOneTileGapNeedsANormalJump() {
+        boolean[][] grid = groundRow();
+        grid[10][5] = false;
+        NavGraph graph = new NavGraphBuilder().build(grid);
+
+        int left = graph.nodeOfCell(9, 5);
+        int right = graph.nodeOfCell(11, 5);
+        assertEquals(-1, graph.nodeOfCell(10, 5));
+        assertEquals(NavGraph.MoveType.JUMP, graph.getNextMove(left, right));
+        assertTrue(graph.isReachable(right, left));
+    }
+
+    @Test
+    public void testWideGapNeedsTheZebra() {
+        boolean[][] grid = groundRow();
+        grid[9][5] = grid[10][5] = grid[11][5] = false;
+        NavGraph graph = new NavGraphBuilder().build(grid);
+
+        int left = graph.nodeOfCell(8, 5);
+        int right = graph.nodeOfCell(12, 5);
+        assertEquals(NavGraph.MoveType.ZEBRA_JUMP, graph.getNextMove(left, right));
+        assertTrue("includes waiting for the zebra", graph.getTravelTime(left, right) > 3f);
+
+        NavGraph noWait = new NavGraphBuilder().zebraWait(0f).build(grid);
+        assertEquals(graph.getTravelTime(left, right) - 3f, noWait.getTravelTime(left, right), 0.001f);
+    }
+
+    @Test
+    public void testOneTileStepIsHigherThanANormalJump() {
+        boolean[][] grid = groundRow();
+        for (int x = 12; x < 20; x++) {
+            grid[x][6] = true;
+        }
+        NavGraph graph = new NavGraphBuilder().build(grid);
+
+        int low = graph.nodeOfCell(11, 5);
+        int high = graph.nodeOfCell(12, 6);
+        assertEquals(NavGraph.MoveType.ZEBRA_JUMP, graph.getNextMove(low, high));
+        assertEquals(NavGraph.MoveType.FALL, graph.getNextMove(high, low));
+    }
+
+    @Test
+    public void testWallToTheTopSplitsTheGraph() {
+        NavGraph graph = new NavGraphBuilder().build(wallAtColumn10());
+
+        assertEquals("no headroom under the wall", -1, graph.nodeOfCell(10, 5));
+        int left = graph.nodeOfCell(2, 5);
+        int right = graph.nodeOfCell(15, 5);
+        assertFalse(graph.isReachable(left, right));
+        assertEquals(Float.POSITIVE_INFINITY, graph.getTravelTime(left, right), 0f);
+        assertEquals(-1, graph.getNextHop(left, right));
+        assertFalse(graph.findPath(left, right, new IntArray()));
+    }
+
+    @Test
+    public void testCellsTooLowToSurviveAreNotNodes() {
+        boolean[][] grid = new boolean[20][15];
+        grid[3][0] = true;
+        grid[3][1] = true;
+        grid[4][1] = true;
+        grid[4][2] = true;
+        NavGraph graph = new NavGraphBuilder().build(grid);
+
+        assertEquals(-1, graph.nodeOfCell(3, 0));
+        assertEquals("top at y 128 is below the death height", -1, graph.nodeOfCell(3, 1));
+        assertTrue(graph.nodeOfCell(4, 2) >= 0);
+    }
+
+    @Test
+    public void testRewardTimeAndPath() {
+        NavGraph graph = new NavGraphBuilder().reward(800f, 384f, 64f, 64f).build(groundRow());
+
+        int from = graph.nodeOfCell(1, 5);
+        assertTrue(graph.hasReward());
+        assertTrue(graph.isRewardReachable(from));
+        int goal = graph.getRewardGoal(from);
+        assertEquals("closest cell Harry's collider reaches the reward from", 12, graph.getColumn(goal));
+        assertEquals(graph.getTravelTime(from, goal), graph.getRewardTime(from), 0f);
+
+        IntArray path = new IntArray();
+        assertTrue(graph.findPathToReward(from, path));
+        assertEquals(goal, path.peek());
+
+        NavGraph blocked = new NavGraphBuilder().reward(1000f, 384f, 64f, 64f).build(wallAtColumn10());
+        assertFalse(blocked.isRewardReachable(blocked.nodeOfCell(1, 5)));
+        assertFalse(new NavGraphBuilder().build(groundRow()).hasReward());
+    }
+
+    @Test
+    public void testNodeAtMapsAirbornePointsToTheLandingCell() {
+        NavGraph graph = new NavGraphBuilder().build(groundRow());
+
+        assertEquals(graph.nodeOfCell(1, 5), graph.nodeAt(96f, 384f));
+        assertEquals(graph.nodeOfCell(1, 5), graph.nodeAt(96f, 700f));
+        assertEquals(-1, graph.nodeAt(-10f, 384f));
+        assertEquals(384f, graph.getY(graph.nodeAt(96f, 700f)), 0f);
+    }
+
+    @Test
+    public void testSlideLimitStopsAtWallsAndMapEdges() {
+        NavGraph graph = new NavGraphBuilder().build(wallAtColumn10());
+
+        assertEquals(640f - 128f, graph.slideLimit(100f, 1000f, 384f, 128f, 64f), 0f);
+        assertEquals(0f, graph.slideLimit(100f, -500f, 384f, 128f, 64f), 0f);
+        assertEquals(704f, graph.slideLimit(900f, 100f, 384f, 128f, 64f), 0f);
+        assertEquals(1280f - 128f, graph.slideLimit(900f, 2000f, 384f, 128f, 64f), 0f);
+        assertEquals("free path", 300f, graph.slideLimit(100f, 300f, 384f, 128f, 64f), 0f);
+        SolidGrid grid = SolidGrid.of(wallAtColumn10(), 64f, 64f);
+        assertEquals("same limits without a graph", 640f - 128f, grid.slideLimit(100f, 1000f, 384f, 128f, 64f), 0f);
+    }
+
+    @Test
+    public void testRasterizeReadsMergedColliders() {
+        World<Object> world = new World<>();
+        world.add(new Item<Object>(new ColliderData(ColliderData.Kind.TILE, 2, 5, 10, 1)), 128f, 320f, 640f, 64f);
+        world.add(new Item<Object>(ColliderData.boundary()), -64f, 0f, 64f, 960f);
+
+        boolean[][] grid = NavGraphBuilder.rasterize(world, 20, 15, 64f, 64f);
+
+        assertFalse(grid[1][5]);
+        assertTrue(grid[2][5]);
+        assertTrue(grid[11][5]);
+        assertFalse(grid[12][5]);
+        assertFalse(grid[0][0]);
+        assertEquals(NavGraphBuilder.signature(grid), NavGraphBuilder.signature(NavGraphBuilder.rasterize(world, 20, 15, 64f, 64f)));
+        assertNotEquals(NavGraphBuilder.signature(grid), NavGraphBuilder.signature(groundRow()));
+        assertEquals("the worker's rasterize agrees", NavGraphBuilder.signature(grid), NavGraphBuilder.signature(
+            NavGraphBuilder.rasterize(Arrays.asList(new ColliderData(ColliderData.Kind.TILE, 2, 5, 10, 1), ColliderData.boundary()), 20, 15)));
+    }
+
+    private static boolean[][] groundRow() {
+        boolean[][] grid = new boolean[20][15];
+        for (int x = 0; x < 20; x++) {
+            grid[x][5] = true;
+        }
+        return grid;
+    }
+
+    private static boolean[][] wallAtColumn10() {
+        boolean[][] grid = groundRow();
+        for (int y = 6; y < 15; y++) {
+            grid[10][y] = true;
+        }
+        return grid;
+    }
+}
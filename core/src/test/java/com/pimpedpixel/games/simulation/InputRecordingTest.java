@@ -0,0 +1,126 @@
+package com.pimpedpixel.games.simulation;
+
+import com.pimpedpixel.games.gameplay.ScenarioState;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InputRecordingTest {
+
+    @Test
+    public void testConsecutiveTicksShareARun() {
+        InputRecording recording = new InputRecording(0, 0, 0L);
+        for (int i = 0; i < 600; i++) {
+            recording.add(CharacterInput.RIGHT);
+        }
+        recording.add(CharacterInput.RIGHT | CharacterInput.JUMP);
+        recording.add(0);
+        recording.add(0);
+
+        assertEquals(603, recording.getTickCount());
+        assertEquals(3, recording.getRunCount());
+        assertEquals(600, recording.getRunLength(0));
+        assertEquals(CharacterInput.RIGHT | CharacterInput.JUMP, recording.getRunButtons(1));
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        InputRecording recording = new InputRecording(3, 2, -42L, 5);
+        int[] script = {0, 0, CharacterInput.LEFT, CharacterInput.LEFT, CharacterInput.JUMP, 0, CharacterInput.RIGHT};
+        for (int buttons : script) {
+            recording.add(buttons);
+        }
+
+        InputRecording copy = InputRecording.decode(recording.encode());
+
+        assertEquals(3, copy.getLevelIndex());
+        assertEquals(2, copy.getScenarioIndex());
+        assertEquals(-42L, copy.getSeed());
+        assertEquals(5, copy.getAttempts());
+        assertEquals(script.length, copy.getTickCount());
+        ReplayCharacterInput replay = new ReplayCharacterInput(copy);
+        for (int buttons : script) {
+            assertEquals(buttons, replay.sample());
+        }
+        assertTrue(replay.isFinished());
+        assertEquals(0, replay.sample());
+    }
+
+    @Test
+    public void testTenSecondsOfWalkingIsAFewBytes() {
+        InputRecording recording = new InputRecording(0, 0, 1L);
+        for (int i = 0; i < 600; i++) {
+            recording.add(CharacterInput.LEFT);
+        }
+        // Header (magic, version, level, scenario, seed, attempts, run count) plus one two-byte run
+        assertEquals(9, recording.toBytes().length);
+    }
+
+    @Test
+    public void testRecorderPassesInputThrough() {
+        InputRecording recording = new InputRecording(0, 0, 0L);
+        RecordingCharacterInput recorder = new RecordingCharacterInput(() -> CharacterInput.LEFT, recording);
+
+        assertEquals(CharacterInput.LEFT, recorder.sample());
+        assertEquals(CharacterInput.LEFT, recorder.sample());
+        assertEquals(2, recording.getTickCount());
+    }
+
+    @Test
+    public void testFollowingRecorderStartsARecordingPerAttempt() {
+        ScenarioState scenarioState = new ScenarioState();
+        scenarioState.initializeLevel(1);
+        scenarioState.setRandomSeed(9L);
+        RecordingCharacterInput recorder = new RecordingCharacterInput(() -> CharacterInput.LEFT, null);
+        recorder.followAttempts(scenarioState);
+
+        recorder.sample();
+        recorder.sample();
+        InputRecording first = recorder.getRecording();
+        assertEquals(1, first.getLevelIndex());
+        assertEquals(0, first.getScenarioIndex());
+        assertEquals(9L, first.getSeed());
+        assertEquals(2, first.getTickCount());
+
+        // Died on scenario 0 and rotated to scenario 1
+        scenarioState.recordDeath(10f, 10f);
+        scenarioState.setCurrentScenarioIndex(1);
+        recorder.sample();
+        InputRecording second = recorder.getRecording();
+        assertNotSame(first, second);
+        assertEquals(1, second.getScenarioIndex());
+        assertEquals(0, second.getAttempts());
+        assertEquals(1, second.getTickCount());
+
+        // Rotated back: the attempt count tells it is another attempt at scenario 0
+        scenarioState.recordDeath(10f, 10f);
+        scenarioState.setCurrentScenarioIndex(0);
+        recorder.sample();
+        assertEquals(0, recorder.getRecording().getScenarioIndex());
+        assertEquals(1, recorder.getRecording().getAttempts());
+
+        // Every attempt is kept, not only the last
+        assertEquals(3, recorder.getRecordings().size);
+        assertSame(first, recorder.getRecordings().get(0));
+        assertSame(second, recorder.getRecordings().get(1));
+    }
+
+    @Test
+    public void testReadsVersionOneRecordings() {
+        // magic, version 1, level 2, scenario 1, seed 7, one run of 3 ticks of LEFT
+        byte[] bytes = {(byte) 0xB2, 1, 2, 1, 7, 1, (byte) (3 << 3 | CharacterInput.LEFT)};
+
+        InputRecording recording = InputRecording.fromBytes(bytes);
+
+        assertEquals(2, recording.getLevelIndex());
+        assertEquals(1, recording.getScenarioIndex());
+        assertEquals(0, recording.getAttempts());
+        assertEquals(3, recording.getTickCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsForeignBytes() {
+        InputRecording.fromBytes(new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,312 @@
+package com.pimpedpixel.games.simulation;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.pimpedpixel.games.TestMaps;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.gameplay.ScenarioState;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+import com.pimpedpixel.games.systems.characters.HarryState;
+import com.pimpedpixel.games.systems.characters.TransformComponent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Steps the headless world without any Gdx backend to make sure no system needs GL.
+ */
+public class SimulationWorldTest {
+
+    private LevelLoader.LevelContainer levelContainer;
+    private SimulationWorld simulation;
+
+    @Before
+    public void setUp() {
+        ScenarioState.resetInstance();
+
+        Scenario scenario = new Scenario();
+        scenario.setTitle("Test");
+        scenario.setTimeLimit(30);
+        scenario.setStartingPositionX(100f);
+        scenario.setStartingPositionY(700f);
+
+        Level level = new Level();
+        level.setLevelNumber(1);
+        level.setScenarios(Arrays.asList(scenario));
+
+        levelContainer = new LevelLoader.LevelContainer();
+        levelContainer.setLevels(new Level[]{level});
+    }
+
+    @After
+    public void tearDown() {
+        if (simulation != null) {
+            simulation.dispose();
+        }
+    }
+
+    @Test
+    public void testHarryFallsAndLandsOnGroundRow() {
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .withoutZebras()
+            .build();
+
+        simulation.step(SimulationWorld.DEFAULT_TICK, 180);
+
+        assertTrue("Harry should be standing", simulation.getHarryPhysics().onGround);
+        assertEquals("Harry should rest on top of row 5", 6 * 64f, simulation.getHarryTransform().y, 0.5f);
+        assertEquals(HarryState.RESTING, simulation.getHarryState().state);
+    }
+
+    @Test
+    public void testScriptedInputMovesHarry() {
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .withoutZebras()
+            .build();
+        simulation.step(SimulationWorld.DEFAULT_TICK, 180);
+        float startX = simulation.getHarryTransform().x;
+
+        simulation.setInput(() -> CharacterInput.RIGHT);
+        simulation.step(SimulationWorld.DEFAULT_TICK, 60);
+
+        assertEquals("One second of walking at the default move speed", startX + 120f,
+            simulation.getHarryTransform().x, 1f);
+    }
+
+    @Test
+    public void testReplayReproducesRecordedRun() {
+        InputRecording recording = new InputRecording(0, 0, 0L);
+        int[] tick = {0};
+        CharacterInput script = () -> {
+            int t = tick[0]++;
+            if (t < 180) {
+                return 0;
+            }
+            if (t == 200) {
+                return CharacterInput.RIGHT | CharacterInput.JUMP;
+            }
+            return t < 300 ? CharacterInput.RIGHT : CharacterInput.LEFT;
+        };
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .withoutZebras()
+            .input(new RecordingCharacterInput(script, recording))
+            .build();
+        simulation.step(SimulationWorld.DEFAULT_TICK, 360);
+        float recordedX = simulation.getHarryTransform().x;
+        float recordedY = simulation.getHarryTransform().y;
+        simulation.dispose();
+
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .recording(InputRecording.decode(recording.encode()))
+            .withoutZebras()
+            .build();
+        long ticks = simulation.replay(recording);
+
+        assertEquals(360, ticks);
+        assertEquals(recordedX, simulation.getHarryTransform().x, 0f);
+        assertEquals(recordedY, simulation.getHarryTransform().y, 0f);
+    }
+
+    @Test
+    public void testReplayOfTheAttemptAfterADeathDrivenScenarioChange() {
+        Scenario second = new Scenario();
+        second.setTitle("Second");
+        second.setTimeLimit(30);
+        second.setStartingPositionX(300f);
+        second.setStartingPositionY(700f);
+        levelContainer.getLevels()[0].setScenarios(Arrays.asList(levelContainer.getLevels()[0].getScenarios().get(0), second));
+
+        int[] tick = {0};
+        CharacterInput script = () -> {
+            int t = tick[0]++;
+            if (t < 400) {
+                return t >= 180 && t < 240 ? CharacterInput.RIGHT : 0;
+            }
+            if (t == 520) {
+                return CharacterInput.RIGHT | CharacterInput.JUMP;
+            }
+            return t < 600 ? CharacterInput.RIGHT : CharacterInput.LEFT;
+        };
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .withoutZebras()
+            .seed(3L)
+            .build();
+        RecordingCharacterInput recorder = new RecordingCharacterInput(script, null);
+        recorder.followAttempts(simulation.getContext().getScenarioState());
+        simulation.setInput(recorder);
+
+        simulation.step(SimulationWorld.DEFAULT_TICK, 240);
+        InputRecording firstAttempt = recorder.getRecording();
+        simulation.getHarryState().state = HarryState.DYING;
+        // Two seconds dying, one second dead, then the death rotates to scenario 1
+        simulation.step(SimulationWorld.DEFAULT_TICK, 420);
+        float recordedX = simulation.getHarryTransform().x;
+        float recordedY = simulation.getHarryTransform().y;
+        InputRecording secondAttempt = recorder.getRecording();
+        simulation.dispose();
+
+        assertNotSame(firstAttempt, secondAttempt);
+        assertEquals(0, firstAttempt.getScenarioIndex());
+        assertEquals(1, secondAttempt.getScenarioIndex());
+        assertEquals(3L, secondAttempt.getSeed());
+        assertTrue(secondAttempt.getTickCount() > 200);
+
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .recording(InputRecording.decode(secondAttempt.encode()))
+            .withoutZebras()
+            .build();
+        simulation.replay(secondAttempt);
+
+        assertEquals(1, simulation.getContext().getScenarioState().getCurrentScenarioIndex());
+        assertEquals(recordedX, simulation.getHarryTransform().x, 0.01f);
+        assertEquals(recordedY, simulation.getHarryTransform().y, 0.01f);
+    }
+
+    @Test
+    public void testRestartMatchesAFreshWorld() {
+        float[] fresh = runWithZebra(buildWithZebra(9L));
+        simulation.dispose();
+
+        simulation = buildWithZebra(1L);
+        runWithZebra(simulation);
+        simulation.restart(9L);
+        float[] restarted = runWithZebra(simulation);
+
+        assertArrayEquals(fresh, restarted, 0f);
+    }
+
+    @Test
+    public void testAttemptAfterADeathStartsWithTheZebraAtItsSpawn() {
+        CharacterInput script = () -> CharacterInput.RIGHT;
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .zebraAt(700f, 120f)
+            .seed(5L)
+            .build();
+        RecordingCharacterInput recorder = new RecordingCharacterInput(script, null);
+        recorder.followAttempts(simulation.getContext().getScenarioState());
+        simulation.setInput(recorder);
+
+        simulation.step(SimulationWorld.DEFAULT_TICK, 240);
+        simulation.getHarryState().state = HarryState.DYING;
+        // The zebra runs over for the death sequence, then the dying and dead seconds pass
+        simulation.step(SimulationWorld.DEFAULT_TICK, 900);
+        int zebra = simulation.getZebraEntityIds().first();
+        TransformComponent zebraTransform = simulation.getArtemisWorld().getMapper(TransformComponent.class).get(zebra);
+        float[] played = {simulation.getHarryTransform().x, zebraTransform.x, zebraTransform.y};
+        InputRecording secondAttempt = recorder.getRecording();
+        assertEquals(2, recorder.getRecordings().size);
+        assertEquals(1, secondAttempt.getAttempts());
+        simulation.dispose();
+
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .recording(InputRecording.decode(secondAttempt.encode()))
+            .zebraAt(700f, 120f)
+            .build();
+        simulation.replay(secondAttempt);
+        zebra = simulation.getZebraEntityIds().first();
+        zebraTransform = simulation.getArtemisWorld().getMapper(TransformComponent.class).get(zebra);
+
+        assertArrayEquals(played, new float[]{simulation.getHarryTransform().x, zebraTransform.x, zebraTransform.y}, 0.01f);
+    }
+
+    @Test
+    public void testWorldsDoNotShareGameState() {
+        SimulationWorld other = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .withoutZebras()
+            .build();
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .withoutZebras()
+            .build();
+        try {
+            simulation.getContext().getScenarioState().recordDeath(10f, 10f);
+            other.step(SimulationWorld.DEFAULT_TICK, 60);
+            simulation.step(SimulationWorld.DEFAULT_TICK, 30);
+
+            assertEquals(1, simulation.getContext().getScenarioState().getTotalDeaths());
+            assertEquals(0, other.getContext().getScenarioState().getTotalDeaths());
+            assertEquals(0, ScenarioState.getInstance().getTotalDeaths());
+            assertEquals(28f, other.getTimer().remainingTime, 0.1f);
+        } finally {
+            other.dispose();
+        }
+    }
+
+    @Test
+    public void testTimerRunsWithoutStage() {
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .withoutZebras()
+            .build();
+
+        simulation.step(SimulationWorld.DEFAULT_TICK, 60);
+
+        assertNotNull(simulation.getTimer());
+        // 30 seconds minus the 1 second level start penalty minus one second of play
+        assertEquals(28f, simulation.getTimer().remainingTime, 0.1f);
+    }
+
+    @Test
+    public void testHeadlessTmxLoaderReadsBridgefallMap() {
+        File tmx = new File("../assets/rooms/tiles/bridgefall_1.tmx");
+        if (!tmx.exists()) {
+            return; // Only available when run from the core project directory
+        }
+        TiledMap map = new HeadlessTmxMapLoader().load(new FileHandle(tmx));
+
+        TiledMapTileLayer ground = (TiledMapTileLayer) map.getLayers().get("ground");
+        assertNotNull(ground);
+        assertEquals(20, ground.getWidth());
+        assertEquals(15, ground.getHeight());
+        // Tiled row 9 is the scenario row, libGDX row 5
+        assertNotNull(ground.getCell(0, 5));
+        assertNull(ground.getCell(0, 6));
+
+        MapLayer objects = map.getLayers().get("objects");
+        MapObject reward = objects.getObjects().get("reward");
+        assertNotNull(reward);
+        assertEquals(480f - 271.596f, reward.getProperties().get("y", Float.class), 0.01f);
+    }
+
+    private SimulationWorld buildWithZebra(long seed) {
+        simulation = new SimulationWorld.Builder(levelContainer)
+            .map(TestMaps.groundRow(5))
+            .zebraAt(500f, 384f)
+            .seed(seed)
+            .build();
+        return simulation;
+    }
+
+    /**
+     * Walk right for a while and report where Harry and the zebra ended up.
+     */
+    private float[] runWithZebra(SimulationWorld world) {
+        world.setInput(() -> world.getTick() > 180 ? CharacterInput.RIGHT : 0);
+        world.step(SimulationWorld.DEFAULT_TICK, 600);
+        int zebra = world.getZebraEntityIds().first();
+        TransformComponent zebraTransform = world.getArtemisWorld().getMapper(TransformComponent.class).get(zebra);
+        return new float[]{
+            world.getHarryTransform().x, world.getHarryTransform().y, zebraTransform.x, zebraTransform.y,
+            world.getTimer().remainingTime
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.pimpedpixel.games.systems;
+
+import com.pimpedpixel.games.systems.characters.TransformComponent;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FixedTimestepTest {
+
+    @Test
+    public void testFastFramesAccumulateIntoTicks() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+
+        // 240Hz display: every fourth frame runs a tick
+        int ticks = 0;
+        for (int i = 0; i < 240; i++) {
+            ticks += timestep.advance(1f / 240f);
+        }
+        assertEquals(60, ticks, 1);
+        assertEquals(ticks, timestep.getTickCount());
+    }
+
+    @Test
+    public void testSlowFrameRunsSeveralTicks() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+
+        assertEquals(2, timestep.advance(2.5f / 60f));
+        assertEquals(0.5f, timestep.getAlpha(), 0.01f);
+    }
+
+    @Test
+    public void testLongStallIsCapped() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+
+        assertEquals(5, timestep.advance(3f));
+        assertTrue(timestep.getAlpha() < 1f);
+        // The backlog was dropped, a normal frame runs a normal tick again
+        int steps = timestep.advance(1f / 60f);
+        assertTrue(steps >= 1 && steps <= 2);
+    }
+
+    @Test
+    public void testDisabledRunsOneTickPerFrame() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+        timestep.setEnabled(false);
+
+        assertEquals(1, timestep.advance(0.2f));
+        assertEquals(0.2f, timestep.getTickDelta(0.2f), 0.0001f);
+        assertEquals(1f, timestep.getAlpha(), 0.0001f);
+    }
+
+    @Test
+    public void testTransformInterpolation() {
+        TransformComponent transform = new TransformComponent();
+        transform.x = 10f;
+        assertEquals("Without a snapshot we draw the current position", 10f, transform.interpolatedX(0.25f), 0.0001f);
+
+        transform.snapshot();
+        transform.x = 20f;
+        transform.y = 8f;
+        assertEquals(12.5f, transform.interpolatedX(0.25f), 0.0001f);
+        assertEquals(2f, transform.interpolatedY(0.25f), 0.0001f);
+        assertEquals(20f, transform.interpolatedX(1f), 0.0001f);
+    }
+}
@@ -0,0 +1,76 @@
+package com.pimpedpixel.games.systems;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RenderQueueTest {
+
+    @Test
+    public void testSmallQueueMatchesSortInfoComparator() {
+        assertSameOrderAsComparator(RenderQueue.INSERTION_SORT_LIMIT - 1, 1L);
+    }
+
+    @Test
+    public void testLargeQueueMatchesSortInfoComparator() {
+        assertSameOrderAsComparator(5000, 2L);
+    }
+
+    @Test
+    public void testEqualKeysKeepTheirAddOrder() {
+        RenderQueue queue = new RenderQueue(4);
+        for (int i = 0; i < 200; i++) {
+            queue.add(SortInfo.Type.CHARACTER, i, i % 2 == 0 ? 10f : -10f);
+        }
+        queue.sort();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 2 + 1, queue.handleAt(i));
+            assertEquals(i * 2, queue.handleAt(100 + i));
+        }
+    }
+
+    @Test
+    public void testTypesAndNegativeZeroAndClear() {
+        RenderQueue queue = new RenderQueue();
+        queue.add(SortInfo.Type.LAYER, 7, 0f);
+        queue.add(SortInfo.Type.CHARACTER, 3, -0f);
+        queue.add(SortInfo.Type.CHARACTER, 4, Float.NEGATIVE_INFINITY);
+        queue.sort();
+
+        assertEquals(4, queue.handleAt(0));
+        assertEquals(3, queue.handleAt(1));
+        assertEquals(SortInfo.Type.LAYER, queue.typeAt(2));
+        assertEquals(7, queue.handleAt(2));
+
+        queue.clear();
+        assertEquals(0, queue.size());
+        queue.add(SortInfo.Type.CHARACTER, 1, 5f);
+        queue.sort();
+        assertEquals(1, queue.handleAt(0));
+    }
+
+    private static void assertSameOrderAsComparator(int count, long seed) {
+        Random random = new Random(seed);
+        RenderQueue queue = new RenderQueue(8);
+        List<SortInfo> infos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Coarse values so plenty of keys tie
+            float y = (random.nextInt(2000) - 1000) * 0.5f;
+            queue.add(SortInfo.Type.CHARACTER, i, y);
+            infos.add(new SortInfo(SortInfo.Type.CHARACTER, String.valueOf(i), y));
+        }
+        queue.sort();
+        infos.sort(new SortInfoComparator()); // List.sort is stable
+
+        assertEquals(count, queue.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(infos.get(i).sortY, queue.sortYAt(i), 0f);
+            assertEquals(infos.get(i).layerName, String.valueOf(queue.handleAt(i)));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.pimpedpixel.games.systems;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SystemProfilerTest {
+
+    private SystemProfiler profiler;
+
+    @Before
+    public void setUp() {
+        profiler = new SystemProfiler(100);
+        profiler.setSystemNames(new String[]{"Movement", "Render", "Sound"});
+    }
+
+    @Test
+    public void testPercentilesOverWindow() {
+        // Movement costs 1..100 microseconds, one value per frame
+        for (int frame = 1; frame <= 100; frame++) {
+            profiler.record(0, frame * 1000L);
+            profiler.endFrame(frame * 2000L);
+        }
+
+        assertEquals(50_000L, profiler.percentile(0, 50));
+        assertEquals(95_000L, profiler.percentile(0, 95));
+        assertEquals(99_000L, profiler.percentile(0, 99));
+        assertEquals(198_000L, profiler.framePercentile(99));
+    }
+
+    @Test
+    public void testRepeatedCallsInOneFrameAreSummed() {
+        profiler.record(0, 1000L);
+        profiler.record(0, 1000L);
+        profiler.record(0, 1000L);
+        profiler.endFrame(5000L);
+
+        assertEquals(3000L, profiler.percentile(0, 50));
+        assertEquals(0L, profiler.percentile(1, 50));
+    }
+
+    @Test
+    public void testOldFramesFallOutOfTheWindow() {
+        for (int frame = 0; frame < 100; frame++) {
+            profiler.record(1, 1_000_000L);
+            profiler.endFrame(1_000_000L);
+        }
+        for (int frame = 0; frame < 100; frame++) {
+            profiler.record(1, 10L);
+            profiler.endFrame(10L);
+        }
+
+        assertEquals(100, profiler.getFrameCount());
+        assertEquals(10L, profiler.percentile(1, 99));
+    }
+
+    @Test
+    public void testSlowestOrdersSystemsByCost() {
+        for (int frame = 0; frame < 10; frame++) {
+            profiler.record(0, 200L);
+            profiler.record(1, 900L);
+            profiler.record(2, 50L);
+            profiler.endFrame(1200L);
+        }
+
+        int[] slowest = new int[2];
+        assertEquals(2, profiler.slowest(slowest, 95));
+        assertEquals("Render", profiler.getSystemName(slowest[0]));
+        assertEquals("Movement", profiler.getSystemName(slowest[1]));
+    }
+
+    @Test
+    public void testEmptyProfilerReportsZero() {
+        assertEquals(0L, profiler.framePercentile(50));
+        assertEquals(0L, profiler.percentile(2, 99));
+    }
+}
@@ -0,0 +1,83 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnimationRegistryTest {
+
+    private AnimationRegistry registry;
+    private int framesLoaded;
+    private final AnimationRegistry.FrameLoader countingLoader = path -> {
+        framesLoaded++;
+        return new TextureRegion();
+    };
+
+    @Before
+    public void setUp() {
+        registry = AnimationRegistry.getInstance();
+        registry.clear();
+        framesLoaded = 0;
+    }
+
+    @After
+    public void tearDown() {
+        registry.clear();
+    }
+
+    @Test
+    public void testFramesAreLoadedOncePerKey() {
+        String key = AnimationRegistry.key("zebra", "walking", Direction.LEFT);
+
+        Animation<TextureRegion> first = registry.acquire(key, countingLoader, 0.12f, Animation.PlayMode.LOOP, "a.png", "b.png");
+        Animation<TextureRegion> second = registry.acquire(key, countingLoader, 0.12f, Animation.PlayMode.LOOP, "a.png", "b.png");
+
+        assertSame(first, second);
+        assertEquals(2, framesLoaded);
+        assertEquals(2, registry.getReferenceCount(key));
+        assertEquals(2, first.getKeyFrames().length);
+        assertEquals(Animation.PlayMode.LOOP, first.getPlayMode());
+    }
+
+    @Test
+    public void testLastReleaseDropsTheEntry() {
+        String key = AnimationRegistry.key("harry", "resting", Direction.RIGHT);
+        registry.acquire(key, countingLoader, 0.2f, Animation.PlayMode.NORMAL, "a.png");
+        registry.acquire(key, countingLoader, 0.2f, Animation.PlayMode.NORMAL, "a.png");
+
+        registry.release(key);
+        assertEquals(1, registry.size());
+
+        registry.release(key);
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getReferenceCount(key));
+
+        // Acquiring again loads the frames again
+        registry.acquire(key, countingLoader, 0.2f, Animation.PlayMode.NORMAL, "a.png");
+        assertEquals(2, framesLoaded);
+    }
+
+    @Test
+    public void testKeysSeparateCharacterStateAndDirection() {
+        assertEquals("zebra/grazing/left", AnimationRegistry.key("zebra", "grazing", Direction.LEFT));
+        assertNotEquals(AnimationRegistry.key("zebra", "grazing", Direction.LEFT),
+            AnimationRegistry.key("zebra", "grazing", Direction.RIGHT));
+    }
+
+    @Test
+    public void testAtlasRegionNamesFollowFramePaths() {
+        assertEquals("harry/harry-walking-left-1", CharacterAtlas.regionName("characters/harry/harry-walking-left-1.png"));
+        assertEquals("raelus/zebra-grazing-right-4", CharacterAtlas.regionName("characters/raelus/zebra-grazing-right-4.png"));
+    }
+
+    @Test
+    public void testFallbackLoaderWhenNoAtlasIsInstalled() {
+        CharacterAtlas.install(null);
+
+        assertSame(countingLoader, CharacterAtlas.frameLoader(countingLoader));
+    }
+}
@@ -0,0 +1,53 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.dongbat.jbump.Item;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CharacterMovementSensorTest {
+
+    private static final float FLOOR_TOP = 264f;
+
+    private World world;
+    private com.dongbat.jbump.World<Object> jbumpWorld;
+    private int harry;
+
+    @Before
+    public void setUp() {
+        jbumpWorld = new com.dongbat.jbump.World<>();
+        CharacterMovementSystem movement = new CharacterMovementSystem(jbumpWorld);
+        movement.setInput(() -> 0);
+        world = new World(new WorldConfigurationBuilder().with(movement).build());
+
+        jbumpWorld.add(new Item<>(new ColliderData(ColliderData.Kind.TILE, 0, 3, 10, 1)), 0f, 200f, 640f, 64f);
+        jbumpWorld.add(new Item<>(ColliderData.sensor(CollisionCategory.HARRY)), 0f, 400f, 640f, 64f);
+
+        HarryFactory factory = new HarryFactory(world, jbumpWorld, 0f, 30f, 64f);
+        factory.setCreateAnimations(false);
+        harry = factory.createHarry(300f, 600f);
+    }
+
+    @Test
+    public void testHarryFallsThroughASensorOntoTheFloor() {
+        PhysicsComponent physics = world.getMapper(PhysicsComponent.class).get(harry);
+        TransformComponent transform = world.getMapper(TransformComponent.class).get(harry);
+
+        boolean crossedSensor = false;
+        for (int tick = 0; tick < 240; tick++) {
+            world.setDelta(1f / 60f);
+            world.process();
+            if (transform.y < 464f && transform.y > 336f) {
+                crossedSensor = true;
+                assertFalse("stood on the sensor at y=" + transform.y, physics.onGround);
+            }
+        }
+
+        assertTrue(crossedSensor);
+        assertTrue(physics.onGround);
+        assertEquals(FLOOR_TOP, transform.y, 0.01f);
+    }
+}
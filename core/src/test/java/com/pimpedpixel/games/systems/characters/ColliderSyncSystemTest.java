@@ -0,0 +1,108 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.Rect;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ColliderSyncSystemTest {
+
+    private World world;
+    private com.dongbat.jbump.World<Object> jbumpWorld;
+
+    @Before
+    public void setUp() {
+        jbumpWorld = new com.dongbat.jbump.World<>();
+        world = new World(new WorldConfigurationBuilder().with(new ColliderSyncSystem(jbumpWorld)).build());
+    }
+
+    @Test
+    public void testMovedEntityIsPushedWithItsCachedBox() {
+        int entity = entityAt(100f, 50f);
+
+        transformOf(entity).setPosition(200f, 60f);
+        step();
+
+        Rect rect = rectOf(entity);
+        assertEquals(210f, rect.x, 0.001f);
+        assertEquals(60f, rect.y, 0.001f);
+        assertEquals(30f, rect.w, 0.001f);
+        assertEquals(64f, rect.h, 0.001f);
+        assertFalse(transformOf(entity).dirty);
+    }
+
+    @Test
+    public void testEntityThatDidNotMoveIsLeftAlone() {
+        int entity = entityAt(100f, 50f);
+        transformOf(entity).setPosition(100f, 50f);
+        assertFalse("same position is not a move", transformOf(entity).dirty);
+
+        // Moved without marking, like CharacterMovementSystem after jbump's own move
+        transformOf(entity).x = 300f;
+        step();
+
+        assertEquals(110f, rectOf(entity).x, 0.001f);
+    }
+
+    @Test
+    public void testDisabledColliderKeepsFollowingTheTransform() {
+        int entity = entityAt(100f, 50f);
+        JbumpItemComponent collider = world.getMapper(JbumpItemComponent.class).get(entity);
+        DisabledJbumpColliderComponent disabled = world.getMapper(DisabledJbumpColliderComponent.class).create(entity);
+        disabled.disabled = true;
+        jbumpWorld.remove(collider.item);
+
+        transformOf(entity).setPosition(20f, 700f);
+        step();
+
+        assertFalse(jbumpWorld.hasItem(collider.item));
+        assertEquals(30f, disabled.x, 0.001f);
+        assertEquals(700f, disabled.y, 0.001f);
+        assertEquals(30f, disabled.w, 0.001f);
+        assertEquals(64f, disabled.h, 0.001f);
+    }
+
+    @Test
+    public void testZebraFacesTheWayItWasMoved() {
+        int entity = entityAt(100f, 50f);
+        ZebraStateComponent state = world.getMapper(ZebraStateComponent.class).create(entity);
+        state.dir = Direction.RIGHT;
+
+        transformOf(entity).setPosition(80f, 50f);
+        step();
+
+        assertEquals(Direction.LEFT, state.dir);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int entityAt(float x, float y) {
+        int entity = world.create();
+        TransformComponent transform = world.getMapper(TransformComponent.class).create(entity);
+        transform.x = x;
+        transform.y = y;
+        JbumpItemComponent collider = world.getMapper(JbumpItemComponent.class).create(entity);
+        collider.item = new Item<>(ColliderData.harry(entity));
+        collider.setBox(10f, 30f, 64f);
+        collider.syncedX = x + 10f;
+        collider.syncedY = y;
+        jbumpWorld.add((Item) collider.item, x + 10f, y, 30f, 64f);
+        return entity;
+    }
+
+    private TransformComponent transformOf(int entity) {
+        return world.getMapper(TransformComponent.class).get(entity);
+    }
+
+    private Rect rectOf(int entity) {
+        return jbumpWorld.getRect(world.getMapper(JbumpItemComponent.class).get(entity).item);
+    }
+
+    private void step() {
+        world.setDelta(1f / 60f);
+        world.process();
+    }
+}
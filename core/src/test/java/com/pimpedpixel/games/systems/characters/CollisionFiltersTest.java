@@ -0,0 +1,52 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.Response;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CollisionFiltersTest {
+
+    private final Item<Object> harry = new Item<>(ColliderData.harry(1));
+    private final Item<Object> zebra = new Item<>(ColliderData.zebra(2));
+    private final Item<Object> tile = new Item<>(new ColliderData(ColliderData.Kind.TILE, 3, 5, 2, 1));
+    private final Item<Object> wall = new Item<>(ColliderData.boundary());
+    private final Item<Object> sensor = new Item<>(ColliderData.sensor(CollisionCategory.HARRY));
+
+    @Test
+    public void testHarrySlidesOnTheMapAndOnZebras() {
+        assertSame(Response.slide, CollisionFilters.MOVE.filter(harry, tile));
+        assertSame(Response.slide, CollisionFilters.MOVE.filter(harry, wall));
+        assertSame(Response.slide, CollisionFilters.MOVE.filter(harry, zebra));
+    }
+
+    @Test
+    public void testSensorsAreCrossedAndOnlyByWhatTheMaskIncludes() {
+        assertSame(Response.cross, CollisionFilters.MOVE.filter(harry, sensor));
+        assertNull(CollisionFilters.MOVE.filter(zebra, sensor));
+    }
+
+    @Test
+    public void testItemsWithoutColliderDataBehaveLikeBefore() {
+        // Legacy names still count as static geometry, entity ids as nothing
+        assertSame(Response.slide, CollisionFilters.MOVE.filter(harry, new Item<>(CollisionQueries.MAP_COLLISION)));
+        assertNull(CollisionFilters.MOVE.filter(harry, new Item<>(7)));
+        assertSame(Response.slide, CollisionFilters.MOVE.filter(new Item<>(7), zebra));
+    }
+
+    @Test
+    public void testStaticQueryAcceptsOnlyMapGeometry() {
+        assertNotNull(CollisionFilters.STATIC.filter(tile, null));
+        assertNotNull(CollisionFilters.STATIC.filter(wall, null));
+        assertNotNull(CollisionFilters.STATIC.filter(new Item<>(CollisionQueries.BOUNDARY_WALL), null));
+        assertNull(CollisionFilters.STATIC.filter(harry, null));
+        assertNull(CollisionFilters.STATIC.filter(sensor, null));
+    }
+
+    @Test
+    public void testCustomQueryMask() {
+        assertNotNull(CollisionFilters.query(CollisionCategory.CHARACTERS).filter(zebra, null));
+        assertNull(CollisionFilters.query(CollisionCategory.CHARACTERS).filter(tile, null));
+    }
+}
@@ -0,0 +1,54 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CollisionQueriesTest {
+
+    private World<Object> jbumpWorld;
+    private CollisionQueries queries;
+
+    @Before
+    public void setUp() {
+        jbumpWorld = new World<>();
+        queries = new CollisionQueries(jbumpWorld);
+
+        jbumpWorld.add(new Item<>(CollisionQueries.BOUNDARY_WALL), -64f, 0f, 64f, 960f);
+        jbumpWorld.add(new Item<>(CollisionQueries.MAP_COLLISION), 500f, 128f, 64f, 64f);
+        // A character, identified by its entity id
+        jbumpWorld.add(new Item<>(7), 200f, 128f, 30f, 64f);
+    }
+
+    @Test
+    public void testOverlapsStaticGeometry() {
+        assertTrue(queries.overlapsStatic(520f, 150f, 32f, 32f));
+        assertTrue(queries.overlapsStatic(-32f, 100f, 32f, 32f));
+        assertFalse(queries.overlapsStatic(300f, 150f, 32f, 32f));
+    }
+
+    @Test
+    public void testTouchingEdgesDoNotCollide() {
+        assertFalse(queries.overlapsStatic(564f, 150f, 32f, 32f));
+        assertFalse(queries.overlapsStatic(0f, 100f, 32f, 32f));
+    }
+
+    @Test
+    public void testCharactersAreIgnored() {
+        assertFalse(queries.overlapsStatic(210f, 140f, 10f, 10f));
+        assertEquals(0, queries.queryStatic(190f, 120f, 50f, 80f).size());
+    }
+
+    @Test
+    public void testSweepFindsBlockBetweenEndpoints() {
+        // Both ends are clear, the block sits in between
+        assertFalse(queries.overlapsStatic(300f, 150f, 32f, 32f));
+        assertFalse(queries.overlapsStatic(700f, 150f, 32f, 32f));
+        assertTrue(queries.horizontalSweepBlocked(300f, 700f, 150f, 32f, 32f));
+        assertTrue(queries.horizontalSweepBlocked(700f, 300f, 150f, 32f, 32f));
+        assertFalse(queries.horizontalSweepBlocked(300f, 700f, 300f, 32f, 32f));
+    }
+}
@@ -1,7 +1,17 @@
 package com.pimpedpixel.games.systems.characters;
 
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.IntArray;
+import com.dongbat.jbump.Item;
+import com.dongbat.jbump.World;
+import com.pimpedpixel.games.TestMaps;
 import org.junit.Before;
 import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 public class JbumpMapInitializationSystemTest {
@@ -55,4 +65,134 @@ public class JbumpMapInitializationSystemTest {
         System.out.println("Bottom wall: y=" + bottomWallY + ", width=" + horizontalWallWidth + ", height=" + tileHeight);
         System.out.println("Top wall: y=" + topWallY + ", width=" + horizontalWallWidth + ", height=" + tileHeight);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFullRowMergesIntoOneCollider() {
+        boolean[][] solid = new boolean[20][15];
+        for (int x = 0; x < 20; x++) {
+            solid[x][5] = true;
+        }
+
+        List<ColliderData> colliders = JbumpMapInitializationSystem.mergeSolidCells(solid, 20, 15);
+
+        assertEquals(1, colliders.size());
+        ColliderData row = colliders.get(0);
+        assertEquals(0, row.column);
+        assertEquals(5, row.row);
+        assertEquals(20, row.columns);
+        assertEquals(1, row.rows);
+    }
+
+    @Test
+    public void testRowRunsWithHolesAndVerticalMerge() {
+        boolean[][] solid = new boolean[6][4];
+        // Row 0: columns 0-5 solid, rows 1-2: columns 0-1 solid (a pillar), row 3: column 4 only
+        for (int x = 0; x < 6; x++) {
+            solid[x][0] = true;
+        }
+        for (int y = 1; y <= 2; y++) {
+            solid[0][y] = true;
+            solid[1][y] = true;
+        }
+        solid[4][3] = true;
+
+        List<ColliderData> colliders = JbumpMapInitializationSystem.mergeSolidCells(solid, 6, 4);
+
+        assertEquals(3, colliders.size());
+        assertCollider(colliders, 0, 0, 6, 1);
+        assertCollider(colliders, 0, 1, 2, 2);
+        assertCollider(colliders, 4, 3, 1, 1);
+    }
+
+    @Test
+    public void testMergedCollidersCoverExactlyTheSolidCells() {
+        boolean[][] solid = new boolean[20][15];
+        for (int x = 0; x < 20; x++) {
+            for (int y = 0; y < 15; y++) {
+                solid[x][y] = ((x * 7 + y * 3) % 5) != 0;
+            }
+        }
+
+        int[][] coverage = new int[20][15];
+        for (ColliderData data : JbumpMapInitializationSystem.mergeSolidCells(solid, 20, 15)) {
+            for (int x = data.column; x < data.column + data.columns; x++) {
+                for (int y = data.row; y < data.row + data.rows; y++) {
+                    coverage[x][y]++;
+                }
+            }
+        }
+        for (int x = 0; x < 20; x++) {
+            for (int y = 0; y < 15; y++) {
+                assertEquals("Cell " + x + "," + y, solid[x][y] ? 1 : 0, coverage[x][y]);
+            }
+        }
+    }
+
+    @Test
+    public void testBottomRowOfMergedCollider() {
+        ColliderData pillar = new ColliderData(ColliderData.Kind.TILE, 3, 5, 1, 4);
+        assertEquals(5, ColliderData.bottomRow(pillar, null));
+        assertTrue(pillar.coversRow(8));
+        assertFalse(pillar.coversRow(9));
+        assertEquals(-1, ColliderData.bottomRow(ColliderData.boundary(), null));
+    }
+
+    private void assertCollider(List<ColliderData> colliders, int column, int row, int columns, int rows) {
+        for (ColliderData data : colliders) {
+            if (data.column == column && data.row == row) {
+                assertEquals(columns, data.columns);
+                assertEquals(rows, data.rows);
+                return;
+            }
+        }
+        fail("No collider at " + column + "," + row);
+    }
+
+    @Test
+    public void testPatchRowOnlyRebuildsChangedColliders() {
+        TiledMap map = TestMaps.groundRow(5);
+        TiledMapTileLayer ground = TestMaps.ground(map);
+        for (int x = 0; x < 4; x++) {
+            TestMaps.fill(ground, x, 0);
+        }
+
+        World<Object> jbumpWorld = new World<>();
+        JbumpMapInitializationSystem patched = new JbumpMapInitializationSystem(map, jbumpWorld, "ground");
+        patched.reinitializeWithNewMap(map, "ground");
+        // Ground row, base row and four boundary walls
+        assertEquals(6, jbumpWorld.getItems().size());
+
+        // Punch a hole in the middle of the ground row
+        ground.setCell(10, 5, null);
+        IntArray changed = new IntArray();
+        changed.add(10);
+        assertEquals(2, patched.patchRow(5, changed));
+
+        List<ColliderData> row5 = tileColliders(jbumpWorld, 5);
+        assertEquals(2, row5.size());
+        int covered = 0;
+        for (ColliderData data : row5) {
+            assertFalse(data.coversColumn(10));
+            covered += data.columns;
+        }
+        assertEquals(19, covered);
+        // The base row was not touched
+        assertEquals(1, tileColliders(jbumpWorld, 0).size());
+
+        // Fill it again: the two halves merge back into one collider
+        TestMaps.fill(ground, 10, 5);
+        assertEquals(1, patched.patchRow(5, changed));
+        assertEquals(1, tileColliders(jbumpWorld, 5).size());
+        assertEquals(6, jbumpWorld.getItems().size());
+    }
+
+    private static List<ColliderData> tileColliders(World<Object> jbumpWorld, int row) {
+        List<ColliderData> result = new ArrayList<>();
+        for (Item item : jbumpWorld.getItems()) {
+            if (item.userData instanceof ColliderData && ((ColliderData) item.userData).coversRow(row)) {
+                result.add((ColliderData) item.userData);
+            }
+        }
+        return result;
+    }
+}
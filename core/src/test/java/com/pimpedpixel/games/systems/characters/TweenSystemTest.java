@@ -0,0 +1,100 @@
+package com.pimpedpixel.games.systems.characters;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TweenSystemTest {
+
+    private World world;
+    private TweenSystem tweenSystem;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        world = new World(new WorldConfigurationBuilder().with(new TweenSystem()).build());
+        tweenSystem = world.getSystem(TweenSystem.class);
+    }
+
+    @Test
+    public void testMoveInterpolatesThenFiresTheEventOnTheNextTick() {
+        int entity = entityAt(0f, 10f);
+        tweenSystem.addListener(TweenEvents.ZEBRA_WALK_DONE, (id, event) -> events.add(id + ":" + event));
+        TweenComponent tween = world.getMapper(TweenComponent.class).get(entity);
+        tween.moveTo(100f, 10f, 1f).event(TweenEvents.ZEBRA_WALK_DONE);
+
+        step(0.25f);
+        assertEquals(25f, transformOf(entity).x, 0.001f);
+        step(0.75f);
+        assertEquals(100f, transformOf(entity).x, 0.001f);
+        assertTrue("event not fired in the tick the move arrived", events.isEmpty());
+
+        step(0.1f);
+        assertEquals(1, events.size());
+        assertEquals(entity + ":" + TweenEvents.ZEBRA_WALK_DONE, events.get(0));
+        assertFalse(tween.isActive());
+        assertEquals(100f, transformOf(entity).x, 0.001f);
+    }
+
+    @Test
+    public void testDelayWaitsItsDuration() {
+        int entity = entityAt(0f, 0f);
+        tweenSystem.addListener(TweenEvents.ZEBRA_SHRED_DONE, (id, event) -> events.add("done"));
+        world.getMapper(TweenComponent.class).get(entity).delay(0.5f).event(TweenEvents.ZEBRA_SHRED_DONE);
+
+        step(0.25f);
+        step(0.25f);
+        assertTrue(events.isEmpty());
+        step(0.25f);
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void testListenerCanStartANewScript() {
+        int entity = entityAt(0f, 0f);
+        TweenComponent tween = world.getMapper(TweenComponent.class).get(entity);
+        tweenSystem.addListener(TweenEvents.ZEBRA_WALK_DONE, (id, event) -> {
+            tween.clear();
+            tween.moveTo(-50f, 0f, 0.5f);
+        });
+        tween.event(TweenEvents.ZEBRA_WALK_DONE);
+
+        step(0.1f);
+        assertTrue("the new script is not skipped", tween.isActive());
+        step(0.5f);
+        assertEquals(-50f, transformOf(entity).x, 0.001f);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScriptLengthIsBounded() {
+        TweenComponent tween = new TweenComponent();
+        for (int i = 0; i <= TweenComponent.MAX_STEPS; i++) {
+            tween.delay(1f);
+        }
+    }
+
+    private int entityAt(float x, float y) {
+        int entity = world.create();
+        TransformComponent transform = world.edit(entity).create(TransformComponent.class);
+        transform.x = x;
+        transform.y = y;
+        world.edit(entity).create(TweenComponent.class);
+        world.process(); // let the entity join the subscription
+        return entity;
+    }
+
+    private TransformComponent transformOf(int entity) {
+        return world.getMapper(TransformComponent.class).get(entity);
+    }
+
+    private void step(float delta) {
+        world.setDelta(delta);
+        world.process();
+    }
+}
@@ -28,7 +28,7 @@ public class ZebraStateSystemIntegrationTest {
         WorldConfiguration config = new WorldConfigurationBuilder()
             .with(
                 new ZebraStateSystem(jbumpWorld),
-                new ActionSystem()
+                new TweenSystem()
             )
             .build();
         
@@ -68,12 +68,12 @@ public class ZebraStateSystemIntegrationTest {
         // Get zebra components
         ZebraStateComponent state = artemisWorld.getMapper(ZebraStateComponent.class).get(zebraId);
         TransformComponent transform = artemisWorld.getMapper(TransformComponent.class).get(zebraId);
-        ActionComponent actions = artemisWorld.getMapper(ActionComponent.class).get(zebraId);
+        TweenComponent tween = artemisWorld.getMapper(TweenComponent.class).get(zebraId);
         
         // Verify zebra was created and has components
         assertNotNull("Zebra should be created and have state component", state);
         assertNotNull("Zebra should be created and have transform component", transform);
-        assertNotNull("Zebra should be created and have action component", actions);
+        assertNotNull("Zebra should be created and have tween component", tween);
         
         // Verify initial position
         assertEquals("Zebra should start at x=400", 400f, transform.x, 0.01f);
@@ -93,7 +93,31 @@ public class ZebraStateSystemIntegrationTest {
         // and properly simulate the game loop
         System.out.println("Zebra final state: " + state.state);
         System.out.println("Zebra final position: " + transform.x + ", " + transform.y);
-        System.out.println("Zebra has actions: " + actions.hasActions());
+        System.out.println("Zebra is tweening: " + tween.isActive());
+    }
+
+    @Test
+    public void testZebrasKeepTheirOwnPatrolTimer() {
+        int first = createTestZebra(200f, 300f);
+        int second = createTestZebra(900f, 300f);
+        ZebraStateComponent firstState = artemisWorld.getMapper(ZebraStateComponent.class).get(first);
+        ZebraStateComponent secondState = artemisWorld.getMapper(ZebraStateComponent.class).get(second);
+
+        // Both graze for the full interval before their first walk
+        for (int i = 0; i < 5; i++) {
+            artemisWorld.setDelta(0.5f);
+            artemisWorld.process();
+        }
+        assertEquals(ZebraState.GRAZING, firstState.state);
+        assertEquals(ZebraState.GRAZING, secondState.state);
+
+        // One zebra switching state must not reset the other's timer
+        artemisWorld.setDelta(0.5f);
+        artemisWorld.process();
+        assertEquals(ZebraState.WALKING, firstState.state);
+        assertEquals(ZebraState.WALKING, secondState.state);
+        assertTrue(firstState.initializedDirection);
+        assertTrue(secondState.initializedDirection);
     }
 
     /**
@@ -115,8 +139,11 @@ public class ZebraStateSystemIntegrationTest {
 
         // 3. JUMP ITEM
         JbumpItemComponent j = artemisWorld.edit(entityId).create(JbumpItemComponent.class);
-        Item<Integer> zebraItem = new Item<>(entityId);
+        Item<ColliderData> zebraItem = new Item<>(ColliderData.zebra(entityId));
         j.item = zebraItem;
+        j.setBox(0f, 30f, 40f);
+        j.syncedX = x + 15f * 2f;
+        j.syncedY = y;
         jbumpWorld.add((Item)zebraItem, x + 15f * 2f, y, 30f, 40f);
 
         // 4. STATE
@@ -129,9 +156,8 @@ public class ZebraStateSystemIntegrationTest {
         ZebraAnimationComponent anim = artemisWorld.edit(entityId).create(ZebraAnimationComponent.class);
         // Skip texture loading for testing
 
-        // 6. ACTIONS
-        ActionComponent actions = artemisWorld.edit(entityId).create(ActionComponent.class);
-        actions.actor.setPosition(t.x, t.y);
+        // 6. TWEENS
+        artemisWorld.edit(entityId).create(TweenComponent.class);
 
         return entityId;
     }
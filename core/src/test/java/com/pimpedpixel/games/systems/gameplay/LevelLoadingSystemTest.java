@@ -39,7 +39,7 @@ public class LevelLoadingSystemTest {
         levelContainer.setLevels(new Level[]{mockLevel});
 
         // Create LevelLoadingSystem directly (without Artemis)
-        levelLoadingSystem = new LevelLoadingSystem(jbumpWorld, levelContainer, 22f, 20f, 64f);
+        levelLoadingSystem = new LevelLoadingSystem(jbumpWorld, levelContainer);
     }
 
     @Test
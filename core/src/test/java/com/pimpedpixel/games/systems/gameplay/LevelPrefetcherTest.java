@@ -0,0 +1,122 @@
+package com.pimpedpixel.games.systems.gameplay;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.pimpedpixel.games.TestLevels;
+import com.pimpedpixel.games.TestMaps;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+import com.pimpedpixel.games.navigation.NavGraphBuilder;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.pimpedpixel.games.TestLevels.level;
+import static com.pimpedpixel.games.TestLevels.scenarioWithHoleAt;
+import static org.junit.Assert.*;
+
+public class LevelPrefetcherTest {
+
+    private LevelPrefetcher prefetcher;
+    private TiledMap map;
+    private TiledMapTileLayer ground;
+
+    @Before
+    public void setUp() {
+        prefetcher = new LevelPrefetcher();
+
+        // 6x15 map with a complete ground row 5 (Tiled row 9)
+        map = TestMaps.groundRow(TestLevels.COLUMNS, 5);
+        ground = TestMaps.ground(map);
+    }
+
+    @After
+    public void tearDown() {
+        prefetcher.dispose();
+    }
+
+    @Test
+    public void testPreparedLevelHasScenarioAppliedAndCollidersMerged() {
+        prefetcher.prefetch(1, 0, map, ScenarioOverlay.forGroundLayer(map), scenarioWithHoleAt(2), true, null, null);
+        assertTrue(prefetcher.isPending(1, 0));
+
+        LevelPrefetcher.PreparedLevel prepared = prefetcher.take(1, 0);
+
+        assertNotNull(prepared);
+        assertSame(map, prepared.map);
+        assertNull("hole applied to the map", ground.getCell(2, 5));
+        assertEquals(2, prepared.colliders.size());
+        ColliderData left = prepared.colliders.get(0);
+        assertEquals(0, left.column);
+        assertEquals(2, left.columns);
+        assertNull("no builder, no graph", prepared.navGraph);
+        assertFalse("taken levels are not handed out twice", prefetcher.isPending(1, 0));
+    }
+
+    @Test
+    public void testNavGraphIsBuiltFromTheScenariosColliders() {
+        NavGraphBuilder builder = new NavGraphBuilder().tileSize(32f, 32f).noReward();
+        prefetcher.prefetch(1, 0, map, ScenarioOverlay.forGroundLayer(map), scenarioWithHoleAt(2), true, null, builder);
+
+        LevelPrefetcher.PreparedLevel prepared = prefetcher.take(1, 0);
+
+        assertNotNull(prepared.navGraph);
+        assertTrue(prepared.navGraph.isSolid(1, 5));
+        assertFalse("the hole is not solid", prepared.navGraph.isSolid(2, 5));
+    }
+
+    @Test
+    public void testOtherTargetGetsNothing() {
+        prefetcher.prefetch(1, 0, map, ScenarioOverlay.forGroundLayer(map), scenarioWithHoleAt(2), true, null, null);
+
+        assertNull(prefetcher.take(2, 0));
+        assertTrue("the pending level is kept", prefetcher.isPending(1, 0));
+    }
+
+    @Test
+    public void testCancelHandsBackTheOverlay() {
+        prefetcher.prefetch(1, 0, map, ScenarioOverlay.forGroundLayer(map), scenarioWithHoleAt(2), true, null, null);
+
+        LevelPrefetcher.PreparedLevel dropped = prefetcher.cancel();
+
+        assertNotNull(dropped);
+        assertFalse(prefetcher.isPending(1, 0));
+        // The overlay still knows the pristine cells, so the hole can be undone
+        dropped.overlay.reset();
+        assertNotNull(ground.getCell(2, 5));
+    }
+
+    @Test
+    public void testNothingIsPreparedWithoutTheMapsOverlay() {
+        prefetcher.prefetch(1, 0, map, null, scenarioWithHoleAt(2), true, null, null);
+
+        assertNull(prefetcher.take(1, 0));
+        assertNotNull("the map is left alone", ground.getCell(2, 5));
+    }
+
+    @Test
+    public void testExistingOverlayIsReused() {
+        ScenarioOverlay overlay = ScenarioOverlay.forGroundLayer(map);
+        overlay.apply(scenarioWithHoleAt(2));
+
+        prefetcher.prefetch(1, 1, map, overlay, scenarioWithHoleAt(4), false, null, null);
+        LevelPrefetcher.PreparedLevel prepared = prefetcher.take(1, 1);
+
+        assertSame(overlay, prepared.overlay);
+        assertNotNull("previous scenario's hole restored", ground.getCell(2, 5));
+        assertNull(ground.getCell(4, 5));
+        assertEquals("one collider per cell without merging", 5, prepared.colliders.size());
+    }
+
+    @Test
+    public void testNextScenarioWrapsToTheNextLevel() {
+        LevelLoader.LevelContainer container = new LevelLoader.LevelContainer();
+        container.setLevels(new Level[]{level(2), level(1)});
+
+        assertArrayEquals(new int[]{0, 1}, LevelProgressionSystem.nextScenario(container, 0, 0));
+        assertArrayEquals(new int[]{1, 0}, LevelProgressionSystem.nextScenario(container, 0, 1));
+        assertArrayEquals(new int[]{0, 0}, LevelProgressionSystem.nextScenario(container, 1, 0));
+    }
+}
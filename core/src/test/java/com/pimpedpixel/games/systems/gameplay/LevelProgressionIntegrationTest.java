@@ -59,8 +59,8 @@ public class LevelProgressionIntegrationTest {
         // Create systems
         levelStartSystem = new HarryLevelStartSystem(levelContainer);
         deathSystem = new HarryDeathSystem(jbumpWorld);
-        levelLoadingSystem = new LevelLoadingSystem(jbumpWorld, levelContainer, 22f, 20f, 64f);
-        levelProgressionSystem = new LevelProgressionSystem(levelContainer, jbumpWorld, 22f, 20f, 64f);
+        levelLoadingSystem = new LevelLoadingSystem(jbumpWorld, levelContainer);
+        levelProgressionSystem = new LevelProgressionSystem(levelContainer, jbumpWorld);
 
         // Set up dependencies
         levelLoadingSystem.setLevelStartSystem(levelStartSystem);
@@ -0,0 +1,66 @@
+package com.pimpedpixel.games.systems.gameplay;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RandomSystemTest {
+
+    @Test
+    public void testSameSeedGivesSameSequence() {
+        RandomXS128 a = new RandomSystem(1234L).stream("zebra");
+        RandomXS128 b = new RandomSystem(1234L).stream("zebra");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+    }
+
+    @Test
+    public void testStreamsAreIndependent() {
+        RandomSystem random = new RandomSystem(1234L);
+        RandomXS128 zebra = random.stream("zebra");
+        long first = zebra.nextLong();
+
+        // Drawing from another stream must not shift the zebra's numbers
+        RandomSystem other = new RandomSystem(1234L);
+        other.stream("harry").nextLong();
+        other.stream("harry").nextLong();
+        assertEquals(first, other.stream("zebra").nextLong());
+        assertNotEquals(first, random.stream("harry").nextLong());
+    }
+
+    @Test
+    public void testStreamIsCachedPerName() {
+        RandomSystem random = new RandomSystem(7L);
+        assertSame(random.stream("zebra"), random.stream("zebra"));
+    }
+
+    @Test
+    public void testEntityStreamsDiffer() {
+        RandomSystem random = new RandomSystem(7L);
+        assertNotEquals(random.entityStream("zebra", 1).nextLong(), random.entityStream("zebra", 2).nextLong());
+        assertEquals(random.entityStream("zebra", 1).nextLong(), random.entityStream("zebra", 1).nextLong());
+    }
+
+    @Test
+    public void testReseedChangesSequence() {
+        RandomSystem random = new RandomSystem(1L);
+        long before = random.stream("zebra").nextLong();
+        random.reseed(2L);
+        assertEquals(2L, random.getSeed());
+        assertNotEquals(before, random.stream("zebra").nextLong());
+    }
+
+    @Test
+    public void testReseedRestartsStreamsHandedOutBefore() {
+        RandomSystem random = new RandomSystem(1L);
+        RandomXS128 zebra = random.stream("zebra");
+        zebra.nextLong();
+
+        random.reseed(2L);
+
+        assertSame(zebra, random.stream("zebra"));
+        assertEquals(new RandomSystem(2L).stream("zebra").nextLong(), zebra.nextLong());
+    }
+}
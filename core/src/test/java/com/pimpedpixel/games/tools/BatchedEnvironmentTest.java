@@ -0,0 +1,115 @@
+package com.pimpedpixel.games.tools;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.pimpedpixel.games.TestMaps;
+import com.pimpedpixel.games.gameplay.CollisionLayer;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class BatchedEnvironmentTest {
+
+    private LevelLoader.LevelContainer levelContainer;
+    private BatchedEnvironment env;
+
+    @Before
+    public void setUp() {
+        Scenario scenario = new Scenario();
+        scenario.setTitle("Test");
+        scenario.setTimeLimit(30);
+        scenario.setStartingPositionX(100f);
+        scenario.setStartingPositionY(500f);
+
+        Level level = new Level();
+        level.setLevelNumber(1);
+        level.setScenarios(Arrays.asList(scenario));
+
+        levelContainer = new LevelLoader.LevelContainer();
+        levelContainer.setLevels(new Level[]{level});
+    }
+
+    @After
+    public void tearDown() {
+        if (env != null) {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testWorldsStepIndependentlyAcrossThreads() {
+        env = new BatchedEnvironment(levelContainer, levelIndex -> createMap(), 4, 2);
+        env.setTicksPerStep(6);
+        env.reset();
+
+        // Only world 0 walks right, towards the reward
+        int[] actions = {CharacterInput.RIGHT, 0, 0, 0};
+        float total = 0f;
+        for (int step = 0; step < 200 && !env.getDones()[0]; step++) {
+            env.step(actions);
+            total += env.getRewards()[0];
+        }
+
+        assertTrue("world 0 should reach the reward", env.getDones()[0]);
+        assertEquals(BatchedEnvironment.REWARD_FOUND, total, 0.001f);
+        float[] obs = env.getObservations();
+        for (int i = 1; i < 4; i++) {
+            assertFalse(env.getDones()[i]);
+            assertEquals(0f, env.getRewards()[i], 0f);
+            int base = i * BatchedEnvironment.OBSERVATION_SIZE;
+            assertEquals("idle worlds stay at the start", 100f, obs[base + BatchedEnvironment.OBS_HARRY_X], 1f);
+            assertEquals(1f, obs[base + BatchedEnvironment.OBS_HARRY_ON_GROUND], 0f);
+        }
+        assertTrue(obs[BatchedEnvironment.OBS_HARRY_X] > 700f);
+
+        // The finished world starts over on the next step
+        env.step(actions);
+        assertFalse(env.getDones()[0]);
+        assertEquals(2, env.getEpisode(0));
+        assertEquals(100f, env.getObservations()[BatchedEnvironment.OBS_HARRY_X], 1f);
+    }
+
+    @Test
+    public void testShardingDoesNotChangeResults() {
+        float[] single = run(1);
+        float[] sharded = run(3);
+        assertArrayEquals(single, sharded, 0f);
+    }
+
+    @Test
+    public void testGroundMaskMarksSolidColumns() {
+        CollisionLayer layer = new CollisionLayer();
+        layer.setCellStates(Arrays.asList(1, 0, 1, 2, 1));
+        assertEquals(0b10101, BatchedEnvironment.solidMask(layer));
+        assertEquals(0, BatchedEnvironment.solidMask(null));
+    }
+
+    private float[] run(int threads) {
+        BatchedEnvironment batch = new BatchedEnvironment(levelContainer, levelIndex -> createMap(), 3, threads);
+        try {
+            batch.setSeed(42L);
+            batch.reset();
+            int[] actions = {CharacterInput.RIGHT, CharacterInput.LEFT, CharacterInput.JUMP};
+            for (int step = 0; step < 60; step++) {
+                batch.step(actions);
+            }
+            return batch.getObservations().clone();
+        } finally {
+            batch.dispose();
+        }
+    }
+
+    /**
+     * Solid ground row 5 (top at world y 384) and a reward at world x 800 on top of it.
+     */
+    private TiledMap createMap() {
+        return TestMaps.groundRowWithReward(5, 400f, 192f);
+    }
+}
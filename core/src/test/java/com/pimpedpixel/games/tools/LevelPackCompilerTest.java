@@ -0,0 +1,172 @@
+package com.pimpedpixel.games.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.pimpedpixel.games.TestLevels;
+import com.pimpedpixel.games.TestMaps;
+import com.pimpedpixel.games.assets.LevelPack;
+import com.pimpedpixel.games.assets.LevelPackLoader;
+import com.pimpedpixel.games.assets.LevelPackMapLoader;
+import com.pimpedpixel.games.gameplay.ScenarioOverlay;
+import com.pimpedpixel.games.systems.characters.ColliderData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.pimpedpixel.games.TestLevels.level;
+import static com.pimpedpixel.games.TestLevels.scenarioWithHoleAt;
+import static org.junit.Assert.*;
+
+public class LevelPackCompilerTest {
+
+    private static final Array<LevelPack.TileSet> NO_TILESETS = new Array<>();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TiledMap map;
+
+    @Before
+    public void setUp() {
+        // 6x15 map with a complete ground row 5 (Tiled row 9) and a point reward
+        map = TestMaps.groundRow(TestLevels.COLUMNS, 5);
+        MapObject reward = new MapObject();
+        reward.setName("reward");
+        reward.getProperties().put("x", 100f);
+        reward.getProperties().put("y", 200f);
+        map.getLayers().get("objects").getObjects().add(reward);
+    }
+
+    @Test
+    public void testCompileStoresMergedCollidersPerScenario() {
+        LevelPack pack = LevelPackCompiler.compile(level(scenarioWithHoleAt(2), scenarioWithHoleAt(-1)), map,
+            NO_TILESETS, 42L);
+
+        assertEquals(6, pack.getColumns());
+        assertEquals(15, pack.getRows());
+        assertEquals(2, pack.getScenarioCount());
+        assertEquals("hole at column 2", 2, pack.getColliders(0).size());
+        List<ColliderData> whole = pack.getColliders(1);
+        assertEquals(1, whole.size());
+        assertEquals(6, whole.get(0).columns);
+        assertEquals(5, whole.get(0).row);
+    }
+
+    @Test
+    public void testCompileStoresScenarioDiffs() {
+        LevelPack pack = LevelPackCompiler.compile(level(scenarioWithHoleAt(2), scenarioWithHoleAt(-1)), map,
+            NO_TILESETS, 42L);
+
+        assertArrayEquals("column 2 of row 5 emptied", new int[]{2 + 5 * 6, 0}, pack.getScenarioDiffs()[0]);
+        assertEquals("nothing to change", 0, pack.getScenarioDiffs()[1].length);
+    }
+
+    @Test
+    public void testPackSurvivesTheRoundTrip() {
+        LevelPack pack = LevelPackCompiler.compile(level(scenarioWithHoleAt(2)), map, NO_TILESETS, 0x1234_5678_9abc_def0L);
+
+        LevelPack read = LevelPack.fromBytes(pack.toBytes());
+
+        assertEquals(0x1234_5678_9abc_def0L, read.getSourceHash());
+        assertEquals(1, read.getLevelNumber());
+        assertEquals(pack.getColliders(0).size(), read.getColliders(0).size());
+        assertEquals(pack.getColliders(0).get(1).column, read.getColliders(0).get(1).column);
+        assertEquals("scenario index is clamped", 1, read.getScenarioCount());
+        assertEquals(2, read.getColliders(5).size());
+        assertArrayEquals(pack.getScenarioDiffs()[0], read.getScenarioDiffs()[0]);
+
+        assertEquals(2, read.getLayers().size);
+        LevelPack.Layer ground = read.getLayers().get(0);
+        assertEquals("ground", ground.name);
+        assertEquals(TestMaps.TILE_ID, ground.cells[3 + 5 * 6]);
+        assertEquals(0, ground.cells[3 + 4 * 6]);
+        assertEquals(32, read.getTileWidth());
+    }
+
+    @Test
+    public void testPointRewardIsStoredWithItsPickupBox() {
+        LevelPack read = LevelPack.fromBytes(LevelPackCompiler.compile(level(), map, NO_TILESETS, 1L).toBytes());
+
+        Array<Rectangle> rewards = read.getRewardBounds();
+        assertEquals(1, rewards.size);
+        assertEquals(new Rectangle(100f, 200f, 32f, 32f), rewards.first());
+    }
+
+    @Test
+    public void testMapBuiltFromThePackAppliesItsDiffs() {
+        LevelPack pack = LevelPack.fromBytes(
+            LevelPackCompiler.compile(level(scenarioWithHoleAt(2), scenarioWithHoleAt(-1)), map, NO_TILESETS, 1L).toBytes());
+
+        TiledMap built = LevelPackMapLoader.buildMap(pack, new ObjectMap<>());
+        TiledMapTileLayer ground = TestMaps.ground(built);
+        assertEquals(TestMaps.TILE_ID, ground.getCell(2, 5).getTile().getId());
+        assertEquals(32f, built.getLayers().get("objects").getObjects().get("reward").getProperties().get("width"));
+
+        ScenarioOverlay overlay = ScenarioOverlay.forGroundLayer(built);
+        overlay.apply(0, null);
+        assertNull(ground.getCell(2, 5));
+        overlay.apply(1, null);
+        assertEquals(TestMaps.TILE_ID, ground.getCell(2, 5).getTile().getId());
+    }
+
+    @Test
+    public void testSourceHashChangesWithEitherSource() {
+        byte[] tmx = "<map/>".getBytes();
+        byte[] levelInfo = "{levels:[]}".getBytes();
+        long hash = LevelPack.sourceHash(tmx, levelInfo);
+
+        assertEquals(hash, LevelPack.sourceHash(tmx.clone(), levelInfo.clone()));
+        assertNotEquals(hash, LevelPack.sourceHash("<map />".getBytes(), levelInfo));
+        assertNotEquals(hash, LevelPack.sourceHash(tmx, "{levels:[{}]}".getBytes()));
+    }
+
+    @Test
+    public void testManifestSurvivesTheRoundTrip() throws Exception {
+        File file = folder.newFile("manifest.json");
+        OrderedMap<String, Long> hashes = new OrderedMap<>();
+        hashes.put("bridgefall_1", 0x8123_4567_89ab_cdefL);
+        hashes.put("bridgefall_2", 7L);
+
+        LevelPackCompiler.writeManifest(file, hashes);
+        ObjectMap<String, Long> read = new LevelPackLoader().readManifest(new FileHandle(file));
+
+        assertEquals(2, read.size);
+        assertEquals(Long.valueOf(0x8123_4567_89ab_cdefL), read.get("bridgefall_1"));
+        assertEquals(Long.valueOf(7L), read.get("bridgefall_2"));
+    }
+
+    @Test
+    public void testLoaderOnlyTakesThePackTheManifestLists() throws Exception {
+        FileHandle packFile = new FileHandle(folder.newFile("bridgefall_1.lvl"));
+        packFile.writeBytes(LevelPackCompiler.compile(level(), map, NO_TILESETS, 42L).toBytes(), false);
+
+        LevelPackLoader loader = new LevelPackLoader();
+        assertNotNull(loader.load(packFile, 42L));
+        assertNull("pack of another build", loader.load(packFile, 43L));
+        assertNull("not in the manifest", loader.load(packFile, null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherFormatVersionIsRejected() {
+        byte[] bytes = LevelPackCompiler.compile(level(), map, NO_TILESETS, 1L).toBytes();
+        bytes[7] = (byte) (LevelPack.FORMAT_VERSION + 1);
+        LevelPack.fromBytes(bytes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedPackIsRejected() {
+        byte[] bytes = LevelPackCompiler.compile(level(), map, NO_TILESETS, 1L).toBytes();
+        LevelPack.fromBytes(Arrays.copyOf(bytes, bytes.length / 2));
+    }
+}
@@ -0,0 +1,101 @@
+package com.pimpedpixel.games.tools;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.pimpedpixel.games.TestMaps;
+import com.pimpedpixel.games.gameplay.Level;
+import com.pimpedpixel.games.gameplay.LevelLoader;
+import com.pimpedpixel.games.gameplay.Scenario;
+import com.pimpedpixel.games.simulation.ReplayCharacterInput;
+import com.pimpedpixel.games.systems.characters.CharacterInput;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ScenarioSolverTest {
+
+    private LevelLoader.LevelContainer levelContainer;
+
+    @Before
+    public void setUp() {
+        Scenario scenario = new Scenario();
+        scenario.setTitle("Test");
+        scenario.setTimeLimit(10);
+        scenario.setStartingPositionX(100f);
+        scenario.setStartingPositionY(500f);
+
+        Level level = new Level();
+        level.setLevelNumber(1);
+        level.setScenarios(Arrays.asList(scenario));
+
+        levelContainer = new LevelLoader.LevelContainer();
+        levelContainer.setLevels(new Level[]{level});
+    }
+
+    @Test
+    public void testWalksToRewardOnTheGround() {
+        // Reward box at world x 800..864 on top of row 5
+        ScenarioSolver.Result result = new ScenarioSolver(levelContainer).solve(TestMaps.groundRowWithReward(5, 400f, 192f), 0, 0);
+
+        assertTrue(result.isSolvable());
+        // About 760 px at 120 px/s plus the fall from the start position
+        assertTrue("took " + result.getSeconds() + " s", result.getSeconds() > 5f && result.getSeconds() < 8f);
+        assertEquals(result.getTicks(), result.getInputs().getTickCount());
+
+        ReplayCharacterInput replay = new ReplayCharacterInput(result.getInputs());
+        int rightTicks = 0;
+        while (!replay.isFinished()) {
+            if ((replay.sample() & CharacterInput.RIGHT) != 0) {
+                rightTicks++;
+            }
+        }
+        assertTrue("mostly walking right", rightTicks > result.getTicks() / 2);
+    }
+
+    @Test
+    public void testRewardOutOfJumpReachIsUnsolvable() {
+        // World y 600, Harry's head reaches about 500 at the top of a jump
+        ScenarioSolver.Result result = new ScenarioSolver(levelContainer).solve(TestMaps.groundRowWithReward(5, 400f, 300f), 0, 0);
+
+        assertFalse(result.isReachable());
+        assertFalse(result.isSolvable());
+        assertNull(result.getInputs());
+        assertTrue(result.getStatesExplored() > 0);
+    }
+
+    @Test
+    public void testJumpOffTheZebrasBackReachesAHighReward() {
+        // Harry drops onto the grazing zebra; the boosted jump reaches world y 600
+        ScenarioSolver solver = new ScenarioSolver(levelContainer);
+        solver.setZebraStart(60f, 384f);
+        ScenarioSolver.Result result = solver.solve(TestMaps.groundRowWithReward(5, 100f, 300f), 0, 0);
+
+        assertTrue(result.isReachable());
+
+        ScenarioSolver alone = new ScenarioSolver(levelContainer);
+        alone.withoutZebra();
+        assertFalse(alone.solve(TestMaps.groundRowWithReward(5, 100f, 300f), 0, 0).isReachable());
+    }
+
+    @Test
+    public void testTooSlowIsReachableButNotSolvable() {
+        levelContainer.getLevels()[0].getScenarios().get(0).setTimeLimit(5);
+        ScenarioSolver.Result result = new ScenarioSolver(levelContainer).solve(TestMaps.groundRowWithReward(5, 400f, 192f), 0, 0);
+
+        assertTrue(result.isReachable());
+        assertFalse(result.isSolvable());
+    }
+
+    @Test
+    public void testMapWithoutRewardIsReported() {
+        TiledMap map = TestMaps.groundRowWithReward(5, 400f, 192f);
+        map.getLayers().get("objects").getObjects().remove(0);
+
+        ScenarioSolver.Result result = new ScenarioSolver(levelContainer).solve(map, 0, 0);
+
+        assertNotNull(result.getProblem());
+        assertFalse(result.isSolvable());
+    }
+}